@@ -2,6 +2,7 @@ plugins {
     id("java-library")
     id("maven-publish")
     id("signing")
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "io.github.ad417"
@@ -20,8 +21,46 @@ dependencies {
     testImplementation("junit:junit:4.13.1")
 }
 
+// The SIMD kernels are compiled against the incubating Vector API. They live in a source set of
+// their own, so only they are compiled with the module and the rest of the library builds without
+// its warning. At runtime they are only used when the module is added; without it BigDoubleArray
+// falls back to scalar loops.
+val vectorModule = listOf("--add-modules", "jdk.incubator.vector")
+
+val vector by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output + sourceSets.main.get().compileClasspath
+}
+
+tasks.named<JavaCompile>(vector.compileJavaTaskName) {
+    options.compilerArgs.addAll(vectorModule)
+}
+
+tasks.jar {
+    from(vector.output)
+}
+
+tasks.matching { it.name == "sourcesJar" }.configureEach {
+    (this as Jar).from(vector.allJava)
+}
+
+sourceSets.test {
+    runtimeClasspath += vector.output
+}
+
 tasks.test {
     useJUnitPlatform()
+    jvmArgs(vectorModule)
+}
+
+dependencies {
+    "jmhImplementation"(vector.output)
+}
+
+jmh {
+    // Allocation rates (gc.alloc.rate.norm) are tracked alongside throughput so regressions show up in both.
+    profilers.add("gc")
+    resultFormat.set("JSON")
+    jvmArgsAppend.addAll(vectorModule)
 }
 
 java {
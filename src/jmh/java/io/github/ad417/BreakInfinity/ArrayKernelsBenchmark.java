@@ -0,0 +1,81 @@
+package io.github.ad417.BreakInfinity;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The scalar and Vector API kernels behind BigDoubleArray, head to head.
+ * The build adds jdk.incubator.vector to the benchmark JVM, so both backends are available.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+@State(Scope.Thread)
+public class ArrayKernelsBenchmark {
+    @Param({"1024", "65536"})
+    public int size;
+
+    @Param({"scalar", "vector"})
+    public String backend;
+
+    private ArrayKernels kernels;
+    private double[] mantissas, otherMantissas, scratchMantissas;
+    private long[] exponents, otherExponents, scratchExponents;
+    private int[] comparisons;
+
+    @Setup
+    public void setup() {
+        kernels = backend.equals("vector") ? new VectorArrayKernels() : new ScalarArrayKernels();
+
+        BigDouble[] lefts = new BigDouble[size];
+        BigDouble[] rights = new BigDouble[size];
+        OperandDistribution.NEAR_EXPONENTS.fill(lefts, rights);
+        BigDoubleArray left = new BigDoubleArray(lefts);
+        BigDoubleArray right = new BigDoubleArray(rights);
+        mantissas = left.mantissas;
+        exponents = left.exponents;
+        otherMantissas = right.mantissas;
+        otherExponents = right.exponents;
+        scratchMantissas = new double[size];
+        scratchExponents = new long[size];
+        comparisons = new int[size];
+    }
+
+    /**
+     * Every kernel writes over its first operand, so start each call from a fresh copy.
+     */
+    private void reset() {
+        System.arraycopy(mantissas, 0, scratchMantissas, 0, size);
+        System.arraycopy(exponents, 0, scratchExponents, 0, size);
+    }
+
+    @Benchmark
+    public double[] add() {
+        reset();
+        kernels.add(scratchMantissas, scratchExponents, otherMantissas, otherExponents, size);
+        return scratchMantissas;
+    }
+
+    @Benchmark
+    public double[] mul() {
+        reset();
+        kernels.mul(scratchMantissas, scratchExponents, otherMantissas, otherExponents, size);
+        return scratchMantissas;
+    }
+
+    @Benchmark
+    public double[] div() {
+        reset();
+        kernels.div(scratchMantissas, scratchExponents, otherMantissas, otherExponents, size);
+        return scratchMantissas;
+    }
+
+    @Benchmark
+    public int[] compare() {
+        kernels.compare(mantissas, exponents, otherMantissas, otherExponents, comparisons, size);
+        return comparisons;
+    }
+}
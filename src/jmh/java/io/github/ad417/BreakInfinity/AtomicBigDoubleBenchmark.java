@@ -0,0 +1,46 @@
+package io.github.ad417.BreakInfinity;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Many threads adding into one shared total: AtomicBigDouble's compare-and-set loop
+ * against the obvious alternative, a synchronized block around a BigDouble field.
+ * Run with -t 1, -t 4 and -t 16 to see how each one holds up under contention.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class AtomicBigDoubleBenchmark {
+    private static final BigDouble DELTA = new BigDouble(1.5, 3);
+
+    private final AtomicBigDouble atomic = new AtomicBigDouble();
+    private final Object lock = new Object();
+    private BigDouble locked = BigDouble.ZERO;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        atomic.set(BigDouble.ZERO);
+        synchronized (lock) {
+            locked = BigDouble.ZERO;
+        }
+    }
+
+    @Benchmark
+    public BigDouble addAtomic() {
+        return atomic.addAndGet(DELTA);
+    }
+
+    @Benchmark
+    public BigDouble addSynchronized() {
+        synchronized (lock) {
+            locked = locked.add(DELTA);
+            return locked;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package io.github.ad417.BreakInfinity;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Threads adding into one shared total, with BigDoubleAdder's striped cells against a
+ * single AtomicBigDouble, at 1, 4, 16 and 64 threads. Each benchmark gets its own
+ * adder and atomic, shared between all of its threads.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BigDoubleAdderBenchmark {
+    private static final BigDouble DELTA = new BigDouble(1.5, 3);
+
+    private final BigDoubleAdder adder = new BigDoubleAdder();
+    private final AtomicBigDouble atomic = new AtomicBigDouble();
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        adder.reset();
+        atomic.set(BigDouble.ZERO);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void adder01() {
+        adder.add(DELTA);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void adder04() {
+        adder.add(DELTA);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void adder16() {
+        adder.add(DELTA);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public void adder64() {
+        adder.add(DELTA);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public BigDouble atomic01() {
+        return atomic.addAndGet(DELTA);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public BigDouble atomic04() {
+        return atomic.addAndGet(DELTA);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public BigDouble atomic16() {
+        return atomic.addAndGet(DELTA);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public BigDouble atomic64() {
+        return atomic.addAndGet(DELTA);
+    }
+}
@@ -0,0 +1,92 @@
+package io.github.ad417.BreakInfinity;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulk operations over a BigDoubleArray versus the same loops over a List of BigDouble.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BigDoubleArrayBenchmark {
+    @Param({"1000", "100000"})
+    public int size;
+
+    private List<BigDouble> listValues;
+    private List<BigDouble> listRates;
+    private BigDoubleArray arrayValues;
+    private BigDoubleArray arrayRates;
+    private final BigDouble multiplier = new BigDouble(1.0001);
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        BigDouble[] values = new BigDouble[size];
+        BigDouble[] rates = new BigDouble[size];
+        OperandDistribution.NEAR_EXPONENTS.fill(values, rates);
+        listValues = new ArrayList<>(List.of(values));
+        listRates = new ArrayList<>(List.of(rates));
+        arrayValues = new BigDoubleArray(values);
+        arrayRates = new BigDoubleArray(rates);
+    }
+
+    @Benchmark
+    public List<BigDouble> addList() {
+        for (int i = 0; i < size; i++) {
+            listValues.set(i, listValues.get(i).add(listRates.get(i)));
+        }
+        return listValues;
+    }
+
+    @Benchmark
+    public BigDoubleArray addArray() {
+        return arrayValues.add(arrayRates);
+    }
+
+    @Benchmark
+    public List<BigDouble> mulScalarList() {
+        for (int i = 0; i < size; i++) {
+            listValues.set(i, listValues.get(i).mul(multiplier));
+        }
+        return listValues;
+    }
+
+    @Benchmark
+    public BigDoubleArray mulScalarArray() {
+        return arrayValues.mulScalar(multiplier);
+    }
+
+    @Benchmark
+    public BigDouble sumList() {
+        BigDouble sum = BigDouble.ZERO;
+        for (BigDouble value : listRates) {
+            sum = sum.add(value);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public BigDouble sumArray() {
+        return arrayRates.sum();
+    }
+
+    @Benchmark
+    public BigDouble maxList() {
+        BigDouble max = listRates.get(0);
+        for (BigDouble value : listRates) {
+            max = max.max(value);
+        }
+        return max;
+    }
+
+    @Benchmark
+    public BigDouble maxArray() {
+        return arrayRates.max();
+    }
+}
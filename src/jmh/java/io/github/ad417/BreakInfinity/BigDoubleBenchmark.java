@@ -0,0 +1,145 @@
+package io.github.ad417.BreakInfinity;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the BigDouble operations that dominate a game tick.
+ * Every benchmark walks a fixed batch of operand pairs so the JIT can't
+ * constant-fold the result. Run with {@code ./gradlew jmh}; the gc profiler
+ * is enabled in the build. {@link OperationsPerInvocation} counts each batch
+ * as {@link #BATCH} operations, so both the scores and gc.alloc.rate.norm are
+ * per single operation, not per batch.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+@OperationsPerInvocation(BigDoubleBenchmark.BATCH)
+public class BigDoubleBenchmark {
+    static final int BATCH = 1024;
+
+    @Param({"NEAR_EXPONENTS", "FAR_EXPONENTS", "DOUBLE_RANGE", "ZERO", "INFINITY", "NAN"})
+    public OperandDistribution distribution;
+
+    private final BigDouble[] lefts = new BigDouble[BATCH];
+    private final BigDouble[] rights = new BigDouble[BATCH];
+    private final double[] powers = new double[BATCH];
+    private final String[] strings = new String[BATCH];
+    private final byte[][] bytes = new byte[BATCH][];
+    private final MutableBigDouble slot = new MutableBigDouble();
+
+    @Setup
+    public void setup() {
+        distribution.fill(lefts, rights);
+        for (int i = 0; i < BATCH; i++) {
+            // Mix integer and fractional powers, since pow takes different paths for each.
+            powers[i] = i % 2 == 0 ? i % 13 : (i % 97) / 7.0;
+            strings[i] = rights[i].toString();
+            bytes[i] = strings[i].getBytes(StandardCharsets.US_ASCII);
+        }
+    }
+
+    @Benchmark
+    public void add(Blackhole bh) {
+        for (int i = 0; i < BATCH; i++) {
+            bh.consume(lefts[i].add(rights[i]));
+        }
+    }
+
+    @Benchmark
+    public void sub(Blackhole bh) {
+        for (int i = 0; i < BATCH; i++) {
+            bh.consume(lefts[i].sub(rights[i]));
+        }
+    }
+
+    @Benchmark
+    public void mul(Blackhole bh) {
+        for (int i = 0; i < BATCH; i++) {
+            bh.consume(lefts[i].mul(rights[i]));
+        }
+    }
+
+    @Benchmark
+    public void div(Blackhole bh) {
+        for (int i = 0; i < BATCH; i++) {
+            bh.consume(lefts[i].div(rights[i]));
+        }
+    }
+
+    @Benchmark
+    public void pow(Blackhole bh) {
+        for (int i = 0; i < BATCH; i++) {
+            bh.consume(rights[i].pow(powers[i]));
+        }
+    }
+
+    @Benchmark
+    public void sqrt(Blackhole bh) {
+        for (int i = 0; i < BATCH; i++) {
+            bh.consume(rights[i].sqrt());
+        }
+    }
+
+    @Benchmark
+    public void cbrt(Blackhole bh) {
+        for (int i = 0; i < BATCH; i++) {
+            bh.consume(rights[i].cbrt());
+        }
+    }
+
+    @Benchmark
+    public void floor(Blackhole bh) {
+        for (int i = 0; i < BATCH; i++) {
+            bh.consume(lefts[i].floor());
+        }
+    }
+
+    @Benchmark
+    public void compareTo(Blackhole bh) {
+        for (int i = 0; i < BATCH; i++) {
+            bh.consume(lefts[i].compareTo(rights[i]));
+        }
+    }
+
+    @Benchmark
+    public void toDouble(Blackhole bh) {
+        for (int i = 0; i < BATCH; i++) {
+            bh.consume(rights[i].toDouble());
+        }
+    }
+
+    @Benchmark
+    public void toStringBenchmark(Blackhole bh) {
+        for (int i = 0; i < BATCH; i++) {
+            bh.consume(rights[i].toString());
+        }
+    }
+
+    @Benchmark
+    public void toExponential(Blackhole bh) {
+        for (int i = 0; i < BATCH; i++) {
+            bh.consume(rights[i].toExponential(4));
+        }
+    }
+
+    @Benchmark
+    public void parseBigDouble(Blackhole bh) {
+        for (int i = 0; i < BATCH; i++) {
+            bh.consume(BigDouble.parseBigDouble(strings[i]));
+        }
+    }
+
+    @Benchmark
+    public void parseIntoFromBytes(Blackhole bh) {
+        for (int i = 0; i < BATCH; i++) {
+            bh.consume(BigDoubleParser.parseInto(bytes[i], 0, bytes[i].length, slot).getMantissa());
+        }
+    }
+}
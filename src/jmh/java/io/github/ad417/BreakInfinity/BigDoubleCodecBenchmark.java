@@ -0,0 +1,72 @@
+package io.github.ad417.BreakInfinity;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Saving and loading a block of values with the binary codecs versus toString and parseBigDouble.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BigDoubleCodecBenchmark {
+    @Param({"1000", "100000"})
+    public int size;
+
+    @Param({"FIXED", "COMPACT"})
+    public BigDoubleCodec codec;
+
+    private BigDouble[] values;
+    private String[] strings;
+    private ByteBuffer buffer;
+    private ByteBuffer encoded;
+
+    @Setup
+    public void setup() {
+        values = new BigDouble[size];
+        OperandDistribution.NEAR_EXPONENTS.fill(values, new BigDouble[size]);
+        strings = new String[size];
+        for (int i = 0; i < size; i++) {
+            strings[i] = values[i].toString();
+        }
+        buffer = ByteBuffer.allocate(Integer.BYTES + size * BigDoubleCodec.FIXED_SIZE);
+        encoded = ByteBuffer.allocate(buffer.capacity());
+        codec.writeAll(values, encoded);
+        encoded.flip();
+    }
+
+    @Benchmark
+    public String[] writeStrings() {
+        String[] out = new String[size];
+        for (int i = 0; i < size; i++) {
+            out[i] = values[i].toString();
+        }
+        return out;
+    }
+
+    @Benchmark
+    public ByteBuffer writeAll() {
+        buffer.clear();
+        codec.writeAll(values, buffer);
+        return buffer;
+    }
+
+    @Benchmark
+    public BigDouble[] readStrings() {
+        BigDouble[] out = new BigDouble[size];
+        for (int i = 0; i < size; i++) {
+            out[i] = BigDouble.parseBigDouble(strings[i]);
+        }
+        return out;
+    }
+
+    @Benchmark
+    public BigDouble[] readAll() {
+        return codec.readAll(encoded.rewind());
+    }
+}
@@ -0,0 +1,56 @@
+package io.github.ad417.BreakInfinity;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Summing and summarizing a List of BigDouble with the collectors, against reduce with
+ * BigDouble::add, both sequentially and as parallel streams.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BigDoubleCollectorsBenchmark {
+    @Param({"1000", "100000"})
+    public int size;
+
+    private List<BigDouble> values;
+
+    @Setup
+    public void setup() {
+        BigDouble[] lefts = new BigDouble[size];
+        BigDouble[] rights = new BigDouble[size];
+        OperandDistribution.NEAR_EXPONENTS.fill(lefts, rights);
+        values = List.of(lefts);
+    }
+
+    @Benchmark
+    public BigDouble sumReduce() {
+        return values.stream().reduce(BigDouble.ZERO, BigDouble::add);
+    }
+
+    @Benchmark
+    public BigDouble sumCollector() {
+        return values.stream().collect(BigDoubleCollectors.summing());
+    }
+
+    @Benchmark
+    public BigDouble parallelSumReduce() {
+        return values.parallelStream().reduce(BigDouble.ZERO, BigDouble::add);
+    }
+
+    @Benchmark
+    public BigDouble parallelSumCollector() {
+        return values.parallelStream().collect(BigDoubleCollectors.summing());
+    }
+
+    @Benchmark
+    public BigDoubleSummaryStatistics summarizing() {
+        return values.stream().collect(BigDoubleCollectors.summarizing());
+    }
+}
@@ -0,0 +1,53 @@
+package io.github.ad417.BreakInfinity;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * String overloads fed a handful of config-style literals, with the literal cache on
+ * (the default size) and off (size 0, so every call parses its literal).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+@OperationsPerInvocation(BigDoubleLiteralCacheBenchmark.BATCH)
+public class BigDoubleLiteralCacheBenchmark {
+    static final int BATCH = 1024;
+    static final String[] MULTIPLIERS = {"1.15", "1.07", "2", "1.5e3", "0.95"};
+    static final String[] THRESHOLDS = {"1e100", "1e308", "1e1000", "5e20", "1.79e308"};
+
+    @Param({"0", "1024"})
+    public int cacheSize;
+
+    private final BigDouble[] values = new BigDouble[BATCH];
+
+    @Setup
+    public void setup() {
+        BigDoubleLiteralCache.setSize(cacheSize);
+        OperandDistribution.NEAR_EXPONENTS.fill(values, new BigDouble[BATCH]);
+    }
+
+    @TearDown
+    public void tearDown() {
+        BigDoubleLiteralCache.setSize(BigDoubleLiteralCache.DEFAULT_SIZE);
+    }
+
+    @Benchmark
+    public void times(Blackhole bh) {
+        for (int i = 0; i < BATCH; i++) {
+            bh.consume(values[i].times(MULTIPLIERS[i % MULTIPLIERS.length]));
+        }
+    }
+
+    @Benchmark
+    public void gte(Blackhole bh) {
+        for (int i = 0; i < BATCH; i++) {
+            bh.consume(values[i].gte(THRESHOLDS[i % THRESHOLDS.length]));
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package io.github.ad417.BreakInfinity;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BigDoubleLongMap and BigDoubleObjectMap lookups against HashMap, and hashCode against the
+ * Objects.hash it replaced. The lookups use equal copies of the keys, not the keys themselves,
+ * as a memoized cost table would see them; half of them are missing from the map.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BigDoubleMapBenchmark {
+    private static final int BATCH = 1024;
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    private final BigDouble[] lookups = new BigDouble[BATCH];
+    private final HashMap<BigDouble, Long> hashMap = new HashMap<>();
+    private final HashMap<BigDouble, String> hashObjectMap = new HashMap<>();
+    private BigDoubleLongMap longMap;
+    private BigDoubleObjectMap<String> objectMap;
+
+    @Setup
+    public void setup() {
+        BigDouble[] keys = new BigDouble[size];
+        BigDouble[] others = new BigDouble[size];
+        OperandDistribution.NEAR_EXPONENTS.fill(keys, others);
+        longMap = new BigDoubleLongMap();
+        objectMap = new BigDoubleObjectMap<>();
+        for (int i = 0; i < size; i++) {
+            hashMap.put(keys[i], (long) i);
+            hashObjectMap.put(keys[i], "v" + i);
+            longMap.put(keys[i], i);
+            objectMap.put(keys[i], "v" + i);
+        }
+        for (int i = 0; i < BATCH; i++) {
+            BigDouble key = i % 2 == 0 ? keys[i * 7919 % size] : others[i * 7919 % size];
+            lookups[i] = new BigDouble(key.getMantissa(), key.getExponent());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void objectsHash(Blackhole bh) {
+        for (BigDouble key : lookups) {
+            bh.consume(Objects.hash(key.getMantissa(), key.getExponent()));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void hashCode(Blackhole bh) {
+        for (BigDouble key : lookups) {
+            bh.consume(key.hashCode());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void hashMapGet(Blackhole bh) {
+        for (BigDouble key : lookups) {
+            bh.consume(hashMap.getOrDefault(key, -1L));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void longMapGet(Blackhole bh) {
+        for (BigDouble key : lookups) {
+            bh.consume(longMap.getOrDefault(key, -1));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void hashMapGetObject(Blackhole bh) {
+        for (BigDouble key : lookups) {
+            bh.consume(hashObjectMap.get(key));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void objectMapGet(Blackhole bh) {
+        for (BigDouble key : lookups) {
+            bh.consume(objectMap.get(key));
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package io.github.ad417.BreakInfinity;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BigDoubleSort's radix sorts against Arrays.sort and Arrays.parallelSort. Every benchmark
+ * sorts a fresh copy of the same shuffled values, and the copy is part of what's measured.
+ * The parallel sorts only pull ahead on a machine with several cores.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BigDoubleSortBenchmark {
+    @Param({"10000", "1000000"})
+    public int size;
+
+    private BigDouble[] values;
+
+    @Setup
+    public void setup() {
+        values = new BigDouble[size];
+        OperandDistribution.NEAR_EXPONENTS.fill(values, new BigDouble[size]);
+    }
+
+    @Benchmark
+    public BigDouble[] arraysSort() {
+        BigDouble[] copy = values.clone();
+        Arrays.sort(copy);
+        return copy;
+    }
+
+    @Benchmark
+    public BigDouble[] arraysParallelSort() {
+        BigDouble[] copy = values.clone();
+        Arrays.parallelSort(copy);
+        return copy;
+    }
+
+    @Benchmark
+    public BigDouble[] radixSort() {
+        BigDouble[] copy = values.clone();
+        BigDoubleSort.sort(copy);
+        return copy;
+    }
+
+    @Benchmark
+    public BigDouble[] radixParallelSort() {
+        BigDouble[] copy = values.clone();
+        BigDoubleSort.parallelSort(copy);
+        return copy;
+    }
+}
@@ -0,0 +1,120 @@
+package io.github.ad417.BreakInfinity;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The same operations on the same operands, as BigDouble and as BinaryBigDouble, plus the
+ * cost of formatting, which is where BinaryBigDouble has to convert to decimal.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+@OperationsPerInvocation(BinaryBigDoubleBenchmark.BATCH)
+public class BinaryBigDoubleBenchmark {
+    static final int BATCH = 1024;
+    static final double POWER = 1.05;
+
+    private final BigDouble[] lefts = new BigDouble[BATCH];
+    private final BigDouble[] rights = new BigDouble[BATCH];
+    private final BinaryBigDouble[] binaryLefts = new BinaryBigDouble[BATCH];
+    private final BinaryBigDouble[] binaryRights = new BinaryBigDouble[BATCH];
+
+    @Setup
+    public void setup() {
+        OperandDistribution.NEAR_EXPONENTS.fill(lefts, rights);
+        for (int i = 0; i < BATCH; i++) {
+            binaryLefts[i] = BinaryBigDouble.of(lefts[i]);
+            binaryRights[i] = BinaryBigDouble.of(rights[i]);
+        }
+    }
+
+    @Benchmark
+    public void addBigDouble(Blackhole bh) {
+        for (int i = 0; i < BATCH; i++) {
+            bh.consume(lefts[i].add(rights[i]));
+        }
+    }
+
+    @Benchmark
+    public void addBinary(Blackhole bh) {
+        for (int i = 0; i < BATCH; i++) {
+            bh.consume(binaryLefts[i].add(binaryRights[i]));
+        }
+    }
+
+    @Benchmark
+    public void mulBigDouble(Blackhole bh) {
+        for (int i = 0; i < BATCH; i++) {
+            bh.consume(lefts[i].mul(rights[i]));
+        }
+    }
+
+    @Benchmark
+    public void mulBinary(Blackhole bh) {
+        for (int i = 0; i < BATCH; i++) {
+            bh.consume(binaryLefts[i].mul(binaryRights[i]));
+        }
+    }
+
+    @Benchmark
+    public void divBigDouble(Blackhole bh) {
+        for (int i = 0; i < BATCH; i++) {
+            bh.consume(lefts[i].div(rights[i]));
+        }
+    }
+
+    @Benchmark
+    public void divBinary(Blackhole bh) {
+        for (int i = 0; i < BATCH; i++) {
+            bh.consume(binaryLefts[i].div(binaryRights[i]));
+        }
+    }
+
+    @Benchmark
+    public void powBigDouble(Blackhole bh) {
+        for (int i = 0; i < BATCH; i++) {
+            bh.consume(lefts[i].abs().pow(POWER));
+        }
+    }
+
+    @Benchmark
+    public void powBinary(Blackhole bh) {
+        for (int i = 0; i < BATCH; i++) {
+            bh.consume(binaryLefts[i].abs().pow(POWER));
+        }
+    }
+
+    @Benchmark
+    public void compareBigDouble(Blackhole bh) {
+        for (int i = 0; i < BATCH; i++) {
+            bh.consume(lefts[i].compareTo(rights[i]));
+        }
+    }
+
+    @Benchmark
+    public void compareBinary(Blackhole bh) {
+        for (int i = 0; i < BATCH; i++) {
+            bh.consume(binaryLefts[i].compareTo(binaryRights[i]));
+        }
+    }
+
+    @Benchmark
+    public void toStringBigDouble(Blackhole bh) {
+        for (int i = 0; i < BATCH; i++) {
+            bh.consume(lefts[i].toString());
+        }
+    }
+
+    @Benchmark
+    public void toStringBinary(Blackhole bh) {
+        for (int i = 0; i < BATCH; i++) {
+            bh.consume(binaryLefts[i].toString());
+        }
+    }
+}
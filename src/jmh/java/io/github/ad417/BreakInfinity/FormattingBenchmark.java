@@ -0,0 +1,139 @@
+package io.github.ad417.BreakInfinity;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.text.DecimalFormat;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The three notations written with integer digits, as Strings and into a reused StringBuilder,
+ * against copies of the DecimalFormat and String.format versions they replaced.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+@OperationsPerInvocation(FormattingBenchmark.BATCH)
+public class FormattingBenchmark {
+    static final int BATCH = 1024;
+    static final int PLACES = 4;
+
+    private final BigDouble[] values = new BigDouble[BATCH];
+    private final StringBuilder out = new StringBuilder(64);
+
+    @Setup
+    public void setup() {
+        // Small enough that the old toFixed, which goes through toDouble, still works.
+        BigDouble[] unused = new BigDouble[BATCH];
+        OperandDistribution.NEAR_EXPONENTS.fill(values, unused);
+        for (int i = 0; i < BATCH; i++) {
+            values[i] = new BigDouble(values[i].getMantissa(), values[i].getExponent() % 12);
+        }
+    }
+
+    static String legacyToExponential(BigDouble value, int places) {
+        double mantissa = value.getMantissa();
+        long exponent = value.getExponent();
+        if (BigDouble.isInfinite(value)) return Double.toString(mantissa);
+        if (mantissa == 0 || exponent < -Constants.EXP_LIMIT) {
+            return "0" + RepeatZeroes.trailZeroes(places) + "e+0";
+        }
+        int len = places + 1;
+        int numDigits = (int) Math.max(1, Math.ceil(Math.log10(Math.abs(mantissa))));
+        double rounded = Math.round(mantissa * Math.pow(10, len - numDigits)) * Math.pow(10, numDigits - len);
+        DecimalFormat df = new DecimalFormat("#." + "0".repeat((Math.max(len - numDigits, 0))));
+        return df.format(rounded) + "e" + (exponent >= 0 ? "+" : "") + exponent;
+    }
+
+    static String legacyToFixed(BigDouble value, int places) {
+        if (places < 0) {
+            places = Constants.MAX_SIGNIFICANT_DIGITS;
+        }
+        if (value.getExponent() <= -Constants.EXP_LIMIT || value.getMantissa() == 0) {
+            return "0" + (places > 0 ? RepeatZeroes.padRight(".", places) : "");
+        }
+        long multiplier = (long) Math.pow(10, places);
+        double roundedValue = Math.round(value.toDouble() * multiplier) / (double) multiplier;
+        return String.format("%." + places + "f", roundedValue);
+    }
+
+    static String legacyToPrecision(BigDouble value, int places) {
+        long exponent = value.getExponent();
+        if (exponent <= -7) {
+            return legacyToExponential(value, places - 1);
+        }
+        if (places > exponent) {
+            return legacyToFixed(value, places - (int) exponent - 1);
+        }
+        return legacyToExponential(value, places - 1);
+    }
+
+    @Benchmark
+    public void toExponentialLegacy(Blackhole bh) {
+        for (BigDouble value : values) {
+            bh.consume(legacyToExponential(value, PLACES));
+        }
+    }
+
+    @Benchmark
+    public void toExponentialString(Blackhole bh) {
+        for (BigDouble value : values) {
+            bh.consume(value.toExponential(PLACES));
+        }
+    }
+
+    @Benchmark
+    public void toExponentialBuilder(Blackhole bh) {
+        for (BigDouble value : values) {
+            out.setLength(0);
+            bh.consume(value.toExponential(out, PLACES).length());
+        }
+    }
+
+    @Benchmark
+    public void toFixedLegacy(Blackhole bh) {
+        for (BigDouble value : values) {
+            bh.consume(legacyToFixed(value, PLACES));
+        }
+    }
+
+    @Benchmark
+    public void toFixedString(Blackhole bh) {
+        for (BigDouble value : values) {
+            bh.consume(value.toFixed(PLACES));
+        }
+    }
+
+    @Benchmark
+    public void toFixedBuilder(Blackhole bh) {
+        for (BigDouble value : values) {
+            out.setLength(0);
+            bh.consume(value.toFixed(out, PLACES).length());
+        }
+    }
+
+    @Benchmark
+    public void toPrecisionLegacy(Blackhole bh) {
+        for (BigDouble value : values) {
+            bh.consume(legacyToPrecision(value, PLACES));
+        }
+    }
+
+    @Benchmark
+    public void toPrecisionString(Blackhole bh) {
+        for (BigDouble value : values) {
+            bh.consume(value.toPrecision(PLACES));
+        }
+    }
+
+    @Benchmark
+    public void toPrecisionBuilder(Blackhole bh) {
+        for (BigDouble value : values) {
+            out.setLength(0);
+            bh.consume(value.toPrecision(out, PLACES).length());
+        }
+    }
+}
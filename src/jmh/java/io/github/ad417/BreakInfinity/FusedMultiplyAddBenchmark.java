@@ -0,0 +1,72 @@
+package io.github.ad417.BreakInfinity;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * count.mul(rate).add(total) against fma(count, rate, total), and a sum of products over
+ * many generators against dot.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+@OperationsPerInvocation(FusedMultiplyAddBenchmark.BATCH)
+public class FusedMultiplyAddBenchmark {
+    static final int BATCH = 1024;
+
+    private final BigDouble[] counts = new BigDouble[BATCH];
+    private final BigDouble[] rates = new BigDouble[BATCH];
+    private final BigDouble[] totals = new BigDouble[BATCH];
+    private BigDoubleArray countArray, rateArray;
+
+    @Setup
+    public void setup() {
+        OperandDistribution.NEAR_EXPONENTS.fill(counts, rates);
+        OperandDistribution.NEAR_EXPONENTS.fill(totals, new BigDouble[BATCH]);
+        for (int i = 0; i < BATCH; i++) {
+            // Products land around the totals, so the sums can't just hand back one side.
+            counts[i] = counts[i].abs();
+            rates[i] = new BigDouble(rates[i].abs().getMantissa(), totals[i].getExponent() - counts[i].getExponent());
+        }
+        countArray = new BigDoubleArray(counts);
+        rateArray = new BigDoubleArray(rates);
+    }
+
+    @Benchmark
+    public void mulThenAdd(Blackhole bh) {
+        for (int i = 0; i < BATCH; i++) {
+            bh.consume(counts[i].mul(rates[i]).add(totals[i]));
+        }
+    }
+
+    @Benchmark
+    public void fma(Blackhole bh) {
+        for (int i = 0; i < BATCH; i++) {
+            bh.consume(BigDouble.fma(counts[i], rates[i], totals[i]));
+        }
+    }
+
+    @Benchmark
+    public BigDouble sumOfProducts() {
+        BigDouble sum = BigDouble.ZERO;
+        for (int i = 0; i < BATCH; i++) {
+            sum = sum.add(counts[i].mul(rates[i]));
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public BigDouble dot() {
+        return BigDouble.dot(counts, rates);
+    }
+
+    @Benchmark
+    public BigDouble dotArray() {
+        return countArray.dot(rateArray);
+    }
+}
@@ -0,0 +1,77 @@
+package io.github.ad417.BreakInfinity;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Whole powers of a price ratio: pow(double) against pow(long), and against a BigDoublePowerTable
+ * for the same ratio, with and without its cache. The powers are owned counts up to maxPower;
+ * each batch asks for 1024 of them, drawn from a pool of 32 so the cache has repeats to find,
+ * as a shop checking the same few purchases every tick would.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class IntegerPowerBenchmark {
+    private static final int BATCH = 1024;
+
+    @Param({"100", "100000"})
+    public int maxPower;
+
+    private final long[] powers = new long[BATCH];
+    private final BigDouble ratio = new BigDouble(1.15);
+    private BigDoublePowerTable table;
+    private BigDoublePowerTable uncachedTable;
+
+    @Setup
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(417);
+        long[] pool = new long[32];
+        for (int i = 0; i < pool.length; i++) {
+            pool[i] = random.nextLong(maxPower);
+        }
+        for (int i = 0; i < BATCH; i++) {
+            powers[i] = pool[random.nextInt(pool.length)];
+        }
+        table = new BigDoublePowerTable(ratio);
+        uncachedTable = new BigDoublePowerTable(ratio, 0);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void powDouble(Blackhole bh) {
+        for (long power : powers) {
+            bh.consume(ratio.pow((double) power));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void powLong(Blackhole bh) {
+        for (long power : powers) {
+            bh.consume(ratio.pow(power));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void powerTable(Blackhole bh) {
+        for (long power : powers) {
+            bh.consume(uncachedTable.pow(power));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void cachedPowerTable(Blackhole bh) {
+        for (long power : powers) {
+            bh.consume(table.pow(power));
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package io.github.ad417.BreakInfinity;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chains of multipliers, divisors and powers, as BigDouble and as LogBigDouble, plus the
+ * cost of converting between the two.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+@OperationsPerInvocation(LogBigDoubleBenchmark.BATCH)
+public class LogBigDoubleBenchmark {
+    static final int BATCH = 1024;
+    static final double POWER = 1.05;
+
+    private final BigDouble[] multipliers = new BigDouble[BATCH];
+    private final BigDouble[] divisors = new BigDouble[BATCH];
+    private final LogBigDouble[] logMultipliers = new LogBigDouble[BATCH];
+    private final LogBigDouble[] logDivisors = new LogBigDouble[BATCH];
+
+    @Setup
+    public void setup() {
+        OperandDistribution.NEAR_EXPONENTS.fill(multipliers, divisors);
+        for (int i = 0; i < BATCH; i++) {
+            multipliers[i] = multipliers[i].abs();
+            divisors[i] = divisors[i].abs();
+            logMultipliers[i] = LogBigDouble.of(multipliers[i]);
+            logDivisors[i] = LogBigDouble.of(divisors[i]);
+        }
+    }
+
+    @Benchmark
+    public BigDouble mulChainBigDouble() {
+        BigDouble value = BigDouble.ONE;
+        for (BigDouble multiplier : multipliers) {
+            value = value.mul(multiplier);
+        }
+        return value;
+    }
+
+    @Benchmark
+    public LogBigDouble mulChainLog() {
+        LogBigDouble value = LogBigDouble.ONE;
+        for (LogBigDouble multiplier : logMultipliers) {
+            value = value.mul(multiplier);
+        }
+        return value;
+    }
+
+    @Benchmark
+    public BigDouble mulDivPowChainBigDouble() {
+        BigDouble value = BigDouble.ONE;
+        // Powers of each multiplier rather than of the running value, which would soon overflow.
+        for (int i = 0; i < BATCH; i++) {
+            value = value.mul(multipliers[i].pow(POWER)).div(divisors[i]);
+        }
+        return value;
+    }
+
+    @Benchmark
+    public LogBigDouble mulDivPowChainLog() {
+        LogBigDouble value = LogBigDouble.ONE;
+        for (int i = 0; i < BATCH; i++) {
+            value = value.mul(logMultipliers[i].pow(POWER)).div(logDivisors[i]);
+        }
+        return value;
+    }
+
+    @Benchmark
+    public BigDouble roundTrip() {
+        BigDouble last = null;
+        for (BigDouble multiplier : multipliers) {
+            last = LogBigDouble.of(multiplier).toBigDouble();
+        }
+        return last;
+    }
+}
@@ -0,0 +1,67 @@
+package io.github.ad417.BreakInfinity;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Summing and scaling a batch of values with immutable BigDoubles versus a MutableBigDouble accumulator.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+@OperationsPerInvocation(MutableBigDoubleBenchmark.BATCH)
+public class MutableBigDoubleBenchmark {
+    static final int BATCH = 1024;
+
+    @Param({"NEAR_EXPONENTS", "FAR_EXPONENTS"})
+    public OperandDistribution distribution;
+
+    private final BigDouble[] lefts = new BigDouble[BATCH];
+    private final BigDouble[] rights = new BigDouble[BATCH];
+    private final MutableBigDouble accumulator = new MutableBigDouble();
+
+    @Setup
+    public void setup() {
+        distribution.fill(lefts, rights);
+    }
+
+    @Benchmark
+    public BigDouble sumImmutable() {
+        BigDouble sum = BigDouble.ZERO;
+        for (int i = 0; i < BATCH; i++) {
+            sum = sum.add(lefts[i]);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double sumMutable() {
+        accumulator.setZero();
+        for (int i = 0; i < BATCH; i++) {
+            accumulator.addAssign(lefts[i]);
+        }
+        return accumulator.getMantissa();
+    }
+
+    @Benchmark
+    public BigDouble mulAddImmutable() {
+        BigDouble sum = BigDouble.ZERO;
+        for (int i = 0; i < BATCH; i++) {
+            sum = sum.mul(rights[i]).add(lefts[i]);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double mulAddMutable() {
+        accumulator.setZero();
+        for (int i = 0; i < BATCH; i++) {
+            accumulator.mulAssign(rights[i]).addAssign(lefts[i]);
+        }
+        return accumulator.getMantissa();
+    }
+}
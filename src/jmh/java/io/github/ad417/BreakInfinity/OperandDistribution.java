@@ -0,0 +1,112 @@
+package io.github.ad417.BreakInfinity;
+
+import java.util.SplittableRandom;
+
+/**
+ * The shapes of operands that benchmarks are run against. Each distribution produces
+ * pairs of values, since most of the interesting behaviour in BigDouble
+ * (alignment in add, the early-outs in compareTo) depends on how the two sides relate.
+ */
+public enum OperandDistribution {
+    /**
+     * Exponents within a few places of each other; the common case for resources and costs.
+     */
+    NEAR_EXPONENTS {
+        @Override
+        BigDouble left(SplittableRandom random) {
+            return new BigDouble(random.nextDouble(1, 10), random.nextLong(-1000, 1000));
+        }
+
+        @Override
+        BigDouble right(SplittableRandom random, BigDouble left) {
+            return new BigDouble(random.nextDouble(1, 10), left.getExponent() + random.nextLong(-3, 4));
+        }
+    },
+    /**
+     * Exponents far enough apart that add short-circuits to the larger value.
+     */
+    FAR_EXPONENTS {
+        @Override
+        BigDouble left(SplittableRandom random) {
+            return new BigDouble(random.nextDouble(1, 10), random.nextLong(-1_000_000, 1_000_000));
+        }
+
+        @Override
+        BigDouble right(SplittableRandom random, BigDouble left) {
+            long offset = random.nextLong(Constants.MAX_SIGNIFICANT_DIGITS + 1, 100_000);
+            return new BigDouble(random.nextDouble(1, 10), left.getExponent() + (random.nextBoolean() ? offset : -offset));
+        }
+    },
+    /**
+     * Values small enough to round-trip through a double, with a sign mix.
+     */
+    DOUBLE_RANGE {
+        @Override
+        BigDouble left(SplittableRandom random) {
+            return new BigDouble((random.nextBoolean() ? 1 : -1) * random.nextDouble(1, 10), random.nextLong(-20, 20));
+        }
+
+        @Override
+        BigDouble right(SplittableRandom random, BigDouble left) {
+            return left(random);
+        }
+    },
+    /**
+     * One side is always zero.
+     */
+    ZERO {
+        @Override
+        BigDouble left(SplittableRandom random) {
+            return NEAR_EXPONENTS.left(random);
+        }
+
+        @Override
+        BigDouble right(SplittableRandom random, BigDouble left) {
+            return BigDouble.ZERO;
+        }
+    },
+    /**
+     * One side is an infinity of either sign.
+     */
+    INFINITY {
+        @Override
+        BigDouble left(SplittableRandom random) {
+            return NEAR_EXPONENTS.left(random);
+        }
+
+        @Override
+        BigDouble right(SplittableRandom random, BigDouble left) {
+            return random.nextBoolean() ? BigDouble.POSITIVE_INFINITY : BigDouble.NEGATIVE_INFINITY;
+        }
+    },
+    /**
+     * One side is NaN.
+     */
+    NAN {
+        @Override
+        BigDouble left(SplittableRandom random) {
+            return NEAR_EXPONENTS.left(random);
+        }
+
+        @Override
+        BigDouble right(SplittableRandom random, BigDouble left) {
+            return BigDouble.NaN;
+        }
+    };
+
+    abstract BigDouble left(SplittableRandom random);
+
+    abstract BigDouble right(SplittableRandom random, BigDouble left);
+
+    /**
+     * Fill two arrays with operand pairs drawn from this distribution.
+     * The seed is fixed so every run measures the same values.
+     */
+    void fill(BigDouble[] lefts, BigDouble[] rights) {
+        SplittableRandom random = new SplittableRandom(417);
+        for (int i = 0; i < lefts.length; i++) {
+            lefts[i] = left(random);
+            rights[i] = right(random, lefts[i]);
+        }
+    }
+}
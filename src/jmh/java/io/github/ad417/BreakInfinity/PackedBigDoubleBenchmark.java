@@ -0,0 +1,91 @@
+package io.github.ad417.BreakInfinity;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The same loops over a BigDouble[] and over a long[] of the same values packed.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PackedBigDoubleBenchmark {
+    @Param({"1000", "100000"})
+    public int size;
+
+    private BigDouble[] values;
+    private BigDouble[] rates;
+    private long[] packedValues;
+    private long[] packedRates;
+    private BigDouble[] results;
+    private long[] packedResults;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        values = new BigDouble[size];
+        rates = new BigDouble[size];
+        OperandDistribution.NEAR_EXPONENTS.fill(values, rates);
+        packedValues = new long[size];
+        packedRates = new long[size];
+        results = new BigDouble[size];
+        packedResults = new long[size];
+        for (int i = 0; i < size; i++) {
+            packedValues[i] = PackedBigDouble.pack(values[i]);
+            packedRates[i] = PackedBigDouble.pack(rates[i]);
+        }
+    }
+
+    @Benchmark
+    public BigDouble[] addObjects() {
+        for (int i = 0; i < size; i++) {
+            results[i] = values[i].add(rates[i]);
+        }
+        return results;
+    }
+
+    @Benchmark
+    public long[] addPacked() {
+        for (int i = 0; i < size; i++) {
+            packedResults[i] = PackedBigDouble.addPacked(packedValues[i], packedRates[i]);
+        }
+        return packedResults;
+    }
+
+    @Benchmark
+    public BigDouble[] mulObjects() {
+        for (int i = 0; i < size; i++) {
+            results[i] = values[i].mul(rates[i]);
+        }
+        return results;
+    }
+
+    @Benchmark
+    public long[] mulPacked() {
+        for (int i = 0; i < size; i++) {
+            packedResults[i] = PackedBigDouble.mulPacked(packedValues[i], packedRates[i]);
+        }
+        return packedResults;
+    }
+
+    @Benchmark
+    public int compareObjects() {
+        int greater = 0;
+        for (int i = 0; i < size; i++) {
+            if (values[i].compareTo(rates[i]) > 0) greater++;
+        }
+        return greater;
+    }
+
+    @Benchmark
+    public int comparePacked() {
+        int greater = 0;
+        for (int i = 0; i < size; i++) {
+            if (PackedBigDouble.comparePacked(packedValues[i], packedRates[i]) > 0) greater++;
+        }
+        return greater;
+    }
+}
@@ -0,0 +1,77 @@
+package io.github.ad417.BreakInfinity;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BigDoubleArray's fork/join reductions on pools of 1 to 8 threads, against the
+ * sequential sum and max. Scaling only shows on a machine with that many cores.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ParallelReductionsBenchmark {
+    @Param({"100000", "10000000"})
+    public int size;
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    private BigDoubleArray values;
+    private BigDoubleArray prefixSums;
+    private ForkJoinPool pool;
+
+    @Setup
+    public void setup() {
+        BigDouble[] lefts = new BigDouble[size];
+        BigDouble[] rights = new BigDouble[size];
+        OperandDistribution.NEAR_EXPONENTS.fill(lefts, rights);
+        values = new BigDoubleArray(lefts);
+        prefixSums = new BigDoubleArray(size);
+        pool = new ForkJoinPool(threads);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public BigDouble sum() {
+        return values.sum();
+    }
+
+    @Benchmark
+    public BigDouble parallelSum() {
+        return values.parallelSum(pool);
+    }
+
+    @Benchmark
+    public BigDouble parallelProduct() {
+        return values.parallelProduct(pool);
+    }
+
+    @Benchmark
+    public BigDouble max() {
+        return values.max();
+    }
+
+    @Benchmark
+    public BigDouble parallelMax() {
+        return values.parallelMax(pool);
+    }
+
+    @Benchmark
+    public BigDoubleArray parallelPrefixSum() {
+        // Start from the original values each time: prefix sums of prefix sums are all
+        // nearly the same size, and don't behave like real data. The copy is cheap next to the sums.
+        System.arraycopy(values.mantissas, 0, prefixSums.mantissas, 0, size);
+        System.arraycopy(values.exponents, 0, prefixSums.exponents, 0, size);
+        return prefixSums.parallelPrefixSum(pool);
+    }
+}
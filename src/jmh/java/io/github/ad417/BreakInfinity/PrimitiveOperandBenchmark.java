@@ -0,0 +1,99 @@
+package io.github.ad417.BreakInfinity;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The double overloads of add, mul, div and lt, against what they used to do:
+ * wrap the operand in a new BigDouble and call the BigDouble overload.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+@OperationsPerInvocation(PrimitiveOperandBenchmark.BATCH)
+public class PrimitiveOperandBenchmark {
+    static final int BATCH = 1024;
+
+    /**
+     * smallInteger: whole numbers up to 1000, like counts and purchase amounts.
+     * fraction: anything else a double might hold, like multipliers.
+     */
+    @Param({"smallInteger", "fraction"})
+    public String operands;
+
+    private final BigDouble[] values = new BigDouble[BATCH];
+    private final double[] primitives = new double[BATCH];
+
+    @Setup
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < BATCH; i++) {
+            values[i] = new BigDouble(random.nextDouble(1, 10), random.nextLong(-3, 4));
+            primitives[i] = operands.equals("smallInteger")
+                    ? random.nextInt(10, 1000)
+                    : random.nextDouble(0.01, 1000);
+        }
+    }
+
+    @Benchmark
+    public void addPrimitive(Blackhole bh) {
+        for (int i = 0; i < BATCH; i++) {
+            bh.consume(values[i].add(primitives[i]));
+        }
+    }
+
+    @Benchmark
+    public void addBoxed(Blackhole bh) {
+        for (int i = 0; i < BATCH; i++) {
+            bh.consume(values[i].add(new BigDouble(primitives[i])));
+        }
+    }
+
+    @Benchmark
+    public void mulPrimitive(Blackhole bh) {
+        for (int i = 0; i < BATCH; i++) {
+            bh.consume(values[i].mul(primitives[i]));
+        }
+    }
+
+    @Benchmark
+    public void mulBoxed(Blackhole bh) {
+        for (int i = 0; i < BATCH; i++) {
+            bh.consume(values[i].mul(new BigDouble(primitives[i])));
+        }
+    }
+
+    @Benchmark
+    public void divPrimitive(Blackhole bh) {
+        for (int i = 0; i < BATCH; i++) {
+            bh.consume(values[i].div(primitives[i]));
+        }
+    }
+
+    @Benchmark
+    public void divBoxed(Blackhole bh) {
+        for (int i = 0; i < BATCH; i++) {
+            bh.consume(values[i].div(new BigDouble(primitives[i])));
+        }
+    }
+
+    @Benchmark
+    public void ltPrimitive(Blackhole bh) {
+        for (int i = 0; i < BATCH; i++) {
+            bh.consume(values[i].lt(primitives[i]));
+        }
+    }
+
+    @Benchmark
+    public void ltBoxed(Blackhole bh) {
+        for (int i = 0; i < BATCH; i++) {
+            bh.consume(values[i].lt(new BigDouble(primitives[i])));
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package io.github.ad417.BreakInfinity;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One shop tick over a catalogue of items: the cost of buying 1, 10 and 100 of every item,
+ * the most of each that the budget can buy, and what that would cost. Item by item through
+ * BigDouble's geometric series methods, against a PurchaseCalculator for the same catalogue.
+ * Scores are whole ticks per second.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PurchaseCalculatorBenchmark {
+    private static final int[] BATCH_SIZES = {1, 10, 100};
+
+    @Param({"1000", "10000", "100000"})
+    public int items;
+
+    private BigDouble[] starts;
+    private BigDouble[] ratios;
+    private int[] owned;
+    private final BigDouble resources = new BigDouble(3.7, 150);
+
+    private PurchaseCalculator calculator;
+    private BigDoubleArray[] costs;
+    private long[] maxAffordable;
+    private BigDoubleArray maxCosts;
+
+    @Setup
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(417);
+        starts = new BigDouble[items];
+        ratios = new BigDouble[items];
+        owned = new int[items];
+        BigDoubleArray startArray = new BigDoubleArray(items);
+        double[] ratioArray = new double[items];
+        long[] ownedArray = new long[items];
+        for (int i = 0; i < items; i++) {
+            starts[i] = new BigDouble(random.nextDouble(1, 10), random.nextLong(0, 100));
+            ratioArray[i] = random.nextDouble(1.01, 2);
+            ratios[i] = new BigDouble(ratioArray[i]);
+            owned[i] = random.nextInt(200);
+            startArray.set(i, starts[i]);
+            ownedArray[i] = owned[i];
+        }
+
+        calculator = new PurchaseCalculator(startArray, ratioArray, ownedArray, BATCH_SIZES);
+        costs = new BigDoubleArray[BATCH_SIZES.length];
+        for (int b = 0; b < costs.length; b++) costs[b] = new BigDoubleArray(items);
+        maxAffordable = new long[items];
+        maxCosts = new BigDoubleArray(items);
+    }
+
+    @Benchmark
+    public void perItem(Blackhole bh) {
+        for (int i = 0; i < items; i++) {
+            for (int batchSize : BATCH_SIZES) {
+                bh.consume(BigDouble.sumGeometricSeries(batchSize, starts[i], ratios[i], owned[i]));
+            }
+            BigDouble count = BigDouble.affordGeometricSeries(resources, starts[i], ratios[i], owned[i]);
+            bh.consume(BigDouble.sumGeometricSeries((int) count.toDouble(), starts[i], ratios[i], owned[i]));
+        }
+    }
+
+    @Benchmark
+    public void calculator(Blackhole bh) {
+        calculator.evaluate(resources, costs, maxAffordable, maxCosts);
+        bh.consume(maxCosts);
+    }
+}
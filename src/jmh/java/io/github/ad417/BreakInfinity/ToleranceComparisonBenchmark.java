@@ -0,0 +1,66 @@
+package io.github.ad417.BreakInfinity;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The tolerance comparisons against the sub/abs/max/mul chain they used to be built on.
+ * Half of the pairs are within the tolerance of each other, like a price checked against
+ * a balance that was just set to it.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ToleranceComparisonBenchmark {
+    private static final int BATCH = 1024;
+    private static final BigDouble TOLERANCE = new BigDouble(1e-9);
+
+    private final BigDouble[] lefts = new BigDouble[BATCH];
+    private final BigDouble[] rights = new BigDouble[BATCH];
+
+    @Setup
+    public void setup() {
+        OperandDistribution.NEAR_EXPONENTS.fill(lefts, rights);
+        for (int i = 0; i < BATCH; i += 2) {
+            rights[i] = lefts[i].mul(1 + 1e-12);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void chained(Blackhole bh) {
+        for (int i = 0; i < BATCH; i++) {
+            BigDouble x = lefts[i], y = rights[i];
+            bh.consume(x.sub(y).abs().lte(x.abs().max(y.abs()).mul(TOLERANCE)));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void eqTolerance(Blackhole bh) {
+        for (int i = 0; i < BATCH; i++) {
+            bh.consume(lefts[i].eq_tolerance(rights[i], TOLERANCE));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void eqRelativeTolerance(Blackhole bh) {
+        for (int i = 0; i < BATCH; i++) {
+            bh.consume(lefts[i].eq_tolerance(rights[i], 1e-9));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void gteTolerance(Blackhole bh) {
+        for (int i = 0; i < BATCH; i++) {
+            bh.consume(lefts[i].gte_tolerance(rights[i], 1e-9));
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package io.github.ad417.BreakInfinity;
+
+/**
+ * The loops behind BigDoubleArray's bulk operations. Each kernel works on the first
+ * {@code length} elements of parallel mantissa and exponent arrays, and writes its
+ * result over the first pair of arrays.
+ * <p>There are two implementations: a plain scalar one, and one built on the incubating
+ * Vector API, which is only used when the jdk.incubator.vector module has been added
+ * to the JVM (with {@code --add-modules jdk.incubator.vector}).
+ */
+interface ArrayKernels {
+    /**
+     * The kernels in use: vectorized when possible, scalar otherwise.
+     */
+    ArrayKernels INSTANCE = select();
+
+    void add(double[] mantissas, long[] exponents, double[] otherMantissas, long[] otherExponents, int length);
+
+    void mul(double[] mantissas, long[] exponents, double[] otherMantissas, long[] otherExponents, int length);
+
+    void div(double[] mantissas, long[] exponents, double[] otherMantissas, long[] otherExponents, int length);
+
+    void compare(double[] mantissas, long[] exponents, double[] otherMantissas, long[] otherExponents,
+                 int[] result, int length);
+
+    /**
+     * @return Whether these kernels use SIMD instructions.
+     */
+    boolean isVectorized();
+
+    private static ArrayKernels select() {
+        // The vector kernels can't even be loaded without the module, so only try if it's there.
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                return (ArrayKernels) Class.forName("io.github.ad417.BreakInfinity.VectorArrayKernels")
+                        .getDeclaredConstructor()
+                        .newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // Fall through to the scalar kernels.
+            }
+        }
+        return new ScalarArrayKernels();
+    }
+}
@@ -0,0 +1,196 @@
+package io.github.ad417.BreakInfinity;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.function.BinaryOperator;
+import java.util.function.UnaryOperator;
+
+/**
+ * A BigDouble that can be updated atomically, for totals shared between threads.
+ * Like AtomicLong, every update is a lock-free compare-and-set loop: it reads the
+ * current value, computes the new one, and retries if another thread got there first.
+ * <p>Since BigDoubles are immutable, the functions passed to the update methods may be
+ * called more than once under contention, and should have no side effects.
+ * <p>When many threads add to the same total far more often than anything reads it,
+ * {@link BigDoubleAdder} scales better.
+ */
+public class AtomicBigDouble {
+    private static final VarHandle VALUE;
+
+    static {
+        try {
+            VALUE = MethodHandles.lookup().findVarHandle(AtomicBigDouble.class, "value", BigDouble.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private volatile BigDouble value;
+
+    /**
+     * Create an AtomicBigDouble with an initial value of 0.
+     */
+    public AtomicBigDouble() {
+        this(BigDouble.ZERO);
+    }
+
+    /**
+     * Create an AtomicBigDouble with the given initial value.
+     * @param initialValue The initial value.
+     */
+    public AtomicBigDouble(@NotNull BigDouble initialValue) {
+        value = initialValue;
+    }
+
+    /**
+     * @return The current value.
+     */
+    public BigDouble get() {
+        return value;
+    }
+
+    /**
+     * Overwrite the current value.
+     * @param newValue The new value.
+     */
+    public void set(@NotNull BigDouble newValue) {
+        value = newValue;
+    }
+
+    /**
+     * Overwrite the current value, without making the write visible to other threads right away.
+     * @param newValue The new value.
+     * @see java.util.concurrent.atomic.AtomicReference#lazySet(Object)
+     */
+    public void lazySet(@NotNull BigDouble newValue) {
+        VALUE.setRelease(this, newValue);
+    }
+
+    /**
+     * Overwrite the current value, returning the old one.
+     * @param newValue The new value.
+     * @return The previous value.
+     */
+    public BigDouble getAndSet(@NotNull BigDouble newValue) {
+        return (BigDouble) VALUE.getAndSet(this, newValue);
+    }
+
+    /**
+     * Determine if two values should count as the same for compareAndSet: the same mantissa
+     * and exponent, as in BigDouble.equals, except that NaN matches NaN.
+     */
+    private static boolean sameValue(BigDouble current, BigDouble expected) {
+        return current == expected
+                || current.equals(expected)
+                || BigDouble.isNaN(current) && BigDouble.isNaN(expected);
+    }
+
+    /**
+     * Set the value to newValue if the current value equals expectedValue.
+     * <p>Unlike AtomicReference, this compares values rather than references, so the
+     * expected value doesn't have to be the very instance that was stored. NaN matches NaN.
+     * @param expectedValue The value the current value has to equal.
+     * @param newValue The new value.
+     * @return Whether the value was set.
+     */
+    public boolean compareAndSet(@NotNull BigDouble expectedValue, @NotNull BigDouble newValue) {
+        while (true) {
+            BigDouble current = value;
+            if (!sameValue(current, expectedValue)) return false;
+            // Fails only if another thread swapped in a new instance, which may or may not be equal.
+            if (VALUE.compareAndSet(this, current, newValue)) return true;
+        }
+    }
+
+    /**
+     * Add to the current value, returning the old one.
+     * @param delta The value to add.
+     * @return The previous value.
+     */
+    public BigDouble getAndAdd(@NotNull BigDouble delta) {
+        return getAndAccumulate(delta, BigDouble::add);
+    }
+
+    /**
+     * Add to the current value, returning the new one.
+     * @param delta The value to add.
+     * @return The updated value.
+     */
+    public BigDouble addAndGet(@NotNull BigDouble delta) {
+        return accumulateAndGet(delta, BigDouble::add);
+    }
+
+    /**
+     * Replace the current value with updateFunction applied to it, returning the old value.
+     * @param updateFunction A side-effect-free function.
+     * @return The previous value.
+     */
+    public BigDouble getAndUpdate(@NotNull UnaryOperator<BigDouble> updateFunction) {
+        BigDouble previous = value;
+        BigDouble next = null;
+        boolean haveNext = false;
+        while (true) {
+            // Don't recompute if a failed CAS raced with a write of the same instance.
+            if (!haveNext) next = updateFunction.apply(previous);
+            if (VALUE.weakCompareAndSet(this, previous, next)) return previous;
+            haveNext = previous == (previous = value);
+        }
+    }
+
+    /**
+     * Replace the current value with updateFunction applied to it, returning the new value.
+     * @param updateFunction A side-effect-free function.
+     * @return The updated value.
+     */
+    public BigDouble updateAndGet(@NotNull UnaryOperator<BigDouble> updateFunction) {
+        BigDouble previous = value;
+        BigDouble next = null;
+        boolean haveNext = false;
+        while (true) {
+            if (!haveNext) next = updateFunction.apply(previous);
+            if (VALUE.weakCompareAndSet(this, previous, next)) return next;
+            haveNext = previous == (previous = value);
+        }
+    }
+
+    /**
+     * Replace the current value with accumulatorFunction applied to it and x, returning the old value.
+     * @param x The second argument to accumulatorFunction.
+     * @param accumulatorFunction A side-effect-free function of the current value and x.
+     * @return The previous value.
+     */
+    public BigDouble getAndAccumulate(@NotNull BigDouble x, @NotNull BinaryOperator<BigDouble> accumulatorFunction) {
+        BigDouble previous = value;
+        BigDouble next = null;
+        boolean haveNext = false;
+        while (true) {
+            if (!haveNext) next = accumulatorFunction.apply(previous, x);
+            if (VALUE.weakCompareAndSet(this, previous, next)) return previous;
+            haveNext = previous == (previous = value);
+        }
+    }
+
+    /**
+     * Replace the current value with accumulatorFunction applied to it and x, returning the new value.
+     * @param x The second argument to accumulatorFunction.
+     * @param accumulatorFunction A side-effect-free function of the current value and x.
+     * @return The updated value.
+     */
+    public BigDouble accumulateAndGet(@NotNull BigDouble x, @NotNull BinaryOperator<BigDouble> accumulatorFunction) {
+        BigDouble previous = value;
+        BigDouble next = null;
+        boolean haveNext = false;
+        while (true) {
+            if (!haveNext) next = accumulatorFunction.apply(previous, x);
+            if (VALUE.weakCompareAndSet(this, previous, next)) return next;
+            haveNext = previous == (previous = value);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return value.toString();
+    }
+}
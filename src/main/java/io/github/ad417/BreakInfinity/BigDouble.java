@@ -1,8 +1,8 @@
 package io.github.ad417.BreakInfinity;
 
 import org.jetbrains.annotations.NotNull;
-import java.text.DecimalFormat;
-import java.util.Objects;
+
+import java.io.IOException;
 
 /**
  * A BigDouble's value is simply mantissa * 10 ^ exponent.
@@ -12,6 +12,12 @@ public class BigDouble implements Comparable<BigDouble> {
     private final double mantissa;
     private final long exponent;
 
+    /**
+     * Passed to the private constructor to tell it apart from the public, normalizing one.
+     * Shared, so that building a BigDouble only ever allocates the BigDouble itself.
+     */
+    private static final PrivateConstructorArg NO_NORMALIZE = new PrivateConstructorArg();
+
     private BigDouble(double mantissa, long exponent, PrivateConstructorArg unused) {
         this.mantissa = mantissa;
         this.exponent = exponent;
@@ -24,9 +30,18 @@ public class BigDouble implements Comparable<BigDouble> {
      * @param exponent A long number of any value. Represents the exponent.
      */
     public BigDouble(double mantissa, long exponent) {
-        BigDouble other = normalize(mantissa, exponent);
-        this.mantissa = other.mantissa;
-        this.exponent = other.exponent;
+        // Normalize straight into the fields, rather than building a temporary BigDouble to copy.
+        if (isNormalized(mantissa)) {
+            this.mantissa = mantissa;
+            this.exponent = exponent;
+        } else if (mantissa == 0) {
+            this.mantissa = 0;
+            this.exponent = 0;
+        } else {
+            int tempExponent = normalizingExponent(mantissa);
+            this.mantissa = scaleMantissa(mantissa, tempExponent);
+            this.exponent = exponent + tempExponent;
+        }
     }
 
     public BigDouble(@NotNull BigDouble other) {
@@ -39,21 +54,39 @@ public class BigDouble implements Comparable<BigDouble> {
      * @param value a number to convert to a BigDouble.
      */
     public BigDouble(double value) {
-        // Java hates direct assignment to this. Fine.
-        BigDouble other;
-        //SAFETY: Handle Infinity and NaN in a somewhat meaningful way.
-        if (Double.isNaN(value)) {
-            other = NaN;
-        } else if (Double.isInfinite(value)) {
-            if (value > 0) other = POSITIVE_INFINITY;
-            else other = NEGATIVE_INFINITY;
-        } else if (value == 0) {
-            other = ZERO;
-        } else {
-            other = normalize(value, 0);
+        // Infinities and 0 come out of normalizing as they should; NaN just needs NaN's exponent.
+        this(value, Double.isNaN(value) ? Long.MIN_VALUE : 0);
+    }
+
+    /**
+     * Get a BigDouble equal to a primitive number. Whole numbers from 0 to 10,000 and
+     * powers of 10 come from a cache, so asking for them doesn't allocate anything;
+     * prefer this to {@code new BigDouble(value)} wherever those are common.
+     * @param value a number to convert to a BigDouble.
+     * @return A BigDouble with the same value. NaN and the infinities give their canonical constants.
+     */
+    public static BigDouble valueOf(double value) {
+        if (value >= 0 && value <= ValueCache.MAX_INTEGER && value == Math.floor(value)) {
+            return ValueCache.integer((int) value);
+        }
+        if (Double.isNaN(value)) return NaN;
+        if (Double.isInfinite(value)) return value > 0 ? POSITIVE_INFINITY : NEGATIVE_INFINITY;
+
+        // The same steps as the constructor, but checking for a power of 10 before allocating.
+        int tempExponent = isNormalized(value) ? 0 : normalizingExponent(value);
+        double mantissa = scaleMantissa(value, tempExponent);
+        if (mantissa == 1) return pow10(tempExponent);
+        return fromMantissaExponentNoNormalize(mantissa, tempExponent);
+    }
+
+    /**
+     * @see #valueOf(double) Delegates to valueOf(double) with proper conversion.
+     */
+    public static BigDouble valueOf(long value) {
+        if (value >= 0 && value <= ValueCache.MAX_INTEGER) {
+            return ValueCache.integer((int) value);
         }
-        this.mantissa = other.mantissa;
-        this.exponent = other.exponent;
+        return valueOf((double) value);
     }
 
     /**
@@ -62,31 +95,106 @@ public class BigDouble implements Comparable<BigDouble> {
      *              X.XX is the mantissa and YYY is the exponent.
      */
     public BigDouble(String value) {
-        this(BigDouble.parseBigDouble(value));
+        this(BigDoubleLiteralCache.get(value));
     }
 
     private static BigDouble normalize(double mantissa, long exponent) {
-        if (mantissa >= 1 && mantissa < 10 || !Double.isFinite(mantissa)) {
-            return fromMantissaExponentNoNormalize(mantissa, exponent);
-        }
         if (mantissa == 0.0) {
             return ZERO;
         }
+        return new BigDouble(mantissa, exponent);
+    }
+
+    /*
+     * The pieces of normalize, split out so that the mutable and array-backed types
+     * can normalize their own fields without going through a BigDouble instance.
+     */
+
+    /**
+     * Determine if a mantissa can be stored as-is. Positive mantissas in [1, 10) are
+     * already normalized, and non-finite mantissas can't be normalized at all.
+     */
+    static boolean isNormalized(double mantissa) {
+        return mantissa >= 1 && mantissa < 10 || !Double.isFinite(mantissa);
+    }
+
+    /**
+     * Find the power of 10 that a nonzero, finite mantissa has to be divided by to land in [1, 10).
+     * The result must be added to the exponent.
+     * <p>Rather than taking a log10, this reads the binary exponent out of the double and looks
+     * up the decimal exponent of that power of 2. The mantissa is somewhere between that power
+     * of 2 and the next, less than 10 times higher, so the estimate is either right or one too
+     * small, and one comparison settles which.
+     */
+    static int normalizingExponent(double mantissa) {
+        double magnitude = Math.abs(mantissa);
+        // Subnormals don't have a binary exponent of their own; they're rare enough for the slow way.
+        if (magnitude < Double.MIN_NORMAL) return (int) Math.floor(Math.log10(magnitude));
+        int estimate = PowerOf10.floorLog10OfPowerOf2(Math.getExponent(magnitude));
+        return magnitude >= PowerOf10.lookup(estimate + 1) ? estimate + 1 : estimate;
+    }
 
-        int tempExponent = (int) Math.floor(Math.log10(Math.abs(mantissa)));
+    /**
+     * Divide a mantissa by 10 ^ tempExponent, where tempExponent came from normalizingExponent.
+     */
+    static double scaleMantissa(double mantissa, int tempExponent) {
         //SAFETY: handle 5e-324, -5e-324 separately
         if (tempExponent == Constants.DOUBLE_EXP_MIN) {
-            mantissa = mantissa * 10 / 1e-323;
-        } else {
-            mantissa = mantissa / PowerOf10.lookup(tempExponent);
+            return mantissa * 10 / 1e-323;
         }
+        return mantissa / PowerOf10.lookup(tempExponent);
+    }
+
+    /**
+     * The exponent a finite primitive operand normalizes to, as the constructor would find it.
+     * With {@link #operandMantissa(double, int)}, this lets the double overloads of the arithmetic
+     * and comparison methods work on their operand without building a BigDouble out of it.
+     */
+    static int operandExponent(double value) {
+        if (isNormalized(value) || value == 0) return 0;
+        return normalizingExponent(value);
+    }
 
-        return fromMantissaExponentNoNormalize(mantissa, exponent + tempExponent);
+    /**
+     * The mantissa a finite primitive operand normalizes to, bit for bit what the constructor
+     * would give. Operands with a magnitude already in [1, 10), such as the whole numbers 1 to 9, come
+     * back untouched.
+     * @param tempExponent The operand's exponent, from operandExponent.
+     */
+    static double operandMantissa(double value, int tempExponent) {
+        // Adding 0.0 turns -0.0 into 0.0, as the constructor does, and leaves everything else alone.
+        if (tempExponent == 0) return value + 0.0;
+        return scaleMantissa(value, tempExponent);
+    }
+
+    /**
+     * The core of add: sum two mantissas once the smaller one has been shifted
+     * onto the bigger one's exponent. The result is scaled up by 1e14 and rounded,
+     * so it belongs at (bigger exponent - 14) and still needs to be normalized.
+     * @param exponentDifference smaller exponent - bigger exponent; between -17 and 0.
+     */
+    static double alignedSum(double biggerMantissa, double smallerMantissa, long exponentDifference) {
+        // Have to do this because adding numbers that were once integers but scaled down is imprecise.
+        // Example: 299 + 18
+        return Math.round(
+                1e14 * biggerMantissa +
+                1e14 * smallerMantissa * PowerOf10.lookup(exponentDifference)
+        );
     }
 
 
-    private static BigDouble fromMantissaExponentNoNormalize(double mantissa, long exponent) {
-        return new BigDouble(mantissa, exponent, new PrivateConstructorArg());
+    static BigDouble fromMantissaExponentNoNormalize(double mantissa, long exponent) {
+        return new BigDouble(mantissa, exponent, NO_NORMALIZE);
+    }
+
+    /**
+     * Wrap a mantissa and exponent that are already normalized, such as the fields of a
+     * MutableBigDouble. Zero and NaN come back as their canonical constants.
+     */
+    static BigDouble fromNormalized(double mantissa, long exponent) {
+        if (mantissa == 0) return ZERO;
+        if (Double.isNaN(mantissa)) return NaN;
+        return fromMantissaExponentNoNormalize(mantissa, exponent);
     }
 
     /**
@@ -100,6 +208,8 @@ public class BigDouble implements Comparable<BigDouble> {
     public static final BigDouble ONE
             = fromMantissaExponentNoNormalize(1, 0);
 
+    private static final BigDouble NEGATIVE_ONE = fromMantissaExponentNoNormalize(-1, 0);
+
     /**
      * The BigDouble value representing a numerical error in either parsing or mathematical operations.
      */
@@ -165,29 +275,16 @@ public class BigDouble implements Comparable<BigDouble> {
 
     /**
      * Parse a String that is either a valid Number or of the form X.XXeYYY
-     * for some values X.XX and YYY.
+     * for some values X.XX and YYY. The exponent may also be written with 'E', and with a '+'.
      * @param value A string to parse into a BigDouble
      * @return A BigDouble equivalent to the value provided.
-     * @throws RuntimeException if the string is malformed or invalid.
+     * @throws NumberFormatException if the string is malformed or invalid.
+     * @see BigDoubleParser#parse(CharSequence) Delegates to BigDoubleParser, which can also
+     * parse from char and byte buffers without allocating.
+     * @see BigDoubleLiteralCache The cache the String overloads go through instead of this.
      */
     public static BigDouble parseBigDouble(String value) {
-        if (value.indexOf('e') != -1) {
-            var parts = value.split("e" );
-            var mantissa = Double.parseDouble(parts[0]);
-            var exponent = Long.parseLong(parts[1]);
-            return normalize(mantissa, exponent);
-        }
-
-        if (value.equals("NaN" )) {
-            return NaN;
-        }
-
-        BigDouble result = new BigDouble(Double.parseDouble(value));
-        if (isNaN(result)) {
-            throw new RuntimeException("Invalid argument: " + value);
-        }
-
-        return result;
+        return BigDoubleParser.parse(value);
     }
 
     /**
@@ -257,7 +354,7 @@ public class BigDouble implements Comparable<BigDouble> {
      * @see #abs() Delegates to abs() with proper conversion.
      */
     public static BigDouble abs(String value) {
-        return BigDouble.parseBigDouble(value).abs();
+        return BigDoubleLiteralCache.get(value).abs();
     }
 
     /* TODO: The Original JS version uses a ton of typing shenanigans to avoid needing
@@ -298,7 +395,7 @@ public class BigDouble implements Comparable<BigDouble> {
      * @see #neg() Delegates to neg() with proper conversion.
      */
     public static BigDouble neg(String value) {
-        return BigDouble.parseBigDouble(value).neg();
+        return BigDoubleLiteralCache.get(value).neg();
     }
     public BigDouble negate() {
         return neg();
@@ -326,7 +423,7 @@ public class BigDouble implements Comparable<BigDouble> {
      * @see #neg() Delegates to neg() with proper conversion.
      */
     public static BigDouble negate(String value) {
-        return BigDouble.parseBigDouble(value).neg();
+        return BigDoubleLiteralCache.get(value).neg();
     }
     /**
      * @return A negated BigDouble.
@@ -357,7 +454,7 @@ public class BigDouble implements Comparable<BigDouble> {
      * @see #neg() Delegates to neg() with proper conversion.
      */
     public static BigDouble negated(String value) {
-        return BigDouble.parseBigDouble(value).neg();
+        return BigDoubleLiteralCache.get(value).neg();
     }
 
 
@@ -392,7 +489,7 @@ public class BigDouble implements Comparable<BigDouble> {
      * @see #signum() Delegates to signum() with proper conversion.
      */
     public static double signum(String value) {
-        return BigDouble.parseBigDouble(value).signum();
+        return BigDoubleLiteralCache.get(value).signum();
     }
     /**
      * @return the sign of this BigDouble.
@@ -422,7 +519,7 @@ public class BigDouble implements Comparable<BigDouble> {
      * @see #signum() Delegates to signum() with proper conversion.
      */
     public static double sign(String value) {
-        return BigDouble.parseBigDouble(value).signum();
+        return BigDoubleLiteralCache.get(value).signum();
     }
     /**
      * @return the sign of this BigDouble.
@@ -453,7 +550,7 @@ public class BigDouble implements Comparable<BigDouble> {
      * @see #signum() Delegates to signum() with proper conversion.
      */
     public static double sgn(String value) {
-        return BigDouble.parseBigDouble(value).signum();
+        return BigDoubleLiteralCache.get(value).signum();
     }
 
     /**
@@ -470,7 +567,7 @@ public class BigDouble implements Comparable<BigDouble> {
         }
         if (exponent < Constants.MAX_SIGNIFICANT_DIGITS) {
             // Let Math deal with it.
-            return new BigDouble(Math.round(toDouble()));
+            return valueOf(Math.round(toDouble()));
         }
         return this;
     }
@@ -491,7 +588,7 @@ public class BigDouble implements Comparable<BigDouble> {
      * @see #round() Delegates to round() with proper conversion.
      */
     public static BigDouble round(String value) {
-        return BigDouble.parseBigDouble(value).round();
+        return BigDoubleLiteralCache.get(value).round();
     }
 
     /**
@@ -506,10 +603,10 @@ public class BigDouble implements Comparable<BigDouble> {
         if (isInfinite(this)) return this;
 
         if (exponent < -1) {
-            return Math.signum(mantissa) >= 0 ? ZERO : ONE.neg();
+            return Math.signum(mantissa) >= 0 ? ZERO : NEGATIVE_ONE;
         }
         if (exponent < Constants.MAX_SIGNIFICANT_DIGITS) {
-            return new BigDouble(Math.floor(toDouble()));
+            return valueOf(Math.floor(toDouble()));
         }
         return this;
     }
@@ -529,7 +626,7 @@ public class BigDouble implements Comparable<BigDouble> {
      * @see #floor() Delgates to floor() with proper conversion.
      */
     public static BigDouble floor(String value) {
-        return BigDouble.parseBigDouble(value).floor();
+        return BigDoubleLiteralCache.get(value).floor();
     }
 
     /**
@@ -552,7 +649,7 @@ public class BigDouble implements Comparable<BigDouble> {
             return Math.signum(mantissa) > 0 ? ONE : ZERO;
         }
         if (exponent < Constants.MAX_SIGNIFICANT_DIGITS) {
-            return new BigDouble(Math.ceil(toDouble()));
+            return valueOf(Math.ceil(toDouble()));
         }
         return this;
     }
@@ -572,7 +669,7 @@ public class BigDouble implements Comparable<BigDouble> {
      * @see #ceil() Delgates to ceil() with proper conversion.
      */
     public static BigDouble ceil(String value) {
-        return BigDouble.parseBigDouble(value).ceil();
+        return BigDoubleLiteralCache.get(value).ceil();
     }
 
     /**
@@ -592,8 +689,8 @@ public class BigDouble implements Comparable<BigDouble> {
         if (exponent < Constants.MAX_SIGNIFICANT_DIGITS) {
             // Math.trunc doesn't exist.
             double value = toDouble();
-            if (value > 0) return new BigDouble(Math.floor(value));
-            return new BigDouble(Math.ceil(value));
+            if (value > 0) return valueOf(Math.floor(value));
+            return valueOf(Math.ceil(value));
         }
         return this;
     }
@@ -613,7 +710,7 @@ public class BigDouble implements Comparable<BigDouble> {
      * @see #trunc() Delegates to trunc() with proper conversion.
      */
     public static BigDouble trunc(String value) {
-        return BigDouble.parseBigDouble(value).trunc();
+        return BigDoubleLiteralCache.get(value).trunc();
     }
     /**
      * @see #trunc() Delegates to trunc()
@@ -637,7 +734,7 @@ public class BigDouble implements Comparable<BigDouble> {
      * @see #trunc() Delegates to trunc() with proper conversion.
      */
     public static BigDouble truncate(String value) {
-        return BigDouble.parseBigDouble(value).trunc();
+        return BigDoubleLiteralCache.get(value).trunc();
     }
 
     /**
@@ -648,47 +745,56 @@ public class BigDouble implements Comparable<BigDouble> {
      * @return the sum of this BigDouble and the other value.
      */
     public BigDouble add(BigDouble other) {
-        if (isInfinite(this)) return this;
-        if (isInfinite(other)) return other;
+        return add(other.mantissa, other.exponent, other);
+    }
 
-        if (this.mantissa == 0) return other;
-        if (other.mantissa == 0) return this;
+    /**
+     * The body of add and sub, which passes in its other value negated.
+     * @param otherValue The BigDouble holding otherMantissa and otherExponent, if there is one.
+     *                   It's returned as-is when the sum is just the other value; if null, that
+     *                   value is built as needed.
+     */
+    private BigDouble add(double otherMantissa, long otherExponent, BigDouble otherValue) {
+        // NaN's exponent is Long.MIN_VALUE, so it can't go through the alignment below.
+        if (isNaN(this) || Double.isNaN(otherMantissa)) return NaN;
+        if (isInfinite(this)) return this;
+        if (Double.isInfinite(otherMantissa)) return existingOrNew(otherValue, otherMantissa, otherExponent);
 
-        BigDouble bigger, smaller;
+        if (this.mantissa == 0) return existingOrNew(otherValue, otherMantissa, otherExponent);
+        if (otherMantissa == 0) return this;
 
-        if (this.exponent > other.exponent) {
-            bigger = this;
-            smaller = other;
-        } else {
-            // Not always true, but in such a case they're close enough that it doesn't matter.
-            bigger = other;
-            smaller = this;
+        if (this.exponent > otherExponent) {
+            if (this.exponent - otherExponent > Constants.MAX_SIGNIFICANT_DIGITS) return this;
+            double mantissa = alignedSum(this.mantissa, otherMantissa, otherExponent - this.exponent);
+            return normalize(mantissa, this.exponent - 14);
         }
-
-        if (bigger.exponent - smaller.exponent > Constants.MAX_SIGNIFICANT_DIGITS) {
-            return bigger;
+        // Not always true, but in such a case they're close enough that it doesn't matter.
+        if (otherExponent - this.exponent > Constants.MAX_SIGNIFICANT_DIGITS) {
+            return existingOrNew(otherValue, otherMantissa, otherExponent);
         }
+        double mantissa = alignedSum(otherMantissa, this.mantissa, this.exponent - otherExponent);
+        return normalize(mantissa, otherExponent - 14);
+    }
 
-        // Have to do this because adding numbers that were once integers but scaled down is imprecise.
-        // Example: 299 + 18
-        double mantissa = Math.round(
-                1e14 * bigger.mantissa +
-                1e14 * smaller.mantissa * PowerOf10.lookup(smaller.exponent - bigger.exponent)
-        );
-        return new BigDouble(mantissa, bigger.exponent - 14);
+    private static BigDouble existingOrNew(BigDouble value, double mantissa, long exponent) {
+        if (value != null) return value;
+        return fromMantissaExponentNoNormalize(mantissa, exponent);
     }
 
     /**
      * @see #add(BigDouble) Delegates to add(BigDouble other) with proper conversion.
      */
     public BigDouble add(double other) {
-        return this.add(new BigDouble(other));
+        // NaN and the infinities are constants, so they cost nothing to look up.
+        if (!Double.isFinite(other)) return add(valueOf(other));
+        int otherExponent = operandExponent(other);
+        return add(operandMantissa(other, otherExponent), otherExponent, null);
     }
     /**
      * @see #add(BigDouble) Delegates to add(BigDouble other) with proper conversion.
      */
     public BigDouble add(String other) {
-        return this.add(BigDouble.parseBigDouble(other));
+        return this.add(BigDoubleLiteralCache.get(other));
     }
     /**
      * @see #add(BigDouble) Delegates to add(BigDouble other)
@@ -700,13 +806,13 @@ public class BigDouble implements Comparable<BigDouble> {
      * @see #add(BigDouble) Delegates to add(BigDouble other) with proper conversion.
      */
     public BigDouble plus(double other) {
-        return this.plus(new BigDouble(other));
+        return add(other);
     }
     /**
      * @see #add(BigDouble) Delegates to add(BigDouble other) with proper conversion.
      */
     public BigDouble plus(String other) {
-        return this.plus(BigDouble.parseBigDouble(other));
+        return this.plus(BigDoubleLiteralCache.get(other));
     }
 
     /**
@@ -717,19 +823,21 @@ public class BigDouble implements Comparable<BigDouble> {
      * @return the difference of this BigDouble and the other value.
      */
     public BigDouble sub(BigDouble other) {
-        return add(other.neg());
+        return add(-other.mantissa, other.exponent, null);
     }
     /**
      * @see #sub(BigDouble) Delegates to sub(BigDouble other) with proper conversion.
      */
     public BigDouble sub(double other) {
-        return this.sub(new BigDouble(other));
+        if (!Double.isFinite(other)) return sub(valueOf(other));
+        int otherExponent = operandExponent(other);
+        return add(-operandMantissa(other, otherExponent), otherExponent, null);
     }
     /**
      * @see #sub(BigDouble) Delegates to sub(BigDouble other) with proper conversion.
      */
     public BigDouble sub(String other) {
-        return this.sub(BigDouble.parseBigDouble(other));
+        return this.sub(BigDoubleLiteralCache.get(other));
     }
     /**
      * @see #sub(BigDouble) Delegates to sub(BigDouble other)
@@ -741,13 +849,13 @@ public class BigDouble implements Comparable<BigDouble> {
      * @see #sub(BigDouble) Delegates to sub(BigDouble other) with proper conversion.
      */
     public BigDouble subtract(double other) {
-        return this.subtract(new BigDouble(other));
+        return sub(other);
     }
     /**
      * @see #sub(BigDouble) Delegates to sub(BigDouble other) with proper conversion.
      */
     public BigDouble subtract(String other) {
-        return this.subtract(BigDouble.parseBigDouble(other));
+        return this.subtract(BigDoubleLiteralCache.get(other));
     }
     /**
      * @see #sub(BigDouble) Delegates to sub(BigDouble other)
@@ -759,13 +867,13 @@ public class BigDouble implements Comparable<BigDouble> {
      * @see #sub(BigDouble) Delegates to sub(BigDouble other) with proper conversion.
      */
     public BigDouble minus(double other) {
-        return this.minus(new BigDouble(other));
+        return sub(other);
     }
     /**
      * @see #sub(BigDouble) Delegates to sub(BigDouble other) with proper conversion.
      */
     public BigDouble minus(String other) {
-        return this.minus(BigDouble.parseBigDouble(other));
+        return this.minus(BigDoubleLiteralCache.get(other));
     }
 
     /**
@@ -785,13 +893,18 @@ public class BigDouble implements Comparable<BigDouble> {
      * @see #mul(BigDouble) Delegates to mul(BigDouble other) with proper conversion.
      */
     public BigDouble mul(double other) {
-        return this.mul(new BigDouble(other));
+        if (!Double.isFinite(other)) return mul(valueOf(other));
+        int otherExponent = operandExponent(other);
+        return normalize(
+                this.mantissa * operandMantissa(other, otherExponent),
+                this.exponent + otherExponent
+        );
     }
     /**
      * @see #mul(BigDouble) Delegates to mul(BigDouble other) with proper conversion.
      */
     public BigDouble mul(String other) {
-        return this.mul(BigDouble.parseBigDouble(other));
+        return this.mul(BigDoubleLiteralCache.get(other));
     }
     /**
      * @see #mul(BigDouble) Delegates to mul(BigDouble other).
@@ -803,13 +916,13 @@ public class BigDouble implements Comparable<BigDouble> {
      * @see #mul(BigDouble) Delegates to mul(BigDouble other) with proper conversion.
      */
     public BigDouble multiply(double other) {
-        return this.multiply(new BigDouble(other));
+        return mul(other);
     }
     /**
      * @see #mul(BigDouble) Delegates to mul(BigDouble other) with proper conversion.
      */
     public BigDouble multiply(String other) {
-        return this.multiply(BigDouble.parseBigDouble(other));
+        return this.multiply(BigDoubleLiteralCache.get(other));
     }
     /**
      * @see #mul(BigDouble) Delegates to mul(BigDouble other)
@@ -821,13 +934,75 @@ public class BigDouble implements Comparable<BigDouble> {
      * @see #mul(BigDouble) Delegates to mul(BigDouble other) with proper conversion.
      */
     public BigDouble times(double other) {
-        return this.times(new BigDouble(other));
+        return mul(other);
     }
     /**
      * @see #mul(BigDouble) Delegates to mul(BigDouble other) with proper conversion.
      */
     public BigDouble times(String other) {
-        return this.times(BigDouble.parseBigDouble(other));
+        return this.times(BigDoubleLiteralCache.get(other));
+    }
+
+    /**
+     * Multiply two values and add a third, a * b + c, as one operation. The product is never
+     * normalized or stored: its raw mantissa, somewhere in [1, 100), is lined up against c's
+     * and summed directly, so the result is normalized once and nothing else is allocated.
+     * That also skips the rounding of the product to a normalized mantissa, so the result is
+     * at least as accurate as {@code a.mul(b).add(c)}, though the last digit can differ.
+     * <p>0, the infinities and NaN give the same results as a.mul(b).add(c).
+     * @param a The first value to multiply.
+     * @param b The second value to multiply.
+     * @param c The value to add to the product.
+     * @return a * b + c.
+     */
+    public static BigDouble fma(@NotNull BigDouble a, @NotNull BigDouble b, @NotNull BigDouble c) {
+        double productMantissa = a.mantissa * b.mantissa;
+        long productExponent = a.exponent + b.exponent;
+        // 0, infinities and NaN have no digits to line up; the unfused route has their special cases.
+        if (productMantissa == 0 || c.mantissa == 0
+                || !Double.isFinite(productMantissa) || !Double.isFinite(c.mantissa)) {
+            return a.mul(b).add(c);
+        }
+
+        // A mantissa of 10 or more puts the product one order of magnitude above its exponent.
+        long productOrder = Math.abs(productMantissa) >= 10 ? productExponent + 1 : productExponent;
+        if (productOrder - c.exponent > Constants.MAX_SIGNIFICANT_DIGITS) {
+            return normalize(productMantissa, productExponent);
+        }
+        if (c.exponent - productOrder > Constants.MAX_SIGNIFICANT_DIGITS) return c;
+        if (productExponent >= c.exponent) {
+            double sum = alignedSum(productMantissa, c.mantissa, c.exponent - productExponent);
+            return normalize(sum, productExponent - 14);
+        }
+        double sum = alignedSum(c.mantissa, productMantissa, productExponent - c.exponent);
+        return normalize(sum, c.exponent - 14);
+    }
+    /**
+     * @see #fma(BigDouble, BigDouble, BigDouble) Delegates to fma(this, multiplier, addend).
+     */
+    public BigDouble mulAdd(@NotNull BigDouble multiplier, @NotNull BigDouble addend) {
+        return fma(this, multiplier, addend);
+    }
+
+    /**
+     * The sum of the products of matching elements, a[0] * b[0] + a[1] * b[1] + ...
+     * Each product is added to a single running total the way {@link #fma} adds it, so each
+     * step normalizes once and the whole sum allocates nothing but its result.
+     * @param a The first values to multiply.
+     * @param b The second values to multiply, as many as a.
+     * @return The sum of the products, or 0 if the arrays are empty.
+     * @throws IllegalArgumentException if the arrays are different lengths.
+     * @see BigDoubleArray#dot(BigDoubleArray)
+     */
+    public static BigDouble dot(@NotNull BigDouble @NotNull [] a, @NotNull BigDouble @NotNull [] b) {
+        if (a.length != b.length) {
+            throw new IllegalArgumentException("Array lengths differ: " + a.length + " and " + b.length);
+        }
+        MutableBigDouble sum = new MutableBigDouble();
+        for (int i = 0; i < a.length; i++) {
+            sum.mulAddAssign(a[i].mantissa, a[i].exponent, b[i].mantissa, b[i].exponent);
+        }
+        return sum.toBigDouble();
     }
 
     /**
@@ -839,19 +1014,38 @@ public class BigDouble implements Comparable<BigDouble> {
      * @return the quotient of this BigDouble and the other value.
      */
     public BigDouble div(BigDouble other) {
-        return mul(other.recip());
+        return div(other.mantissa, other.exponent);
+    }
+
+    /**
+     * The body of div, for an operand that may not be a BigDouble yet.
+     */
+    private BigDouble div(double otherMantissa, long otherExponent) {
+        // The same as mul(other.recip()), without building the reciprocal as a BigDouble.
+        double recipMantissa = 1 / otherMantissa;
+        long recipExponent = -otherExponent;
+        if (recipMantissa == 0) {
+            recipExponent = 0;
+        } else if (!isNormalized(recipMantissa)) {
+            int tempExponent = normalizingExponent(recipMantissa);
+            recipMantissa = scaleMantissa(recipMantissa, tempExponent);
+            recipExponent += tempExponent;
+        }
+        return normalize(this.mantissa * recipMantissa, this.exponent + recipExponent);
     }
     /**
      * @see #div(BigDouble) Delegates to div(BigDouble other) with proper conversion.
      */
     public BigDouble div(double other) {
-        return this.div(new BigDouble(other));
+        if (!Double.isFinite(other)) return div(valueOf(other));
+        int otherExponent = operandExponent(other);
+        return div(operandMantissa(other, otherExponent), otherExponent);
     }
     /**
      * @see #div(BigDouble) Delegates to div(BigDouble other) with proper conversion.
      */
     public BigDouble div(String other) {
-        return this.div(BigDouble.parseBigDouble(other));
+        return this.div(BigDoubleLiteralCache.get(other));
     }
     /**
      * @see #div(BigDouble) Delegates to div(BigDouble other).
@@ -863,13 +1057,13 @@ public class BigDouble implements Comparable<BigDouble> {
      * @see #div(BigDouble) Delegates to div(BigDouble other) with proper conversion.
      */
     public BigDouble divide(double other) {
-        return this.divide(new BigDouble(other));
+        return div(other);
     }
     /**
      * @see #div(BigDouble) Delegates to div(BigDouble other) with proper conversion.
      */
     public BigDouble divide(String other) {
-        return this.divide(BigDouble.parseBigDouble(other));
+        return this.divide(BigDoubleLiteralCache.get(other));
     }
     // NOTE: If we do add in all the things, divideBy and dividedBy don't get statics.
     /**
@@ -882,13 +1076,13 @@ public class BigDouble implements Comparable<BigDouble> {
      * @see #div(BigDouble) Delegates to div(BigDouble other)
      */
     public BigDouble divideBy(double other) {
-        return this.divideBy(new BigDouble(other));
+        return div(other);
     }
     /**
      * @see #div(BigDouble) Delegates to div(BigDouble other) with proper conversion.
      */
     public BigDouble divideBy(String other) {
-        return this.divideBy(BigDouble.parseBigDouble(other));
+        return this.divideBy(BigDoubleLiteralCache.get(other));
     }
     /**
      * @see #div(BigDouble) Delegates to div(BigDouble other).
@@ -900,13 +1094,13 @@ public class BigDouble implements Comparable<BigDouble> {
      * @see #div(BigDouble) Delegates to div(BigDouble other) with proper conversion.
      */
     public BigDouble dividedBy(double other) {
-        return this.dividedBy(new BigDouble(other));
+        return div(other);
     }
     /**
      * @see #div(BigDouble) Delegates to div(BigDouble other) with proper conversion.
      */
     public BigDouble dividedBy(String other) {
-        return this.dividedBy(BigDouble.parseBigDouble(other));
+        return this.dividedBy(BigDoubleLiteralCache.get(other));
     }
 
     /**
@@ -928,7 +1122,7 @@ public class BigDouble implements Comparable<BigDouble> {
      * @see #recip() Delegates to recip() with proper conversion.
      */
     public static BigDouble recip(String value) {
-        return BigDouble.parseBigDouble(value).recip();
+        return BigDoubleLiteralCache.get(value).recip();
     }
     /**
      * @see #recip() Delegates to recip().
@@ -946,7 +1140,7 @@ public class BigDouble implements Comparable<BigDouble> {
      * @see #recip() Delegates to recip() with proper conversion.
      */
     public static BigDouble reciprocal(String value) {
-        return BigDouble.parseBigDouble(value).reciprocal();
+        return BigDoubleLiteralCache.get(value).reciprocal();
     }
     /**
      * @see #recip() Delegates to recip().
@@ -964,46 +1158,109 @@ public class BigDouble implements Comparable<BigDouble> {
      * @see #recip() Delegates to recip() with proper conversion.
      */
     public static BigDouble reciprocate(String value) {
-        return BigDouble.parseBigDouble(value).reciprocate();
+        return BigDoubleLiteralCache.get(value).reciprocate();
     }
 
     @Override
     public int compareTo(@NotNull BigDouble other) {
-        if (isNaN(this)) {
-            if (isNaN(other)) return 0;
+        return compare(this.mantissa, this.exponent, other.mantissa, other.exponent);
+    }
+
+    /**
+     * Compare two values given as raw mantissas and exponents, with the same ordering as compareTo:
+     * NaN is smaller than everything else, and equal to itself.
+     */
+    static int compare(double mantissa, long exponent, double otherMantissa, long otherExponent) {
+        if (Double.isNaN(mantissa)) {
+            if (Double.isNaN(otherMantissa)) return 0;
             return -1;
         }
-        if (isNaN(other)) return 1;
+        if (Double.isNaN(otherMantissa)) return 1;
 
-        if (this.mantissa == 0) {
-            if (other.mantissa == 0) return 0;
-            if (other.mantissa < 0) return 1;
+        if (mantissa == 0) {
+            if (otherMantissa == 0) return 0;
+            if (otherMantissa < 0) return 1;
             return -1;
         }
-        if (other.mantissa == 0) {
-            if (this.mantissa < 0) return -1;
+        if (otherMantissa == 0) {
+            if (mantissa < 0) return -1;
             return 1;
         }
 
-        if (this.mantissa > 0) {
-            if (other.mantissa < 0) return 1;
-            if (this.exponent > other.exponent) return 1;
-            if (this.exponent < other.exponent) return -1;
-            return Double.compare(this.mantissa, other.mantissa);
+        // The infinities have an exponent of 0, so a finite value with a larger exponent
+        // has to be checked against them before the exponents can decide.
+        if (mantissa > 0) {
+            if (otherMantissa < 0) return 1;
+            if (exponent > otherExponent) return otherMantissa == Double.POSITIVE_INFINITY ? -1 : 1;
+            if (exponent < otherExponent) return mantissa == Double.POSITIVE_INFINITY ? 1 : -1;
+            return Double.compare(mantissa, otherMantissa);
         }
 
-        if (other.mantissa > 0) return -1;
-        if (this.exponent > other.exponent) return -1;
-        if (this.exponent < other.exponent) return -1;
-        return Double.compare(this.mantissa, other.mantissa);
+        if (otherMantissa > 0) return -1;
+        if (exponent > otherExponent) return otherMantissa == Double.NEGATIVE_INFINITY ? 1 : -1;
+        if (exponent < otherExponent) return mantissa == Double.NEGATIVE_INFINITY ? -1 : 1;
+        return Double.compare(mantissa, otherMantissa);
     }
+    /**
+     * compareTo for a primitive operand, without building a BigDouble out of it.
+     */
+    private int compareTo(double other) {
+        if (!Double.isFinite(other)) return compareTo(valueOf(other));
+        int otherExponent = operandExponent(other);
+        return compare(mantissa, exponent, operandMantissa(other, otherExponent), otherExponent);
+    }
+
+    /**
+     * Map this value onto a long whose signed order matches compareTo, for sorting and
+     * indexing by plain long comparisons: if a.compareTo(b) &lt; 0, then
+     * a.toSortableLong() &lt;= b.toSortableLong(). NaN maps to Long.MIN_VALUE, below everything else.
+     * <p>The key holds the same bits as {@link PackedBigDouble#pack(BigDouble)}, so its precision
+     * is the same: values within about {@link PackedBigDouble#MAX_RELATIVE_ERROR} (3.7e-9) of each
+     * other can share a key, as can exponents past PackedBigDouble's range, which share the key of
+     * infinity or 0. Ties have to be settled by compareTo where that matters; {@link BigDoubleSort}
+     * does exactly that.
+     * @return The sort key.
+     */
+    public long toSortableLong() {
+        return PackedBigDouble.toSortable(PackedBigDouble.pack(mantissa, exponent));
+    }
+
+    /**
+     * The inverse of {@link #toSortableLong()}, to within its precision.
+     * @param key A key from toSortableLong.
+     * @return The value the key was made from, rounded to about 8 significant digits.
+     */
+    public static BigDouble fromSortableLong(long key) {
+        return PackedBigDouble.unpack(PackedBigDouble.fromSortable(key));
+    }
+
     public int cmp(BigDouble other) {
         return compareTo(other);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(mantissa, exponent);
+        return hash(mantissa, exponent);
+    }
+
+    /**
+     * The hash code of a value given as a raw mantissa and exponent. 0.0 and -0.0 hash the same,
+     * since they're equal, and so does every NaN. The bits are mixed with the finalizer from
+     * MurmurHash3, so values that differ only in the high bits of the mantissa, like 2 and 4,
+     * still spread out over a power of 2 table.
+     */
+    static int hash(double mantissa, long exponent) {
+        return (int) mix(Double.doubleToLongBits(mantissa + 0.0), exponent);
+    }
+
+    /**
+     * Mix a mantissa's bits, from doubleToLongBits, and an exponent into 64 well-spread bits.
+     */
+    static long mix(long mantissaBits, long exponent) {
+        long h = mantissaBits ^ Long.rotateLeft(exponent * 0x9E3779B97F4A7C15L, 32);
+        h = (h ^ (h >>> 33)) * 0xFF51AFD7ED558CCDL;
+        h = (h ^ (h >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return h ^ (h >>> 33);
     }
 
     /**
@@ -1033,13 +1290,15 @@ public class BigDouble implements Comparable<BigDouble> {
      * @see #equals(BigDouble) Delegates to equals(BigDouble) with proper conversion.
      */
     public boolean equals(double other) {
-        return this.equals(new BigDouble(other));
+        if (!Double.isFinite(other)) return equals(valueOf(other));
+        int otherExponent = operandExponent(other);
+        return this.exponent == otherExponent && this.mantissa == operandMantissa(other, otherExponent);
     }
     /**
      * @see #equals(BigDouble) Delegates to equals(BigDouble) with proper conversion.
      */
     public boolean equals(String other) {
-        return this.equals(BigDouble.parseBigDouble(other));
+        return this.equals(BigDoubleLiteralCache.get(other));
     }
     /**
      * @see #equals(BigDouble) Delegates to equals(BigDouble).
@@ -1051,13 +1310,13 @@ public class BigDouble implements Comparable<BigDouble> {
      * @see #equals(BigDouble) Delegates to equals(BigDouble) with proper conversion.
      */
     public boolean eq(double other) {
-        return this.eq(new BigDouble(other));
+        return equals(other);
     }
     /**
      * @see #equals(BigDouble) Delegates to equals(BigDouble) with proper conversion.
      */
     public boolean eq(String other) {
-        return this.eq(BigDouble.parseBigDouble(other));
+        return this.eq(BigDoubleLiteralCache.get(other));
     }
 
 
@@ -1071,13 +1330,13 @@ public class BigDouble implements Comparable<BigDouble> {
      * @see #neq(BigDouble) Delegates to neq(BigDouble) with proper conversion.
      */
     public boolean neq(double other) {
-        return this.neq(new BigDouble(other));
+        return !equals(other);
     }
     /**
      * @see #neq(BigDouble) Delegates to neq(BigDouble) with proper conversion.
      */
     public boolean neq(String other) {
-        return this.neq(BigDouble.parseBigDouble(other));
+        return this.neq(BigDoubleLiteralCache.get(other));
     }
     /**
      * @see #neq(BigDouble) Delegates to neq(BigDouble).
@@ -1089,13 +1348,13 @@ public class BigDouble implements Comparable<BigDouble> {
      * @see #neq(BigDouble) Delegates to neq(BigDouble) with proper conversion.
      */
     public boolean notEquals(double other) {
-        return this.notEquals(new BigDouble(other));
+        return !equals(other);
     }
     /**
      * @see #neq(BigDouble) Delegates to neq(BigDouble) with proper conversion.
      */
     public boolean notEquals(String other) {
-        return this.notEquals(BigDouble.parseBigDouble(other));
+        return this.notEquals(BigDoubleLiteralCache.get(other));
     }
 
     // NOTE: maybe I could get away with the extant CompareTo method doing the work for me.
@@ -1112,13 +1371,13 @@ public class BigDouble implements Comparable<BigDouble> {
      * @see #lt(BigDouble) Delegates to lt(BigDouble) with proper conversion.
      */
     public boolean lt(double other) {
-        return this.lt(new BigDouble(other));
+        return compareTo(other) < 0;
     }
     /**
      * @see #lt(BigDouble) Delegates to lt(BigDouble) with proper conversion.
      */
     public boolean lt(String other) {
-        return this.lt(BigDouble.parseBigDouble(other));
+        return this.lt(BigDoubleLiteralCache.get(other));
     }
     /**
      * @see #lt(BigDouble) Delegates to lt(BigDouble).
@@ -1130,13 +1389,13 @@ public class BigDouble implements Comparable<BigDouble> {
      * @see #lt(BigDouble) Delegates to lt(BigDouble) with proper conversion.
      */
     public boolean lessThan(double other) {
-        return this.lessThan(new BigDouble(other));
+        return compareTo(other) < 0;
     }
     /**
      * @see #lt(BigDouble) Delegates to lt(BigDouble) with proper conversion.
      */
     public boolean lessThan(String other) {
-        return this.lessThan(BigDouble.parseBigDouble(other));
+        return this.lessThan(BigDoubleLiteralCache.get(other));
     }
 
     /**
@@ -1153,13 +1412,13 @@ public class BigDouble implements Comparable<BigDouble> {
      * @see #lte(BigDouble) Delegates to lte(BigDouble) with proper conversion.
      */
     public boolean lte(double other) {
-        return this.lte(new BigDouble(other));
+        return compareTo(other) <= 0;
     }
     /**
      * @see #lte(BigDouble) Delegates to lte(BigDouble) with proper conversion.
      */
     public boolean lte(String other) {
-        return this.lte(BigDouble.parseBigDouble(other));
+        return this.lte(BigDoubleLiteralCache.get(other));
     }
     /**
      * @see #lte(BigDouble) Delegates to lte(BigDouble).
@@ -1171,13 +1430,13 @@ public class BigDouble implements Comparable<BigDouble> {
      * @see #lte(BigDouble) Delegates to lte(BigDouble) with proper conversion.
      */
     public boolean lessThanOrEqualTo(double other) {
-        return this.lessThanOrEqualTo(new BigDouble(other));
+        return compareTo(other) <= 0;
     }
     /**
      * @see #lte(BigDouble) Delegates to lte(BigDouble) with proper conversion.
      */
     public boolean lessThanOrEqualTo(String other) {
-        return this.lessThanOrEqualTo(BigDouble.parseBigDouble(other));
+        return this.lessThanOrEqualTo(BigDoubleLiteralCache.get(other));
     }
 
     /**
@@ -1194,13 +1453,13 @@ public class BigDouble implements Comparable<BigDouble> {
      * @see #gt(BigDouble) Delegates to gt(BigDouble) with proper conversion.
      */
     public boolean gt(double other) {
-        return this.gt(new BigDouble(other));
+        return compareTo(other) > 0;
     }
     /**
      * @see #gt(BigDouble) Delegates to gt(BigDouble) with proper conversion.
      */
     public boolean gt(String other) {
-        return this.gt(BigDouble.parseBigDouble(other));
+        return this.gt(BigDoubleLiteralCache.get(other));
     }
     /**
      * @see #gt(BigDouble) Delegates to gt(BigDouble).
@@ -1212,13 +1471,13 @@ public class BigDouble implements Comparable<BigDouble> {
      * @see #gt(BigDouble) Delegates to gt(BigDouble) with proper conversion.
      */
     public boolean greaterThan(double other) {
-        return this.greaterThan(new BigDouble(other));
+        return compareTo(other) > 0;
     }
     /**
      * @see #gt(BigDouble) Delegates to gt(BigDouble) with proper conversion.
      */
     public boolean greaterThan(String other) {
-        return this.greaterThan(BigDouble.parseBigDouble(other));
+        return this.greaterThan(BigDoubleLiteralCache.get(other));
     }
 
     /**
@@ -1235,13 +1494,13 @@ public class BigDouble implements Comparable<BigDouble> {
      * @see #gte(BigDouble) Delegates to gte(BigDouble) with proper conversion.
      */
     public boolean gte(double other) {
-        return this.gte(new BigDouble(other));
+        return compareTo(other) >= 0;
     }
     /**
      * @see #gte(BigDouble) Delegates to gte(BigDouble) with proper conversion.
      */
     public boolean gte(String other) {
-        return this.gte(BigDouble.parseBigDouble(other));
+        return this.gte(BigDoubleLiteralCache.get(other));
     }
     /**
      * @see #gte(BigDouble) Delegates to gte(BigDouble).
@@ -1253,13 +1512,13 @@ public class BigDouble implements Comparable<BigDouble> {
      * @see #gte(BigDouble) Delegates to gte(BigDouble) with proper conversion.
      */
     public boolean greaterThanOrEqualTo(double other) {
-        return this.greaterThanOrEqualTo(new BigDouble(other));
+        return compareTo(other) >= 0;
     }
     /**
      * @see #gte(BigDouble) Delegates to gte(BigDouble) with proper conversion.
      */
     public boolean greaterThanOrEqualTo(String other) {
-        return this.greaterThanOrEqualTo(BigDouble.parseBigDouble(other));
+        return this.greaterThanOrEqualTo(BigDoubleLiteralCache.get(other));
     }
 
     /**
@@ -1275,13 +1534,13 @@ public class BigDouble implements Comparable<BigDouble> {
      * @see #max(BigDouble) Delegates to max(BigDouble) with proper conversion.
      */
     public BigDouble max(double other) {
-        return this.max(new BigDouble(other));
+        return compareTo(other) > 0 ? this : valueOf(other);
     }
     /**
      * @see #max(BigDouble) Delegates to max(BigDouble) with proper conversion.
      */
     public BigDouble max(String other) {
-        return this.max(BigDouble.parseBigDouble(other));
+        return this.max(BigDoubleLiteralCache.get(other));
     }
 
     /**
@@ -1297,13 +1556,13 @@ public class BigDouble implements Comparable<BigDouble> {
      * @see #min(BigDouble) Delegates to min(BigDouble) with proper conversion.
      */
     public BigDouble min(double other) {
-        return this.min(new BigDouble(other));
+        return compareTo(other) < 0 ? this : valueOf(other);
     }
     /**
      * @see #min(BigDouble) Delegates to min(BigDouble) with proper conversion.
      */
     public BigDouble min(String other) {
-        return this.min(BigDouble.parseBigDouble(other));
+        return this.min(BigDoubleLiteralCache.get(other));
     }
 
     /**
@@ -1342,12 +1601,24 @@ public class BigDouble implements Comparable<BigDouble> {
     public int cmp_tolerance(BigDouble other, BigDouble tolerance) {
         return eq_tolerance(other, tolerance) ? 0 : cmp(other);
     }
+    /**
+     * @see #cmp_tolerance(BigDouble, BigDouble) Delegates to cmp_tolerance(BigDouble, BigDouble) with proper conversion.
+     */
+    public int cmp_tolerance(BigDouble other, double relativeTolerance) {
+        return eq_tolerance(other, relativeTolerance) ? 0 : cmp(other);
+    }
     /**
      * @see #cmp_tolerance(BigDouble, BigDouble)  Delegates to cmp_tolerance(BigDouble, BigDouble).
      */
     public int compare_tolerance(BigDouble other, BigDouble tolerance) {
         return cmp_tolerance(other, tolerance);
     }
+    /**
+     * @see #cmp_tolerance(BigDouble, BigDouble) Delegates to cmp_tolerance(BigDouble, BigDouble) with proper conversion.
+     */
+    public int compare_tolerance(BigDouble other, double relativeTolerance) {
+        return cmp_tolerance(other, relativeTolerance);
+    }
 
     /**
      * Determine if two values are reasonably close together. If the magnitude of the
@@ -1358,9 +1629,48 @@ public class BigDouble implements Comparable<BigDouble> {
      * @return Whether the values are within tolerance of each other.
      */
     public boolean eq_tolerance(BigDouble other, BigDouble tolerance) {
-        return sub(other).abs().lte(
-                this.abs().max(other.abs()).mul(tolerance)
-        );
+        if (!Double.isFinite(mantissa) || !Double.isFinite(other.mantissa) || !Double.isFinite(tolerance.mantissa)) {
+            return sub(other).abs().lte(
+                    this.abs().max(other.abs()).mul(tolerance)
+            );
+        }
+        // Tolerances past 10 ^ 300 accept any finite difference, and ones below 10 ^ -300 only
+        // an exact match, so clamping the exponent to stay in the range of a double changes nothing.
+        long toleranceExponent = Math.max(-300, Math.min(300, tolerance.exponent));
+        return eqTolerance(other.mantissa, other.exponent, tolerance.mantissa * PowerOf10.lookup(toleranceExponent));
+    }
+    /**
+     * @see #eq_tolerance(BigDouble, BigDouble) Delegates to eq_tolerance(BigDouble, BigDouble) with proper conversion.
+     */
+    public boolean eq_tolerance(BigDouble other, double relativeTolerance) {
+        if (!Double.isFinite(mantissa) || !Double.isFinite(other.mantissa) || !Double.isFinite(relativeTolerance)) {
+            return eq_tolerance(other, valueOf(relativeTolerance));
+        }
+        return eqTolerance(other.mantissa, other.exponent, relativeTolerance);
+    }
+
+    /**
+     * eq_tolerance for finite values and tolerance, on raw mantissas and exponents. Rather than
+     * going through sub, abs, max and mul, it lines the mantissas up on the bigger exponent and
+     * checks |this - other| &lt;= max(|this|, |other|) * tolerance on the doubles.
+     */
+    private boolean eqTolerance(double otherMantissa, long otherExponent, double tolerance) {
+        if (mantissa == 0 && otherMantissa == 0) return true;
+        long gap = exponent >= otherExponent ? exponent - otherExponent : otherExponent - exponent;
+        // A gap that overflowed comes out negative.
+        if (mantissa == 0 || otherMantissa == 0 || gap < 0 || gap > Constants.MAX_SIGNIFICANT_DIGITS) {
+            // One value vanishes next to the other, as it would in sub, so the difference is the
+            // bigger value itself. That is within tolerance of itself only for a tolerance of at least 1.
+            return tolerance >= 1;
+        }
+
+        double bigger = mantissa, smaller = otherMantissa;
+        if (otherExponent > exponent) {
+            bigger = otherMantissa;
+            smaller = mantissa;
+        }
+        smaller *= PowerOf10.lookup(-gap);
+        return Math.abs(bigger - smaller) <= Math.max(Math.abs(bigger), Math.abs(smaller)) * tolerance;
     }
 
     /**
@@ -1369,29 +1679,53 @@ public class BigDouble implements Comparable<BigDouble> {
     public boolean equals_tolerance(BigDouble other, BigDouble tolerance) {
         return eq_tolerance(other, tolerance);
     }
+    /**
+     * @see #eq_tolerance(BigDouble, BigDouble) Delegates to eq_tolerance(BigDouble, BigDouble) with proper conversion.
+     */
+    public boolean equals_tolerance(BigDouble other, double relativeTolerance) {
+        return eq_tolerance(other, relativeTolerance);
+    }
 
     public boolean neq_tolerance(BigDouble other, BigDouble tolerance) {
         return !eq_tolerance(other, tolerance);
     }
+    public boolean neq_tolerance(BigDouble other, double relativeTolerance) {
+        return !eq_tolerance(other, relativeTolerance);
+    }
     public boolean notEquals_tolerance(BigDouble other, BigDouble tolerance) {
         return neq_tolerance(other, tolerance);
     }
+    public boolean notEquals_tolerance(BigDouble other, double relativeTolerance) {
+        return neq_tolerance(other, relativeTolerance);
+    }
 
     public boolean lt_tolerance(BigDouble other, BigDouble tolerance) {
         return !eq_tolerance(other, tolerance) && lt(other);
     }
+    public boolean lt_tolerance(BigDouble other, double relativeTolerance) {
+        return !eq_tolerance(other, relativeTolerance) && lt(other);
+    }
 
     public boolean lte_tolerance(BigDouble other, BigDouble tolerance) {
         return eq_tolerance(other, tolerance) || lt(other);
     }
+    public boolean lte_tolerance(BigDouble other, double relativeTolerance) {
+        return eq_tolerance(other, relativeTolerance) || lt(other);
+    }
 
     public boolean gt_tolerance(BigDouble other, BigDouble tolerance) {
         return !eq_tolerance(other, tolerance) && gt(other);
     }
+    public boolean gt_tolerance(BigDouble other, double relativeTolerance) {
+        return !eq_tolerance(other, relativeTolerance) && gt(other);
+    }
 
     public boolean gte_tolerance(BigDouble other, BigDouble tolerance) {
         return eq_tolerance(other, tolerance) || gt(other);
     }
+    public boolean gte_tolerance(BigDouble other, double relativeTolerance) {
+        return eq_tolerance(other, relativeTolerance) || gt(other);
+    }
 
     /**
      * Returns the base 10 logarithm of this BigDouble value.
@@ -1429,7 +1763,7 @@ public class BigDouble implements Comparable<BigDouble> {
      * @see #log10() Delegates to log10() with proper conversion.
      */
     public static double log10(String value) {
-        return BigDouble.parseBigDouble(value).log10();
+        return BigDoubleLiteralCache.get(value).log10();
     }
 
     /**
@@ -1462,7 +1796,7 @@ public class BigDouble implements Comparable<BigDouble> {
      * @see #absLog10()  Delegates to absLog10() with proper conversion.
      */
     public static double absLog10(String value) {
-        return BigDouble.parseBigDouble(value).absLog10();
+        return BigDoubleLiteralCache.get(value).absLog10();
     }
 
     /**
@@ -1499,7 +1833,7 @@ public class BigDouble implements Comparable<BigDouble> {
      * @see #pLog10()  Delegates to pLog10() with proper conversion.
      */
     public static double pLog10(String value) {
-        return BigDouble.parseBigDouble(value).pLog10();
+        return BigDoubleLiteralCache.get(value).pLog10();
     }
 
     /**
@@ -1611,7 +1945,7 @@ public class BigDouble implements Comparable<BigDouble> {
      * @see #log()  Delegates to log() with proper conversion.
      */
     public static double ln(String value) {
-        return BigDouble.parseBigDouble(value).ln();
+        return BigDoubleLiteralCache.get(value).ln();
     }
 
     /**
@@ -1621,6 +1955,8 @@ public class BigDouble implements Comparable<BigDouble> {
      * @return A bigDouble of the form 1e+Value.
      */
     public static BigDouble pow10(long value) {
+        BigDouble cached = ValueCache.powerOf10(value);
+        if (cached != null) return cached;
         return fromMantissaExponentNoNormalize(1, value);
     }
 
@@ -1681,7 +2017,7 @@ public class BigDouble implements Comparable<BigDouble> {
         if (mantissa < 0 && !powerIsInteger) return NaN;
 
         // FAIL-FAST: 10 ^ x can be computed quickly.
-        boolean is10 = exponent == 1 && mantissa - 1 < Double.MIN_VALUE;
+        boolean is10 = exponent == 1 && mantissa == 1;
         if (is10) return pow10(power);
 
         // FAST-TRACK: if (exponent * value) is an int and mantissa ^ value < e308,
@@ -1711,6 +2047,62 @@ public class BigDouble implements Comparable<BigDouble> {
         return result;
     }
 
+    /**
+     * Raise a BigDouble to a whole power, by repeated squaring rather than through
+     * Math.pow and log10. Calls with an int power, such as {@code x.pow(2)}, come here too.
+     * <p>The squares are kept in double-double precision, so the result is within a few ulps for
+     * powers up to a few hundred, and within about |power| * 1e-18 beyond that, where pow(double)
+     * loses about |power| * 3e-16 to its logarithm. Zero, NaN, the infinities, and results whose
+     * exponent would not fit in a long go to pow(double).
+     * @param power the value to raise this BigDouble to.
+     * @return The result as a BigDouble.
+     * @see BigDoublePowerTable BigDoublePowerTable, for many powers of the same value.
+     */
+    public BigDouble pow(long power) {
+        if (power == 0) return ONE;
+        long n = Math.abs(power);
+        if (mantissa == 0 || !Double.isFinite(mantissa) || power == Long.MIN_VALUE
+                || Math.abs(exponent) > (Long.MAX_VALUE / 2) / n) {
+            return pow((double) power);
+        }
+
+        // The result and the current square, as unevaluated sums high + low times 10 ^ shift.
+        // Math.fma recovers the rounding error of each product, which goes into the low part.
+        double resultHigh = 1, resultLow = 0, squareHigh = mantissa, squareLow = 0;
+        long resultShift = 0, squareShift = 0;
+        while (true) {
+            if ((n & 1) != 0) {
+                double product = resultHigh * squareHigh;
+                double error = Math.fma(resultHigh, squareHigh, -product) + (resultHigh * squareLow + resultLow * squareHigh);
+                resultHigh = product + error;
+                resultLow = error - (resultHigh - product);
+                resultShift += squareShift;
+                // Both factors stay below 1e100, so their product can't overflow.
+                if (Math.abs(resultHigh) >= 1e100) {
+                    resultHigh *= 1e-100;
+                    resultLow *= 1e-100;
+                    resultShift += 100;
+                }
+            }
+            n >>>= 1;
+            if (n == 0) break;
+            double square = squareHigh * squareHigh;
+            double error = Math.fma(squareHigh, squareHigh, -square) + 2 * squareHigh * squareLow;
+            squareHigh = square + error;
+            squareLow = error - (squareHigh - square);
+            squareShift *= 2;
+            if (squareHigh >= 1e100) {
+                squareHigh *= 1e-100;
+                squareLow *= 1e-100;
+                squareShift += 100;
+            }
+        }
+
+        long resultExponent = exponent * Math.abs(power) + resultShift;
+        if (power < 0) return normalize(1 / (resultHigh + resultLow), -resultExponent);
+        return normalize(resultHigh + resultLow, resultExponent);
+    }
+
     /**
      * Returns Euler's number <i>e</i> raised to the power of a
      * {@code double} value.  Special cases:
@@ -1744,7 +2136,7 @@ public class BigDouble implements Comparable<BigDouble> {
      * @see #exp()  Delegates to exp() with proper conversion.
      */
     public static BigDouble exp(String value) {
-        return BigDouble.parseBigDouble(value).exp();
+        return BigDoubleLiteralCache.get(value).exp();
     }
 
     /**
@@ -1770,7 +2162,7 @@ public class BigDouble implements Comparable<BigDouble> {
      * @see #sqr()  Delegates to sqr() with proper conversion.
      */
     public static BigDouble sqr(String value) {
-        return BigDouble.parseBigDouble(value).sqr();
+        return BigDoubleLiteralCache.get(value).sqr();
     }
 
     /**
@@ -1816,7 +2208,7 @@ public class BigDouble implements Comparable<BigDouble> {
      * @see #sqrt()  Delegates to sqrt() with proper conversion.
      */
     public static BigDouble sqrt(String value) {
-        return BigDouble.parseBigDouble(value).sqrt();
+        return BigDoubleLiteralCache.get(value).sqrt();
     }
 
     /**
@@ -1846,7 +2238,7 @@ public class BigDouble implements Comparable<BigDouble> {
      * @see #cube()  Delegates to cube() with proper conversion.
      */
     public static BigDouble cube(String value) {
-        return BigDouble.parseBigDouble(value).cube();
+        return BigDoubleLiteralCache.get(value).cube();
     }
 
     /**
@@ -1904,7 +2296,7 @@ public class BigDouble implements Comparable<BigDouble> {
      * @see #cbrt()  Delegates to cbrt() with proper conversion.
      */
     public static BigDouble cbrt(String value) {
-        return BigDouble.parseBigDouble(value).cbrt();
+        return BigDoubleLiteralCache.get(value).cbrt();
     }
 
     /**
@@ -1922,7 +2314,7 @@ public class BigDouble implements Comparable<BigDouble> {
     ) {
         BigDouble actualStart = priceStart.mul(priceRatio.pow(currentOwned));
 
-        return new BigDouble(Math.floor(
+        return valueOf(Math.floor(
                 resourcesAvailable.div(actualStart).mul(priceRatio.sub(ONE)).add(ONE).log10()
                 / priceRatio.log10()
         ));
@@ -1940,6 +2332,25 @@ public class BigDouble implements Comparable<BigDouble> {
                 currentOwned
         );
     }
+    /**
+     * affordGeometricSeries with the price ratio's powers taken from a table, for
+     * purchases that are checked over and over with the same ratio.
+     * @see #affordGeometricSeries(BigDouble, BigDouble, BigDouble, long)
+     */
+    public static BigDouble affordGeometricSeries(
+            BigDouble resourcesAvailable,
+            BigDouble priceStart,
+            BigDoublePowerTable priceRatio,
+            long currentOwned
+    ) {
+        BigDouble ratio = priceRatio.getBase();
+        BigDouble actualStart = priceStart.mul(priceRatio.pow(currentOwned));
+
+        return valueOf(Math.floor(
+                resourcesAvailable.div(actualStart).mul(ratio.sub(ONE)).add(ONE).log10()
+                / ratio.log10()
+        ));
+    }
 
     /**
      * How much resource would it cost to buy (numItems) items if you already have currentOwned,
@@ -1956,6 +2367,22 @@ public class BigDouble implements Comparable<BigDouble> {
                 .mul(ONE.sub(priceRatio.pow(numItems)))
                 .div(ONE.sub(priceRatio));
     }
+    /**
+     * sumGeometricSeries with the price ratio's powers taken from a table, for
+     * purchases that are checked over and over with the same ratio.
+     * @see #sumGeometricSeries(int, BigDouble, BigDouble, int)
+     */
+    public static BigDouble sumGeometricSeries(
+            int numItems,
+            BigDouble priceStart,
+            BigDoublePowerTable priceRatio,
+            int currentOwned
+    ) {
+        return priceStart
+                .mul(priceRatio.pow(currentOwned))
+                .mul(ONE.sub(priceRatio.pow(numItems)))
+                .div(ONE.sub(priceRatio.getBase()));
+    }
 
     /**
      * If you're willing to spend 'resourcesAvailable' and want to buy something with additively
@@ -2100,16 +2527,26 @@ public class BigDouble implements Comparable<BigDouble> {
     }
 
     /**
-     * Get the current Mantissa, truncated to a specific number of decimal places.
-     * Formatting always rounds towards 0.
+     * The most decimal places mantissaWithDecimalPlaces rounds to. A mantissa below 10
+     * with this many places still has fewer than 2 ^ 53 digits, so it rounds exactly.
+     */
+    private static final int MAX_ROUNDED_PLACES = 14;
+
+    /**
+     * Get the current Mantissa, rounded to a specific number of decimal places.
+     * Rounding is to the nearest value, and ties go to the even digit.
      * Special cases:
      * <ul><li>If this BigDouble is infinite, NaN, or 0, no formatting is applied.
-     * <li>Supplying a places value larger than 17 will simply return the mantissa.
+     * <li>Supplying a places value larger than 14 will simply return the mantissa.
      * </ul>
      * @param places The number of places to represent.
      * @return The mantissa, rounded to the specified number of places.
+     * @throws IllegalArgumentException if places is negative.
      */
     public double mantissaWithDecimalPlaces(int places) {
+        if (places < 0) {
+            throw new IllegalArgumentException("places must not be negative: " + places);
+        }
         if (isInfinite(this) || isNaN(this)) {
             return mantissa;
         }
@@ -2118,13 +2555,10 @@ public class BigDouble implements Comparable<BigDouble> {
             return 0;
         }
 
-        // TODO: would simple multiplication, rounding, and division be better?
-        // Create a DecimalFormat instance with the desired pattern
-        DecimalFormat df = new DecimalFormat("#." + "0".repeat(places));
-
-        // Use the format() method to round and format the double
-        String formattedValue = df.format(mantissa);
-        return Double.parseDouble(formattedValue);
+        if (places > MAX_ROUNDED_PLACES) {
+            return mantissa;
+        }
+        return DecimalWriter.roundMantissa(mantissa, places);
     }
 
     @Override
@@ -2138,71 +2572,78 @@ public class BigDouble implements Comparable<BigDouble> {
         return mantissa + "e" + (exponent >= 0 ? "+" : "") + exponent;
     }
 
+    /**
+     * Write this value with a fixed number of decimal places: in plain notation, like toFixed,
+     * if it is between 1e-7 and 1e21 (the same range where toString uses plain notation), and in
+     * scientific notation, like toExponential, otherwise.
+     * <p>A StringBuilder is written to directly. Any other Appendable is given one String.
+     * @param out Where to write the text, such as a StringBuilder or a Writer.
+     * @param places The number of places after the decimal point.
+     * @return out.
+     * @throws IOException If out does.
+     */
+    public <T extends Appendable> T formatTo(@NotNull T out, int places) throws IOException {
+        if (out instanceof StringBuilder) {
+            DecimalWriter.appendDecimalPlaces((StringBuilder) out, mantissa, exponent, places);
+        } else {
+            out.append(DecimalWriter.appendDecimalPlaces(new StringBuilder(), mantissa, exponent, places));
+        }
+        return out;
+    }
+
     /**
      * Return a string representation of this BigDecimal, forcefully
      * formatted in scientific notation (X.XXeYYY, for some values X.XX and Y)
      * @param places The number of places in the mantissa.
-     * @return
+     * @return A string representation of this BigDouble in scientific notation.
+     * @see #toExponential(StringBuilder, int) Delegates to toExponential(StringBuilder out, int places).
      */
     public String toExponential(int places) {
-        if (isInfinite(this)) return Double.toString(mantissa);
-
-        if (mantissa == 0 || exponent < -Constants.EXP_LIMIT) {
-            return "0" + RepeatZeroes.trailZeroes(places) + "e+0";
-        }
-
-        // One case: we have to do it all ourselves!
-        // Sorry, no toExponential in Double.
-
-        int len = places + 1;
-        int numDigits = (int) Math.max(1, Math.ceil(Math.log10(Math.abs(mantissa))));
-        double rounded = Math.round(mantissa * Math.pow(10, len - numDigits)) * Math.pow(10, numDigits - len);
-
-        // Create a DecimalFormat instance with the desired pattern
-        DecimalFormat df = new DecimalFormat("#." + "0".repeat((Math.max(len - numDigits, 0))));
+        return toExponential(new StringBuilder(), places).toString();
+    }
 
-        // TODO: wait, doesn't MantissaWithDecimalPlaces do this already?
-        return df.format(rounded) + "e" + (exponent >= 0 ? "+" : "") + exponent;
+    /**
+     * Write this value in scientific notation (X.XXeYYY, for some values X.XX and Y),
+     * rounding the mantissa to the given number of places. A mantissa that rounds up to
+     * 10 is written as 1 with the next exponent up.
+     * @param out The StringBuilder to append to.
+     * @param places The number of places in the mantissa.
+     * Places beyond the 16 that a double can hold are written as 0s.
+     * @return out.
+     */
+    public StringBuilder toExponential(@NotNull StringBuilder out, int places) {
+        return DecimalWriter.appendExponential(out, mantissa, exponent, places);
     }
 
     /**
      * Return a string representation of this BigDecimal, formatted
      * with a specific number of places after the decimal point.
-     * Will pad extra positions with zeroes.
+     * Will pad extra positions with zeroes. From 1e21 up, as in JavaScript,
+     * the value is written the way toString writes it instead.
      * @param places the number of places after the decimal point to show.
+     * A negative number shows 17 places.
      * @return A string representation, with digits added or removed to reach
      * the specified number of places.
+     * @see #toFixed(StringBuilder, int) Delegates to toFixed(StringBuilder out, int places).
      */
-    private String toFixed(int places) {
-        if (places < 0) {
-            places = Constants.MAX_SIGNIFICANT_DIGITS;
-        }
-        if (exponent <= -Constants.EXP_LIMIT || mantissa == 0) {
-            return "0" + (
-                    places > 0 ?
-                    RepeatZeroes.padRight(".", places) :
-                    ""
-            );
-        }
-
-        // two cases:
-        // 1) exponent is 17 or greater: just print out mantissa with the appropriate number of zeroes after it
-        // 2) exponent is 16 or less: use "basic" toFixed
-
-        if (exponent >= Constants.MAX_SIGNIFICANT_DIGITS)
-        {
-            // TODO: StringBuilder-optimizable, and frankly just bad in general.
-            String out =  Double.toString(mantissa)
-                    .replace(".", "");
-            out = RepeatZeroes.padRight(out, (int)exponent + 1)
-                    + (places > 0 ? RepeatZeroes.padRight(".", places+1) : "");
-        }
-
-        long multiplier = (long) Math.pow(10, places);
-        double roundedValue = Math.round(this.toDouble() * multiplier) / (double) multiplier;
+    public String toFixed(int places) {
+        return toFixed(new StringBuilder(), places).toString();
+    }
 
-        // Not malformed. I think.
-        return String.format("%." + places + "f", roundedValue);
+    /**
+     * Write this value in plain notation, with a specific number of places after the
+     * decimal point. Digits beyond the 17 significant digits a mantissa holds are written as 0s.
+     * From 1e21 up, as in JavaScript, the value is written the way toString writes it instead,
+     * so a large exponent doesn't become a string of zeroes just as long.
+     * @param out The StringBuilder to append to.
+     * @param places the number of places after the decimal point to show.
+     * A negative number shows 17 places.
+     * @return out.
+     */
+    public StringBuilder toFixed(@NotNull StringBuilder out, int places) {
+        // The same cutoff as toString.
+        if (exponent >= 21) return out.append(this);
+        return DecimalWriter.appendFixed(out, mantissa, exponent, places);
     }
 
     /**
@@ -2213,15 +2654,21 @@ public class BigDouble implements Comparable<BigDouble> {
      * @param places The number of places after the decimal point to use.
      * @return A string representation of this BigDouble with the specified
      * number of decimal places.
+     * @see #toPrecision(StringBuilder, int) Delegates to toPrecision(StringBuilder out, int places).
      */
     public String toPrecision(int places) {
-        if (exponent <= -7) {
-            return toExponential(places - 1);
-        }
-        if (places > exponent) {
-            return this.toFixed(places - (int)exponent - 1);
-        }
-        return this.toExponential(places - 1);
+        return toPrecision(new StringBuilder(), places).toString();
+    }
+
+    /**
+     * Write this value with a specific number of significant digits: in plain notation
+     * if that shows the whole number, and in scientific notation otherwise.
+     * @param out The StringBuilder to append to.
+     * @param places The number of significant digits to show.
+     * @return out.
+     */
+    public StringBuilder toPrecision(@NotNull StringBuilder out, int places) {
+        return DecimalWriter.appendPrecision(out, mantissa, exponent, places);
     }
 
     public BigDouble sinh() {
@@ -2234,7 +2681,7 @@ public class BigDouble implements Comparable<BigDouble> {
         return new BigDouble(value).sinh();
     }
     public static BigDouble sinh(String value) {
-        return BigDouble.parseBigDouble(value).sinh();
+        return BigDoubleLiteralCache.get(value).sinh();
     }
 
     public BigDouble cosh() {
@@ -2247,7 +2694,7 @@ public class BigDouble implements Comparable<BigDouble> {
         return new BigDouble(value).cosh();
     }
     public static BigDouble cosh(String value) {
-        return BigDouble.parseBigDouble(value).cosh();
+        return BigDoubleLiteralCache.get(value).cosh();
     }
 
     public BigDouble tanh() {
@@ -2260,7 +2707,7 @@ public class BigDouble implements Comparable<BigDouble> {
         return new BigDouble(value).tanh();
     }
     public static BigDouble tanh(String value) {
-        return BigDouble.parseBigDouble(value).tanh();
+        return BigDoubleLiteralCache.get(value).tanh();
     }
 
     public double asinh() {
@@ -2273,7 +2720,7 @@ public class BigDouble implements Comparable<BigDouble> {
         return new BigDouble(value).asinh();
     }
     public static double asinh(String value) {
-        return BigDouble.parseBigDouble(value).asinh();
+        return BigDoubleLiteralCache.get(value).asinh();
     }
 
     public double acosh() {
@@ -2286,7 +2733,7 @@ public class BigDouble implements Comparable<BigDouble> {
         return new BigDouble(value).acosh();
     }
     public static double acosh(String value) {
-        return BigDouble.parseBigDouble(value).acosh();
+        return BigDoubleLiteralCache.get(value).acosh();
     }
 
     public double atanh() {
@@ -2300,7 +2747,7 @@ public class BigDouble implements Comparable<BigDouble> {
         return new BigDouble(value).atanh();
     }
     public static double atanh(String value) {
-        return BigDouble.parseBigDouble(value).atanh();
+        return BigDoubleLiteralCache.get(value).atanh();
     }
 
     /**
@@ -0,0 +1,276 @@
+package io.github.ad417.BreakInfinity;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A running BigDouble total for many threads to add into at once, modelled on LongAdder.
+ * <p>Uncontended adds go to a single base value, just like AtomicBigDouble. Once two threads
+ * collide, adds are spread over a table of cells instead, one per thread where possible,
+ * each padded out to its own cache line. The table grows on repeated collisions, up to the
+ * number of processors. Nothing is merged until {@link #sum()} adds the cells together.
+ * <p>This trades reads for writes: add scales with the number of threads, while sum has to
+ * walk every cell and allocates as it goes. For a value that is read about as often as it
+ * is written, use AtomicBigDouble.
+ * <p>sum is not an atomic snapshot. Adds that happen while it runs may or may not be
+ * counted, and since BigDouble addition rounds, the order cells are merged in can change
+ * the last digit of the mantissa.
+ */
+public class BigDoubleAdder {
+    /**
+     * The most cells worth having: one per processor, rounded up to a power of two.
+     */
+    private static final int MAX_CELLS = Integer.highestOneBit(
+            Math.max(1, Runtime.getRuntime().availableProcessors() - 1)) << 1;
+
+    private static final VarHandle BASE;
+    private static final VarHandle CELLS_BUSY;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            BASE = lookup.findVarHandle(BigDoubleAdder.class, "base", BigDouble.class);
+            CELLS_BUSY = lookup.findVarHandle(BigDoubleAdder.class, "cellsBusy", int.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * Which cell each thread adds into. Changed whenever that thread collides with another.
+     */
+    private static final ThreadLocal<int[]> PROBE = ThreadLocal.withInitial(
+            () -> new int[] {ThreadLocalRandom.current().nextInt() | 1});
+
+    private volatile BigDouble base = BigDouble.ZERO;
+
+    /**
+     * Null until the first collision. Then a power of two in length, with null entries
+     * until some thread needs them.
+     */
+    private volatile Cell[] cells;
+
+    /**
+     * A spin lock, held while creating or growing cells.
+     */
+    private volatile int cellsBusy;
+
+    /**
+     * Create an adder with a sum of 0.
+     */
+    public BigDoubleAdder() { }
+
+    /**
+     * Add a value to the sum.
+     * @param x The value to add.
+     */
+    public void add(@NotNull BigDouble x) {
+        Cell[] cs = cells;
+        if (cs == null) {
+            BigDouble current = base;
+            if (BASE.weakCompareAndSet(this, current, current.add(x))) return;
+        } else {
+            Cell cell = cs[probe() & (cs.length - 1)];
+            if (cell != null && cell.tryAdd(x)) return;
+        }
+        addContended(x);
+    }
+
+    /**
+     * Add 1 to the sum.
+     */
+    public void increment() {
+        add(BigDouble.ONE);
+    }
+
+    /**
+     * @return The sum of every value added since this was created or last reset.
+     */
+    public BigDouble sum() {
+        BigDouble sum = base;
+        Cell[] cs = cells;
+        if (cs != null) {
+            for (Cell cell : cs) {
+                if (cell != null) sum = sum.add(cell.value);
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Set the sum back to 0. Adds that happen at the same time may or may not be kept.
+     */
+    public void reset() {
+        base = BigDouble.ZERO;
+        Cell[] cs = cells;
+        if (cs != null) {
+            for (Cell cell : cs) {
+                if (cell != null) cell.value = BigDouble.ZERO;
+            }
+        }
+    }
+
+    /**
+     * Get the sum, then set it back to 0. Each add that happens at the same time is
+     * either counted in the returned sum or kept for the next one, never lost.
+     * @return The sum before resetting.
+     */
+    public BigDouble sumThenReset() {
+        BigDouble sum = (BigDouble) BASE.getAndSet(this, BigDouble.ZERO);
+        Cell[] cs = cells;
+        if (cs != null) {
+            for (Cell cell : cs) {
+                if (cell != null) sum = sum.add(cell.getAndReset());
+            }
+        }
+        return sum;
+    }
+
+    @Override
+    public String toString() {
+        return sum().toString();
+    }
+
+    private static int probe() {
+        return PROBE.get()[0];
+    }
+
+    /**
+     * Move the current thread to another cell, with a step of a xorshift generator.
+     */
+    private static int advanceProbe() {
+        int[] probe = PROBE.get();
+        int h = probe[0];
+        h ^= h << 13;
+        h ^= h >>> 17;
+        h ^= h << 5;
+        probe[0] = h;
+        return h;
+    }
+
+    private boolean lockCells() {
+        return cellsBusy == 0 && CELLS_BUSY.compareAndSet(this, 0, 1);
+    }
+
+    private void unlockCells() {
+        cellsBusy = 0;
+    }
+
+    /**
+     * The slow path of add, taken after a collision on the base or a cell, or when
+     * this thread's cell doesn't exist yet. Follows LongAdder: the first collision on a
+     * cell moves the thread to another cell, and the next one doubles the table.
+     */
+    private void addContended(BigDouble x) {
+        int h = probe();
+        boolean collided = false;
+        while (true) {
+            Cell[] cs = cells;
+            if (cs == null) {
+                if (lockCells()) {
+                    try {
+                        if (cells == null) {
+                            Cell[] created = new Cell[2];
+                            created[h & 1] = new Cell(x);
+                            cells = created;
+                            return;
+                        }
+                    } finally {
+                        unlockCells();
+                    }
+                    continue;
+                }
+                // Someone else is creating the table, so fall back on the base meanwhile.
+                BigDouble current = base;
+                if (BASE.weakCompareAndSet(this, current, current.add(x))) return;
+                continue;
+            }
+
+            int n = cs.length;
+            int index = h & (n - 1);
+            Cell cell = cs[index];
+            if (cell == null) {
+                if (lockCells()) {
+                    try {
+                        if (cells == cs && cs[index] == null) {
+                            cs[index] = new Cell(x);
+                            return;
+                        }
+                    } finally {
+                        unlockCells();
+                    }
+                    continue;
+                }
+                collided = false;
+            } else if (cell.tryAdd(x)) {
+                return;
+            } else if (n >= MAX_CELLS || cells != cs) {
+                // The table can't grow, or just did: only move to another cell.
+                collided = false;
+            } else if (!collided) {
+                collided = true;
+            } else if (lockCells()) {
+                try {
+                    if (cells == cs) {
+                        Cell[] grown = new Cell[n << 1];
+                        System.arraycopy(cs, 0, grown, 0, n);
+                        cells = grown;
+                    }
+                } finally {
+                    unlockCells();
+                }
+                collided = false;
+                continue;
+            }
+            h = advanceProbe();
+        }
+    }
+
+    /*
+     * A cell's value has padding on both sides, so that two cells never share a cache
+     * line: the JVM lays out superclass fields before subclass fields.
+     */
+
+    @SuppressWarnings("unused")
+    private static class CellPaddingBefore {
+        long p0, p1, p2, p3, p4, p5, p6, p7;
+    }
+
+    private static class CellValue extends CellPaddingBefore {
+        volatile BigDouble value;
+    }
+
+    @SuppressWarnings("unused")
+    private static final class Cell extends CellValue {
+        private static final VarHandle VALUE;
+
+        static {
+            try {
+                VALUE = MethodHandles.lookup().findVarHandle(CellValue.class, "value", BigDouble.class);
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        long q0, q1, q2, q3, q4, q5, q6, q7;
+
+        Cell(BigDouble initialValue) {
+            value = initialValue;
+        }
+
+        /**
+         * Try once to add x, giving up if another thread changes the value first.
+         */
+        boolean tryAdd(BigDouble x) {
+            BigDouble current = value;
+            return VALUE.weakCompareAndSet(this, current, current.add(x));
+        }
+
+        BigDouble getAndReset() {
+            return (BigDouble) VALUE.getAndSet(this, BigDouble.ZERO);
+        }
+    }
+}
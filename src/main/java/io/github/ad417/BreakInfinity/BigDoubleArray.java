@@ -0,0 +1,353 @@
+package io.github.ad417.BreakInfinity;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * A fixed-size array of BigDouble values, stored as a parallel array of mantissas
+ * and a parallel array of exponents rather than as BigDouble instances.
+ * Large collections of values (resources, generators, costs) take a third of the memory
+ * this way, and the bulk operations below run as plain loops over primitives.
+ * <p>The bulk operations modify this array in place, and give the same results
+ * as the matching BigDouble methods applied element by element.
+ */
+@SuppressWarnings("unused")
+public final class BigDoubleArray {
+    final double[] mantissas;
+    final long[] exponents;
+
+    /**
+     * Create an array of the given size, with every element set to 0.
+     * @param size The number of elements.
+     */
+    public BigDoubleArray(int size) {
+        mantissas = new double[size];
+        exponents = new long[size];
+    }
+
+    /**
+     * Wrap a parallel array of normalized mantissas and one of exponents, without copying them.
+     */
+    BigDoubleArray(double[] mantissas, long[] exponents) {
+        this.mantissas = mantissas;
+        this.exponents = exponents;
+    }
+
+    /**
+     * Create an array holding the given values.
+     * @param values The initial values.
+     */
+    public BigDoubleArray(@NotNull BigDouble... values) {
+        this(values.length);
+        for (int i = 0; i < values.length; i++) {
+            set(i, values[i]);
+        }
+    }
+
+    /**
+     * Determine if the bulk operations run on SIMD instructions. They do when the JVM was
+     * started with {@code --add-modules jdk.incubator.vector}, and fall back to plain loops otherwise.
+     * @return Whether the bulk operations are vectorized.
+     */
+    public static boolean isVectorized() {
+        return ArrayKernels.INSTANCE.isVectorized();
+    }
+
+    /**
+     * @return The number of elements in this array.
+     */
+    public int size() {
+        return mantissas.length;
+    }
+
+    /**
+     * @param index The element to get.
+     * @return The element as a BigDouble.
+     */
+    public BigDouble get(int index) {
+        return BigDouble.fromNormalized(mantissas[index], exponents[index]);
+    }
+
+    /**
+     * @param index The element to get.
+     * @return The mantissa of the element.
+     */
+    public double getMantissa(int index) {
+        return mantissas[index];
+    }
+
+    /**
+     * @param index The element to get.
+     * @return The exponent of the element.
+     */
+    public long getExponent(int index) {
+        return exponents[index];
+    }
+
+    /**
+     * Overwrite an element.
+     * @param index The element to set.
+     * @param value The new value.
+     */
+    public void set(int index, @NotNull BigDouble value) {
+        mantissas[index] = value.getMantissa();
+        exponents[index] = value.getExponent();
+    }
+
+    /**
+     * Overwrite an element with the value of a MutableBigDouble.
+     * @param index The element to set.
+     * @param value The new value.
+     */
+    public void set(int index, @NotNull MutableBigDouble value) {
+        mantissas[index] = value.getMantissa();
+        exponents[index] = value.getExponent();
+    }
+
+    /**
+     * Overwrite every element with the same value.
+     * @param value The new value.
+     */
+    public void fill(@NotNull BigDouble value) {
+        Arrays.fill(mantissas, value.getMantissa());
+        Arrays.fill(exponents, value.getExponent());
+    }
+
+    /**
+     * @return A new array of BigDouble instances with the same values.
+     */
+    public BigDouble[] toArray() {
+        BigDouble[] out = new BigDouble[size()];
+        for (int i = 0; i < out.length; i++) {
+            out[i] = get(i);
+        }
+        return out;
+    }
+
+    private void checkSameSize(BigDoubleArray other) {
+        if (other.size() != size()) {
+            throw new IllegalArgumentException(
+                    "Array sizes differ: " + size() + " and " + other.size()
+            );
+        }
+    }
+
+    /**
+     * Add each element of another array to the matching element of this one.
+     * @param other An array of the same size.
+     * @return This array.
+     * @throws IllegalArgumentException if the arrays are different sizes.
+     * @see BigDouble#add(BigDouble)
+     */
+    public BigDoubleArray add(@NotNull BigDoubleArray other) {
+        checkSameSize(other);
+        ArrayKernels.INSTANCE.add(mantissas, exponents, other.mantissas, other.exponents, size());
+        return this;
+    }
+
+    /**
+     * Multiply each element of this array by the matching element of another.
+     * @param other An array of the same size.
+     * @return This array.
+     * @throws IllegalArgumentException if the arrays are different sizes.
+     * @see BigDouble#mul(BigDouble)
+     */
+    public BigDoubleArray mul(@NotNull BigDoubleArray other) {
+        checkSameSize(other);
+        ArrayKernels.INSTANCE.mul(mantissas, exponents, other.mantissas, other.exponents, size());
+        return this;
+    }
+
+    /**
+     * Divide each element of this array by the matching element of another.
+     * @param other An array of the same size.
+     * @return This array.
+     * @throws IllegalArgumentException if the arrays are different sizes.
+     * @see BigDouble#div(BigDouble)
+     */
+    public BigDoubleArray div(@NotNull BigDoubleArray other) {
+        checkSameSize(other);
+        ArrayKernels.INSTANCE.div(mantissas, exponents, other.mantissas, other.exponents, size());
+        return this;
+    }
+
+    /**
+     * Multiply every element of this array by the same value.
+     * @param scalar The value to multiply by.
+     * @return This array.
+     * @see BigDouble#mul(BigDouble)
+     */
+    public BigDoubleArray mulScalar(@NotNull BigDouble scalar) {
+        double scalarMantissa = scalar.getMantissa();
+        long scalarExponent = scalar.getExponent();
+        for (int i = 0; i < mantissas.length; i++) {
+            ScalarArrayKernels.store(
+                    mantissas, exponents, i,
+                    mantissas[i] * scalarMantissa,
+                    exponents[i] + scalarExponent
+            );
+        }
+        return this;
+    }
+
+    /**
+     * @return The sum of every element in this array, or 0 if it is empty.
+     * @see BigDouble#add(BigDouble)
+     */
+    public BigDouble sum() {
+        MutableBigDouble sum = new MutableBigDouble();
+        for (int i = 0; i < mantissas.length; i++) {
+            sum.addAssign(mantissas[i], exponents[i]);
+        }
+        return sum.toBigDouble();
+    }
+
+    /**
+     * Multiply each element of this array by the matching element of another, and add up the products.
+     * Neither array is modified.
+     * @param other An array of the same size.
+     * @return The sum of the products, or 0 if the arrays are empty.
+     * @throws IllegalArgumentException if the arrays are different sizes.
+     * @see BigDouble#dot(BigDouble[], BigDouble[])
+     */
+    public BigDouble dot(@NotNull BigDoubleArray other) {
+        checkSameSize(other);
+        MutableBigDouble sum = new MutableBigDouble();
+        for (int i = 0; i < mantissas.length; i++) {
+            sum.mulAddAssign(mantissas[i], exponents[i], other.mantissas[i], other.exponents[i]);
+        }
+        return sum.toBigDouble();
+    }
+
+    /**
+     * @return The largest element in this array.
+     * @throws NoSuchElementException if this array is empty.
+     * @see BigDouble#max(BigDouble)
+     */
+    public BigDouble max() {
+        if (mantissas.length == 0) throw new NoSuchElementException();
+        int best = 0;
+        for (int i = 1; i < mantissas.length; i++) {
+            if (BigDouble.compare(mantissas[i], exponents[i], mantissas[best], exponents[best]) > 0) {
+                best = i;
+            }
+        }
+        return get(best);
+    }
+
+    /**
+     * Add up the elements on the common ForkJoinPool. Small arrays, where splitting the work
+     * would cost more than it saves, are summed on the calling thread instead.
+     * <p>The halves of the array are summed separately and then added together, so the
+     * last digit of the mantissa can differ from {@link #sum()}.
+     * @return The sum of every element in this array, or 0 if it is empty.
+     */
+    public BigDouble parallelSum() {
+        return parallelSum(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param pool The pool to run on.
+     * @see #parallelSum()
+     */
+    public BigDouble parallelSum(@NotNull ForkJoinPool pool) {
+        return ParallelReductions.sum(this, pool).toBigDouble();
+    }
+
+    /**
+     * Multiply the elements together on the common ForkJoinPool. Small arrays are
+     * multiplied on the calling thread.
+     * @return The product of every element in this array, or 1 if it is empty.
+     * @see BigDouble#mul(BigDouble)
+     */
+    public BigDouble parallelProduct() {
+        return parallelProduct(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param pool The pool to run on.
+     * @see #parallelProduct()
+     */
+    public BigDouble parallelProduct(@NotNull ForkJoinPool pool) {
+        return ParallelReductions.product(this, pool).toBigDouble();
+    }
+
+    /**
+     * Find the largest element on the common ForkJoinPool. Gives the same result as
+     * {@link #max()}, which small arrays fall back on.
+     * @return The largest element in this array.
+     * @throws NoSuchElementException if this array is empty.
+     */
+    public BigDouble parallelMax() {
+        return parallelMax(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param pool The pool to run on.
+     * @see #parallelMax()
+     */
+    public BigDouble parallelMax(@NotNull ForkJoinPool pool) {
+        if (mantissas.length == 0) throw new NoSuchElementException();
+        return get(ParallelReductions.indexOfMax(this, pool));
+    }
+
+    /**
+     * Replace every element with the sum of itself and all the elements before it, in place,
+     * on the common ForkJoinPool. Small arrays are summed on the calling thread.
+     * <p>Like Arrays.parallelPrefix, large arrays are summed in pieces whose totals are
+     * combined afterwards, so the last digit of each mantissa can differ from a running
+     * sum from left to right.
+     * @return This array.
+     */
+    public BigDoubleArray parallelPrefixSum() {
+        return parallelPrefixSum(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param pool The pool to run on.
+     * @see #parallelPrefixSum()
+     */
+    public BigDoubleArray parallelPrefixSum(@NotNull ForkJoinPool pool) {
+        ParallelReductions.prefixSum(this, pool);
+        return this;
+    }
+
+    /**
+     * Compare a single element to a value.
+     * @param index The element to compare.
+     * @param value The value to compare it to.
+     * @return A negative number, zero, or a positive number as the element is less than,
+     * equal to, or greater than the value.
+     * @see BigDouble#compareTo(BigDouble)
+     */
+    public int compareTo(int index, @NotNull BigDouble value) {
+        return BigDouble.compare(mantissas[index], exponents[index], value.getMantissa(), value.getExponent());
+    }
+
+    /**
+     * Compare each element of this array to the matching element of another.
+     * @param other An array of the same size.
+     * @param result An array of the same size, which receives the result of each comparison.
+     * @return The result array.
+     * @throws IllegalArgumentException if the arrays are different sizes.
+     * @see BigDouble#compareTo(BigDouble)
+     */
+    public int[] compareTo(@NotNull BigDoubleArray other, int @NotNull [] result) {
+        checkSameSize(other);
+        if (result.length != size()) {
+            throw new IllegalArgumentException(
+                    "Result array has size " + result.length + ", expected " + size()
+            );
+        }
+        ArrayKernels.INSTANCE.compare(mantissas, exponents, other.mantissas, other.exponents, result, size());
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+}
@@ -0,0 +1,363 @@
+package io.github.ad417.BreakInfinity;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Binary encodings of BigDouble, for save files and network messages where
+ * toString and parseBigDouble are too slow and too large.
+ * <p>Every value is written as its mantissa, as an 8-byte double, followed by its exponent:
+ * <ul><li>{@link #FIXED} writes the exponent as an 8-byte long, so every value takes 16 bytes
+ * and the n-th value of a block can be found without reading the ones before it.
+ * <li>{@link #COMPACT} writes the exponent as a zigzag varint: 1 byte for exponents in
+ * [-64, 63], 2 for [-8192, 8191], and so on, up to 10 bytes. Most values take 9 or 10.</ul>
+ * Multi-byte values follow the byte order of the ByteBuffer, or big-endian for DataOutput.
+ * NaN, the infinities and 0 round-trip to the canonical BigDouble constants.
+ * <p>The bulk methods write a 4-byte count followed by that many values.
+ */
+public enum BigDoubleCodec {
+    FIXED {
+        @Override
+        public int encodedSize(@NotNull BigDouble value) {
+            return FIXED_SIZE;
+        }
+
+        @Override
+        void writeExponent(long exponent, ByteBuffer buffer) {
+            buffer.putLong(exponent);
+        }
+
+        @Override
+        void writeExponent(long exponent, DataOutput out) throws IOException {
+            out.writeLong(exponent);
+        }
+
+        @Override
+        long readExponent(ByteBuffer buffer) {
+            return buffer.getLong();
+        }
+
+        @Override
+        long readExponent(DataInput in) throws IOException {
+            return in.readLong();
+        }
+
+        @Override
+        int minimumSize() {
+            return FIXED_SIZE;
+        }
+    },
+    COMPACT {
+        @Override
+        public int encodedSize(@NotNull BigDouble value) {
+            long bits = zigzag(value.getExponent());
+            // 7 bits per byte; 0 still takes a byte.
+            return Double.BYTES + Math.max(1, (Long.SIZE - Long.numberOfLeadingZeros(bits) + 6) / 7);
+        }
+
+        @Override
+        void writeExponent(long exponent, ByteBuffer buffer) {
+            long bits = zigzag(exponent);
+            while ((bits & ~0x7FL) != 0) {
+                buffer.put((byte) (bits & 0x7F | 0x80));
+                bits >>>= 7;
+            }
+            buffer.put((byte) bits);
+        }
+
+        @Override
+        void writeExponent(long exponent, DataOutput out) throws IOException {
+            long bits = zigzag(exponent);
+            while ((bits & ~0x7FL) != 0) {
+                out.writeByte((int) (bits & 0x7F | 0x80));
+                bits >>>= 7;
+            }
+            out.writeByte((int) bits);
+        }
+
+        @Override
+        long readExponent(ByteBuffer buffer) {
+            long bits = 0;
+            for (int shift = 0; shift < Long.SIZE; shift += 7) {
+                byte next = buffer.get();
+                bits |= (long) (next & 0x7F) << shift;
+                if (next >= 0) return unzigzag(bits);
+            }
+            throw new IllegalArgumentException("Malformed exponent: more than 10 bytes long");
+        }
+
+        @Override
+        long readExponent(DataInput in) throws IOException {
+            long bits = 0;
+            for (int shift = 0; shift < Long.SIZE; shift += 7) {
+                byte next = in.readByte();
+                bits |= (long) (next & 0x7F) << shift;
+                if (next >= 0) return unzigzag(bits);
+            }
+            throw new IOException("Malformed exponent: more than 10 bytes long");
+        }
+
+        @Override
+        int minimumSize() {
+            return Double.BYTES + 1;
+        }
+    };
+
+    /**
+     * The number of bytes every value takes in the FIXED encoding.
+     */
+    public static final int FIXED_SIZE = Double.BYTES + Long.BYTES;
+
+    /**
+     * The most values a stream read makes room for before any of them have arrived. A stream
+     * can't say how much is left in it, so a larger count only gets room as its values are read.
+     */
+    private static final int INITIAL_READ_CAPACITY = 1024;
+
+    /**
+     * Map signed exponents onto unsigned ones, small magnitudes first: 0, -1, 1, -2, 2...
+     */
+    private static long zigzag(long exponent) {
+        return exponent << 1 ^ exponent >> 63;
+    }
+
+    private static long unzigzag(long bits) {
+        return bits >>> 1 ^ -(bits & 1);
+    }
+
+    /**
+     * @param value A value to encode.
+     * @return The number of bytes write will use for the value.
+     */
+    public abstract int encodedSize(@NotNull BigDouble value);
+
+    abstract void writeExponent(long exponent, ByteBuffer buffer);
+
+    abstract void writeExponent(long exponent, DataOutput out) throws IOException;
+
+    abstract long readExponent(ByteBuffer buffer);
+
+    abstract long readExponent(DataInput in) throws IOException;
+
+    /**
+     * The fewest bytes a single value can take, for rejecting counts too big to be real.
+     */
+    abstract int minimumSize();
+
+    /**
+     * Turn a mantissa and exponent that were read back into a BigDouble. Anything written
+     * by this codec is already normalized, but a corrupted or hand-made buffer may not be.
+     */
+    private static BigDouble decode(double mantissa, long exponent) {
+        double magnitude = Math.abs(mantissa);
+        if (magnitude >= 1 && magnitude < 10) {
+            return BigDouble.fromMantissaExponentNoNormalize(mantissa, exponent);
+        }
+        if (mantissa == 0) return BigDouble.ZERO;
+        if (Double.isNaN(mantissa)) return BigDouble.NaN;
+        if (Double.isInfinite(mantissa)) {
+            return mantissa > 0 ? BigDouble.POSITIVE_INFINITY : BigDouble.NEGATIVE_INFINITY;
+        }
+        return new BigDouble(mantissa, exponent);
+    }
+
+    /**
+     * Write a value at the buffer's position, advancing it.
+     * @param value The value to write.
+     * @param buffer The buffer to write to.
+     */
+    public void write(@NotNull BigDouble value, @NotNull ByteBuffer buffer) {
+        buffer.putDouble(value.getMantissa());
+        writeExponent(value.getExponent(), buffer);
+    }
+
+    /**
+     * Write a value to a stream.
+     * @param value The value to write.
+     * @param out The stream to write to.
+     * @throws IOException If the stream does.
+     */
+    public void write(@NotNull BigDouble value, @NotNull DataOutput out) throws IOException {
+        out.writeDouble(value.getMantissa());
+        writeExponent(value.getExponent(), out);
+    }
+
+    /**
+     * Read a value at the buffer's position, advancing it.
+     * @param buffer The buffer to read from.
+     * @return The value read.
+     */
+    public BigDouble read(@NotNull ByteBuffer buffer) {
+        double mantissa = buffer.getDouble();
+        return decode(mantissa, readExponent(buffer));
+    }
+
+    /**
+     * Read a value from a stream.
+     * @param in The stream to read from.
+     * @return The value read.
+     * @throws IOException If the stream does, including EOFException if it ends partway through.
+     */
+    public BigDouble read(@NotNull DataInput in) throws IOException {
+        double mantissa = in.readDouble();
+        return decode(mantissa, readExponent(in));
+    }
+
+    /**
+     * Write a count and then every value.
+     * @param values The values to write.
+     * @param buffer The buffer to write to.
+     */
+    public void writeAll(@NotNull BigDouble @NotNull [] values, @NotNull ByteBuffer buffer) {
+        buffer.putInt(values.length);
+        for (BigDouble value : values) {
+            write(value, buffer);
+        }
+    }
+
+    /**
+     * Write a count and then every element, without creating a BigDouble for each.
+     * @param values The values to write.
+     * @param buffer The buffer to write to.
+     */
+    public void writeAll(@NotNull BigDoubleArray values, @NotNull ByteBuffer buffer) {
+        buffer.putInt(values.size());
+        for (int i = 0; i < values.size(); i++) {
+            buffer.putDouble(values.mantissas[i]);
+            writeExponent(values.exponents[i], buffer);
+        }
+    }
+
+    /**
+     * Write a count and then every value.
+     * @param values The values to write.
+     * @param out The stream to write to.
+     * @throws IOException If the stream does.
+     */
+    public void writeAll(@NotNull BigDouble @NotNull [] values, @NotNull DataOutput out) throws IOException {
+        out.writeInt(values.length);
+        for (BigDouble value : values) {
+            write(value, out);
+        }
+    }
+
+    /**
+     * Write a count and then every element, without creating a BigDouble for each.
+     * @param values The values to write.
+     * @param out The stream to write to.
+     * @throws IOException If the stream does.
+     */
+    public void writeAll(@NotNull BigDoubleArray values, @NotNull DataOutput out) throws IOException {
+        out.writeInt(values.size());
+        for (int i = 0; i < values.size(); i++) {
+            out.writeDouble(values.mantissas[i]);
+            writeExponent(values.exponents[i], out);
+        }
+    }
+
+    /**
+     * Read a count, and that many values, as written by writeAll.
+     * @param buffer The buffer to read from.
+     * @return The values read.
+     * @throws BufferUnderflowException If the buffer is too short for the count it starts with.
+     */
+    public BigDouble[] readAll(@NotNull ByteBuffer buffer) {
+        BigDouble[] values = new BigDouble[readCount(buffer)];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = read(buffer);
+        }
+        return values;
+    }
+
+    /**
+     * Read a count, and that many values, as written by writeAll, into a BigDoubleArray.
+     * @param buffer The buffer to read from.
+     * @return The values read.
+     * @throws BufferUnderflowException If the buffer is too short for the count it starts with.
+     */
+    public BigDoubleArray readArray(@NotNull ByteBuffer buffer) {
+        BigDoubleArray values = new BigDoubleArray(readCount(buffer));
+        for (int i = 0; i < values.size(); i++) {
+            double mantissa = buffer.getDouble();
+            store(values.mantissas, values.exponents, i, mantissa, readExponent(buffer));
+        }
+        return values;
+    }
+
+    /**
+     * Read a count, and that many values, as written by writeAll.
+     * @param in The stream to read from.
+     * @return The values read.
+     * @throws IOException If the stream does, or if the count is negative.
+     */
+    public BigDouble[] readAll(@NotNull DataInput in) throws IOException {
+        int count = readCount(in);
+        BigDouble[] values = new BigDouble[Math.min(count, INITIAL_READ_CAPACITY)];
+        for (int i = 0; i < count; i++) {
+            if (i == values.length) values = Arrays.copyOf(values, (int) Math.min(count, 2L * i));
+            values[i] = read(in);
+        }
+        return values;
+    }
+
+    /**
+     * Read a count, and that many values, as written by writeAll, into a BigDoubleArray.
+     * @param in The stream to read from.
+     * @return The values read.
+     * @throws IOException If the stream does, or if the count is negative.
+     */
+    public BigDoubleArray readArray(@NotNull DataInput in) throws IOException {
+        int count = readCount(in);
+        int capacity = Math.min(count, INITIAL_READ_CAPACITY);
+        double[] mantissas = new double[capacity];
+        long[] exponents = new long[capacity];
+        for (int i = 0; i < count; i++) {
+            if (i == mantissas.length) {
+                capacity = (int) Math.min(count, 2L * i);
+                mantissas = Arrays.copyOf(mantissas, capacity);
+                exponents = Arrays.copyOf(exponents, capacity);
+            }
+            double mantissa = in.readDouble();
+            store(mantissas, exponents, i, mantissa, readExponent(in));
+        }
+        return new BigDoubleArray(mantissas, exponents);
+    }
+
+    /**
+     * Store a mantissa and exponent that were read back into a BigDoubleArray's arrays.
+     * Only values that aren't already normalized go through a BigDouble.
+     */
+    private static void store(double[] mantissas, long[] exponents, int index, double mantissa, long exponent) {
+        double magnitude = Math.abs(mantissa);
+        if (magnitude >= 1 && magnitude < 10) {
+            mantissas[index] = mantissa;
+            exponents[index] = exponent;
+        } else {
+            BigDouble value = decode(mantissa, exponent);
+            mantissas[index] = value.getMantissa();
+            exponents[index] = value.getExponent();
+        }
+    }
+
+    /**
+     * Read a count, checking it against what is left in the buffer before anything gets allocated for it.
+     */
+    private int readCount(ByteBuffer buffer) {
+        int count = buffer.getInt();
+        if (count < 0) throw new IllegalArgumentException("Negative count: " + count);
+        if ((long) count * minimumSize() > buffer.remaining()) throw new BufferUnderflowException();
+        return count;
+    }
+
+    private static int readCount(DataInput in) throws IOException {
+        int count = in.readInt();
+        if (count < 0) throw new IOException("Negative count: " + count);
+        return count;
+    }
+}
@@ -0,0 +1,162 @@
+package io.github.ad417.BreakInfinity;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collector;
+
+/**
+ * Collectors for reducing streams of BigDoubles, the counterparts of Collectors.summingDouble,
+ * averagingDouble and summarizingDouble.
+ * <p>{@code stream.reduce(BigDouble.ZERO, BigDouble::add)} allocates a new BigDouble for
+ * every element. These collectors add into a MutableBigDouble instead, one per thread in a
+ * parallel stream, and only merge the per-thread totals at the end, so a sum allocates a
+ * handful of objects however long the stream is.
+ * <p>As with doubles, a parallel sum adds in a different order from a sequential one, and
+ * the last digit of the mantissa can differ between the two.
+ */
+public final class BigDoubleCollectors {
+    private BigDoubleCollectors() { }
+
+    /**
+     * @return A Collector that adds up a stream of BigDoubles, giving 0 for an empty stream.
+     */
+    public static Collector<BigDouble, ?, BigDouble> summing() {
+        return summing(Function.identity());
+    }
+
+    /**
+     * @param mapper The value of each element to add up.
+     * @return A Collector that adds up mapper's value for every element, giving 0 for an empty stream.
+     */
+    public static <T> Collector<T, ?, BigDouble> summing(@NotNull Function<? super T, BigDouble> mapper) {
+        Objects.requireNonNull(mapper);
+        return Collector.of(
+                MutableBigDouble::new,
+                (sum, element) -> sum.addAssign(mapper.apply(element)),
+                MutableBigDouble::addAssign,
+                MutableBigDouble::toBigDouble
+        );
+    }
+
+    /**
+     * @return A Collector that takes the mean of a stream of BigDoubles, giving 0 for an empty stream.
+     */
+    public static Collector<BigDouble, ?, BigDouble> averaging() {
+        return averaging(Function.identity());
+    }
+
+    /**
+     * @param mapper The value of each element to average.
+     * @return A Collector that takes the mean of mapper's value for every element,
+     * giving 0 for an empty stream.
+     */
+    public static <T> Collector<T, ?, BigDouble> averaging(@NotNull Function<? super T, BigDouble> mapper) {
+        Objects.requireNonNull(mapper);
+        return Collector.of(
+                Average::new,
+                (average, element) -> average.add(mapper.apply(element)),
+                Average::combine,
+                Average::get
+        );
+    }
+
+    /**
+     * @return A Collector that finds the largest of a stream of BigDoubles, if there are any.
+     */
+    public static Collector<BigDouble, ?, Optional<BigDouble>> max() {
+        return maxBy(Function.identity());
+    }
+
+    /**
+     * Find the element with the largest value, working out each element's value only once.
+     * Ties go to the element that comes first.
+     * @param mapper The value of each element to compare.
+     * @return A Collector that finds the element with the largest value, if there are any.
+     */
+    public static <T> Collector<T, ?, Optional<T>> maxBy(@NotNull Function<? super T, BigDouble> mapper) {
+        Objects.requireNonNull(mapper);
+        return Collector.of(
+                Largest<T>::new,
+                (largest, element) -> largest.offer(element, mapper.apply(element)),
+                Largest::combine,
+                Largest::get
+        );
+    }
+
+    /**
+     * @return A Collector that gives the count, sum, minimum, maximum and mean of a stream of BigDoubles.
+     */
+    public static Collector<BigDouble, ?, BigDoubleSummaryStatistics> summarizing() {
+        return summarizing(Function.identity());
+    }
+
+    /**
+     * @param mapper The value of each element to summarize.
+     * @return A Collector that gives the count, sum, minimum, maximum and mean of mapper's
+     * value for every element.
+     */
+    public static <T> Collector<T, ?, BigDoubleSummaryStatistics> summarizing(
+            @NotNull Function<? super T, BigDouble> mapper) {
+        Objects.requireNonNull(mapper);
+        return Collector.of(
+                BigDoubleSummaryStatistics::new,
+                (statistics, element) -> statistics.accept(mapper.apply(element)),
+                (left, right) -> {
+                    left.combine(right);
+                    return left;
+                },
+                Collector.Characteristics.IDENTITY_FINISH
+        );
+    }
+
+    /**
+     * A running sum and count, for averaging.
+     */
+    private static final class Average {
+        private final MutableBigDouble sum = new MutableBigDouble();
+        private long count;
+
+        void add(BigDouble value) {
+            sum.addAssign(value);
+            count++;
+        }
+
+        Average combine(Average other) {
+            sum.addAssign(other.sum);
+            count += other.count;
+            return this;
+        }
+
+        BigDouble get() {
+            return count == 0 ? BigDouble.ZERO : sum.toBigDouble().div(count);
+        }
+    }
+
+    /**
+     * The element with the largest value so far, and that value.
+     */
+    private static final class Largest<T> {
+        private T element;
+        private BigDouble value;
+
+        void offer(T element, BigDouble value) {
+            if (this.value == null || value.compareTo(this.value) > 0) {
+                this.element = element;
+                this.value = value;
+            }
+        }
+
+        Largest<T> combine(Largest<T> other) {
+            // other holds later elements, so it only wins if strictly larger.
+            if (other.value != null) offer(other.element, other.value);
+            return this;
+        }
+
+        Optional<T> get() {
+            return value == null ? Optional.empty() : Optional.of(element);
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package io.github.ad417.BreakInfinity;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * The keys of BigDoubleObjectMap and BigDoubleLongMap: an open-addressing hash table with
+ * linear probing, stored as a parallel array of mantissa bits and a parallel array of
+ * exponents. Subclasses keep their values in a third array, in the same slots as the keys.
+ * <p>Keys match when their mantissas and exponents are equal, as in {@link BigDouble#equals(BigDouble)},
+ * except that NaN matches itself, as it does in a HashMap through the shared BigDouble.NaN constant.
+ * The table is kept at most half full, so probes stay short, and doubles in size when it would go past that.
+ */
+abstract class BigDoubleHashTable {
+    /**
+     * Marks an empty slot. It's a NaN, but not the one doubleToLongBits turns every NaN into,
+     * so no key's bits are ever equal to it.
+     */
+    static final long EMPTY = 0x7FF8000000000001L;
+
+    private static final int MIN_CAPACITY = 8;
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    long[] mantissaBits;
+    long[] exponents;
+    int size;
+
+    BigDoubleHashTable(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size must not be negative: " + expectedSize);
+        }
+        int capacity = MIN_CAPACITY;
+        while (capacity / 2 < expectedSize && capacity < MAX_CAPACITY) {
+            capacity *= 2;
+        }
+        allocateKeys(capacity);
+    }
+
+    /**
+     * @return The number of slots, which is always a power of 2.
+     */
+    final int capacity() {
+        return mantissaBits.length;
+    }
+
+    private void allocateKeys(int capacity) {
+        mantissaBits = new long[capacity];
+        Arrays.fill(mantissaBits, EMPTY);
+        exponents = new long[capacity];
+    }
+
+    /**
+     * The bits a mantissa is stored as. 0.0 and -0.0 become the same key, and so does every NaN.
+     */
+    static long keyBits(double mantissa) {
+        return Double.doubleToLongBits(mantissa + 0.0);
+    }
+
+    /**
+     * Find a key.
+     * @return The key's slot if it's in the table, or the bitwise complement of the empty slot
+     * it would go in if it isn't.
+     */
+    final int probe(long bits, long exponent) {
+        int mask = mantissaBits.length - 1;
+        int slot = (int) BigDouble.mix(bits, exponent) & mask;
+        while (true) {
+            long slotBits = mantissaBits[slot];
+            if (slotBits == EMPTY) return ~slot;
+            if (slotBits == bits && exponents[slot] == exponent) return slot;
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * @return The key's slot, or a negative number if it isn't in the table.
+     */
+    final int slotOf(@NotNull BigDouble key) {
+        return probe(keyBits(key.getMantissa()), key.getExponent());
+    }
+
+    /**
+     * Find a key's slot, adding the key if it isn't in the table yet. The value in a new
+     * slot is the subclass's empty value, null or 0.
+     * @return The key's slot, and whether it was added, as the bitwise complement of the slot.
+     */
+    final int insert(@NotNull BigDouble key) {
+        long bits = keyBits(key.getMantissa());
+        long exponent = key.getExponent();
+        int slot = probe(bits, exponent);
+        if (slot >= 0) return slot;
+        if (size >= mantissaBits.length / 2) {
+            if (mantissaBits.length == MAX_CAPACITY) {
+                throw new IllegalStateException("Map is full: " + size + " keys");
+            }
+            grow();
+            slot = probe(bits, exponent);
+        }
+        slot = ~slot;
+        mantissaBits[slot] = bits;
+        exponents[slot] = exponent;
+        size++;
+        return ~slot;
+    }
+
+    private void grow() {
+        long[] oldBits = mantissaBits;
+        long[] oldExponents = exponents;
+        int capacity = oldBits.length * 2;
+        allocateKeys(capacity);
+        Object oldValues = replaceValues(capacity);
+        for (int i = 0; i < oldBits.length; i++) {
+            if (oldBits[i] == EMPTY) continue;
+            int slot = ~probe(oldBits[i], oldExponents[i]);
+            mantissaBits[slot] = oldBits[i];
+            exponents[slot] = oldExponents[i];
+            copyValue(oldValues, i, slot);
+        }
+    }
+
+    /**
+     * Empty a slot, then move any keys after it that probed past it back into the gap, so
+     * every key can still be reached without tombstones.
+     */
+    final void removeAt(int slot) {
+        int mask = mantissaBits.length - 1;
+        int gap = slot;
+        int next = (gap + 1) & mask;
+        while (mantissaBits[next] != EMPTY) {
+            int home = (int) BigDouble.mix(mantissaBits[next], exponents[next]) & mask;
+            // Keys whose home slot lies cyclically in (gap, next] are already where they can be found.
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                mantissaBits[gap] = mantissaBits[next];
+                exponents[gap] = exponents[next];
+                moveValue(next, gap);
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        mantissaBits[gap] = EMPTY;
+        clearValue(gap);
+        size--;
+    }
+
+    /**
+     * @return The key in a filled slot.
+     */
+    final BigDouble keyAt(int slot) {
+        return BigDouble.fromNormalized(Double.longBitsToDouble(mantissaBits[slot]), exponents[slot]);
+    }
+
+    /**
+     * @return The number of keys in the table.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return Whether the table has no keys.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Remove every key. The table keeps its capacity.
+     */
+    public void clear() {
+        Arrays.fill(mantissaBits, EMPTY);
+        clearValues();
+        size = 0;
+    }
+
+    /**
+     * Replace the values with an empty array of the given capacity.
+     * @return The old array, for copyValue.
+     */
+    abstract Object replaceValues(int capacity);
+
+    /**
+     * Copy a value from slot from of an array returned by replaceValues to slot to of the current one.
+     */
+    abstract void copyValue(Object oldValues, int from, int to);
+
+    /**
+     * Move a value between two slots of the current array.
+     */
+    abstract void moveValue(int from, int to);
+
+    /**
+     * Let go of the value in a slot that has been emptied.
+     */
+    abstract void clearValue(int slot);
+
+    /**
+     * Let go of every value.
+     */
+    abstract void clearValues();
+}
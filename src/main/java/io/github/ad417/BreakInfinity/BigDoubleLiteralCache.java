@@ -0,0 +1,131 @@
+package io.github.ad417.BreakInfinity;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The cache behind every String overload on BigDouble, such as {@code cost.times("1.15")}
+ * or {@code x.gte("1e100")}. Code driven by data files tends to pass the same few literals
+ * over and over, every tick; with this, each one is parsed once and looked up afterwards.
+ * {@link BigDouble#parseBigDouble(String)} and {@link BigDoubleParser} don't use it, since
+ * text loaded in bulk is rarely seen twice.
+ * <p>The cache is a fixed number of slots, picked by the literal's hash code. A literal
+ * that lands on an occupied slot takes it over, so memory stays bounded however many
+ * different literals go through, at the cost of the odd extra parse when two busy literals
+ * share a slot. Lookups take no locks: threads that race on a slot can only cause a miss,
+ * and every entry is immutable.
+ */
+public final class BigDoubleLiteralCache {
+    private BigDoubleLiteralCache() { }
+
+    /**
+     * The number of slots the cache starts with.
+     */
+    public static final int DEFAULT_SIZE = 1024;
+
+    /**
+     * The largest number of slots the cache can have.
+     */
+    public static final int MAX_SIZE = 1 << 30;
+
+    private static final class Entry {
+        final String literal;
+        final BigDouble value;
+
+        Entry(String literal, BigDouble value) {
+            this.literal = literal;
+            this.value = value;
+        }
+    }
+
+    /**
+     * The slots. Always a power of 2 long, or empty when caching is off. Replaced as a
+     * whole when resized, so readers never see a half-built table.
+     */
+    private static volatile Entry[] entries = new Entry[DEFAULT_SIZE];
+
+    private static final LongAdder hits = new LongAdder();
+    private static final LongAdder misses = new LongAdder();
+
+    /**
+     * Parse a literal, or find it in the cache if it has been parsed before.
+     * @throws NumberFormatException if the literal is malformed. Malformed literals aren't cached.
+     */
+    static BigDouble get(String literal) {
+        Entry[] table = entries;
+        if (table.length == 0) {
+            misses.increment();
+            return BigDouble.parseBigDouble(literal);
+        }
+        int hash = literal.hashCode();
+        int index = (hash ^ (hash >>> 16)) & (table.length - 1);
+        Entry entry = table[index];
+        if (entry != null && entry.literal.equals(literal)) {
+            hits.increment();
+            return entry.value;
+        }
+        misses.increment();
+        BigDouble value = BigDouble.parseBigDouble(literal);
+        table[index] = new Entry(literal, value);
+        return value;
+    }
+
+    /**
+     * @return The number of slots in the cache: the most literals it can hold at once.
+     */
+    public static int getSize() {
+        return entries.length;
+    }
+
+    /**
+     * Change the number of slots, emptying the cache. The statistics are kept.
+     * @param size The number of slots, which is rounded up to a power of 2.
+     *             0 turns caching off, so every String overload parses its argument.
+     * @throws IllegalArgumentException if size is negative or more than MAX_SIZE.
+     */
+    public static void setSize(int size) {
+        if (size < 0 || size > MAX_SIZE) {
+            throw new IllegalArgumentException("Cache size must be between 0 and " + MAX_SIZE + ": " + size);
+        }
+        int slots = size <= 1 ? size : Integer.highestOneBit(size - 1) << 1;
+        entries = new Entry[slots];
+    }
+
+    /**
+     * Forget every cached literal. The statistics are kept.
+     */
+    public static void clear() {
+        entries = new Entry[entries.length];
+    }
+
+    /**
+     * @return The number of String overload calls whose literal was found in the cache.
+     */
+    public static long hitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return The number of String overload calls whose literal had to be parsed.
+     */
+    public static long missCount() {
+        return misses.sum();
+    }
+
+    /**
+     * @return The fraction of String overload calls answered from the cache, or 0 if
+     * there haven't been any.
+     */
+    public static double hitRate() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    /**
+     * Set the hit and miss counts back to 0.
+     */
+    public static void resetStatistics() {
+        hits.reset();
+        misses.reset();
+    }
+}
@@ -0,0 +1,144 @@
+package io.github.ad417.BreakInfinity;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.function.ObjLongConsumer;
+import java.util.function.ToLongFunction;
+
+/**
+ * A map from BigDouble keys to long values, for counts and indexes keyed by value. Both the
+ * keys and the values are stored as primitives in an open-addressing table, so nothing is boxed,
+ * and looking a key up neither allocates nor follows a pointer per probe.
+ * <p>Keys match when they're equal by {@link BigDouble#equals(BigDouble)}, with NaN matching
+ * itself. The map is not thread-safe.
+ */
+public final class BigDoubleLongMap extends BigDoubleHashTable {
+    private long[] values;
+
+    /**
+     * Create an empty map.
+     */
+    public BigDoubleLongMap() {
+        this(0);
+    }
+
+    /**
+     * Create an empty map with room for the given number of keys before it has to grow.
+     * @param expectedSize The number of keys the map is expected to hold.
+     * @throws IllegalArgumentException if expectedSize is negative.
+     */
+    public BigDoubleLongMap(int expectedSize) {
+        super(expectedSize);
+        values = new long[capacity()];
+    }
+
+    /**
+     * @param key The key to look up.
+     * @param defaultValue The value to return if the key isn't in the map.
+     * @return The value for the key, or defaultValue if it has none.
+     */
+    public long getOrDefault(@NotNull BigDouble key, long defaultValue) {
+        int slot = slotOf(key);
+        return slot < 0 ? defaultValue : values[slot];
+    }
+
+    /**
+     * @param key The key to look for.
+     * @return Whether the map has a value for the key.
+     */
+    public boolean containsKey(@NotNull BigDouble key) {
+        return slotOf(key) >= 0;
+    }
+
+    /**
+     * Set the value for a key.
+     * @param key The key.
+     * @param value Its new value.
+     * @return Its old value, or 0 if it had none.
+     */
+    public long put(@NotNull BigDouble key, long value) {
+        int slot = insert(key);
+        if (slot < 0) slot = ~slot;
+        long old = values[slot];
+        values[slot] = value;
+        return old;
+    }
+
+    /**
+     * Add to the value for a key, treating a missing key as 0.
+     * @param key The key.
+     * @param increment The amount to add.
+     * @return The key's new value.
+     */
+    public long addTo(@NotNull BigDouble key, long increment) {
+        int slot = insert(key);
+        if (slot < 0) slot = ~slot;
+        return values[slot] += increment;
+    }
+
+    /**
+     * Get the value for a key, computing and storing it first if the key has none.
+     * @param key The key.
+     * @param mappingFunction Computes the key's value.
+     * @return The key's value.
+     */
+    public long computeIfAbsent(@NotNull BigDouble key, @NotNull ToLongFunction<? super BigDouble> mappingFunction) {
+        int slot = slotOf(key);
+        if (slot >= 0) return values[slot];
+        // Compute before inserting, since the function is free to change the map.
+        long value = mappingFunction.applyAsLong(key);
+        put(key, value);
+        return value;
+    }
+
+    /**
+     * Remove a key.
+     * @param key The key to remove.
+     * @return Its value, or 0 if it had none.
+     */
+    public long remove(@NotNull BigDouble key) {
+        int slot = slotOf(key);
+        if (slot < 0) return 0;
+        long old = values[slot];
+        removeAt(slot);
+        return old;
+    }
+
+    /**
+     * Run an action on every key and value, in no particular order.
+     * @param action The action. It must not change the map.
+     */
+    public void forEach(@NotNull ObjLongConsumer<? super BigDouble> action) {
+        for (int slot = 0; slot < mantissaBits.length; slot++) {
+            if (mantissaBits[slot] != EMPTY) action.accept(keyAt(slot), values[slot]);
+        }
+    }
+
+    @Override
+    Object replaceValues(int capacity) {
+        long[] old = values;
+        values = new long[capacity];
+        return old;
+    }
+
+    @Override
+    void copyValue(Object oldValues, int from, int to) {
+        values[to] = ((long[]) oldValues)[from];
+    }
+
+    @Override
+    void moveValue(int from, int to) {
+        values[to] = values[from];
+    }
+
+    @Override
+    void clearValue(int slot) {
+        values[slot] = 0;
+    }
+
+    @Override
+    void clearValues() {
+        Arrays.fill(values, 0);
+    }
+}
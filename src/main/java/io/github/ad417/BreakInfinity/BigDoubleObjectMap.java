@@ -0,0 +1,150 @@
+package io.github.ad417.BreakInfinity;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * A map from BigDouble keys to objects, for memoizing things like cost tables without
+ * a HashMap's entry objects. The keys are stored as primitive mantissas and exponents in an
+ * open-addressing table, so looking one up neither allocates nor follows a pointer per probe.
+ * <p>Keys match when they're equal by {@link BigDouble#equals(BigDouble)}, with NaN matching
+ * itself. The map is not thread-safe. Null values are allowed, and are returned by get for
+ * missing keys too, as in a HashMap.
+ * @param <V> The type of the values.
+ */
+public final class BigDoubleObjectMap<V> extends BigDoubleHashTable {
+    private Object[] values;
+
+    /**
+     * Create an empty map.
+     */
+    public BigDoubleObjectMap() {
+        this(0);
+    }
+
+    /**
+     * Create an empty map with room for the given number of keys before it has to grow.
+     * @param expectedSize The number of keys the map is expected to hold.
+     * @throws IllegalArgumentException if expectedSize is negative.
+     */
+    public BigDoubleObjectMap(int expectedSize) {
+        super(expectedSize);
+        values = new Object[capacity()];
+    }
+
+    /**
+     * @param key The key to look up.
+     * @return The value for the key, or null if it has none.
+     */
+    public V get(@NotNull BigDouble key) {
+        return getOrDefault(key, null);
+    }
+
+    /**
+     * @param key The key to look up.
+     * @param defaultValue The value to return if the key isn't in the map.
+     * @return The value for the key, or defaultValue if it has none.
+     */
+    @SuppressWarnings("unchecked")
+    public V getOrDefault(@NotNull BigDouble key, V defaultValue) {
+        int slot = slotOf(key);
+        return slot < 0 ? defaultValue : (V) values[slot];
+    }
+
+    /**
+     * @param key The key to look for.
+     * @return Whether the map has a value for the key.
+     */
+    public boolean containsKey(@NotNull BigDouble key) {
+        return slotOf(key) >= 0;
+    }
+
+    /**
+     * Set the value for a key.
+     * @param key The key.
+     * @param value Its new value.
+     * @return Its old value, or null if it had none.
+     */
+    @SuppressWarnings("unchecked")
+    public V put(@NotNull BigDouble key, V value) {
+        int slot = insert(key);
+        if (slot < 0) slot = ~slot;
+        V old = (V) values[slot];
+        values[slot] = value;
+        return old;
+    }
+
+    /**
+     * Get the value for a key, computing and storing it first if the key has none.
+     * @param key The key.
+     * @param mappingFunction Computes the key's value. If it returns null, nothing is stored.
+     * @return The key's value.
+     */
+    @SuppressWarnings("unchecked")
+    public V computeIfAbsent(@NotNull BigDouble key, @NotNull Function<? super BigDouble, ? extends V> mappingFunction) {
+        int slot = slotOf(key);
+        if (slot >= 0) {
+            V value = (V) values[slot];
+            if (value != null) return value;
+        }
+        // Compute before inserting, since the function is free to change the map.
+        V value = mappingFunction.apply(key);
+        if (value != null) put(key, value);
+        return value;
+    }
+
+    /**
+     * Remove a key.
+     * @param key The key to remove.
+     * @return Its value, or null if it had none.
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(@NotNull BigDouble key) {
+        int slot = slotOf(key);
+        if (slot < 0) return null;
+        V old = (V) values[slot];
+        removeAt(slot);
+        return old;
+    }
+
+    /**
+     * Run an action on every key and value, in no particular order.
+     * @param action The action. It must not change the map.
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(@NotNull BiConsumer<? super BigDouble, ? super V> action) {
+        for (int slot = 0; slot < mantissaBits.length; slot++) {
+            if (mantissaBits[slot] != EMPTY) action.accept(keyAt(slot), (V) values[slot]);
+        }
+    }
+
+    @Override
+    Object replaceValues(int capacity) {
+        Object[] old = values;
+        values = new Object[capacity];
+        return old;
+    }
+
+    @Override
+    void copyValue(Object oldValues, int from, int to) {
+        values[to] = ((Object[]) oldValues)[from];
+    }
+
+    @Override
+    void moveValue(int from, int to) {
+        values[to] = values[from];
+    }
+
+    @Override
+    void clearValue(int slot) {
+        values[slot] = null;
+    }
+
+    @Override
+    void clearValues() {
+        Arrays.fill(values, null);
+    }
+}
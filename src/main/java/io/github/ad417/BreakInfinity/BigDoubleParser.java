@@ -0,0 +1,302 @@
+package io.github.ad417.BreakInfinity;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * Parses BigDouble text straight out of a String, any other CharSequence, or a range of a
+ * char[] or byte[] buffer, without cutting it into substrings first.
+ * <p>The accepted format is an optional sign, a decimal mantissa ("12", "1.5", ".5" or "5."),
+ * and an optional exponent of 'e' or 'E', an optional sign and decimal digits:
+ * "1.5e300", "-2E+10" and "3e-5000" are all fine. Leading and trailing whitespace is ignored.
+ * "NaN", "Infinity" and "-Infinity" are accepted too, as Double.parseDouble spells them.
+ * <p>The mantissa is rounded to a double exactly as Double.parseDouble would round it, and
+ * normalized the same way as {@code new BigDouble(mantissa, exponent)}, so every method here
+ * gives the same value as parsing the same text with the old String-splitting parser.
+ * <p>For loading large files, the parseInto methods write into a MutableBigDouble rather
+ * than returning a new BigDouble, so parsing a value allocates nothing at all.
+ * Byte buffers are read as ASCII (or UTF-8, which agrees with it on every valid character).
+ */
+public final class BigDoubleParser {
+    private BigDoubleParser() { }
+
+    /**
+     * The most significant digits that fit in a long without overflowing: 10 ^ 18 - 1 < 2 ^ 63.
+     * Mantissas with more than this fall back to Double.parseDouble.
+     */
+    private static final int MAX_DIGITS = 18;
+
+    /**
+     * The largest power of 10 that a double holds exactly.
+     */
+    private static final int MAX_EXACT_POWER_OF_10 = 22;
+
+    /**
+     * Every long up to this converts to a double exactly.
+     */
+    private static final long MAX_EXACT_LONG = 1L << 53;
+
+    /**
+     * Parse a whole CharSequence, such as a String or a StringBuilder.
+     * @param text The text to parse.
+     * @return The value it holds.
+     * @throws NumberFormatException If the text isn't a number in the format above.
+     */
+    public static BigDouble parse(@NotNull CharSequence text) {
+        return parse(text, 0, text.length());
+    }
+
+    /**
+     * Parse part of a CharSequence.
+     * @param text The text to parse.
+     * @param start The index of the first character to parse.
+     * @param end The index after the last character to parse.
+     * @return The value that range holds.
+     * @throws NumberFormatException If the range isn't a number in the format above.
+     */
+    public static BigDouble parse(@NotNull CharSequence text, int start, int end) {
+        Objects.checkFromToIndex(start, end, text.length());
+        return parse(text, start, end, new MutableBigDouble()).toBigDouble();
+    }
+
+    /**
+     * Parse part of a char array.
+     * @param chars The characters to parse.
+     * @param offset The index of the first character to parse.
+     * @param length The number of characters to parse.
+     * @return The value that range holds.
+     * @throws NumberFormatException If the range isn't a number in the format above.
+     */
+    public static BigDouble parse(char @NotNull [] chars, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, chars.length);
+        return parse(chars, offset, offset + length, new MutableBigDouble()).toBigDouble();
+    }
+
+    /**
+     * Parse part of a byte array of ASCII text.
+     * @param bytes The bytes to parse.
+     * @param offset The index of the first byte to parse.
+     * @param length The number of bytes to parse.
+     * @return The value that range holds.
+     * @throws NumberFormatException If the range isn't a number in the format above.
+     */
+    public static BigDouble parse(byte @NotNull [] bytes, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, bytes.length);
+        return parse(bytes, offset, offset + length, new MutableBigDouble()).toBigDouble();
+    }
+
+    /**
+     * Parse part of a CharSequence into an existing MutableBigDouble.
+     * @param text The text to parse.
+     * @param start The index of the first character to parse.
+     * @param end The index after the last character to parse.
+     * @param out Where to store the value. It is left unchanged if parsing fails.
+     * @return out.
+     * @throws NumberFormatException If the range isn't a number in the format above.
+     */
+    public static MutableBigDouble parseInto(@NotNull CharSequence text, int start, int end,
+                                             @NotNull MutableBigDouble out) {
+        Objects.checkFromToIndex(start, end, text.length());
+        return parse(text, start, end, out);
+    }
+
+    /**
+     * Parse part of a char array into an existing MutableBigDouble.
+     * @param chars The characters to parse.
+     * @param offset The index of the first character to parse.
+     * @param length The number of characters to parse.
+     * @param out Where to store the value. It is left unchanged if parsing fails.
+     * @return out.
+     * @throws NumberFormatException If the range isn't a number in the format above.
+     */
+    public static MutableBigDouble parseInto(char @NotNull [] chars, int offset, int length,
+                                             @NotNull MutableBigDouble out) {
+        Objects.checkFromIndexSize(offset, length, chars.length);
+        return parse(chars, offset, offset + length, out);
+    }
+
+    /**
+     * Parse part of a byte array of ASCII text into an existing MutableBigDouble.
+     * @param bytes The bytes to parse.
+     * @param offset The index of the first byte to parse.
+     * @param length The number of bytes to parse.
+     * @param out Where to store the value. It is left unchanged if parsing fails.
+     * @return out.
+     * @throws NumberFormatException If the range isn't a number in the format above.
+     */
+    public static MutableBigDouble parseInto(byte @NotNull [] bytes, int offset, int length,
+                                             @NotNull MutableBigDouble out) {
+        Objects.checkFromIndexSize(offset, length, bytes.length);
+        return parse(bytes, offset, offset + length, out);
+    }
+
+    /**
+     * Read one character from whichever kind of buffer is being parsed. Each type check is
+     * a single pointer comparison, and always goes the same way within a parse.
+     */
+    private static char charAt(Object source, int index) {
+        if (source instanceof byte[]) return (char) (((byte[]) source)[index] & 0xFF);
+        if (source instanceof char[]) return ((char[]) source)[index];
+        return ((CharSequence) source).charAt(index);
+    }
+
+    /**
+     * Copy a range out as a String, for error messages and the rare mantissa that
+     * needs Double.parseDouble.
+     */
+    private static String text(Object source, int start, int end) {
+        if (source instanceof byte[]) return new String((byte[]) source, start, end - start, StandardCharsets.ISO_8859_1);
+        if (source instanceof char[]) return new String((char[]) source, start, end - start);
+        return ((CharSequence) source).subSequence(start, end).toString();
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * Check if the range holds exactly the given word.
+     */
+    private static boolean isWord(Object source, int start, int end, String word) {
+        if (end - start != word.length()) return false;
+        for (int i = 0; i < word.length(); i++) {
+            if (charAt(source, start + i) != word.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    private static NumberFormatException invalid(Object source, int start, int end) {
+        return new NumberFormatException("Invalid BigDouble: \"" + text(source, start, end) + "\"");
+    }
+
+    private static MutableBigDouble parse(Object source, int start, int end, MutableBigDouble out) {
+        int first = start;
+        int last = end;
+        while (first < last && charAt(source, first) <= ' ') first++;
+        while (last > first && charAt(source, last - 1) <= ' ') last--;
+
+        int i = first;
+        boolean negative = false;
+        if (i < last && (charAt(source, i) == '-' || charAt(source, i) == '+')) {
+            negative = charAt(source, i) == '-';
+            i++;
+        }
+        if (isWord(source, i, last, "Infinity")) {
+            return out.set(negative ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY);
+        }
+        if (i == first && isWord(source, i, last, "NaN")) {
+            return out.set(BigDouble.NaN);
+        }
+
+        // The mantissa is digits * 10 ^ decimalExponent, give or take any digits that didn't fit.
+        long digits = 0;
+        int significantDigits = 0;
+        int decimalExponent = 0;
+        boolean truncated = false;
+        boolean anyDigits = false;
+        boolean pastPoint = false;
+        for (; i < last; i++) {
+            char c = charAt(source, i);
+            if (isDigit(c)) {
+                anyDigits = true;
+                if (significantDigits < MAX_DIGITS) {
+                    if (digits != 0 || c != '0') significantDigits++;
+                    digits = digits * 10 + (c - '0');
+                    if (pastPoint) decimalExponent--;
+                } else {
+                    truncated |= c != '0';
+                    if (!pastPoint) decimalExponent++;
+                }
+            } else if (c == '.' && !pastPoint) {
+                pastPoint = true;
+            } else {
+                break;
+            }
+        }
+        if (!anyDigits) throw invalid(source, start, end);
+        int mantissaEnd = i;
+
+        long exponent = 0;
+        if (i < last) {
+            char c = charAt(source, i++);
+            if (c != 'e' && c != 'E') throw invalid(source, start, end);
+            boolean negativeExponent = false;
+            if (i < last && (charAt(source, i) == '-' || charAt(source, i) == '+')) {
+                negativeExponent = charAt(source, i) == '-';
+                i++;
+            }
+            if (i == last) throw invalid(source, start, end);
+            // Accumulate the exponent as a negative number, like Long.parseLong, so that Long.MIN_VALUE fits.
+            for (; i < last; i++) {
+                c = charAt(source, i);
+                if (!isDigit(c) || exponent < Long.MIN_VALUE / 10) throw invalid(source, start, end);
+                exponent *= 10;
+                if (exponent < Long.MIN_VALUE + (c - '0')) throw invalid(source, start, end);
+                exponent -= c - '0';
+            }
+            if (!negativeExponent) {
+                if (exponent == Long.MIN_VALUE) throw invalid(source, start, end);
+                exponent = -exponent;
+            }
+        }
+
+        double mantissa = truncated ? Double.NaN : decimalToDouble(digits, decimalExponent);
+        if (Double.isNaN(mantissa)) {
+            // Too many digits, or a power of 10 too big to be exact. Rare enough not to matter.
+            mantissa = Math.abs(Double.parseDouble(text(source, first, mantissaEnd)));
+        }
+        return out.set(negative ? -mantissa : mantissa, exponent);
+    }
+
+    /**
+     * Compute digits * 10 ^ decimalExponent, rounded to the nearest double (ties to even),
+     * which is what Double.parseDouble gives for the same decimal.
+     * @param digits A number below 10 ^ 18.
+     * @return The double, or NaN if it can't be computed quickly.
+     */
+    static double decimalToDouble(long digits, int decimalExponent) {
+        if (digits == 0 || decimalExponent == 0) return digits;
+        if (decimalExponent > 0) {
+            // Both factors are exact, so the product is rounded only once.
+            if (digits > MAX_EXACT_LONG || decimalExponent > MAX_EXACT_POWER_OF_10) return Double.NaN;
+            return digits * PowerOf10.lookup(decimalExponent);
+        }
+        if (-decimalExponent > MAX_EXACT_POWER_OF_10) return Double.NaN;
+        double scale = PowerOf10.lookup(-decimalExponent);
+        // Exact over exact, rounded only once.
+        if (digits <= MAX_EXACT_LONG) return digits / scale;
+        return correctlyRoundedQuotient(digits, scale);
+    }
+
+    /**
+     * Divide a long that is too big to be an exact double by an exact power of 10. Converting
+     * digits to a double and then dividing rounds twice, which can land one step away from
+     * the correctly rounded quotient, so the remainder of each guess is computed exactly and
+     * used to step to the right neighbour.
+     * <p>The remainder digits - quotient * scale is exact: fma gives the product's rounding
+     * error exactly, and for digits below 10 ^ 18 and scale up to 10 ^ 22 every term is a
+     * multiple of a power of two less than 2 ^ 53 times smaller than the remainder bound.
+     */
+    private static double correctlyRoundedQuotient(long digits, double scale) {
+        double quotient = digits / scale;
+        while (true) {
+            double product = quotient * scale;
+            double productError = Math.fma(quotient, scale, -product);
+            double remainder = (double) (digits - (long) product) - productError;
+
+            // The distance from the quotient to the midpoints with its neighbours, scaled up by scale.
+            double halfStepUp = (Math.nextUp(quotient) - quotient) * scale / 2;
+            double halfStepDown = (quotient - Math.nextDown(quotient)) * scale / 2;
+            boolean odd = (Double.doubleToRawLongBits(quotient) & 1) != 0;
+            if (remainder > halfStepUp || remainder == halfStepUp && odd) {
+                quotient = Math.nextUp(quotient);
+            } else if (remainder < -halfStepDown || remainder == -halfStepDown && odd) {
+                quotient = Math.nextDown(quotient);
+            } else {
+                return quotient;
+            }
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package io.github.ad417.BreakInfinity;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Whole powers of one fixed value, for price ratios and the like that get raised to
+ * a different count of owned items every tick. The table holds base ^ (2 ^ k) for every k up
+ * front, so any power is a product of at most 63 of those instead of a fresh round of squaring,
+ * and the powers asked for most recently are kept as well, so asking again is a lookup.
+ * <p>Results are the same as {@link BigDouble#pow(long)}, to within an ulp or so. Memory is
+ * bounded: a few hundred bytes for the squares, plus one slot per cached power. The table
+ * is safe to share between threads; threads that race on a cache slot only cause a miss.
+ */
+public final class BigDoublePowerTable {
+    /**
+     * The number of cached powers a table keeps unless told otherwise.
+     */
+    public static final int DEFAULT_CACHE_SIZE = 64;
+
+    private static final class Entry {
+        final long power;
+        final BigDouble value;
+
+        Entry(long power, BigDouble value) {
+            this.power = power;
+            this.value = value;
+        }
+    }
+
+    private final BigDouble base;
+
+    /**
+     * base ^ (2 ^ k) = (squareHighs[k] + squareLows[k]) * 10 ^ squareExponents[k], for k up to
+     * the number of squares that fit in a long exponent. The high and low parts are a double-double,
+     * as in BigDouble.pow(long).
+     */
+    private final double[] squareHighs;
+    private final double[] squareLows;
+    private final long[] squareExponents;
+
+    /**
+     * The cached powers, in the slot picked by the power's low bits. Empty when caching is off.
+     */
+    private final Entry[] cache;
+
+    /**
+     * Create a table of powers, with the default cache size.
+     * @param base The value to raise to powers.
+     */
+    public BigDoublePowerTable(@NotNull BigDouble base) {
+        this(base, DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * Create a table of powers.
+     * @param base The value to raise to powers.
+     * @param cacheSize The number of recent powers to keep, rounded up to a power of 2.
+     *                  0 turns caching off, so every power is multiplied out from the squares.
+     * @throws IllegalArgumentException if cacheSize is negative or more than 2 ^ 30.
+     */
+    public BigDoublePowerTable(@NotNull BigDouble base, int cacheSize) {
+        if (cacheSize < 0 || cacheSize > 1 << 30) {
+            throw new IllegalArgumentException("Cache size must be between 0 and " + (1 << 30) + ": " + cacheSize);
+        }
+        this.base = base;
+        cache = new Entry[cacheSize <= 1 ? cacheSize : Integer.highestOneBit(cacheSize - 1) << 1];
+
+        double mantissa = base.getMantissa();
+        long exponent = base.getExponent();
+        // Past this many squares, the exponent could overflow; powers that need them go to BigDouble.pow.
+        int levels = 0;
+        if (mantissa != 0 && Double.isFinite(mantissa)) {
+            while (levels < 63 && Math.abs(exponent) <= (Long.MAX_VALUE >> 2) >> levels) {
+                levels++;
+            }
+        }
+        squareHighs = new double[levels];
+        squareLows = new double[levels];
+        squareExponents = new long[levels];
+
+        double high = mantissa, low = 0;
+        long squareExponent = exponent;
+        for (int k = 0; k < levels; k++) {
+            squareHighs[k] = high;
+            squareLows[k] = low;
+            squareExponents[k] = squareExponent;
+            double square = high * high;
+            double error = Math.fma(high, high, -square) + 2 * high * low;
+            high = square + error;
+            low = error - (high - square);
+            squareExponent *= 2;
+            if (high >= 1e100) {
+                high *= 1e-100;
+                low *= 1e-100;
+                squareExponent += 100;
+            }
+        }
+    }
+
+    /**
+     * @return The value this table raises to powers.
+     */
+    public BigDouble getBase() {
+        return base;
+    }
+
+    /**
+     * Raise the base to a whole power.
+     * @param power The power.
+     * @return base ^ power.
+     * @see BigDouble#pow(long)
+     */
+    public BigDouble pow(long power) {
+        Entry[] table = cache;
+        if (table.length == 0) return compute(power);
+        int index = (int) power & (table.length - 1);
+        Entry entry = table[index];
+        if (entry != null && entry.power == power) return entry.value;
+        BigDouble value = compute(power);
+        table[index] = new Entry(power, value);
+        return value;
+    }
+
+    private BigDouble compute(long power) {
+        if (power == 0) return BigDouble.ONE;
+        long n = Math.abs(power);
+        // Zero, NaN and the infinities have no squares, and too big a power needs squares past the last one.
+        if (power == Long.MIN_VALUE || 64 - Long.numberOfLeadingZeros(n) > squareHighs.length) {
+            return base.pow(power);
+        }
+
+        double high = 1, low = 0;
+        long exponent = 0;
+        for (int k = 0; n != 0; k++, n >>>= 1) {
+            if ((n & 1) == 0) continue;
+            double product = high * squareHighs[k];
+            double error = Math.fma(high, squareHighs[k], -product) + (high * squareLows[k] + low * squareHighs[k]);
+            high = product + error;
+            low = error - (high - product);
+            exponent += squareExponents[k];
+            if (Math.abs(high) >= 1e100) {
+                high *= 1e-100;
+                low *= 1e-100;
+                exponent += 100;
+            }
+        }
+        if (power < 0) return new BigDouble(1 / (high + low), -exponent);
+        return new BigDouble(high + low, exponent);
+    }
+}
@@ -0,0 +1,232 @@
+package io.github.ad417.BreakInfinity;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Sorts arrays of BigDouble into ascending order, with NaN first, by radix sorting on
+ * {@link BigDouble#toSortableLong()} rather than calling compareTo for every comparison.
+ * <p>The keys only hold about 8 significant digits, so after the radix sort, every run of
+ * values that share a key is sorted again with compareTo. Those runs are almost always a single
+ * value long, and the result is exactly the order Arrays.sort gives, including its stability:
+ * values that compare equal keep their original order.
+ * <p>Both sorts allocate a key for every value, plus a second buffer of keys and values for
+ * the radix passes to copy between.
+ */
+public final class BigDoubleSort {
+    private BigDoubleSort() { }
+
+    /**
+     * Below this many values, Arrays.sort is quicker than building the keys.
+     */
+    private static final int MIN_RADIX_LENGTH = 64;
+
+    /**
+     * Runs of equal keys up to this long are put in order by insertion sort; longer
+     * ones, which only come from values past PackedBigDouble's exponent range, by Arrays.sort.
+     */
+    private static final int MAX_INSERTION_RUN = 16;
+
+    private static final int DIGIT_BITS = 8;
+    private static final int DIGITS = Long.SIZE / DIGIT_BITS;
+    private static final int RADIX = 1 << DIGIT_BITS;
+
+    /**
+     * Sort an array into ascending order.
+     * @param values The array to sort, in place.
+     */
+    public static void sort(BigDouble @NotNull [] values) {
+        int length = values.length;
+        if (length < MIN_RADIX_LENGTH) {
+            Arrays.sort(values);
+            return;
+        }
+        long[] keys = new long[length];
+        computeKeys(values, keys, 0, length);
+        radixSort(keys, values, new long[length], new BigDouble[length], 0, length);
+        sortTies(keys, values, 0, length);
+    }
+
+    /**
+     * Sort an array into ascending order on the common ForkJoinPool. The array is cut into
+     * pieces that are radix sorted in parallel and then merged. Small arrays are sorted on
+     * the calling thread.
+     * @param values The array to sort, in place.
+     */
+    public static void parallelSort(BigDouble @NotNull [] values) {
+        parallelSort(values, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param pool The pool to run on.
+     * @see #parallelSort(BigDouble[])
+     */
+    public static void parallelSort(BigDouble @NotNull [] values, @NotNull ForkJoinPool pool) {
+        int length = values.length;
+        if (length < ParallelReductions.SEQUENTIAL_THRESHOLD) {
+            sort(values);
+            return;
+        }
+        long[] keys = new long[length];
+        int leafSize = ParallelReductions.leafSize(length, pool);
+        pool.invoke(new SortTask(keys, values, new long[length], new BigDouble[length], 0, length, leafSize));
+        sortTies(keys, values, 0, length);
+    }
+
+    private static void computeKeys(BigDouble[] values, long[] keys, int from, int to) {
+        for (int i = from; i < to; i++) {
+            keys[i] = values[i].toSortableLong();
+        }
+    }
+
+    /**
+     * The digit of a key for the given pass, counting from the least significant. Flipping
+     * the sign bit makes the unsigned order of the digits match the signed order of the keys.
+     */
+    private static int digit(long key, int pass) {
+        return (int) ((key ^ Long.MIN_VALUE) >>> (pass * DIGIT_BITS)) & (RADIX - 1);
+    }
+
+    /**
+     * Sort a range of keys, moving the values along with them, by a least significant digit
+     * radix sort. Stable. Passes where every key has the same digit are skipped, which for
+     * keys of similar size is most of the high ones.
+     */
+    static void radixSort(long[] keys, BigDouble[] values, long[] keyBuffer, BigDouble[] valueBuffer,
+                          int from, int to) {
+        // Count every pass's digits in one read of the keys.
+        int[][] counts = new int[DIGITS][RADIX];
+        for (int i = from; i < to; i++) {
+            long key = keys[i];
+            for (int pass = 0; pass < DIGITS; pass++) {
+                counts[pass][digit(key, pass)]++;
+            }
+        }
+
+        long[] sourceKeys = keys, targetKeys = keyBuffer;
+        BigDouble[] sourceValues = values, targetValues = valueBuffer;
+        int length = to - from;
+        for (int pass = 0; pass < DIGITS; pass++) {
+            int[] count = counts[pass];
+            if (count[digit(sourceKeys[from], pass)] == length) continue;
+
+            // Turn the counts into the index each digit's keys start at.
+            int next = from;
+            for (int d = 0; d < RADIX; d++) {
+                int digitCount = count[d];
+                count[d] = next;
+                next += digitCount;
+            }
+            for (int i = from; i < to; i++) {
+                int index = count[digit(sourceKeys[i], pass)]++;
+                targetKeys[index] = sourceKeys[i];
+                targetValues[index] = sourceValues[i];
+            }
+
+            long[] swapKeys = sourceKeys;
+            sourceKeys = targetKeys;
+            targetKeys = swapKeys;
+            BigDouble[] swapValues = sourceValues;
+            sourceValues = targetValues;
+            targetValues = swapValues;
+        }
+        if (sourceKeys != keys) {
+            System.arraycopy(sourceKeys, from, keys, from, length);
+            System.arraycopy(sourceValues, from, values, from, length);
+        }
+    }
+
+    /**
+     * Merge two sorted neighbouring ranges, [from, middle) and [middle, to), by key.
+     * Stable: on equal keys, the left range goes first.
+     */
+    private static void merge(long[] keys, BigDouble[] values, long[] keyBuffer, BigDouble[] valueBuffer,
+                              int from, int middle, int to) {
+        // Already in order, as happens when the input was mostly sorted.
+        if (keys[middle - 1] <= keys[middle]) return;
+        int left = from, right = middle, out = from;
+        while (left < middle && right < to) {
+            if (keys[right] < keys[left]) {
+                keyBuffer[out] = keys[right];
+                valueBuffer[out++] = values[right++];
+            } else {
+                keyBuffer[out] = keys[left];
+                valueBuffer[out++] = values[left++];
+            }
+        }
+        // Whatever is left of the right range is already in place.
+        int remaining = middle - left;
+        System.arraycopy(keys, left, keyBuffer, out, remaining);
+        System.arraycopy(values, left, valueBuffer, out, remaining);
+        int merged = out + remaining - from;
+        System.arraycopy(keyBuffer, from, keys, from, merged);
+        System.arraycopy(valueBuffer, from, values, from, merged);
+    }
+
+    /**
+     * Put each run of values that share a key in order with compareTo. Values whose keys
+     * differ are already in order, since the keys never disagree with compareTo.
+     */
+    static void sortTies(long[] keys, BigDouble[] values, int from, int to) {
+        int runStart = from;
+        for (int i = from + 1; i <= to; i++) {
+            if (i < to && keys[i] == keys[runStart]) continue;
+            int runLength = i - runStart;
+            if (runLength > MAX_INSERTION_RUN) {
+                Arrays.sort(values, runStart, i);
+            } else if (runLength > 1) {
+                insertionSort(values, runStart, i);
+            }
+            runStart = i;
+        }
+    }
+
+    private static void insertionSort(BigDouble[] values, int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            BigDouble value = values[i];
+            int j = i - 1;
+            while (j >= from && values[j].compareTo(value) > 0) {
+                values[j + 1] = values[j];
+                j--;
+            }
+            values[j + 1] = value;
+        }
+    }
+
+    /**
+     * Build the keys of a range and radix sort it, or split it in half, sort both halves
+     * in parallel, and merge them.
+     */
+    private static final class SortTask extends RecursiveAction {
+        private final long[] keys, keyBuffer;
+        private final BigDouble[] values, valueBuffer;
+        private final int from, to, leafSize;
+
+        SortTask(long[] keys, BigDouble[] values, long[] keyBuffer, BigDouble[] valueBuffer,
+                 int from, int to, int leafSize) {
+            this.keys = keys;
+            this.values = values;
+            this.keyBuffer = keyBuffer;
+            this.valueBuffer = valueBuffer;
+            this.from = from;
+            this.to = to;
+            this.leafSize = leafSize;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= leafSize) {
+                computeKeys(values, keys, from, to);
+                radixSort(keys, values, keyBuffer, valueBuffer, from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new SortTask(keys, values, keyBuffer, valueBuffer, from, middle, leafSize),
+                    new SortTask(keys, values, keyBuffer, valueBuffer, middle, to, leafSize));
+            merge(keys, values, keyBuffer, valueBuffer, from, middle, to);
+        }
+    }
+}
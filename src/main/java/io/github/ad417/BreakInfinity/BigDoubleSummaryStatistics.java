@@ -0,0 +1,99 @@
+package io.github.ad417.BreakInfinity;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.Consumer;
+
+/**
+ * The count, sum, minimum, maximum and mean of a set of BigDoubles, like
+ * DoubleSummaryStatistics. The sum is kept in a MutableBigDouble, so accepting a value
+ * allocates nothing.
+ * <p>Usable as the target of a stream's collect, through
+ * {@link BigDoubleCollectors#summarizing()}, or with forEach:
+ * <pre>{@code
+ * BigDoubleSummaryStatistics stats = new BigDoubleSummaryStatistics();
+ * values.forEach(stats);
+ * }</pre>
+ * <p>Minimums and maximums follow compareTo, so NaN counts as smaller than everything.
+ * Like DoubleSummaryStatistics, this is not thread-safe; parallel streams give each
+ * thread its own instance and merge them with {@link #combine}.
+ */
+public class BigDoubleSummaryStatistics implements Consumer<BigDouble> {
+    private long count;
+    private final MutableBigDouble sum = new MutableBigDouble();
+    private BigDouble min = BigDouble.POSITIVE_INFINITY;
+    private BigDouble max = BigDouble.NEGATIVE_INFINITY;
+
+    /**
+     * Create an empty set of statistics, with a count and sum of 0, a minimum of
+     * positive infinity and a maximum of negative infinity.
+     */
+    public BigDoubleSummaryStatistics() { }
+
+    /**
+     * Record another value.
+     * @param value The value to record.
+     */
+    @Override
+    public void accept(@NotNull BigDouble value) {
+        count++;
+        sum.addAssign(value);
+        min = min.min(value);
+        max = max.max(value);
+    }
+
+    /**
+     * Record every value another set of statistics has.
+     * @param other The statistics to merge into this one.
+     */
+    public void combine(@NotNull BigDoubleSummaryStatistics other) {
+        count += other.count;
+        sum.addAssign(other.sum);
+        min = min.min(other.min);
+        max = max.max(other.max);
+    }
+
+    /**
+     * @return The number of values recorded.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return The sum of the values recorded, or 0 if there are none.
+     */
+    public BigDouble getSum() {
+        return sum.toBigDouble();
+    }
+
+    /**
+     * @return The smallest value recorded, or positive infinity if there are none.
+     */
+    public BigDouble getMin() {
+        return min;
+    }
+
+    /**
+     * @return The largest value recorded, or negative infinity if there are none.
+     */
+    public BigDouble getMax() {
+        return max;
+    }
+
+    /**
+     * @return The mean of the values recorded, or 0 if there are none.
+     */
+    public BigDouble getAverage() {
+        return count == 0 ? BigDouble.ZERO : getSum().div(count);
+    }
+
+    @Override
+    public String toString() {
+        return "BigDoubleSummaryStatistics{count=" + count
+                + ", sum=" + getSum()
+                + ", min=" + min
+                + ", average=" + getAverage()
+                + ", max=" + max + "}";
+    }
+}
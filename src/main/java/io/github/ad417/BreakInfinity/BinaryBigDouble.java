@@ -0,0 +1,458 @@
+package io.github.ad417.BreakInfinity;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * An immutable number stored as a mantissa in [1, 2) and a power of 2, rather than a
+ * mantissa in [1, 10) and a power of 10. Every step of normalizing is then exact and cheap:
+ * Math.getExponent reads the power of 2 straight out of the double, and Math.scalb takes it
+ * back off, where BigDouble has to look up and divide by a power of 10. Aligning two values
+ * for add is another Math.scalb, so sums are rounded once, like double sums, with none of
+ * BigDouble's rounding to 14 decimal places.
+ * <p>Decimal only comes into it when a value is converted with {@link #of(BigDouble)} or
+ * {@link #toBigDouble()}, which is also how {@link #toString()} and {@link #toExponential(int)}
+ * format it. Those conversions cost a Math.pow and a logarithm each, so keep values in this
+ * form for the arithmetic and convert at the edges.
+ * <p>The exponent is a long, like BigDouble's, but counts powers of 2: the largest finite value
+ * is about 1e2.8e18 rather than 1e9.2e18. Conversions stay accurate to a few ulps as long as the
+ * decimal exponent is below about 1e15.
+ * <p>Special values follow double arithmetic: 0, the infinities and NaN all have an exponent
+ * of 0, and 0 * infinity is NaN.
+ */
+public final class BinaryBigDouble implements Comparable<BinaryBigDouble> {
+    /**
+     * log2(10), split into the nearest double and the remainder, for converting exponents
+     * too large to multiply by a single double exactly.
+     */
+    private static final double LOG2_10 = 3.321928094887362;
+    private static final double LOG2_10_LOW = 1.661617516973592e-16;
+    /**
+     * log10(2), split the same way.
+     */
+    private static final double LOG10_2 = 0.3010299956639812;
+    private static final double LOG10_2_LOW = -2.8037281277851704e-18;
+    /**
+     * 1 / ln(2), to turn natural logarithms into log2 with a multiplication.
+     */
+    private static final double LOG2_E = 1.4426950408889634;
+    /**
+     * Past this much difference in exponents, the smaller value can't change the bigger one's
+     * 53 bits of mantissa, even when rounding.
+     */
+    private static final int MAX_EXPONENT_DIFFERENCE = 64;
+    /**
+     * Integer powers up to this size can be taken of the mantissa directly without overflowing.
+     */
+    private static final int MAX_DIRECT_POWER = 1000;
+
+    /**
+     * In [1, 2) or (-2, -1] for finite nonzero values; otherwise 0, an infinity or NaN.
+     */
+    private final double mantissa;
+    private final long exponent;
+
+    public static final BinaryBigDouble ZERO = new BinaryBigDouble(0, 0);
+    public static final BinaryBigDouble ONE = new BinaryBigDouble(1, 0);
+    public static final BinaryBigDouble NaN = new BinaryBigDouble(Double.NaN, 0);
+    public static final BinaryBigDouble POSITIVE_INFINITY = new BinaryBigDouble(Double.POSITIVE_INFINITY, 0);
+    public static final BinaryBigDouble NEGATIVE_INFINITY = new BinaryBigDouble(Double.NEGATIVE_INFINITY, 0);
+
+    private BinaryBigDouble(double mantissa, long exponent) {
+        this.mantissa = mantissa;
+        this.exponent = exponent;
+    }
+
+    /**
+     * Bring any mantissa into [1, 2), moving its powers of 2 into the exponent. Exact for
+     * every finite mantissa.
+     */
+    private static BinaryBigDouble normalize(double mantissa, long exponent) {
+        if (mantissa == 0) return ZERO;
+        if (!Double.isFinite(mantissa)) {
+            if (Double.isNaN(mantissa)) return NaN;
+            return mantissa > 0 ? POSITIVE_INFINITY : NEGATIVE_INFINITY;
+        }
+        int shift = Math.getExponent(mantissa);
+        if (shift < Double.MIN_EXPONENT) {
+            // Subnormals don't have a binary exponent of their own; scale them into the normal range first.
+            mantissa *= 0x1p54;
+            exponent -= 54;
+            shift = Math.getExponent(mantissa);
+        }
+        return new BinaryBigDouble(Math.scalb(mantissa, -shift), exponent + shift);
+    }
+
+    /**
+     * @return Whether a mantissa belongs to 0, an infinity or NaN rather than a normalized value.
+     */
+    private static boolean isSpecial(double mantissa) {
+        return mantissa == 0 || !Double.isFinite(mantissa);
+    }
+
+    /**
+     * Create a value equal to mantissa * 2 ^ exponent.
+     * @param mantissa Any number; it will be normalized into [1, 2).
+     * @param exponent The power of 2 to multiply it by.
+     * @return The value.
+     */
+    public static BinaryBigDouble of(double mantissa, long exponent) {
+        return normalize(mantissa, exponent);
+    }
+
+    /**
+     * Convert a primitive number. Exact.
+     * @param value The value to convert.
+     * @return The same value as a BinaryBigDouble.
+     */
+    public static BinaryBigDouble of(double value) {
+        return normalize(value, 0);
+    }
+
+    /**
+     * Convert a BigDouble. Costs a Math.pow, plus a logarithm unless the value fits in a double.
+     * @param value The value to convert.
+     * @return The nearest BinaryBigDouble.
+     */
+    public static BinaryBigDouble of(@NotNull BigDouble value) {
+        double decimalMantissa = value.getMantissa();
+        long decimalExponent = value.getExponent();
+        if (isSpecial(decimalMantissa)) return normalize(decimalMantissa, 0);
+        if (decimalExponent > Constants.DOUBLE_EXP_MIN + 20 && decimalExponent < Constants.DOUBLE_EXP_MAX) {
+            return normalize(decimalMantissa * PowerOf10.lookup(decimalExponent), 0);
+        }
+
+        // log2 of the value, kept as a whole number of powers of 2 plus a fraction.
+        double product = decimalExponent * LOG2_10;
+        double error = Math.fma(decimalExponent, LOG2_10, -product) + decimalExponent * LOG2_10_LOW;
+        double whole = Math.floor(product);
+        double fraction = (product - whole) + error + Math.log(Math.abs(decimalMantissa)) * LOG2_E;
+        double mantissa = Math.copySign(Math.pow(2, fraction), decimalMantissa);
+        return normalize(mantissa, (long) whole);
+    }
+
+    /**
+     * Convert to a BigDouble. Costs a Math.pow and a Math.log10, unless the value fits in a double.
+     * @return The nearest BigDouble.
+     */
+    public BigDouble toBigDouble() {
+        if (isSpecial(mantissa)) return BigDouble.valueOf(mantissa);
+        if (exponent >= Double.MIN_EXPONENT && exponent <= Double.MAX_EXPONENT) {
+            return new BigDouble(Math.scalb(mantissa, (int) exponent));
+        }
+
+        double product = exponent * LOG10_2;
+        double error = Math.fma(exponent, LOG10_2, -product) + exponent * LOG10_2_LOW;
+        double whole = Math.floor(product);
+        double fraction = (product - whole) + error + Math.log10(Math.abs(mantissa));
+        return new BigDouble(Math.copySign(Math.pow(10, fraction), mantissa), (long) whole);
+    }
+
+    /**
+     * @return This value as a primitive number, which is 0 or an infinity if it doesn't fit.
+     */
+    public double toDouble() {
+        if (isSpecial(mantissa)) return mantissa;
+        // Math.scalb takes an int; anything past the int range is long gone either way.
+        int clamped = (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, exponent));
+        return Math.scalb(mantissa, clamped);
+    }
+
+    /**
+     * @return The mantissa: in [1, 2) or (-2, -1], or 0, an infinity or NaN.
+     */
+    public double getMantissa() {
+        return mantissa;
+    }
+
+    /**
+     * @return The power of 2 that the mantissa is multiplied by.
+     */
+    public long getExponent() {
+        return exponent;
+    }
+
+    /**
+     * @return log2 of the magnitude of this value: negative infinity for 0.
+     */
+    public double log2() {
+        if (isSpecial(mantissa)) return Math.log(Math.abs(mantissa)) * LOG2_E;
+        return exponent + Math.log(Math.abs(mantissa)) * LOG2_E;
+    }
+
+    /**
+     * @return -1 if this value is negative, 0 if it is 0 (or NaN), and 1 if it is positive.
+     */
+    public int sign() {
+        return (int) Math.signum(mantissa);
+    }
+
+    /**
+     * @param value The value to check.
+     * @return Whether the value is NaN.
+     */
+    public static boolean isNaN(@NotNull BinaryBigDouble value) {
+        return Double.isNaN(value.mantissa);
+    }
+
+    /**
+     * @param value The value to check.
+     * @return Whether the value is positive or negative infinity.
+     */
+    public static boolean isInfinite(@NotNull BinaryBigDouble value) {
+        return Double.isInfinite(value.mantissa);
+    }
+
+    /**
+     * Add another value to this one. The smaller value is shifted onto the bigger one's
+     * exponent with Math.scalb, which is exact, so the sum is rounded once.
+     * @param other The value to add.
+     * @return The sum.
+     */
+    public BinaryBigDouble add(@NotNull BinaryBigDouble other) {
+        if (other.mantissa == 0) return this;
+        if (mantissa == 0) return other;
+        if (isSpecial(mantissa) || isSpecial(other.mantissa)) {
+            // Opposite infinities cancel out to NaN.
+            return normalize(mantissa + other.mantissa, 0);
+        }
+        long difference = exponent - other.exponent;
+        if (difference > MAX_EXPONENT_DIFFERENCE) return this;
+        if (difference < -MAX_EXPONENT_DIFFERENCE) return other;
+        if (difference >= 0) {
+            return normalize(mantissa + Math.scalb(other.mantissa, (int) -difference), exponent);
+        }
+        return normalize(Math.scalb(mantissa, (int) difference) + other.mantissa, other.exponent);
+    }
+
+    /**
+     * @param other The value to subtract.
+     * @return This value minus the other.
+     * @see #add(BinaryBigDouble)
+     */
+    public BinaryBigDouble sub(@NotNull BinaryBigDouble other) {
+        return add(other.neg());
+    }
+
+    /**
+     * Multiply this value by another. The mantissas multiply to somewhere in [1, 4), so
+     * normalizing is at most one halving.
+     * @param other The value to multiply by.
+     * @return The product.
+     */
+    public BinaryBigDouble mul(@NotNull BinaryBigDouble other) {
+        if (isSpecial(mantissa) || isSpecial(other.mantissa)) {
+            return normalize(mantissa * other.mantissa, 0);
+        }
+        double product = mantissa * other.mantissa;
+        long productExponent = exponent + other.exponent;
+        if (Math.abs(product) >= 2) {
+            product *= 0.5;
+            productExponent++;
+        }
+        return new BinaryBigDouble(product, productExponent);
+    }
+
+    /**
+     * Divide this value by another. The quotient of the mantissas is in (0.5, 2), so
+     * normalizing is at most one doubling.
+     * @param other The value to divide by.
+     * @return The quotient. Dividing a non-zero value by 0 gives an infinity, and 0 by 0 gives NaN.
+     */
+    public BinaryBigDouble div(@NotNull BinaryBigDouble other) {
+        if (isSpecial(mantissa) || isSpecial(other.mantissa)) {
+            return normalize(mantissa / other.mantissa, 0);
+        }
+        double quotient = mantissa / other.mantissa;
+        long quotientExponent = exponent - other.exponent;
+        if (Math.abs(quotient) < 1) {
+            quotient *= 2;
+            quotientExponent--;
+        }
+        return new BinaryBigDouble(quotient, quotientExponent);
+    }
+
+    /**
+     * @return 1 divided by this value.
+     */
+    public BinaryBigDouble recip() {
+        return ONE.div(this);
+    }
+
+    /**
+     * Raise this value to a power. Negative values follow BigDouble.pow: an odd integer power
+     * keeps the sign, an even one drops it, and anything else is NaN.
+     * <p>Small integer powers raise the mantissa directly and multiply the exponent, which is
+     * exact; anything else goes through log2 of this value.
+     * @param power The power to raise this value to.
+     * @return The result.
+     */
+    public BinaryBigDouble pow(double power) {
+        if (power == 0) return ONE;
+        if (isSpecial(mantissa)) return normalize(Math.pow(mantissa, power), 0);
+        if (Double.isNaN(power)) return NaN;
+        if (Double.isInfinite(power)) {
+            // As in Math.pow: NaN when |this| is 1, otherwise 0 or infinity, by which side of 1 |this| is on.
+            if (exponent == 0 && Math.abs(mantissa) == 1) return NaN;
+            return (exponent >= 0) == (power > 0) ? POSITIVE_INFINITY : ZERO;
+        }
+
+        boolean integer = Math.floor(power) == power;
+        if (mantissa < 0 && !integer) return NaN;
+        boolean negative = mantissa < 0 && Math.abs(power) < 9007199254740992.0 && (long) power % 2 != 0;
+        double magnitude = Math.abs(mantissa);
+
+        if (integer && Math.abs(power) <= MAX_DIRECT_POWER && Math.abs(exponent) < 1L << 52) {
+            double raised = Math.pow(magnitude, power);
+            return normalize(negative ? -raised : raised, exponent * (long) power);
+        }
+
+        // log2 of the result, kept as a whole number of powers of 2 plus a fraction.
+        double product = exponent * power;
+        double whole = Math.floor(product);
+        double fraction = (product - whole) + Math.fma(exponent, power, -product)
+                + power * (Math.log(magnitude) * LOG2_E);
+        double fractionWhole = Math.floor(fraction);
+        whole += fractionWhole;
+        if (whole >= Long.MAX_VALUE) {
+            return negative ? NEGATIVE_INFINITY : POSITIVE_INFINITY;
+        }
+        if (whole < Long.MIN_VALUE) return ZERO;
+        // The fraction is in [0, 1), so this is already normalized, unless it rounded up to 2.
+        double raised = Math.pow(2, fraction - fractionWhole);
+        long raisedExponent = (long) whole;
+        if (raised >= 2) {
+            raised = 1;
+            raisedExponent++;
+        }
+        return new BinaryBigDouble(negative ? -raised : raised, raisedExponent);
+    }
+
+    /**
+     * @return The square root of this value, or NaN if it is negative.
+     */
+    public BinaryBigDouble sqrt() {
+        if (mantissa < 0) return NaN;
+        if (isSpecial(mantissa)) return this;
+        // An odd exponent lends a factor of 2 to the mantissa; & and >> round toward negative infinity.
+        if ((exponent & 1) != 0) {
+            return normalize(Math.sqrt(mantissa * 2), (exponent - 1) >> 1);
+        }
+        return normalize(Math.sqrt(mantissa), exponent >> 1);
+    }
+
+    /**
+     * @return This value with the opposite sign.
+     */
+    public BinaryBigDouble neg() {
+        if (mantissa == 0 || Double.isNaN(mantissa)) return this;
+        return new BinaryBigDouble(-mantissa, exponent);
+    }
+
+    /**
+     * @return The magnitude of this value.
+     */
+    public BinaryBigDouble abs() {
+        return mantissa < 0 ? new BinaryBigDouble(-mantissa, exponent) : this;
+    }
+
+    /**
+     * Compare two values, with the same ordering as BigDouble.compareTo: NaN is smaller
+     * than everything else, and equal to itself.
+     */
+    @Override
+    public int compareTo(@NotNull BinaryBigDouble other) {
+        if (Double.isNaN(mantissa)) return Double.isNaN(other.mantissa) ? 0 : -1;
+        if (Double.isNaN(other.mantissa)) return 1;
+        // Past NaN, neither mantissa is -0.0, so the plain comparisons are a total order.
+        if (mantissa > 0 && other.mantissa > 0) {
+            if (exponent != other.exponent && mantissa != Double.POSITIVE_INFINITY
+                    && other.mantissa != Double.POSITIVE_INFINITY) {
+                return exponent > other.exponent ? 1 : -1;
+            }
+        } else if (mantissa < 0 && other.mantissa < 0) {
+            // Among negative values, the bigger exponent is the smaller value.
+            if (exponent != other.exponent && mantissa != Double.NEGATIVE_INFINITY
+                    && other.mantissa != Double.NEGATIVE_INFINITY) {
+                return exponent > other.exponent ? -1 : 1;
+            }
+        }
+        // Different signs, 0, an infinity, or the same exponent: the mantissas decide.
+        return mantissa < other.mantissa ? -1 : mantissa > other.mantissa ? 1 : 0;
+    }
+
+    /**
+     * @param other The value to compare to.
+     * @return Whether this value is less than the other.
+     */
+    public boolean lt(@NotNull BinaryBigDouble other) {
+        return compareTo(other) < 0;
+    }
+
+    /**
+     * @param other The value to compare to.
+     * @return Whether this value is less than or equal to the other.
+     */
+    public boolean lte(@NotNull BinaryBigDouble other) {
+        return compareTo(other) <= 0;
+    }
+
+    /**
+     * @param other The value to compare to.
+     * @return Whether this value is greater than the other.
+     */
+    public boolean gt(@NotNull BinaryBigDouble other) {
+        return compareTo(other) > 0;
+    }
+
+    /**
+     * @param other The value to compare to.
+     * @return Whether this value is greater than or equal to the other.
+     */
+    public boolean gte(@NotNull BinaryBigDouble other) {
+        return compareTo(other) >= 0;
+    }
+
+    /**
+     * @param other The value to compare to.
+     * @return The larger of the two values.
+     */
+    public BinaryBigDouble max(@NotNull BinaryBigDouble other) {
+        return compareTo(other) >= 0 ? this : other;
+    }
+
+    /**
+     * @param other The value to compare to.
+     * @return The smaller of the two values.
+     */
+    public BinaryBigDouble min(@NotNull BinaryBigDouble other) {
+        return compareTo(other) <= 0 ? this : other;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof BinaryBigDouble)) return false;
+        BinaryBigDouble other = (BinaryBigDouble) obj;
+        return mantissa == other.mantissa && exponent == other.exponent;
+    }
+
+    @Override
+    public int hashCode() {
+        return Double.hashCode(mantissa) * 31 + Long.hashCode(exponent);
+    }
+
+    /**
+     * @see BigDouble#toString()  Converts to a BigDouble first.
+     */
+    @Override
+    public String toString() {
+        return toBigDouble().toString();
+    }
+
+    /**
+     * @see BigDouble#toExponential(int)  Converts to a BigDouble first.
+     */
+    public String toExponential(int places) {
+        return toBigDouble().toExponential(places);
+    }
+}
@@ -0,0 +1,166 @@
+package io.github.ad417.BreakInfinity;
+
+/**
+ * Writes BigDouble values as decimal text straight into a StringBuilder, working out the
+ * digits with integer arithmetic instead of DecimalFormat or String.format, so formatting
+ * a number allocates nothing beyond whatever the StringBuilder needs to grow.
+ */
+class DecimalWriter {
+    /**
+     * The most digits of a mantissa that are worth printing. Past this, digits are padded with 0s.
+     * |mantissa| * 10 ^ 17 is below 10 ^ 18, so it still fits in a long.
+     */
+    private static final int MAX_DIGITS = Constants.MAX_SIGNIFICANT_DIGITS;
+
+    /**
+     * Write the value of a mantissa that can't be formatted: NaN or an infinity.
+     * @return Whether anything was written.
+     */
+    private static boolean appendSpecial(StringBuilder out, double mantissa) {
+        if (Double.isNaN(mantissa)) {
+            out.append("NaN");
+            return true;
+        }
+        if (Double.isInfinite(mantissa)) {
+            out.append(mantissa > 0 ? "Infinity" : "-Infinity");
+            return true;
+        }
+        return false;
+    }
+
+    private static void appendZeroes(StringBuilder out, int count) {
+        for (int i = 0; i < count; i++) {
+            out.append('0');
+        }
+    }
+
+    /**
+     * Round |mantissa| * 10 ^ power to a whole number, halves rounding up. The product is
+     * rounded by the exact value, not the double nearest to it: with 17 digits the double's
+     * spacing is 2, so rounding that alone would lose the last digit.
+     * @param power At most MAX_DIGITS - 1, so that the result fits in a long.
+     */
+    private static long roundedDigits(double mantissa, long power) {
+        if (power < -1) return 0;
+        double magnitude = Math.abs(mantissa);
+        double scale = PowerOf10.lookup(power);
+        double product = magnitude * scale;
+        double whole = Math.floor(product);
+        // product - whole is exact, and fma gives what the product itself was rounded by.
+        double fraction = (product - whole) + Math.fma(magnitude, scale, -product);
+        return (long) whole + (long) Math.floor(fraction + 0.5);
+    }
+
+    /**
+     * Write digits * 10 ^ zeroes with the last places digits after a decimal point,
+     * and at least one digit before it.
+     */
+    private static void appendScaled(StringBuilder out, long digits, long zeroes, int places) {
+        int start = out.length();
+        out.append(digits);
+        appendZeroes(out, Math.toIntExact(zeroes));
+        int length = out.length() - start;
+        for (int i = length; i <= places; i++) {
+            out.insert(start, '0');
+        }
+        if (places > 0) {
+            out.insert(out.length() - places, '.');
+        }
+    }
+
+    /**
+     * @see BigDouble#toExponential(StringBuilder, int)
+     */
+    static StringBuilder appendExponential(StringBuilder out, double mantissa, long exponent, int places) {
+        if (appendSpecial(out, mantissa)) return out;
+        places = Math.max(places, 0);
+
+        if (mantissa == 0 || exponent < -Constants.EXP_LIMIT) {
+            out.append('0');
+            if (places > 0) {
+                out.append('.');
+                appendZeroes(out, places);
+            }
+            return out.append("e+0");
+        }
+
+        int shownPlaces = Math.min(places, MAX_DIGITS - 1);
+        long digits = roundedDigits(mantissa, shownPlaces);
+        long limit = (long) PowerOf10.lookup(shownPlaces + 1);
+        if (digits >= limit) {
+            // Rounded up to 10.
+            digits /= 10;
+            exponent++;
+        }
+
+        if (mantissa < 0) out.append('-');
+        appendScaled(out, digits, places - shownPlaces, places);
+        out.append('e');
+        if (exponent >= 0) out.append('+');
+        return out.append(exponent);
+    }
+
+    /**
+     * @see BigDouble#toFixed(StringBuilder, int)
+     */
+    static StringBuilder appendFixed(StringBuilder out, double mantissa, long exponent, int places) {
+        if (appendSpecial(out, mantissa)) return out;
+        if (places < 0) places = MAX_DIGITS;
+
+        long digits = 0;
+        long zeroes = 0;
+        if (mantissa != 0 && exponent > -Constants.EXP_LIMIT) {
+            // The value counted in units of 10 ^ -places.
+            long power = exponent + places;
+            if (power >= MAX_DIGITS) {
+                // More digits than the mantissa holds: print all of them, then 0s.
+                digits = roundedDigits(mantissa, MAX_DIGITS - 1);
+                zeroes = power - (MAX_DIGITS - 1);
+            } else {
+                digits = roundedDigits(mantissa, power);
+            }
+        }
+
+        if (mantissa < 0 && digits != 0) out.append('-');
+        appendScaled(out, digits, zeroes, places);
+        return out;
+    }
+
+    /**
+     * @see BigDouble#formatTo(Appendable, int)
+     */
+    static StringBuilder appendDecimalPlaces(StringBuilder out, double mantissa, long exponent, int places) {
+        // The same cutoffs as toString.
+        if (exponent < 21 && exponent > -7) {
+            return appendFixed(out, mantissa, exponent, places);
+        }
+        return appendExponential(out, mantissa, exponent, places);
+    }
+
+    /**
+     * @see BigDouble#toPrecision(StringBuilder, int)
+     */
+    static StringBuilder appendPrecision(StringBuilder out, double mantissa, long exponent, int places) {
+        if (exponent <= -7 || places <= exponent) {
+            return appendExponential(out, mantissa, exponent, places - 1);
+        }
+        return appendFixed(out, mantissa, exponent, places - (int) exponent - 1);
+    }
+
+    /**
+     * @see BigDouble#mantissaWithDecimalPlaces(int)
+     */
+    static double roundMantissa(double mantissa, int places) {
+        double scale = PowerOf10.lookup(places);
+        double product = mantissa * scale;
+        // product + error is exactly mantissa * scale.
+        double error = Math.fma(mantissa, scale, -product);
+        double rounded = Math.rint(product);
+        double difference = product - rounded;
+        // rint broke a tie in product, but the exact value wasn't a tie.
+        if (difference == 0.5 && error > 0) rounded++;
+        if (difference == -0.5 && error < 0) rounded--;
+        // A whole number of at most 15 digits, over an exact power of 10: rounded once, like Double.parseDouble.
+        return rounded / scale;
+    }
+}
@@ -0,0 +1,260 @@
+package io.github.ad417.BreakInfinity;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * An immutable number stored as log10 of its magnitude and a sign, for long chains of
+ * multipliers and powers. In log space, mul and div are a single addition or subtraction,
+ * and pow is a single multiplication; none of them call Math.pow, Math.log10 or normalize.
+ * Convert to this once, do the multiplicative work, and convert back with {@link #toBigDouble()}.
+ * <p>The catch is precision. The logarithm is a double, and its absolute precision shrinks
+ * as it grows, so the relative error of a value is about |log10(x)| * 2.6e-16:
+ * <ul>
+ * <li>Around 1e300, values keep about 13 significant digits.</li>
+ * <li>Around 1e1000000, about 10.</li>
+ * <li>Past about 1e1e15, next to nothing.</li>
+ * </ul>
+ * Each conversion and each operation can add that much error again. BigDouble, which keeps a full
+ * double mantissa whatever the exponent, is the better fit for additions, and for any value
+ * that has to come out exact.
+ * <p>add and sub are supported, but need a Math.pow and a Math.log10 each, so they are no
+ * faster than BigDouble's.
+ * <p>Special values follow double arithmetic on the logarithm: 0 has a logarithm of
+ * negative infinity, infinities one of positive infinity, and 0 * infinity is NaN.
+ */
+public final class LogBigDouble implements Comparable<LogBigDouble> {
+    /**
+     * log10 of the magnitude: negative infinity for 0, positive infinity for infinities, or NaN.
+     */
+    private final double log;
+    /**
+     * True if the value is below 0. Always false for 0 and NaN, so they have only one form each.
+     */
+    private final boolean negative;
+
+    public static final LogBigDouble ZERO = new LogBigDouble(Double.NEGATIVE_INFINITY, false);
+    public static final LogBigDouble ONE = new LogBigDouble(0, false);
+    public static final LogBigDouble NaN = new LogBigDouble(Double.NaN, false);
+    public static final LogBigDouble POSITIVE_INFINITY = new LogBigDouble(Double.POSITIVE_INFINITY, false);
+    public static final LogBigDouble NEGATIVE_INFINITY = new LogBigDouble(Double.POSITIVE_INFINITY, true);
+
+    private LogBigDouble(double log, boolean negative) {
+        // Adding 0.0 turns -0.0 into 0.0, so 1 has only one form too.
+        this.log = log + 0.0;
+        this.negative = negative && log > Double.NEGATIVE_INFINITY;
+    }
+
+    /**
+     * Convert a BigDouble to log space. Costs one Math.log10.
+     * @param value The value to convert.
+     * @return The same value as a LogBigDouble.
+     */
+    public static LogBigDouble of(@NotNull BigDouble value) {
+        double mantissa = value.getMantissa();
+        if (Double.isNaN(mantissa)) return NaN;
+        if (mantissa == 0) return ZERO;
+        if (Double.isInfinite(mantissa)) return mantissa > 0 ? POSITIVE_INFINITY : NEGATIVE_INFINITY;
+        return new LogBigDouble(value.getExponent() + Math.log10(Math.abs(mantissa)), mantissa < 0);
+    }
+
+    /**
+     * Convert a primitive number to log space.
+     * @param value The value to convert.
+     * @return The same value as a LogBigDouble.
+     */
+    public static LogBigDouble of(double value) {
+        if (Double.isNaN(value)) return NaN;
+        return new LogBigDouble(Math.log10(Math.abs(value)), value < 0);
+    }
+
+    /**
+     * Create a positive value from its logarithm, 10 ^ log10.
+     * @param log10 log10 of the value.
+     * @return A LogBigDouble equal to 10 ^ log10.
+     */
+    public static LogBigDouble fromLog10(double log10) {
+        return new LogBigDouble(log10, false);
+    }
+
+    /**
+     * Convert back to a BigDouble. Costs one Math.pow.
+     * @return This value as a BigDouble.
+     */
+    public BigDouble toBigDouble() {
+        if (Double.isNaN(log)) return BigDouble.NaN;
+        if (log == Double.NEGATIVE_INFINITY || log < Long.MIN_VALUE) return BigDouble.ZERO;
+        if (log == Double.POSITIVE_INFINITY || log >= Long.MAX_VALUE) {
+            return negative ? BigDouble.NEGATIVE_INFINITY : BigDouble.POSITIVE_INFINITY;
+        }
+        double exponent = Math.floor(log);
+        double mantissa = Math.pow(10, log - exponent);
+        if (mantissa >= 10) {
+            // log - exponent rounded up to within an ulp of 1.
+            mantissa /= 10;
+            exponent++;
+        }
+        return BigDouble.fromMantissaExponentNoNormalize(negative ? -mantissa : mantissa, (long) exponent);
+    }
+
+    /**
+     * @return log10 of the magnitude of this value: negative infinity for 0.
+     */
+    public double log10() {
+        return log;
+    }
+
+    /**
+     * @return -1 if this value is negative, 0 if it is 0 (or NaN), and 1 if it is positive.
+     */
+    public int sign() {
+        if (negative) return -1;
+        return log > Double.NEGATIVE_INFINITY ? 1 : 0;
+    }
+
+    /**
+     * @param value The value to check.
+     * @return Whether the value is NaN.
+     */
+    public static boolean isNaN(@NotNull LogBigDouble value) {
+        return Double.isNaN(value.log);
+    }
+
+    /**
+     * @param value The value to check.
+     * @return Whether the value is positive or negative infinity.
+     */
+    public static boolean isInfinite(@NotNull LogBigDouble value) {
+        return value.log == Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Multiply this value by another: one addition.
+     * @param other The value to multiply by.
+     * @return The product.
+     */
+    public LogBigDouble mul(@NotNull LogBigDouble other) {
+        return new LogBigDouble(log + other.log, negative != other.negative);
+    }
+
+    /**
+     * Divide this value by another: one subtraction.
+     * @param other The value to divide by.
+     * @return The quotient. Dividing a non-zero value by 0 gives an infinity, and 0 by 0 gives NaN.
+     */
+    public LogBigDouble div(@NotNull LogBigDouble other) {
+        return new LogBigDouble(log - other.log, negative != other.negative);
+    }
+
+    /**
+     * @return 1 divided by this value.
+     */
+    public LogBigDouble recip() {
+        return new LogBigDouble(-log, negative);
+    }
+
+    /**
+     * Raise this value to a power: one multiplication. Negative values follow BigDouble.pow:
+     * an odd integer power keeps the sign, an even one drops it, and anything else is NaN.
+     * @param power The power to raise this value to.
+     * @return The result.
+     */
+    public LogBigDouble pow(double power) {
+        // 0 * infinity is NaN, but 0 ^ 0 and infinity ^ 0 are both 1.
+        if (power == 0) return ONE;
+        if (!negative) return new LogBigDouble(log * power, false);
+        if (Math.floor(power) != power || Double.isInfinite(power)) return NaN;
+        boolean odd = Math.abs(power) < 9007199254740992.0 && (long) power % 2 != 0;
+        return new LogBigDouble(log * power, odd);
+    }
+
+    /**
+     * @return The square root of this value, or NaN if it is negative.
+     */
+    public LogBigDouble sqrt() {
+        if (negative) return NaN;
+        return new LogBigDouble(log * 0.5, false);
+    }
+
+    /**
+     * @return This value with the opposite sign.
+     */
+    public LogBigDouble neg() {
+        return new LogBigDouble(log, !negative);
+    }
+
+    /**
+     * @return The magnitude of this value.
+     */
+    public LogBigDouble abs() {
+        return negative ? new LogBigDouble(log, false) : this;
+    }
+
+    /**
+     * Add another value to this one. Like BigDouble.add, a value more than 17 orders of
+     * magnitude smaller than the other is too small to change it.
+     * @param other The value to add.
+     * @return The sum.
+     */
+    public LogBigDouble add(@NotNull LogBigDouble other) {
+        if (Double.isNaN(log) || Double.isNaN(other.log)) return NaN;
+        LogBigDouble bigger = this, smaller = other;
+        if (other.log > log) {
+            bigger = other;
+            smaller = this;
+        }
+        if (bigger.log == Double.POSITIVE_INFINITY) {
+            // Opposite infinities cancel out to NaN.
+            return smaller.log == Double.POSITIVE_INFINITY && smaller.negative != bigger.negative ? NaN : bigger;
+        }
+        if (smaller.log == Double.NEGATIVE_INFINITY) return bigger;
+        double difference = smaller.log - bigger.log;
+        if (difference < -Constants.MAX_SIGNIFICANT_DIGITS) return bigger;
+        double ratio = Math.pow(10, difference);
+        double scale = bigger.negative == smaller.negative ? 1 + ratio : 1 - ratio;
+        // Equal and opposite values leave log10(0), which is 0's logarithm.
+        return new LogBigDouble(bigger.log + Math.log10(scale), bigger.negative);
+    }
+
+    /**
+     * @param other The value to subtract.
+     * @return This value minus the other.
+     * @see #add(LogBigDouble)
+     */
+    public LogBigDouble sub(@NotNull LogBigDouble other) {
+        return add(other.neg());
+    }
+
+    /**
+     * Compare two values, with the same ordering as BigDouble.compareTo: NaN is smaller
+     * than everything else, and equal to itself.
+     */
+    @Override
+    public int compareTo(@NotNull LogBigDouble other) {
+        if (Double.isNaN(log)) return Double.isNaN(other.log) ? 0 : -1;
+        if (Double.isNaN(other.log)) return 1;
+        int sign = sign();
+        int otherSign = other.sign();
+        if (sign != otherSign) return Integer.compare(sign, otherSign);
+        // Among negative values, the bigger magnitude is the smaller value.
+        return negative ? Double.compare(other.log, log) : Double.compare(log, other.log);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof LogBigDouble)) return false;
+        LogBigDouble other = (LogBigDouble) obj;
+        // As in Double.equals, every NaN is equal, which matches compareTo and hashCode.
+        return Double.compare(log, other.log) == 0 && negative == other.negative;
+    }
+
+    @Override
+    public int hashCode() {
+        return Double.hashCode(log) * 31 + Boolean.hashCode(negative);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDouble().toString();
+    }
+}
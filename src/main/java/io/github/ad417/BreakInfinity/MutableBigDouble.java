@@ -0,0 +1,438 @@
+package io.github.ad417.BreakInfinity;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A mutable counterpart to BigDouble, for accumulating values in place.
+ * Every BigDouble operation returns a new instance, which adds up quickly in
+ * loops that run every tick; the *Assign methods here overwrite this value's own
+ * mantissa and exponent instead, and produce the same results as the equivalent
+ * BigDouble methods.
+ * <p>MutableBigDouble is not thread-safe, and should not be shared between threads
+ * without external synchronization.
+ */
+@SuppressWarnings("unused")
+public final class MutableBigDouble implements Comparable<MutableBigDouble> {
+    private double mantissa;
+    private long exponent;
+
+    /**
+     * Create a MutableBigDouble with a value of 0.
+     */
+    public MutableBigDouble() {
+        this.mantissa = 0;
+        this.exponent = 0;
+    }
+
+    /**
+     * Create a MutableBigDouble with the same value as a BigDouble.
+     * @param value The initial value.
+     */
+    public MutableBigDouble(@NotNull BigDouble value) {
+        set(value);
+    }
+
+    /**
+     * Create a MutableBigDouble from a primitive number.
+     * @param value The initial value.
+     */
+    public MutableBigDouble(double value) {
+        set(value);
+    }
+
+    /**
+     * Create a MutableBigDouble by specifying the mantissa and exponent separately.
+     * @param mantissa A floating-point number, which will be normalized to [1, 10).
+     * @param exponent The exponent.
+     */
+    public MutableBigDouble(double mantissa, long exponent) {
+        set(mantissa, exponent);
+    }
+
+    /**
+     * Get this value's mantissa. A double with absolute value between [1, 10) OR exactly 0.
+     * @return The mantissa.
+     */
+    public double getMantissa() {
+        return mantissa;
+    }
+
+    /**
+     * Get this value's exponent.
+     * @return The exponent.
+     */
+    public long getExponent() {
+        return exponent;
+    }
+
+    /**
+     * Overwrite this value with the value of a BigDouble.
+     * @param value The new value.
+     * @return This MutableBigDouble.
+     */
+    public MutableBigDouble set(@NotNull BigDouble value) {
+        this.mantissa = value.getMantissa();
+        this.exponent = value.getExponent();
+        return this;
+    }
+
+    /**
+     * Overwrite this value with the value of another MutableBigDouble.
+     * @param value The new value.
+     * @return This MutableBigDouble.
+     */
+    public MutableBigDouble set(@NotNull MutableBigDouble value) {
+        this.mantissa = value.mantissa;
+        this.exponent = value.exponent;
+        return this;
+    }
+
+    /**
+     * Overwrite this value with a primitive number.
+     * Infinities and NaN are stored the same way BigDouble stores them.
+     * @param value The new value.
+     * @return This MutableBigDouble.
+     */
+    public MutableBigDouble set(double value) {
+        if (Double.isNaN(value)) return set(BigDouble.NaN);
+        if (Double.isInfinite(value)) {
+            return set(value > 0 ? BigDouble.POSITIVE_INFINITY : BigDouble.NEGATIVE_INFINITY);
+        }
+        return set(value, 0);
+    }
+
+    /**
+     * Overwrite this value with the given mantissa and exponent, normalizing them.
+     * @param mantissa A floating-point number, which will be normalized to [1, 10).
+     * @param exponent The exponent.
+     * @return This MutableBigDouble.
+     */
+    public MutableBigDouble set(double mantissa, long exponent) {
+        normalizeInto(mantissa, exponent);
+        return this;
+    }
+
+    /**
+     * Reset this value to 0.
+     * @return This MutableBigDouble.
+     */
+    public MutableBigDouble setZero() {
+        this.mantissa = 0;
+        this.exponent = 0;
+        return this;
+    }
+
+    /**
+     * Take a snapshot of this value as an immutable BigDouble.
+     * Zero, the infinities and NaN are returned as the canonical BigDouble constants.
+     * @return A BigDouble equal to this value.
+     */
+    public BigDouble toBigDouble() {
+        return BigDouble.fromNormalized(mantissa, exponent);
+    }
+
+    /**
+     * Overwrite this value with a mantissa and exponent that are already normalized.
+     */
+    MutableBigDouble load(double mantissa, long exponent) {
+        this.mantissa = mantissa;
+        this.exponent = exponent;
+        return this;
+    }
+
+    /**
+     * Store mantissa * 10 ^ exponent in this value.
+     * Mirrors BigDouble.normalize, without the allocation.
+     */
+    void normalizeInto(double mantissa, long exponent) {
+        if (BigDouble.isNormalized(mantissa)) {
+            this.mantissa = mantissa;
+            this.exponent = exponent;
+            return;
+        }
+        if (mantissa == 0.0) {
+            setZero();
+            return;
+        }
+
+        int tempExponent = BigDouble.normalizingExponent(mantissa);
+        this.mantissa = BigDouble.scaleMantissa(mantissa, tempExponent);
+        this.exponent = exponent + tempExponent;
+    }
+
+    /**
+     * Add a value given as a raw mantissa and exponent to this one.
+     * The same algorithm as BigDouble.add, so results match it exactly.
+     */
+    MutableBigDouble addAssign(double otherMantissa, long otherExponent) {
+        if (Double.isNaN(this.mantissa) || Double.isNaN(otherMantissa)) return set(BigDouble.NaN);
+        if (Double.isInfinite(this.mantissa)) return this;
+        if (Double.isInfinite(otherMantissa) || this.mantissa == 0) {
+            this.mantissa = otherMantissa;
+            this.exponent = otherExponent;
+            return this;
+        }
+        if (otherMantissa == 0) return this;
+
+        double biggerMantissa, smallerMantissa;
+        long biggerExponent, smallerExponent;
+        if (this.exponent > otherExponent) {
+            biggerMantissa = this.mantissa;
+            biggerExponent = this.exponent;
+            smallerMantissa = otherMantissa;
+            smallerExponent = otherExponent;
+        } else {
+            biggerMantissa = otherMantissa;
+            biggerExponent = otherExponent;
+            smallerMantissa = this.mantissa;
+            smallerExponent = this.exponent;
+        }
+
+        if (biggerExponent - smallerExponent > Constants.MAX_SIGNIFICANT_DIGITS) {
+            this.mantissa = biggerMantissa;
+            this.exponent = biggerExponent;
+            return this;
+        }
+
+        double sum = BigDouble.alignedSum(biggerMantissa, smallerMantissa, smallerExponent - biggerExponent);
+        normalizeInto(sum, biggerExponent - 14);
+        return this;
+    }
+
+    /**
+     * Add a value to this one, in place.
+     * @param other The value to add.
+     * @return This MutableBigDouble, now holding the sum.
+     * @see BigDouble#add(BigDouble)
+     */
+    public MutableBigDouble addAssign(@NotNull BigDouble other) {
+        return addAssign(other.getMantissa(), other.getExponent());
+    }
+
+    /**
+     * @see #addAssign(BigDouble) Delegates to addAssign(BigDouble) with proper conversion.
+     */
+    public MutableBigDouble addAssign(@NotNull MutableBigDouble other) {
+        return addAssign(other.mantissa, other.exponent);
+    }
+
+    /**
+     * Subtract a value from this one, in place.
+     * @param other The value to subtract.
+     * @return This MutableBigDouble, now holding the difference.
+     * @see BigDouble#sub(BigDouble)
+     */
+    public MutableBigDouble subAssign(@NotNull BigDouble other) {
+        return addAssign(-other.getMantissa(), other.getExponent());
+    }
+
+    /**
+     * @see #subAssign(BigDouble) Delegates to subAssign(BigDouble) with proper conversion.
+     */
+    public MutableBigDouble subAssign(@NotNull MutableBigDouble other) {
+        return addAssign(-other.mantissa, other.exponent);
+    }
+
+    /**
+     * Multiply this value by a value given as a raw mantissa and exponent.
+     */
+    MutableBigDouble mulAssign(double otherMantissa, long otherExponent) {
+        normalizeInto(this.mantissa * otherMantissa, this.exponent + otherExponent);
+        return this;
+    }
+
+    /**
+     * Multiply this value by another, in place.
+     * @param other The value to multiply by.
+     * @return This MutableBigDouble, now holding the product.
+     * @see BigDouble#mul(BigDouble)
+     */
+    public MutableBigDouble mulAssign(@NotNull BigDouble other) {
+        return mulAssign(other.getMantissa(), other.getExponent());
+    }
+
+    /**
+     * @see #mulAssign(BigDouble) Delegates to mulAssign(BigDouble) with proper conversion.
+     */
+    public MutableBigDouble mulAssign(@NotNull MutableBigDouble other) {
+        return mulAssign(other.mantissa, other.exponent);
+    }
+
+    /**
+     * Add the product of two values given as raw mantissas and exponents to this one.
+     * The same algorithm as BigDouble.fma: the product is lined up against this value
+     * without being normalized first, so there is only one normalization.
+     */
+    MutableBigDouble mulAddAssign(double mantissa1, long exponent1, double mantissa2, long exponent2) {
+        double productMantissa = mantissa1 * mantissa2;
+        long productExponent = exponent1 + exponent2;
+        // 0, infinities and NaN have no digits to line up; addAssign has their special cases.
+        if (productMantissa == 0 || !Double.isFinite(productMantissa)) return addAssign(productMantissa, 0);
+        if (this.mantissa == 0) {
+            normalizeInto(productMantissa, productExponent);
+            return this;
+        }
+        if (!Double.isFinite(this.mantissa)) return addAssign(productMantissa, productExponent);
+
+        // A mantissa of 10 or more puts the product one order of magnitude above its exponent.
+        long productOrder = Math.abs(productMantissa) >= 10 ? productExponent + 1 : productExponent;
+        if (productOrder - this.exponent > Constants.MAX_SIGNIFICANT_DIGITS) {
+            normalizeInto(productMantissa, productExponent);
+        } else if (this.exponent - productOrder > Constants.MAX_SIGNIFICANT_DIGITS) {
+            return this;
+        } else if (productExponent >= this.exponent) {
+            double sum = BigDouble.alignedSum(productMantissa, this.mantissa, this.exponent - productExponent);
+            normalizeInto(sum, productExponent - 14);
+        } else {
+            double sum = BigDouble.alignedSum(this.mantissa, productMantissa, productExponent - this.exponent);
+            normalizeInto(sum, this.exponent - 14);
+        }
+        return this;
+    }
+
+    /**
+     * Add the product of two values to this one, in place: this += a * b.
+     * @param a The first value to multiply.
+     * @param b The second value to multiply.
+     * @return This MutableBigDouble, now holding the sum.
+     * @see BigDouble#fma(BigDouble, BigDouble, BigDouble)
+     */
+    public MutableBigDouble mulAddAssign(@NotNull BigDouble a, @NotNull BigDouble b) {
+        return mulAddAssign(a.getMantissa(), a.getExponent(), b.getMantissa(), b.getExponent());
+    }
+
+    /**
+     * Divide this value by a value given as a raw mantissa and exponent.
+     * Like BigDouble.div, this multiplies by the normalized reciprocal.
+     */
+    MutableBigDouble divAssign(double otherMantissa, long otherExponent) {
+        double recipMantissa = 1 / otherMantissa;
+        long recipExponent = -otherExponent;
+        if (!BigDouble.isNormalized(recipMantissa) && recipMantissa != 0) {
+            int tempExponent = BigDouble.normalizingExponent(recipMantissa);
+            recipMantissa = BigDouble.scaleMantissa(recipMantissa, tempExponent);
+            recipExponent += tempExponent;
+        }
+        return mulAssign(recipMantissa, recipExponent);
+    }
+
+    /**
+     * Divide this value by another, in place.
+     * @param other The value to divide by.
+     * @return This MutableBigDouble, now holding the quotient.
+     * @see BigDouble#div(BigDouble)
+     */
+    public MutableBigDouble divAssign(@NotNull BigDouble other) {
+        return divAssign(other.getMantissa(), other.getExponent());
+    }
+
+    /**
+     * @see #divAssign(BigDouble) Delegates to divAssign(BigDouble) with proper conversion.
+     */
+    public MutableBigDouble divAssign(@NotNull MutableBigDouble other) {
+        return divAssign(other.mantissa, other.exponent);
+    }
+
+    /**
+     * Raise this value to the given power, in place.
+     * Follows the same special cases as BigDouble.pow.
+     * @param power The power to raise this value to.
+     * @return This MutableBigDouble, now holding the result.
+     * @see BigDouble#pow(double)
+     */
+    public MutableBigDouble powAssign(double power) {
+        // GUARD: 0 ^ Anything = 0, except 0.
+        if (mantissa == 0) {
+            if (power == 0) set(BigDouble.ONE);
+            return this;
+        }
+
+        // GUARD: -XXX ^ 2.5 = NaN
+        boolean powerIsInteger =
+                Math.abs(power) < 9007199254740991L
+                && Math.floor(power) == power;
+
+        if (mantissa < 0 && !powerIsInteger) return set(BigDouble.NaN);
+
+        // FAIL-FAST: 10 ^ x can be computed quickly.
+        if (exponent == 1 && mantissa == 1) return pow10Assign(power);
+
+        double temp = exponent * power;
+        double newMantissa;
+        if (Math.abs(temp) < 9007199254740991L && Math.floor(temp) == temp) {
+            newMantissa = Math.pow(mantissa, power);
+            if (Double.isFinite(newMantissa) && newMantissa != 0) {
+                normalizeInto(newMantissa, (long) temp);
+                return this;
+            }
+        }
+
+        long newExponent = (long) temp;
+        double residue = temp - newExponent;
+        newMantissa = Math.pow(10, power * Math.log10(mantissa) + residue);
+        if (Double.isFinite(newMantissa) && newMantissa != 0) {
+            normalizeInto(newMantissa, newExponent);
+            return this;
+        }
+
+        boolean negate = mantissa < 0 && power % 2 == 1;
+        pow10Assign(power * (exponent + Math.log10(Math.abs(mantissa))));
+        if (negate) mantissa = -mantissa;
+        return this;
+    }
+
+    /**
+     * Store 10 ^ value in this MutableBigDouble.
+     * @see BigDouble#pow10(double)
+     */
+    private MutableBigDouble pow10Assign(double value) {
+        long valueAsLong = (long) value;
+        double residual = value - valueAsLong;
+        if (Math.abs(residual) < Constants.ROUND_TOLERANCE) {
+            this.mantissa = 1;
+            this.exponent = valueAsLong;
+            return this;
+        }
+        normalizeInto(Math.pow(10, residual), valueAsLong);
+        return this;
+    }
+
+    /**
+     * Negate this value, in place.
+     * @return This MutableBigDouble.
+     */
+    public MutableBigDouble negAssign() {
+        mantissa = -mantissa;
+        return this;
+    }
+
+    @Override
+    public int compareTo(@NotNull MutableBigDouble other) {
+        return BigDouble.compare(this.mantissa, this.exponent, other.mantissa, other.exponent);
+    }
+
+    /**
+     * Compare this value to a BigDouble.
+     * @param other The value to compare.
+     * @return A negative number, zero, or a positive number as this value is less than,
+     * equal to, or greater than the other value.
+     * @see BigDouble#compareTo(BigDouble)
+     */
+    public int compareTo(@NotNull BigDouble other) {
+        return BigDouble.compare(this.mantissa, this.exponent, other.getMantissa(), other.getExponent());
+    }
+
+    /**
+     * Determine if this value is exactly equal to a BigDouble.
+     * @param other The value to compare.
+     * @return Whether both the mantissa and exponent match.
+     */
+    public boolean eq(BigDouble other) {
+        return this.mantissa == other.getMantissa() && this.exponent == other.getExponent();
+    }
+
+    @Override
+    public String toString() {
+        return toBigDouble().toString();
+    }
+}
@@ -0,0 +1,241 @@
+package io.github.ad417.BreakInfinity;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A BigDouble squeezed into a single long, for storing huge numbers of values
+ * (in a long[], a save file, or off-heap) without an object for each one.
+ * <p>The layout, from the most significant bit down, is:
+ * <ul><li>1 bit of sign.
+ * <li>32 bits of exponent, offset by 2 ^ 31. An exponent field of all 0s is reserved for
+ * 0 (which packs to exactly 0L), and one of all 1s for infinity and NaN.
+ * <li>31 bits of mantissa, storing |mantissa| - 1 in units of 2 ^ -27.</ul>
+ * Packed values of the same sign sort in the same order as their magnitudes.
+ * <p>Precision: packing rounds the mantissa to the nearest multiple of 2 ^ -27, so
+ * unpacking gives back a value within {@link #MAX_RELATIVE_ERROR} (about 3.7e-9) of the
+ * original, relative to its size: about 8.4 significant digits, against BigDouble's 15.
+ * Whole-number mantissas, and halves, quarters and so on, are stored exactly.
+ * Exponents above {@link #MAX_EXPONENT} pack to infinity, and those below
+ * {@link #MIN_EXPONENT} to 0.
+ */
+public final class PackedBigDouble {
+    private PackedBigDouble() { }
+
+    private static final int MANTISSA_BITS = 31;
+    private static final long MANTISSA_MASK = (1L << MANTISSA_BITS) - 1;
+    private static final int FRACTION_BITS = 27;
+    /**
+     * A mantissa field this large would be a mantissa of 10. 9 * 2 ^ 27 fits in MANTISSA_BITS.
+     */
+    private static final long MANTISSA_LIMIT = 9L << FRACTION_BITS;
+    private static final long EXPONENT_MASK = 0xFFFF_FFFFL;
+    private static final long EXPONENT_BIAS = 1L << 31;
+    private static final long SIGN_BIT = Long.MIN_VALUE;
+
+    /**
+     * The difference between neighbouring packed mantissas.
+     */
+    private static final double QUANTUM = 0x1p-27;
+    private static final double INVERSE_QUANTUM = 0x1p27;
+
+    /**
+     * The largest exponent a packed value can have.
+     */
+    public static final long MAX_EXPONENT = EXPONENT_MASK - 1 - EXPONENT_BIAS;
+    /**
+     * The smallest exponent a nonzero packed value can have.
+     */
+    public static final long MIN_EXPONENT = 1 - EXPONENT_BIAS;
+    /**
+     * The most that pack can change a value by, relative to its size.
+     */
+    public static final double MAX_RELATIVE_ERROR = QUANTUM / 2;
+
+    /**
+     * 0, packed. Every zero packs to this, whatever its sign.
+     */
+    public static final long ZERO = 0L;
+    public static final long POSITIVE_INFINITY = EXPONENT_MASK << MANTISSA_BITS;
+    public static final long NEGATIVE_INFINITY = SIGN_BIT | POSITIVE_INFINITY;
+    public static final long NaN = POSITIVE_INFINITY | 1;
+
+    /**
+     * Pack a BigDouble into a long, rounding its mantissa to the nearest representable value.
+     * @param value A BigDouble to pack.
+     * @return The packed value.
+     */
+    public static long pack(@NotNull BigDouble value) {
+        return pack(value.getMantissa(), value.getExponent());
+    }
+
+    /**
+     * Pack a mantissa and exponent that are already normalized: a mantissa of magnitude
+     * [1, 10), or exactly 0, or non-finite.
+     */
+    static long pack(double mantissa, long exponent) {
+        if (mantissa == 0) return ZERO;
+        if (Double.isNaN(mantissa)) return NaN;
+        long sign = mantissa < 0 ? SIGN_BIT : 0;
+        if (Double.isInfinite(mantissa) || exponent > MAX_EXPONENT) return sign | POSITIVE_INFINITY;
+        if (exponent < MIN_EXPONENT) return ZERO;
+
+        long fraction = Math.round((Math.abs(mantissa) - 1) * INVERSE_QUANTUM);
+        if (fraction >= MANTISSA_LIMIT) {
+            // Rounded all the way up to 10.
+            fraction = 0;
+            exponent++;
+            if (exponent > MAX_EXPONENT) return sign | POSITIVE_INFINITY;
+        }
+        return sign | (exponent + EXPONENT_BIAS) << MANTISSA_BITS | fraction;
+    }
+
+    /**
+     * Pack mantissa * 10 ^ exponent, normalizing it first.
+     */
+    private static long packNormalizing(double mantissa, long exponent) {
+        // Products of two packed mantissas land in [1, 100), and sums from alignedSum
+        // in [1e14, 1e16) unless they cancel, so those skip the log10.
+        double magnitude = Math.abs(mantissa);
+        if (magnitude >= 1 && magnitude < 10) return pack(mantissa, exponent);
+        if (magnitude >= 10 && magnitude < 100) return pack(mantissa / 10, exponent + 1);
+        if (magnitude >= 1e14 && magnitude < 1e15) return pack(mantissa / 1e14, exponent + 14);
+        if (magnitude >= 1e15 && magnitude < 1e16) return pack(mantissa / 1e15, exponent + 15);
+        if (mantissa == 0 || !Double.isFinite(mantissa)) return pack(mantissa, exponent);
+        int tempExponent = BigDouble.normalizingExponent(mantissa);
+        return pack(BigDouble.scaleMantissa(mantissa, tempExponent), exponent + tempExponent);
+    }
+
+    /**
+     * Turn a packed long back into a BigDouble.
+     * @param packed A value produced by pack or one of the packed operations.
+     * @return The BigDouble it holds. Zero, the infinities and NaN are returned as the canonical BigDouble constants.
+     */
+    public static BigDouble unpack(long packed) {
+        if (isSpecial(packed)) {
+            if (isNaN(packed)) return BigDouble.NaN;
+            return packed < 0 ? BigDouble.NEGATIVE_INFINITY : BigDouble.POSITIVE_INFINITY;
+        }
+        return BigDouble.fromNormalized(getMantissa(packed), getExponent(packed));
+    }
+
+    /**
+     * @param packed A packed value.
+     * @return The mantissa of the value, in the same form as BigDouble.getMantissa().
+     */
+    public static double getMantissa(long packed) {
+        if (isSpecial(packed)) {
+            if (isNaN(packed)) return Double.NaN;
+            return packed < 0 ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+        }
+        if (packed == ZERO) return 0;
+        double magnitude = 1 + (packed & MANTISSA_MASK) * QUANTUM;
+        return packed < 0 ? -magnitude : magnitude;
+    }
+
+    /**
+     * @param packed A packed value.
+     * @return The exponent of the value, in the same form as BigDouble.getExponent().
+     */
+    public static long getExponent(long packed) {
+        if (isSpecial(packed)) {
+            return isNaN(packed) ? Long.MIN_VALUE : 0;
+        }
+        if (packed == ZERO) return 0;
+        return (packed >>> MANTISSA_BITS & EXPONENT_MASK) - EXPONENT_BIAS;
+    }
+
+    /**
+     * @return Whether the packed value is NaN.
+     */
+    public static boolean isNaN(long packed) {
+        return isSpecial(packed) && (packed & MANTISSA_MASK) != 0;
+    }
+
+    /**
+     * Infinities and NaN, which share the all-1s exponent.
+     */
+    private static boolean isSpecial(long packed) {
+        return (packed >>> MANTISSA_BITS & EXPONENT_MASK) == EXPONENT_MASK;
+    }
+
+    /**
+     * Add two packed values, following the same rules as BigDouble.add.
+     * <p>Error: within MAX_RELATIVE_ERROR of BigDouble's sum of the unpacked values. Error
+     * already in the operands carries through as usual, so the sum of two freshly packed
+     * values of the same sign is within about 2 * MAX_RELATIVE_ERROR of the exact sum. When
+     * the signs differ and the sum cancels, that error can be large relative to the result.
+     * @return The packed sum.
+     */
+    public static long addPacked(long packed, long otherPacked) {
+        double mantissa = getMantissa(packed);
+        double otherMantissa = getMantissa(otherPacked);
+        if (Double.isNaN(mantissa) || Double.isNaN(otherMantissa)) return NaN;
+        if (Double.isInfinite(mantissa)) return packed;
+        if (Double.isInfinite(otherMantissa)) return otherPacked;
+        if (mantissa == 0) return otherPacked;
+        if (otherMantissa == 0) return packed;
+
+        long exponent = getExponent(packed);
+        long otherExponent = getExponent(otherPacked);
+        if (exponent > otherExponent) {
+            if (exponent - otherExponent > Constants.MAX_SIGNIFICANT_DIGITS) return packed;
+            return packNormalizing(
+                    BigDouble.alignedSum(mantissa, otherMantissa, otherExponent - exponent),
+                    exponent - 14
+            );
+        }
+        if (otherExponent - exponent > Constants.MAX_SIGNIFICANT_DIGITS) return otherPacked;
+        return packNormalizing(
+                BigDouble.alignedSum(otherMantissa, mantissa, exponent - otherExponent),
+                otherExponent - 14
+        );
+    }
+
+    /**
+     * Multiply two packed values, following the same rules as BigDouble.mul.
+     * <p>Error: within MAX_RELATIVE_ERROR of BigDouble's product of the unpacked values. Since
+     * each operand may be off by as much from what was packed, the product of two freshly
+     * packed values is within about 3 * MAX_RELATIVE_ERROR of the exact product.
+     * @return The packed product.
+     */
+    public static long mulPacked(long packed, long otherPacked) {
+        double mantissa = getMantissa(packed) * getMantissa(otherPacked);
+        if (Double.isNaN(mantissa)) return NaN;
+        return packNormalizing(mantissa, getExponent(packed) + getExponent(otherPacked));
+    }
+
+    /**
+     * Compare two packed values without unpacking them. This is exact: no rounding is involved.
+     * NaN is smaller than everything else and equal to itself, as in BigDouble.compareTo,
+     * and the infinities are the largest and smallest of the remaining values.
+     * @return A negative number, zero or a positive number as the first value is less than,
+     * equal to, or greater than the second.
+     */
+    public static int comparePacked(long packed, long otherPacked) {
+        if (isNaN(packed)) return isNaN(otherPacked) ? 0 : -1;
+        if (isNaN(otherPacked)) return 1;
+        // Zero is never negative, so the sign bits alone settle mixed signs.
+        if ((packed ^ otherPacked) < 0) return packed < 0 ? -1 : 1;
+
+        int magnitude = Long.compare(packed & ~SIGN_BIT, otherPacked & ~SIGN_BIT);
+        return packed < 0 ? -magnitude : magnitude;
+    }
+
+    /**
+     * Turn a packed value into a long whose signed order is the order of the values, as
+     * comparePacked gives it. Packed values are sign and magnitude, so negative ones just
+     * need their magnitude negated; NaN, the smallest value of all, becomes Long.MIN_VALUE.
+     */
+    static long toSortable(long packed) {
+        if (isNaN(packed)) return Long.MIN_VALUE;
+        return packed < 0 ? -(packed & ~SIGN_BIT) : packed;
+    }
+
+    /**
+     * The inverse of toSortable.
+     */
+    static long fromSortable(long sortable) {
+        if (sortable == Long.MIN_VALUE) return NaN;
+        return sortable < 0 ? SIGN_BIT | -sortable : sortable;
+    }
+}
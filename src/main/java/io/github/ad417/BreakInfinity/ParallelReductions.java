@@ -0,0 +1,265 @@
+package io.github.ad417.BreakInfinity;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * The fork/join tasks behind BigDoubleArray's parallel operations. Each task splits its
+ * range in half until it is down to a leaf, then runs a plain loop over the leaf with a
+ * single MutableBigDouble, so the only allocations are one accumulator per leaf.
+ */
+final class ParallelReductions {
+    private ParallelReductions() { }
+
+    /**
+     * Below this many elements, splitting costs more than it saves, so everything runs on
+     * the calling thread.
+     */
+    static final int SEQUENTIAL_THRESHOLD = 1 << 14;
+
+    /**
+     * The smallest leaf worth handing to another thread.
+     */
+    private static final int MIN_LEAF_SIZE = 1 << 12;
+
+    /**
+     * Leaves per thread. More than one, so that a thread that finishes early can steal work.
+     */
+    private static final int LEAVES_PER_THREAD = 4;
+
+    /**
+     * Pick a leaf size for an array of the given length: a few leaves per thread in the
+     * pool, but never so small that forking dominates.
+     */
+    static int leafSize(int length, ForkJoinPool pool) {
+        int leaves = pool.getParallelism() * LEAVES_PER_THREAD;
+        return Math.max(MIN_LEAF_SIZE, (length + leaves - 1) / leaves);
+    }
+
+    static MutableBigDouble sum(BigDoubleArray array, ForkJoinPool pool) {
+        int length = array.size();
+        if (length < SEQUENTIAL_THRESHOLD) {
+            return sumRange(array, 0, length);
+        }
+        return pool.invoke(new SumTask(array, 0, length, leafSize(length, pool)));
+    }
+
+    static MutableBigDouble product(BigDoubleArray array, ForkJoinPool pool) {
+        int length = array.size();
+        if (length < SEQUENTIAL_THRESHOLD) {
+            return productRange(array, 0, length);
+        }
+        return pool.invoke(new ProductTask(array, 0, length, leafSize(length, pool)));
+    }
+
+    static int indexOfMax(BigDoubleArray array, ForkJoinPool pool) {
+        int length = array.size();
+        if (length < SEQUENTIAL_THRESHOLD) {
+            return indexOfMaxRange(array, 0, length);
+        }
+        return pool.invoke(new MaxTask(array, 0, length, leafSize(length, pool)));
+    }
+
+    /**
+     * Replace every element with the sum of itself and every element before it, in three
+     * passes: sum each leaf in parallel, add up the leaf sums in order to get the total
+     * before each leaf, then run each leaf's prefix sum in parallel starting from that total.
+     */
+    static void prefixSum(BigDoubleArray array, ForkJoinPool pool) {
+        int length = array.size();
+        if (length < SEQUENTIAL_THRESHOLD) {
+            prefixSumRange(array, 0, length, new MutableBigDouble());
+            return;
+        }
+        int leafSize = leafSize(length, pool);
+        int leaves = (length + leafSize - 1) / leafSize;
+        // The last leaf's sum is never needed.
+        BigDoubleArray offsets = new BigDoubleArray(leaves);
+        pool.invoke(new LeafSumTask(array, offsets, 0, leaves - 1, leafSize));
+
+        // Turn the leaf sums into the total of everything before each leaf.
+        MutableBigDouble total = new MutableBigDouble();
+        for (int leaf = 0; leaf < leaves; leaf++) {
+            double mantissa = offsets.mantissas[leaf];
+            long exponent = offsets.exponents[leaf];
+            offsets.mantissas[leaf] = total.getMantissa();
+            offsets.exponents[leaf] = total.getExponent();
+            total.addAssign(mantissa, exponent);
+        }
+
+        pool.invoke(new LeafPrefixTask(array, offsets, 0, leaves, leafSize));
+    }
+
+    static MutableBigDouble sumRange(BigDoubleArray array, int from, int to) {
+        MutableBigDouble sum = new MutableBigDouble();
+        for (int i = from; i < to; i++) {
+            sum.addAssign(array.mantissas[i], array.exponents[i]);
+        }
+        return sum;
+    }
+
+    static MutableBigDouble productRange(BigDoubleArray array, int from, int to) {
+        MutableBigDouble product = new MutableBigDouble(BigDouble.ONE);
+        for (int i = from; i < to; i++) {
+            product.mulAssign(array.mantissas[i], array.exponents[i]);
+        }
+        return product;
+    }
+
+    /**
+     * @return The index of the largest element in the range, the first one if there are ties.
+     */
+    static int indexOfMaxRange(BigDoubleArray array, int from, int to) {
+        int best = from;
+        for (int i = from + 1; i < to; i++) {
+            if (BigDouble.compare(array.mantissas[i], array.exponents[i],
+                    array.mantissas[best], array.exponents[best]) > 0) {
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Run a prefix sum over the range, starting from the given total, which is overwritten.
+     */
+    static void prefixSumRange(BigDoubleArray array, int from, int to, MutableBigDouble total) {
+        for (int i = from; i < to; i++) {
+            total.addAssign(array.mantissas[i], array.exponents[i]);
+            array.mantissas[i] = total.getMantissa();
+            array.exponents[i] = total.getExponent();
+        }
+    }
+
+    private static final class SumTask extends RecursiveTask<MutableBigDouble> {
+        private final BigDoubleArray array;
+        private final int from, to, leafSize;
+
+        SumTask(BigDoubleArray array, int from, int to, int leafSize) {
+            this.array = array;
+            this.from = from;
+            this.to = to;
+            this.leafSize = leafSize;
+        }
+
+        @Override
+        protected MutableBigDouble compute() {
+            if (to - from <= leafSize) return sumRange(array, from, to);
+            int middle = (from + to) >>> 1;
+            SumTask right = new SumTask(array, middle, to, leafSize);
+            right.fork();
+            MutableBigDouble left = new SumTask(array, from, middle, leafSize).compute();
+            return left.addAssign(right.join());
+        }
+    }
+
+    private static final class ProductTask extends RecursiveTask<MutableBigDouble> {
+        private final BigDoubleArray array;
+        private final int from, to, leafSize;
+
+        ProductTask(BigDoubleArray array, int from, int to, int leafSize) {
+            this.array = array;
+            this.from = from;
+            this.to = to;
+            this.leafSize = leafSize;
+        }
+
+        @Override
+        protected MutableBigDouble compute() {
+            if (to - from <= leafSize) return productRange(array, from, to);
+            int middle = (from + to) >>> 1;
+            ProductTask right = new ProductTask(array, middle, to, leafSize);
+            right.fork();
+            MutableBigDouble left = new ProductTask(array, from, middle, leafSize).compute();
+            return left.mulAssign(right.join());
+        }
+    }
+
+    private static final class MaxTask extends RecursiveTask<Integer> {
+        private final BigDoubleArray array;
+        private final int from, to, leafSize;
+
+        MaxTask(BigDoubleArray array, int from, int to, int leafSize) {
+            this.array = array;
+            this.from = from;
+            this.to = to;
+            this.leafSize = leafSize;
+        }
+
+        @Override
+        protected Integer compute() {
+            if (to - from <= leafSize) return indexOfMaxRange(array, from, to);
+            int middle = (from + to) >>> 1;
+            MaxTask right = new MaxTask(array, middle, to, leafSize);
+            right.fork();
+            int left = new MaxTask(array, from, middle, leafSize).compute();
+            int rightBest = right.join();
+            // Ties go to the left half, which comes first.
+            return BigDouble.compare(array.mantissas[rightBest], array.exponents[rightBest],
+                    array.mantissas[left], array.exponents[left]) > 0 ? rightBest : left;
+        }
+    }
+
+    /**
+     * Store the sum of each leaf from firstLeaf up to lastLeaf in sums.
+     */
+    private static final class LeafSumTask extends RecursiveAction {
+        private final BigDoubleArray array, sums;
+        private final int firstLeaf, lastLeaf, leafSize;
+
+        LeafSumTask(BigDoubleArray array, BigDoubleArray sums, int firstLeaf, int lastLeaf, int leafSize) {
+            this.array = array;
+            this.sums = sums;
+            this.firstLeaf = firstLeaf;
+            this.lastLeaf = lastLeaf;
+            this.leafSize = leafSize;
+        }
+
+        @Override
+        protected void compute() {
+            if (lastLeaf - firstLeaf > 1) {
+                int middle = (firstLeaf + lastLeaf) >>> 1;
+                invokeAll(new LeafSumTask(array, sums, firstLeaf, middle, leafSize),
+                        new LeafSumTask(array, sums, middle, lastLeaf, leafSize));
+                return;
+            }
+            for (int leaf = firstLeaf; leaf < lastLeaf; leaf++) {
+                int from = leaf * leafSize;
+                sums.set(leaf, sumRange(array, from, Math.min(from + leafSize, array.size())));
+            }
+        }
+    }
+
+    /**
+     * Run the prefix sum of each leaf from firstLeaf up to lastLeaf, starting from its offset.
+     */
+    private static final class LeafPrefixTask extends RecursiveAction {
+        private final BigDoubleArray array, offsets;
+        private final int firstLeaf, lastLeaf, leafSize;
+
+        LeafPrefixTask(BigDoubleArray array, BigDoubleArray offsets, int firstLeaf, int lastLeaf, int leafSize) {
+            this.array = array;
+            this.offsets = offsets;
+            this.firstLeaf = firstLeaf;
+            this.lastLeaf = lastLeaf;
+            this.leafSize = leafSize;
+        }
+
+        @Override
+        protected void compute() {
+            if (lastLeaf - firstLeaf > 1) {
+                int middle = (firstLeaf + lastLeaf) >>> 1;
+                invokeAll(new LeafPrefixTask(array, offsets, firstLeaf, middle, leafSize),
+                        new LeafPrefixTask(array, offsets, middle, lastLeaf, leafSize));
+                return;
+            }
+            MutableBigDouble total = new MutableBigDouble();
+            for (int leaf = firstLeaf; leaf < lastLeaf; leaf++) {
+                int from = leaf * leafSize;
+                total.load(offsets.mantissas[leaf], offsets.exponents[leaf]);
+                prefixSumRange(array, from, Math.min(from + leafSize, array.size()), total);
+            }
+        }
+    }
+}
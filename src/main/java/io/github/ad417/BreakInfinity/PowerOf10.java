@@ -28,6 +28,32 @@ class PowerOf10 {
         return powersOf10[(int)power + indexOf0InPowersOf10];
     }
 
+    /**
+     * The decimal exponent of each power of 2 a normal double can have, 2 ^ -1022 to 2 ^ 1023:
+     * the largest n with 10 ^ n (as lookup gives it) at most that power of 2.
+     */
+    private static int[] decimalExponents() {
+        int[] out = new int[Double.MAX_EXPONENT - Double.MIN_EXPONENT + 1];
+        for (int binary = Double.MIN_EXPONENT; binary <= Double.MAX_EXPONENT; binary++) {
+            double powerOf2 = Math.scalb(1.0, binary);
+            // Close enough to start from, then made exact against the table itself.
+            int decimal = (int) Math.floor(binary * Math.log10(2));
+            while (lookup(decimal + 1) <= powerOf2) decimal++;
+            while (lookup(decimal) > powerOf2) decimal--;
+            out[binary - Double.MIN_EXPONENT] = decimal;
+        }
+        return out;
+    }
+    private static final int[] decimalExponents = decimalExponents();
+
+    /**
+     * @param binaryExponent The exponent of a normal double, as Math.getExponent gives it.
+     * @return floor(log10(2 ^ binaryExponent)).
+     */
+    public static int floorLog10OfPowerOf2(int binaryExponent) {
+        return decimalExponents[binaryExponent - Double.MIN_EXPONENT];
+    }
+
     public static void main(String[] args) {
         System.out.println(lookup(308));
         System.out.println(lookup(-323));
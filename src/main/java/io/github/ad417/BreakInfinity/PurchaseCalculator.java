@@ -0,0 +1,269 @@
+package io.github.ad417.BreakInfinity;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The prices of a whole catalogue of items whose cost grows geometrically, as in a shop
+ * with buy 1, buy 10 and buy max buttons for every item. For each item, it gives the cost of
+ * each batch size, and the most of the item that a budget can buy, with the answers of
+ * {@link BigDouble#sumGeometricSeries(int, BigDouble, BigDouble, int)} and
+ * {@link BigDouble#affordGeometricSeries(BigDouble, BigDouble, BigDouble, long)}.
+ * <p>Everything that only depends on the catalogue is worked out once, rather than on every
+ * call: each item's current price, start * ratio ^ owned, is kept up to date as the owned
+ * counts change, and (ratio ^ n - 1) / (ratio - 1) is kept for every batch size n. The cost of a
+ * batch is then a single multiplication, and the most an item's budget can buy takes one log10.
+ * Results are written into arrays, so evaluating the catalogue doesn't allocate.
+ */
+public final class PurchaseCalculator {
+    private static final double LOG10_E = Math.log10(Math.E);
+
+    private final double[] startMantissas;
+    private final long[] startExponents;
+    private final double[] ratios;
+    private final double[] log10Ratios;
+    private final long[] owned;
+    private final int[] batchSizes;
+
+    /**
+     * start * ratio ^ owned, for each item.
+     */
+    private final double[] priceMantissas;
+    private final long[] priceExponents;
+
+    /**
+     * (ratio ^ n - 1) / (ratio - 1), indexed by batch, then by item. The cost of n more
+     * of an item is its price times this.
+     */
+    private final double[][] factorMantissas;
+    private final long[][] factorExponents;
+
+    /**
+     * Create a calculator for a catalogue. The arrays are copied.
+     * @param priceStarts The price of the first of each item.
+     * @param priceRatios The factor each item's price goes up by with every purchase.
+     * @param owned The number of each item already owned.
+     * @param batchSizes The numbers of items bought at once that costs are wanted for, such as 1, 10 and 100.
+     * @throws IllegalArgumentException if the arrays are different sizes, a price start isn't positive,
+     * a price ratio isn't more than 1, an owned count is negative, or a batch size isn't positive.
+     */
+    public PurchaseCalculator(@NotNull BigDoubleArray priceStarts, double @NotNull [] priceRatios,
+                              long @NotNull [] owned, int @NotNull ... batchSizes) {
+        int size = priceStarts.size();
+        if (priceRatios.length != size || owned.length != size) {
+            throw new IllegalArgumentException(
+                    "Array sizes differ: " + size + ", " + priceRatios.length + " and " + owned.length
+            );
+        }
+        for (int batchSize : batchSizes) {
+            if (batchSize <= 0) throw new IllegalArgumentException("Batch sizes must be positive: " + batchSize);
+        }
+        startMantissas = priceStarts.mantissas.clone();
+        startExponents = priceStarts.exponents.clone();
+        ratios = priceRatios.clone();
+        this.owned = owned.clone();
+        this.batchSizes = batchSizes.clone();
+        log10Ratios = new double[size];
+        priceMantissas = new double[size];
+        priceExponents = new long[size];
+        factorMantissas = new double[batchSizes.length][size];
+        factorExponents = new long[batchSizes.length][size];
+
+        for (int i = 0; i < size; i++) {
+            if (!(startMantissas[i] > 0) || Double.isInfinite(startMantissas[i])) {
+                throw new IllegalArgumentException("Price starts must be positive: " + priceStarts.get(i));
+            }
+            if (!(ratios[i] > 1) || Double.isInfinite(ratios[i])) {
+                throw new IllegalArgumentException("Price ratios must be more than 1: " + ratios[i]);
+            }
+            log10Ratios[i] = Math.log10(ratios[i]);
+            setOwned(i, owned[i]);
+
+            BigDouble ratio = new BigDouble(ratios[i]);
+            for (int b = 0; b < batchSizes.length; b++) {
+                BigDouble factor = ratio.pow((long) batchSizes[b]).sub(BigDouble.ONE).div(ratios[i] - 1);
+                factorMantissas[b][i] = factor.getMantissa();
+                factorExponents[b][i] = factor.getExponent();
+            }
+        }
+    }
+
+    /**
+     * @return The number of items in the catalogue.
+     */
+    public int size() {
+        return ratios.length;
+    }
+
+    /**
+     * @return The batch sizes costs are worked out for, in the order they were given.
+     */
+    public int[] getBatchSizes() {
+        return batchSizes.clone();
+    }
+
+    /**
+     * @param item The item.
+     * @return The number of it owned.
+     */
+    public long getOwned(int item) {
+        return owned[item];
+    }
+
+    /**
+     * Change the number of an item owned, after buying or selling some.
+     * @param item The item.
+     * @param count The number of it now owned.
+     * @throws IllegalArgumentException if count is negative.
+     */
+    public void setOwned(int item, long count) {
+        if (count < 0) throw new IllegalArgumentException("Owned counts must not be negative: " + count);
+        owned[item] = count;
+        // Worked out from the start price every time, so rounding errors don't build up.
+        BigDouble price = BigDouble.fromNormalized(startMantissas[item], startExponents[item])
+                .mul(new BigDouble(ratios[item]).pow(count));
+        priceMantissas[item] = price.getMantissa();
+        priceExponents[item] = price.getExponent();
+    }
+
+    /**
+     * @param item The item.
+     * @return The price of the next one of it: start * ratio ^ owned.
+     */
+    public BigDouble getPrice(int item) {
+        return BigDouble.fromNormalized(priceMantissas[item], priceExponents[item]);
+    }
+
+    /**
+     * Work out the cost of one batch size for every item.
+     * @param batch The index of the batch size, in the order they were given.
+     * @param result An array of the catalogue's size, which receives the costs.
+     * @return The result array.
+     * @throws IllegalArgumentException if the result array is the wrong size.
+     */
+    public BigDoubleArray costs(int batch, @NotNull BigDoubleArray result) {
+        checkSize(result.size());
+        double[] factors = factorMantissas[batch];
+        long[] factorPowers = factorExponents[batch];
+        for (int i = 0; i < priceMantissas.length; i++) {
+            storeProduct(result, i, priceMantissas[i] * factors[i], priceExponents[i] + factorPowers[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Work out the most of every item that a budget can buy, if it were spent on that item alone.
+     * @param resources The budget.
+     * @param result An array of the catalogue's size, which receives the counts.
+     * @return The result array.
+     * @throws IllegalArgumentException if the result array is the wrong size.
+     */
+    public long[] maxAffordable(@NotNull BigDouble resources, long @NotNull [] result) {
+        checkSize(result.length);
+        double resourceMantissa = resources.getMantissa();
+        long resourceExponent = resources.getExponent();
+        for (int i = 0; i < result.length; i++) {
+            result[i] = maxAffordable(i, resourceMantissa, resourceExponent);
+        }
+        return result;
+    }
+
+    /**
+     * Evaluate the whole catalogue in one pass: the cost of every batch size, the most of each
+     * item the budget can buy, and what that would cost.
+     * @param resources The budget.
+     * @param costs One array of the catalogue's size for each batch size, which receive the costs of that batch.
+     * @param maxAffordable An array of the catalogue's size, which receives the most of each item the budget can buy.
+     * @param maxCosts An array of the catalogue's size, which receives the cost of those counts, or null if they aren't wanted.
+     * @throws IllegalArgumentException if there isn't one cost array per batch size, or an array is the wrong size.
+     */
+    public void evaluate(@NotNull BigDouble resources, @NotNull BigDoubleArray @NotNull [] costs,
+                         long @NotNull [] maxAffordable, BigDoubleArray maxCosts) {
+        if (costs.length != batchSizes.length) {
+            throw new IllegalArgumentException(
+                    "Expected " + batchSizes.length + " cost arrays, one per batch size, but got " + costs.length
+            );
+        }
+        for (BigDoubleArray cost : costs) checkSize(cost.size());
+        checkSize(maxAffordable.length);
+        if (maxCosts != null) checkSize(maxCosts.size());
+
+        double resourceMantissa = resources.getMantissa();
+        long resourceExponent = resources.getExponent();
+        for (int i = 0; i < priceMantissas.length; i++) {
+            double priceMantissa = priceMantissas[i];
+            long priceExponent = priceExponents[i];
+            for (int b = 0; b < costs.length; b++) {
+                storeProduct(costs[b], i, priceMantissa * factorMantissas[b][i], priceExponent + factorExponents[b][i]);
+            }
+            long count = maxAffordable(i, resourceMantissa, resourceExponent);
+            maxAffordable[i] = count;
+            if (maxCosts != null) storeMaxCost(maxCosts, i, count);
+        }
+    }
+
+    /**
+     * The most of an item a budget can buy: floor(log10(resources / price * (ratio - 1) + 1) / log10(ratio)).
+     */
+    private long maxAffordable(int item, double resourceMantissa, long resourceExponent) {
+        if (!(resourceMantissa > 0)) return 0;
+        if (Double.isInfinite(resourceMantissa)) return Long.MAX_VALUE;
+
+        // resources / price * (ratio - 1) = scaled * 10 ^ exponent.
+        double scaled = resourceMantissa / priceMantissas[item] * (ratios[item] - 1);
+        long exponent = resourceExponent - priceExponents[item];
+        double log10Sum;
+        if (exponent > Constants.MAX_SIGNIFICANT_DIGITS) {
+            // The + 1 vanishes next to the rest.
+            log10Sum = Math.log10(scaled) + exponent;
+        } else if (exponent < -Constants.MAX_SIGNIFICANT_DIGITS) {
+            return 0;
+        } else {
+            log10Sum = Math.log1p(scaled * PowerOf10.lookup(exponent)) * LOG10_E;
+        }
+        double count = Math.floor(log10Sum / log10Ratios[item]);
+        return count >= Long.MAX_VALUE ? Long.MAX_VALUE : (long) count;
+    }
+
+    /**
+     * Store the cost of count more of an item: price * (ratio ^ count - 1) / (ratio - 1).
+     */
+    private void storeMaxCost(BigDoubleArray result, int item, long count) {
+        if (count == 0) {
+            result.mantissas[item] = 0;
+            result.exponents[item] = 0;
+            return;
+        }
+        double ratio = ratios[item];
+        double log10Power = count * log10Ratios[item];
+        double log10Factor;
+        if (log10Power > Constants.MAX_SIGNIFICANT_DIGITS) {
+            // The - 1 vanishes next to ratio ^ count.
+            log10Factor = log10Power - Math.log10(ratio - 1);
+        } else {
+            log10Factor = Math.log10(Math.expm1(log10Power / LOG10_E) / (ratio - 1));
+        }
+        double whole = Math.floor(log10Factor);
+        storeProduct(result, item, priceMantissas[item] * Math.pow(10, log10Factor - whole),
+                priceExponents[item] + (long) whole);
+    }
+
+    /**
+     * Store the product of two normalized mantissas, which is in [1, 100), and its exponent.
+     */
+    private static void storeProduct(BigDoubleArray result, int index, double mantissa, long exponent) {
+        if (mantissa >= 10) {
+            mantissa /= 10;
+            exponent++;
+        }
+        result.mantissas[index] = mantissa;
+        result.exponents[index] = exponent;
+    }
+
+    private void checkSize(int size) {
+        if (size != ratios.length) {
+            throw new IllegalArgumentException(
+                    "Array sizes differ: " + ratios.length + " and " + size
+            );
+        }
+    }
+}
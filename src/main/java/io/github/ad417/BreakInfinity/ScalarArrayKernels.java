@@ -0,0 +1,89 @@
+package io.github.ad417.BreakInfinity;
+
+/**
+ * Plain loops over the mantissa and exponent arrays. Always available, and used to
+ * finish off whatever the vectorized kernels can't handle a full vector at a time.
+ */
+class ScalarArrayKernels implements ArrayKernels {
+
+    @Override
+    public void add(double[] mantissas, long[] exponents, double[] otherMantissas, long[] otherExponents, int length) {
+        addRange(mantissas, exponents, otherMantissas, otherExponents, 0, length);
+    }
+
+    @Override
+    public void mul(double[] mantissas, long[] exponents, double[] otherMantissas, long[] otherExponents, int length) {
+        for (int i = 0; i < length; i++) {
+            store(mantissas, exponents, i, mantissas[i] * otherMantissas[i], exponents[i] + otherExponents[i]);
+        }
+    }
+
+    @Override
+    public void div(double[] mantissas, long[] exponents, double[] otherMantissas, long[] otherExponents, int length) {
+        divRange(mantissas, exponents, otherMantissas, otherExponents, 0, length);
+    }
+
+    @Override
+    public void compare(double[] mantissas, long[] exponents, double[] otherMantissas, long[] otherExponents,
+                        int[] result, int length) {
+        for (int i = 0; i < length; i++) {
+            result[i] = BigDouble.compare(mantissas[i], exponents[i], otherMantissas[i], otherExponents[i]);
+        }
+    }
+
+    @Override
+    public boolean isVectorized() {
+        return false;
+    }
+
+    static void addRange(double[] mantissas, long[] exponents, double[] otherMantissas, long[] otherExponents,
+                         int from, int to) {
+        MutableBigDouble scratch = new MutableBigDouble();
+        for (int i = from; i < to; i++) {
+            scratch.load(mantissas[i], exponents[i]).addAssign(otherMantissas[i], otherExponents[i]);
+            mantissas[i] = scratch.getMantissa();
+            exponents[i] = scratch.getExponent();
+        }
+    }
+
+    /**
+     * addRange, with a scratch value that the caller can reuse from one range to the next,
+     * for callers that go through many small ranges.
+     */
+    static void addRange(double[] mantissas, long[] exponents, double[] otherMantissas, long[] otherExponents,
+                         int from, int to, MutableBigDouble scratch) {
+        for (int i = from; i < to; i++) {
+            scratch.load(mantissas[i], exponents[i]).addAssign(otherMantissas[i], otherExponents[i]);
+            mantissas[i] = scratch.getMantissa();
+            exponents[i] = scratch.getExponent();
+        }
+    }
+
+    static void divRange(double[] mantissas, long[] exponents, double[] otherMantissas, long[] otherExponents,
+                         int from, int to) {
+        MutableBigDouble scratch = new MutableBigDouble();
+        for (int i = from; i < to; i++) {
+            scratch.load(mantissas[i], exponents[i]).divAssign(otherMantissas[i], otherExponents[i]);
+            mantissas[i] = scratch.getMantissa();
+            exponents[i] = scratch.getExponent();
+        }
+    }
+
+    /**
+     * Normalize mantissa * 10 ^ exponent into element i.
+     * Mirrors BigDouble.normalize.
+     */
+    static void store(double[] mantissas, long[] exponents, int i, double mantissa, long exponent) {
+        if (BigDouble.isNormalized(mantissa)) {
+            mantissas[i] = mantissa;
+            exponents[i] = exponent;
+        } else if (mantissa == 0) {
+            mantissas[i] = 0;
+            exponents[i] = 0;
+        } else {
+            int tempExponent = BigDouble.normalizingExponent(mantissa);
+            mantissas[i] = BigDouble.scaleMantissa(mantissa, tempExponent);
+            exponents[i] = exponent + tempExponent;
+        }
+    }
+}
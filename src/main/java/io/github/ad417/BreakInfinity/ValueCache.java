@@ -0,0 +1,55 @@
+package io.github.ad417.BreakInfinity;
+
+/**
+ * Preallocated BigDoubles for the values that come up over and over: small whole numbers
+ * (counts of things owned, floored purchase amounts) and powers of 10. Like Integer.valueOf's
+ * cache, but only built the first time something asks for it.
+ */
+class ValueCache {
+    /**
+     * The largest whole number that is cached. Every whole number from 0 up to this is.
+     */
+    static final int MAX_INTEGER = 10_000;
+
+    private static final BigDouble[] integers = new BigDouble[MAX_INTEGER + 1];
+
+    /**
+     * Powers of 10 across the range a double can hold, from 1e-323 to 1e308.
+     */
+    private static final BigDouble[] powersOf10
+            = new BigDouble[Constants.DOUBLE_EXP_MAX - Constants.DOUBLE_EXP_MIN];
+
+    private static final int indexOf0InPowersOf10 = -Constants.DOUBLE_EXP_MIN - 1;
+
+    static {
+        integers[0] = BigDouble.ZERO;
+        integers[1] = BigDouble.ONE;
+        for (int i = 2; i <= MAX_INTEGER; i++) {
+            integers[i] = new BigDouble(i);
+        }
+
+        for (int i = 0; i < powersOf10.length; i++) {
+            long power = i - indexOf0InPowersOf10;
+            // Powers that are also small integers share the same instance.
+            powersOf10[i] = power >= 0 && PowerOf10.lookup(power) <= MAX_INTEGER
+                    ? integers[(int) PowerOf10.lookup(power)]
+                    : BigDouble.fromMantissaExponentNoNormalize(1, power);
+        }
+    }
+
+    /**
+     * @param value A whole number between 0 and MAX_INTEGER.
+     */
+    static BigDouble integer(int value) {
+        return integers[value];
+    }
+
+    /**
+     * @return 10 ^ power, or null if that isn't cached.
+     */
+    static BigDouble powerOf10(long power) {
+        long index = power + indexOf0InPowersOf10;
+        if (index < 0 || index >= powersOf10.length) return null;
+        return powersOf10[(int) index];
+    }
+}
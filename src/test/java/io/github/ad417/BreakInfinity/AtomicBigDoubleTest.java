@@ -0,0 +1,96 @@
+package io.github.ad417.BreakInfinity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AtomicBigDoubleTest {
+    static final Random Generator = new Random();
+
+    public BigDouble randomValue() {
+        return new BigDouble(Generator.nextDouble(1, 10), Generator.nextLong(-1000, 1000));
+    }
+
+    /**
+     * Run task on the given number of threads at once, and wait for all of them.
+     */
+    static void runConcurrently(int threads, Runnable task) throws InterruptedException {
+        List<Thread> started = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            Thread thread = new Thread(task);
+            thread.start();
+            started.add(thread);
+        }
+        for (Thread thread : started) {
+            thread.join();
+        }
+    }
+
+    @Test
+    void updates() {
+        BigDouble x, y;
+        for (int i = 0; i < 1000; i++) {
+            x = randomValue();
+            y = randomValue();
+            AtomicBigDouble atomic = new AtomicBigDouble(x);
+            assertEquals(x, atomic.getAndAdd(y));
+            assertEquals(x.add(y), atomic.get());
+            assertEquals(x.add(y).add(y), atomic.addAndGet(y));
+            assertEquals(x.add(y).add(y), atomic.getAndUpdate(value -> value.neg()));
+            assertEquals(x.add(y).add(y), atomic.updateAndGet(value -> value.neg()));
+            assertEquals(x.add(y).add(y).mul(y), atomic.accumulateAndGet(y, BigDouble::mul));
+            assertEquals(x.add(y).add(y).mul(y), atomic.getAndAccumulate(y, BigDouble::max));
+            assertEquals(x.add(y).add(y).mul(y).max(y), atomic.getAndSet(x));
+            assertEquals(x, atomic.get());
+        }
+        assertEquals(BigDouble.ZERO, new AtomicBigDouble().get());
+    }
+
+    @Test
+    void compareAndSet() {
+        AtomicBigDouble atomic = new AtomicBigDouble(new BigDouble(5, 100));
+        // Any equal value will do, not just the stored instance.
+        assertTrue(atomic.compareAndSet(new BigDouble(5, 100), BigDouble.ONE));
+        assertEquals(BigDouble.ONE, atomic.get());
+        assertFalse(atomic.compareAndSet(new BigDouble(5, 100), BigDouble.ZERO));
+        assertEquals(BigDouble.ONE, atomic.get());
+
+        atomic.set(BigDouble.NaN);
+        assertTrue(atomic.compareAndSet(new BigDouble(Double.NaN), BigDouble.ONE));
+        atomic.lazySet(BigDouble.POSITIVE_INFINITY);
+        assertTrue(atomic.compareAndSet(BigDouble.POSITIVE_INFINITY, BigDouble.ZERO));
+        assertEquals(BigDouble.ZERO.toString(), atomic.toString());
+    }
+
+    @Test
+    void concurrentUpdates() throws InterruptedException {
+        int threads = 8;
+        int perThread = 10000;
+        AtomicBigDouble total = new AtomicBigDouble();
+        AtomicBigDouble product = new AtomicBigDouble(BigDouble.ONE);
+        AtomicBigDouble counter = new AtomicBigDouble();
+        runConcurrently(threads, () -> {
+            for (int i = 0; i < perThread; i++) {
+                total.addAndGet(BigDouble.ONE);
+                product.accumulateAndGet(new BigDouble(2), BigDouble::mul);
+                // A compareAndSet loop by hand: each thread only moves on once its increment lands.
+                BigDouble current;
+                do {
+                    current = counter.get();
+                } while (!counter.compareAndSet(current, current.add(BigDouble.ONE)));
+            }
+        });
+        assertEquals(new BigDouble(threads * perThread), total.get());
+        // Every thread multiplies by the same factor, so the order doesn't change the result.
+        BigDouble expectedProduct = BigDouble.ONE;
+        for (int i = 0; i < threads * perThread; i++) {
+            expectedProduct = expectedProduct.mul(new BigDouble(2));
+        }
+        assertEquals(expectedProduct, product.get());
+        assertEquals(new BigDouble(threads * perThread), counter.get());
+    }
+}
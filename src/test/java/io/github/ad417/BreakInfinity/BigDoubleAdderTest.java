@@ -0,0 +1,72 @@
+package io.github.ad417.BreakInfinity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BigDoubleAdderTest {
+    static final Random Generator = new Random();
+
+    @Test
+    void sums() {
+        BigDoubleAdder adder = new BigDoubleAdder();
+        assertEquals(BigDouble.ZERO, adder.sum());
+
+        BigDouble expected = BigDouble.ZERO;
+        BigDouble x;
+        for (int i = 0; i < 1000; i++) {
+            x = new BigDouble(Generator.nextDouble(-10, 10), Generator.nextLong(-20, 20));
+            adder.add(x);
+            expected = expected.add(x);
+        }
+        // A single thread never collides, so everything goes to the base in order.
+        assertEquals(expected, adder.sum());
+        assertEquals(expected.toString(), adder.toString());
+
+        adder.reset();
+        assertEquals(BigDouble.ZERO, adder.sum());
+        adder.increment();
+        adder.increment();
+        assertEquals(new BigDouble(2), adder.sumThenReset());
+        assertEquals(BigDouble.ZERO, adder.sum());
+    }
+
+    @Test
+    void concurrentAdds() throws InterruptedException {
+        int threads = 8;
+        int perThread = 20000;
+        BigDoubleAdder adder = new BigDoubleAdder();
+        AtomicBigDoubleTest.runConcurrently(threads, () -> {
+            for (int i = 0; i < perThread; i++) {
+                adder.increment();
+            }
+        });
+        // Small whole numbers add exactly, so no merge order can round them differently.
+        assertEquals(new BigDouble(threads * perThread), adder.sum());
+    }
+
+    @Test
+    void sumThenResetLosesNothing() throws InterruptedException {
+        int threads = 4;
+        int perThread = 50000;
+        BigDoubleAdder adder = new BigDoubleAdder();
+        AtomicBigDouble drained = new AtomicBigDouble();
+        Thread drainer = new Thread(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                drained.addAndGet(adder.sumThenReset());
+            }
+        });
+        drainer.start();
+        AtomicBigDoubleTest.runConcurrently(threads, () -> {
+            for (int i = 0; i < perThread; i++) {
+                adder.increment();
+            }
+        });
+        drainer.interrupt();
+        drainer.join();
+        drained.addAndGet(adder.sumThenReset());
+        assertEquals(new BigDouble(threads * perThread), drained.get());
+    }
+}
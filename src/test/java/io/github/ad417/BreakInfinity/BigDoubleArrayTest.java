@@ -0,0 +1,243 @@
+package io.github.ad417.BreakInfinity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static io.github.ad417.BreakInfinity.BigDoubleAssertions.assertClose;
+import static org.junit.jupiter.api.Assertions.*;
+
+class BigDoubleArrayTest {
+    static final Random Generator = new Random();
+    // Not a multiple of any vector length, so the scalar tail gets exercised too.
+    static final int SIZE = 1001;
+
+    public BigDouble randomValue() {
+        switch (Generator.nextInt(40)) {
+            case 0, 1: return BigDouble.ZERO;
+            case 2: return BigDouble.POSITIVE_INFINITY;
+            case 3: return BigDouble.NEGATIVE_INFINITY;
+            case 4: return BigDouble.NaN;
+            case 5: return new BigDouble(Generator.nextInt(-5, 5));
+            default: break;
+        }
+        return new BigDouble(
+                (Generator.nextBoolean() ? 1 : -1) * Generator.nextDouble(1, 10),
+                Generator.nextLong(-40, 40)
+        );
+    }
+
+    /**
+     * assertEquals, except that NaN matches NaN; BigDouble.equals never does.
+     */
+    static void assertSameValue(BigDouble expected, BigDouble actual) {
+        if (BigDouble.isNaN(expected)) {
+            assertTrue(BigDouble.isNaN(actual), String.format("expected: <NaN> but was: <%s>", actual));
+        } else {
+            assertEquals(expected, actual);
+        }
+    }
+
+    public BigDouble[] randomValues() {
+        BigDouble[] values = new BigDouble[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            values[i] = randomValue();
+        }
+        return values;
+    }
+
+    @Test
+    void getAndSet() {
+        BigDouble[] values = randomValues();
+        BigDoubleArray array = new BigDoubleArray(values);
+        assertEquals(SIZE, array.size());
+        for (int i = 0; i < SIZE; i++) {
+            assertSameValue(values[i], array.get(i));
+        }
+
+        array.set(0, BigDouble.POSITIVE_INFINITY);
+        assertEquals(BigDouble.POSITIVE_INFINITY, array.get(0));
+        assertEquals(BigDouble.ZERO, new BigDoubleArray(3).get(2));
+    }
+
+    @Test
+    void add() {
+        BigDouble[] x = randomValues();
+        BigDouble[] y = randomValues();
+        BigDoubleArray result = new BigDoubleArray(x).add(new BigDoubleArray(y));
+        for (int i = 0; i < SIZE; i++) {
+            assertSameValue(x[i].add(y[i]), result.get(i));
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> result.add(new BigDoubleArray(1)));
+    }
+
+    @Test
+    void addDoesNotAllocate() {
+        BigDouble[] x = new BigDouble[64 * SIZE];
+        BigDouble[] y = new BigDouble[x.length];
+        for (int i = 0; i < x.length; i++) {
+            x[i] = randomValue();
+            y[i] = randomValue();
+        }
+        BigDoubleArray other = new BigDoubleArray(y);
+        // The Vector API allocates its vectors until the kernel is compiled, and compilation happens in the
+        // background, so keep adding until it has had its chance rather than counting on a fixed warmup.
+        long allocated = Long.MAX_VALUE;
+        for (int round = 0; round < 200 && allocated >= 1024; round++) {
+            BigDoubleArray array = new BigDoubleArray(x);
+            long before = MutableBigDoubleTest.allocatedBytes();
+            array.add(other);
+            allocated = MutableBigDoubleTest.allocatedBytes() - before;
+        }
+        // Leave a little room for the measurement itself.
+        assertTrue(allocated < 1024, String.format("Adding %d elements allocated %d bytes", x.length, allocated));
+    }
+
+    @Test
+    void mul() {
+        BigDouble[] x = randomValues();
+        BigDouble[] y = randomValues();
+        BigDoubleArray result = new BigDoubleArray(x).mul(new BigDoubleArray(y));
+        for (int i = 0; i < SIZE; i++) {
+            assertSameValue(x[i].mul(y[i]), result.get(i));
+        }
+    }
+
+    @Test
+    void div() {
+        BigDouble[] x = randomValues();
+        BigDouble[] y = randomValues();
+        BigDoubleArray result = new BigDoubleArray(x).div(new BigDoubleArray(y));
+        for (int i = 0; i < SIZE; i++) {
+            assertSameValue(x[i].div(y[i]), result.get(i));
+        }
+    }
+
+    @Test
+    void cancellation() {
+        // Sums that wipe out most of their digits have to be renormalized the slow way.
+        BigDouble[] x = randomValues();
+        BigDouble[] y = new BigDouble[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            y[i] = i % 3 == 0 ? x[i].neg() : x[i].mul(-1.0000001);
+        }
+        BigDoubleArray result = new BigDoubleArray(x).add(new BigDoubleArray(y));
+        for (int i = 0; i < SIZE; i++) {
+            assertSameValue(x[i].add(y[i]), result.get(i));
+        }
+    }
+
+    @Test
+    void mulScalar() {
+        BigDouble[] x = randomValues();
+        BigDouble scalar = new BigDouble(1.15);
+        BigDoubleArray result = new BigDoubleArray(x).mulScalar(scalar);
+        for (int i = 0; i < SIZE; i++) {
+            assertSameValue(x[i].mul(scalar), result.get(i));
+        }
+    }
+
+    @Test
+    void sum() {
+        BigDouble[] x = randomValues();
+        BigDouble expected = BigDouble.ZERO;
+        for (BigDouble value : x) {
+            expected = expected.add(value);
+        }
+        assertEquals(expected, new BigDoubleArray(x).sum());
+        assertEquals(BigDouble.ZERO, new BigDoubleArray(0).sum());
+    }
+
+    @Test
+    void max() {
+        BigDouble[] x = randomValues();
+        BigDouble expected = x[0];
+        for (BigDouble value : x) {
+            expected = expected.max(value);
+        }
+        assertEquals(expected, new BigDoubleArray(x).max());
+        assertThrows(NoSuchElementException.class, () -> new BigDoubleArray(0).max());
+    }
+
+    /**
+     * Enough positive values to be split into many leaves, and no cancellation, so that
+     * the parallel results only differ from the sequential ones by rounding.
+     */
+    static BigDoubleArray largePositiveArray() {
+        BigDoubleArray array = new BigDoubleArray(100_003);
+        for (int i = 0; i < array.size(); i++) {
+            array.set(i, new BigDouble(Generator.nextDouble(1, 10), Generator.nextLong(-5, 5)));
+        }
+        return array;
+    }
+
+    @Test
+    void parallelReductions() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            BigDoubleArray large = largePositiveArray();
+            assertClose(large.sum(), large.parallelSum(pool), 1e-10);
+            assertClose(large.sum(), large.parallelSum(), 1e-10);
+            assertEquals(large.max(), large.parallelMax(pool));
+            // Make the largest value appear twice; either copy has the same value.
+            large.set(large.size() - 1, large.max());
+            assertEquals(large.max(), large.parallelMax(pool));
+
+            BigDouble product = BigDouble.ONE;
+            for (int i = 0; i < large.size(); i++) {
+                product = product.mul(large.get(i));
+            }
+            assertClose(product, large.parallelProduct(pool), 1e-10);
+
+            // Small arrays run sequentially, and match exactly.
+            BigDouble[] x = randomValues();
+            BigDoubleArray small = new BigDoubleArray(x);
+            assertSameValue(small.sum(), small.parallelSum(pool));
+            assertSameValue(small.max(), small.parallelMax(pool));
+            assertEquals(BigDouble.ONE, new BigDoubleArray(0).parallelProduct(pool));
+            assertThrows(NoSuchElementException.class, () -> new BigDoubleArray(0).parallelMax(pool));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void parallelPrefixSum() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            BigDoubleArray large = largePositiveArray();
+            BigDoubleArray expected = new BigDoubleArray(large.toArray());
+            MutableBigDouble total = new MutableBigDouble();
+            for (int i = 0; i < expected.size(); i++) {
+                expected.set(i, total.addAssign(expected.get(i)));
+            }
+            assertSame(large, large.parallelPrefixSum(pool));
+            for (int i = 0; i < large.size(); i++) {
+                assertClose(expected.get(i), large.get(i), 1e-10);
+            }
+
+            BigDouble[] x = randomValues();
+            BigDoubleArray small = new BigDoubleArray(x).parallelPrefixSum(pool);
+            BigDouble running = BigDouble.ZERO;
+            for (int i = 0; i < x.length; i++) {
+                running = running.add(x[i]);
+                assertSameValue(running, small.get(i));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void compareTo() {
+        BigDouble[] x = randomValues();
+        BigDouble[] y = randomValues();
+        int[] result = new BigDoubleArray(x).compareTo(new BigDoubleArray(y), new int[SIZE]);
+        for (int i = 0; i < SIZE; i++) {
+            assertEquals(x[i].compareTo(y[i]), result[i]);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package io.github.ad417.BreakInfinity;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Assertions shared by the tests of BigDouble and the types built on it.
+ */
+final class BigDoubleAssertions {
+    private BigDoubleAssertions() { }
+
+    /**
+     * Check that a value is within the given relative error of the expected one.
+     */
+    static void assertClose(BigDouble expected, BigDouble actual, double tolerance) {
+        assertTrue(expected.sub(actual).abs().lte(expected.abs().mul(tolerance)),
+                () -> "expected " + expected + " but was " + actual);
+    }
+}
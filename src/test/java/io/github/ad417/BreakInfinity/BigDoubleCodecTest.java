@@ -0,0 +1,235 @@
+package io.github.ad417.BreakInfinity;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BigDoubleCodecTest {
+    static final Random Generator = new Random();
+    static final int SIZE = 1000;
+
+    public BigDouble randomValue() {
+        switch (Generator.nextInt(40)) {
+            case 0: return BigDouble.ZERO;
+            case 1: return BigDouble.POSITIVE_INFINITY;
+            case 2: return BigDouble.NEGATIVE_INFINITY;
+            case 3: return BigDouble.NaN;
+            case 4: return new BigDouble(1, Generator.nextBoolean() ? Long.MAX_VALUE : Long.MIN_VALUE + 1);
+            default: break;
+        }
+        return new BigDouble(
+                (Generator.nextBoolean() ? 1 : -1) * Generator.nextDouble(1, 10),
+                Generator.nextLong(-1_000_000_000_000L, 1_000_000_000_000L) >> Generator.nextInt(40)
+        );
+    }
+
+    public BigDouble[] randomValues() {
+        BigDouble[] values = new BigDouble[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            values[i] = randomValue();
+        }
+        return values;
+    }
+
+    /**
+     * The exact same mantissa and exponent, and the same instance for the constants.
+     */
+    static void assertSameEncoding(BigDouble expected, BigDouble actual) {
+        if (BigDouble.isNaN(expected)) {
+            assertSame(BigDouble.NaN, actual);
+        } else if (BigDouble.isInfinite(expected) || expected.getMantissa() == 0) {
+            assertSame(expected, actual);
+        } else {
+            assertEquals(expected.getMantissa(), actual.getMantissa());
+            assertEquals(expected.getExponent(), actual.getExponent());
+        }
+    }
+
+    @Test
+    void roundTripByteBuffer() {
+        for (BigDoubleCodec codec : BigDoubleCodec.values()) {
+            for (ByteOrder order : new ByteOrder[] {ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN}) {
+                ByteBuffer buffer = ByteBuffer.allocate(SIZE * BigDoubleCodec.FIXED_SIZE).order(order);
+                BigDouble[] values = randomValues();
+                int expectedSize = 0;
+                for (BigDouble value : values) {
+                    codec.write(value, buffer);
+                    expectedSize += codec.encodedSize(value);
+                }
+                assertEquals(expectedSize, buffer.position());
+
+                buffer.flip();
+                for (BigDouble value : values) {
+                    assertSameEncoding(value, codec.read(buffer));
+                }
+                assertFalse(buffer.hasRemaining());
+            }
+        }
+    }
+
+    @Test
+    void roundTripStream() throws IOException {
+        for (BigDoubleCodec codec : BigDoubleCodec.values()) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            BigDouble[] values = randomValues();
+            for (BigDouble value : values) {
+                codec.write(value, out);
+            }
+
+            // Streams and big-endian buffers hold the same bytes.
+            ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+            for (BigDouble value : values) {
+                assertSameEncoding(value, codec.read(in));
+                assertSameEncoding(value, codec.read(buffer));
+            }
+            assertThrows(EOFException.class, () -> codec.read(in));
+        }
+    }
+
+    @Test
+    void specialValues() {
+        BigDouble[] specials = {
+                BigDouble.NaN, BigDouble.POSITIVE_INFINITY, BigDouble.NEGATIVE_INFINITY,
+                BigDouble.ZERO, BigDouble.ONE, BigDouble.ONE.neg()
+        };
+        for (BigDoubleCodec codec : BigDoubleCodec.values()) {
+            ByteBuffer buffer = ByteBuffer.allocate(specials.length * BigDoubleCodec.FIXED_SIZE);
+            for (BigDouble value : specials) {
+                codec.write(value, buffer);
+            }
+            buffer.flip();
+            assertSame(BigDouble.NaN, codec.read(buffer));
+            assertSame(BigDouble.POSITIVE_INFINITY, codec.read(buffer));
+            assertSame(BigDouble.NEGATIVE_INFINITY, codec.read(buffer));
+            assertSame(BigDouble.ZERO, codec.read(buffer));
+            assertEquals(BigDouble.ONE, codec.read(buffer));
+            assertEquals(BigDouble.ONE.neg(), codec.read(buffer));
+        }
+
+        // Values that weren't normalized when they were written get normalized on the way back in.
+        ByteBuffer buffer = ByteBuffer.allocate(BigDoubleCodec.FIXED_SIZE);
+        buffer.putDouble(250).putLong(7).flip();
+        assertEquals(new BigDouble(2.5, 9), BigDoubleCodec.FIXED.read(buffer));
+    }
+
+    @Test
+    void compactSize() {
+        assertEquals(9, BigDoubleCodec.COMPACT.encodedSize(new BigDouble(5, 63)));
+        assertEquals(9, BigDoubleCodec.COMPACT.encodedSize(new BigDouble(5, -64)));
+        assertEquals(10, BigDoubleCodec.COMPACT.encodedSize(new BigDouble(5, 64)));
+        assertEquals(10, BigDoubleCodec.COMPACT.encodedSize(new BigDouble(5, -8192)));
+        assertEquals(11, BigDoubleCodec.COMPACT.encodedSize(new BigDouble(5, 8192)));
+        assertEquals(18, BigDoubleCodec.COMPACT.encodedSize(new BigDouble(5, Long.MAX_VALUE)));
+        assertEquals(18, BigDoubleCodec.COMPACT.encodedSize(BigDouble.NaN));
+        assertEquals(16, BigDoubleCodec.FIXED.encodedSize(BigDouble.NaN));
+
+        // 11 bytes of continuation bits can't be an exponent.
+        ByteBuffer buffer = ByteBuffer.allocate(Double.BYTES + 11);
+        buffer.putDouble(1);
+        while (buffer.hasRemaining()) buffer.put((byte) 0x80);
+        buffer.flip();
+        assertThrows(IllegalArgumentException.class, () -> BigDoubleCodec.COMPACT.read(buffer));
+    }
+
+    @Test
+    void bulk() throws IOException {
+        for (BigDoubleCodec codec : BigDoubleCodec.values()) {
+            BigDouble[] values = randomValues();
+            BigDoubleArray array = new BigDoubleArray(values);
+
+            ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + SIZE * BigDoubleCodec.FIXED_SIZE);
+            codec.writeAll(values, buffer);
+            int written = buffer.position();
+            buffer.flip();
+            BigDouble[] read = codec.readAll(buffer);
+            assertEquals(SIZE, read.length);
+            for (int i = 0; i < SIZE; i++) {
+                assertSameEncoding(values[i], read[i]);
+            }
+
+            // The array overloads write exactly the same bytes.
+            ByteBuffer arrayBuffer = ByteBuffer.allocate(buffer.capacity());
+            codec.writeAll(array, arrayBuffer);
+            assertEquals(buffer.flip(), arrayBuffer.flip());
+            BigDoubleArray readArray = codec.readArray(arrayBuffer);
+            for (int i = 0; i < SIZE; i++) {
+                assertEquals(values[i].getMantissa(), readArray.getMantissa(i));
+                assertEquals(values[i].getExponent(), readArray.getExponent(i));
+            }
+
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            codec.writeAll(array, new DataOutputStream(bytes));
+            assertEquals(written, bytes.size());
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+            readArray = codec.readArray(in);
+            for (int i = 0; i < SIZE; i++) {
+                assertEquals(values[i].getMantissa(), readArray.getMantissa(i));
+                assertEquals(values[i].getExponent(), readArray.getExponent(i));
+            }
+
+            bytes.reset();
+            codec.writeAll(new BigDouble[0], new DataOutputStream(bytes));
+            in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+            assertEquals(0, codec.readAll(in).length);
+        }
+
+        // A count that can't fit in what's left is rejected before anything is allocated for it.
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        buffer.putInt(Integer.MAX_VALUE).flip();
+        assertThrows(BufferUnderflowException.class, () -> BigDoubleCodec.FIXED.readAll(buffer));
+        buffer.clear().putInt(-1).flip();
+        assertThrows(IllegalArgumentException.class, () -> BigDoubleCodec.FIXED.readAll(buffer));
+
+        // A stream can't be checked up front, so a huge count runs out of values instead of memory.
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(Integer.MAX_VALUE);
+        for (int i = 0; i < 3000; i++) BigDoubleCodec.FIXED.write(BigDouble.ONE, out);
+        assertThrows(EOFException.class, () -> BigDoubleCodec.FIXED.readAll(
+                new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))));
+        assertThrows(EOFException.class, () -> BigDoubleCodec.FIXED.readArray(
+                new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))));
+    }
+
+    @Test
+    void streamArrayReadsDontCreateValues() throws IOException {
+        for (BigDoubleCodec codec : BigDoubleCodec.values()) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            codec.writeAll(randomValues(), new DataOutputStream(bytes));
+            byte[] written = bytes.toByteArray();
+            ByteArrayInputStream stream = new ByteArrayInputStream(written);
+            DataInputStream in = new DataInputStream(stream);
+            for (int round = 0; round < 20; round++) {
+                stream.reset();
+                codec.readArray(in);
+                stream.reset();
+                codec.readAll(in);
+            }
+
+            stream.reset();
+            long before = MutableBigDoubleTest.allocatedBytes();
+            BigDoubleArray array = codec.readArray(in);
+            long arrayBytes = MutableBigDoubleTest.allocatedBytes() - before;
+            stream.reset();
+            before = MutableBigDoubleTest.allocatedBytes();
+            codec.readAll(in);
+            long valueBytes = MutableBigDoubleTest.allocatedBytes() - before;
+
+            assertEquals(SIZE, array.size());
+            // Just the mantissa and exponent arrays. Leave a little room for the measurement itself.
+            long arraysSize = (long) SIZE * (Double.BYTES + Long.BYTES);
+            assertTrue(arrayBytes < arraysSize + 1024, String.format("readArray allocated %d bytes", arrayBytes));
+            // readAll creates an object for every value, on top of an array of references to them.
+            assertTrue(valueBytes > arrayBytes + (long) SIZE * Long.BYTES,
+                    String.format("readArray allocated %d bytes, and readAll %d", arrayBytes, valueBytes));
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package io.github.ad417.BreakInfinity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static io.github.ad417.BreakInfinity.BigDoubleAssertions.assertClose;
+import static org.junit.jupiter.api.Assertions.*;
+
+class BigDoubleCollectorsTest {
+    static final Random Generator = new Random();
+
+    public List<BigDouble> randomValues(int count) {
+        List<BigDouble> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            // Positive, so that sums can't cancel out and leave nothing but rounding error.
+            values.add(new BigDouble(Generator.nextDouble(1, 10), Generator.nextLong(-20, 20)));
+        }
+        return values;
+    }
+
+    /**
+     * How far apart two sums can be, since a parallel stream adds in a different order.
+     */
+    static final double ROUNDING = 1e-12;
+
+    @Test
+    void summing() {
+        List<BigDouble> values = randomValues(10000);
+        BigDouble expected = values.stream().reduce(BigDouble.ZERO, BigDouble::add);
+        // Sequentially, the same additions happen in the same order.
+        assertEquals(expected, values.stream().collect(BigDoubleCollectors.summing()));
+        assertClose(expected, values.parallelStream().collect(BigDoubleCollectors.summing()), ROUNDING);
+        assertEquals(values.stream().map(value -> value.mul(2)).reduce(BigDouble.ZERO, BigDouble::add),
+                values.stream().collect(BigDoubleCollectors.summing(value -> value.mul(2))));
+        assertEquals(BigDouble.ZERO, Stream.<BigDouble>empty().collect(BigDoubleCollectors.summing()));
+    }
+
+    @Test
+    void summingMixedSigns() {
+        List<BigDouble> values = new ArrayList<>(10000);
+        for (int i = 0; i < 10000; i++) {
+            values.add(new BigDouble(Generator.nextDouble(-10, 10), Generator.nextLong(-20, 20)));
+        }
+        BigDouble expected = values.stream().reduce(BigDouble.ZERO, BigDouble::add);
+        BigDouble parallel = values.parallelStream().collect(BigDoubleCollectors.summing());
+        // The sum can cancel down to almost nothing, so the bound is absolute: every add rounds the
+        // running total to 14 places, and no running total is bigger than the sum of the magnitudes.
+        BigDouble magnitudes = values.stream().map(value -> value.abs()).reduce(BigDouble.ZERO, BigDouble::add);
+        BigDouble bound = magnitudes.mul(2 * values.size() * 0.5e-14);
+        assertTrue(expected.sub(parallel).abs().lte(bound), "expected " + expected + " but was " + parallel);
+    }
+
+    @Test
+    void averaging() {
+        List<BigDouble> values = randomValues(10000);
+        BigDouble expected = values.stream().reduce(BigDouble.ZERO, BigDouble::add).div(values.size());
+        assertEquals(expected, values.stream().collect(BigDoubleCollectors.averaging()));
+        assertClose(expected, values.parallelStream().collect(BigDoubleCollectors.averaging()), ROUNDING);
+        assertEquals(BigDouble.ZERO, Stream.<BigDouble>empty().collect(BigDoubleCollectors.averaging()));
+        assertEquals(new BigDouble(6).div(3), Stream.of("1", "2", "3").collect(BigDoubleCollectors.averaging(BigDouble::new)));
+    }
+
+    @Test
+    void maxBy() {
+        List<BigDouble> values = randomValues(10000);
+        BigDouble expected = values.stream().max(BigDouble::compareTo).orElseThrow();
+        assertEquals(Optional.of(expected), values.stream().collect(BigDoubleCollectors.max()));
+        assertEquals(Optional.of(expected), values.parallelStream().collect(BigDoubleCollectors.max()));
+        assertEquals(Optional.empty(), Stream.<BigDouble>empty().collect(BigDoubleCollectors.max()));
+
+        // Ties go to the first element, sequential or not.
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            names.add("1e" + (i % 100) + "#" + i);
+        }
+        Optional<String> first = Optional.of("1e99#99");
+        assertEquals(first, names.stream()
+                .collect(BigDoubleCollectors.maxBy(name -> new BigDouble(name.substring(0, name.indexOf('#'))))));
+        assertEquals(first, names.parallelStream()
+                .collect(BigDoubleCollectors.maxBy(name -> new BigDouble(name.substring(0, name.indexOf('#'))))));
+    }
+
+    @Test
+    void summaryStatistics() {
+        List<BigDouble> values = randomValues(10000);
+        BigDoubleSummaryStatistics statistics = values.stream().collect(BigDoubleCollectors.summarizing());
+        BigDouble sum = values.stream().reduce(BigDouble.ZERO, BigDouble::add);
+        assertEquals(values.size(), statistics.getCount());
+        assertEquals(sum, statistics.getSum());
+        assertEquals(sum.div(values.size()), statistics.getAverage());
+        assertEquals(values.stream().min(BigDouble::compareTo).orElseThrow(), statistics.getMin());
+        assertEquals(values.stream().max(BigDouble::compareTo).orElseThrow(), statistics.getMax());
+
+        BigDoubleSummaryStatistics parallel = values.parallelStream().collect(BigDoubleCollectors.summarizing());
+        assertEquals(statistics.getCount(), parallel.getCount());
+        assertClose(statistics.getSum(), parallel.getSum(), ROUNDING);
+        assertEquals(statistics.getMin(), parallel.getMin());
+        assertEquals(statistics.getMax(), parallel.getMax());
+
+        BigDoubleSummaryStatistics empty = new BigDoubleSummaryStatistics();
+        assertEquals(0, empty.getCount());
+        assertEquals(BigDouble.ZERO, empty.getSum());
+        assertEquals(BigDouble.ZERO, empty.getAverage());
+        assertEquals(BigDouble.POSITIVE_INFINITY, empty.getMin());
+        assertEquals(BigDouble.NEGATIVE_INFINITY, empty.getMax());
+
+        BigDoubleSummaryStatistics small = new BigDoubleSummaryStatistics();
+        List.of(new BigDouble(3), new BigDouble(1), new BigDouble(5)).forEach(small);
+        empty.combine(small);
+        assertEquals(3, empty.getCount());
+        assertEquals(new BigDouble(9), empty.getSum());
+        assertEquals(new BigDouble(9).div(3), empty.getAverage());
+        assertEquals(new BigDouble(1), empty.getMin());
+        assertEquals(new BigDouble(5), empty.getMax());
+        assertEquals(String.format("BigDoubleSummaryStatistics{count=3, sum=%s, min=%s, average=%s, max=%s}",
+                new BigDouble(9), new BigDouble(1), new BigDouble(9).div(3), new BigDouble(5)), empty.toString());
+    }
+}
@@ -0,0 +1,106 @@
+package io.github.ad417.BreakInfinity;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BigDoubleLiteralCacheTest {
+    static final Random Generator = new Random();
+
+    @AfterEach
+    void restoreDefaults() {
+        BigDoubleLiteralCache.setSize(BigDoubleLiteralCache.DEFAULT_SIZE);
+    }
+
+    @Test
+    void hitsAndMisses() {
+        BigDoubleLiteralCache.clear();
+        BigDoubleLiteralCache.resetStatistics();
+        BigDouble cost = new BigDouble(1.5, 20);
+
+        assertEquals(cost.mul(BigDouble.parseBigDouble("1.15")), cost.times("1.15"));
+        assertEquals(0, BigDoubleLiteralCache.hitCount());
+        assertEquals(1, BigDoubleLiteralCache.missCount());
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(cost.mul(BigDouble.parseBigDouble("1.15")), cost.mul("1.15"));
+        }
+        assertFalse(cost.gte("1e100"));
+        assertTrue(cost.lt("1e100"));
+        assertEquals(11, BigDoubleLiteralCache.hitCount());
+        assertEquals(2, BigDoubleLiteralCache.missCount());
+        assertEquals(11.0 / 13, BigDoubleLiteralCache.hitRate());
+
+        // A new String with the same text is the same literal.
+        assertEquals(cost.add(BigDouble.parseBigDouble("1e100")), cost.add(new String("1e100")));
+        assertEquals(12, BigDoubleLiteralCache.hitCount());
+
+        BigDoubleLiteralCache.clear();
+        assertEquals(BigDouble.parseBigDouble("1e100"), BigDouble.abs("1e100"));
+        assertEquals(3, BigDoubleLiteralCache.missCount());
+
+        BigDoubleLiteralCache.resetStatistics();
+        assertEquals(0, BigDoubleLiteralCache.hitRate());
+        assertEquals(0, BigDoubleLiteralCache.missCount());
+    }
+
+    @Test
+    void malformedLiterals() {
+        BigDoubleLiteralCache.clear();
+        assertThrows(NumberFormatException.class, () -> BigDouble.ONE.add("1.2.3"));
+        // Still malformed the second time around.
+        assertThrows(NumberFormatException.class, () -> BigDouble.ONE.add("1.2.3"));
+        assertTrue(BigDouble.isNaN(BigDouble.ONE.add("NaN")));
+        assertTrue(BigDouble.isNaN(BigDouble.ONE.add("NaN")));
+    }
+
+    @Test
+    void size() {
+        BigDoubleLiteralCache.setSize(1000);
+        assertEquals(1024, BigDoubleLiteralCache.getSize());
+        BigDoubleLiteralCache.setSize(1);
+        assertEquals(1, BigDoubleLiteralCache.getSize());
+        assertThrows(IllegalArgumentException.class, () -> BigDoubleLiteralCache.setSize(-1));
+
+        // A single slot still gives the right answers as literals push each other out.
+        for (int i = 0; i < 1000; i++) {
+            String literal = Generator.nextInt(1, 5) + "e" + Generator.nextInt(-5, 5);
+            assertEquals(BigDouble.ONE.add(BigDouble.parseBigDouble(literal)), BigDouble.ONE.add(literal));
+        }
+
+        // With caching off, every call is a miss.
+        BigDoubleLiteralCache.setSize(0);
+        assertEquals(0, BigDoubleLiteralCache.getSize());
+        BigDoubleLiteralCache.resetStatistics();
+        for (int i = 0; i < 5; i++) {
+            assertEquals(new BigDouble(2.5), BigDouble.ONE.mul("2.5"));
+        }
+        assertEquals(0, BigDoubleLiteralCache.hitCount());
+        assertEquals(5, BigDoubleLiteralCache.missCount());
+    }
+
+    @Test
+    void concurrentLookups() throws InterruptedException {
+        BigDoubleLiteralCache.setSize(16);
+        String[] literals = new String[64];
+        BigDouble[] expected = new BigDouble[literals.length];
+        for (int i = 0; i < literals.length; i++) {
+            literals[i] = Generator.nextDouble(1, 10) + "e" + Generator.nextInt(-300, 300);
+            expected[i] = BigDouble.parseBigDouble(literals[i]);
+        }
+        // Assertions on other threads wouldn't fail the test, so count the wrong answers instead.
+        AtomicInteger wrong = new AtomicInteger();
+        AtomicBigDoubleTest.runConcurrently(4, () -> {
+            Random random = new Random();
+            for (int i = 0; i < 20_000; i++) {
+                int index = random.nextInt(literals.length);
+                if (!expected[index].equals(BigDouble.ONE.mul(literals[index]))) wrong.incrementAndGet();
+            }
+        });
+        assertEquals(0, wrong.get());
+    }
+}
@@ -0,0 +1,78 @@
+package io.github.ad417.BreakInfinity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BigDoubleLongMapTest {
+    static final Random Generator = new Random();
+
+    /**
+     * Values from a small pool, so puts and removes keep hitting keys already in the map.
+     */
+    public BigDouble randomKey() {
+        return new BigDouble(
+                (Generator.nextBoolean() ? 1 : -1) * (1 + Generator.nextInt(50) / 8.0),
+                Generator.nextLong(-20, 20)
+        );
+    }
+
+    @Test
+    void matchesHashMap() {
+        BigDoubleLongMap map = new BigDoubleLongMap();
+        Map<BigDouble, Long> expected = new HashMap<>();
+        for (int i = 0; i < 100_000; i++) {
+            BigDouble key = randomKey();
+            switch (Generator.nextInt(5)) {
+                case 0:
+                    assertEquals(expected.getOrDefault(key, 0L), map.put(key, i));
+                    expected.put(key, (long) i);
+                    break;
+                case 1:
+                    assertEquals((long) expected.merge(key, 3L, Long::sum), map.addTo(key, 3));
+                    break;
+                case 2:
+                    Long removed = expected.remove(key);
+                    assertEquals(removed == null ? 0 : removed, map.remove(key));
+                    break;
+                default:
+                    assertEquals(expected.getOrDefault(key, -1L), map.getOrDefault(key, -1));
+                    assertEquals(expected.containsKey(key), map.containsKey(key));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        Map<BigDouble, Long> contents = new HashMap<>();
+        map.forEach(contents::put);
+        assertEquals(expected, contents);
+
+        assertEquals(7, map.computeIfAbsent(BigDouble.NaN, key -> 7));
+        assertEquals(7, map.computeIfAbsent(BigDouble.NaN, key -> 8));
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertEquals(0, map.getOrDefault(BigDouble.NaN, 0));
+    }
+
+    @Test
+    void lookupsDontAllocate() {
+        BigDoubleLongMap map = new BigDoubleLongMap(10_000);
+        BigDouble[] keys = new BigDouble[10_000];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = new BigDouble(Generator.nextDouble(1, 10), Generator.nextLong(-1000, 1000));
+        }
+        for (BigDouble key : keys) map.addTo(key, 1);
+        long before = MutableBigDoubleTest.allocatedBytes();
+        long total = 0;
+        for (BigDouble key : keys) {
+            map.addTo(key, 1);
+            total += map.getOrDefault(key, 0);
+        }
+        long allocated = MutableBigDoubleTest.allocatedBytes() - before;
+        // Leave a little room for the measurement itself.
+        assertTrue(allocated < 1024, String.format("Lookups allocated %d bytes", allocated));
+        assertEquals(2 * keys.length, total);
+    }
+}
@@ -0,0 +1,92 @@
+package io.github.ad417.BreakInfinity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BigDoubleObjectMapTest {
+    static final Random Generator = new Random();
+
+    /**
+     * Values from a small pool, so puts and removes keep hitting keys already in the map.
+     */
+    public BigDouble randomKey() {
+        return new BigDouble(
+                (Generator.nextBoolean() ? 1 : -1) * (1 + Generator.nextInt(50) / 8.0),
+                Generator.nextLong(-20, 20)
+        );
+    }
+
+    @Test
+    void matchesHashMap() {
+        BigDoubleObjectMap<String> map = new BigDoubleObjectMap<>();
+        Map<BigDouble, String> expected = new HashMap<>();
+        for (int i = 0; i < 100_000; i++) {
+            BigDouble key = randomKey();
+            switch (Generator.nextInt(4)) {
+                case 0:
+                case 1:
+                    String value = "v" + i;
+                    assertEquals(expected.put(key, value), map.put(key, value));
+                    break;
+                case 2:
+                    assertEquals(expected.remove(key), map.remove(key));
+                    break;
+                default:
+                    assertEquals(expected.get(key), map.get(key));
+                    assertEquals(expected.containsKey(key), map.containsKey(key));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        Map<BigDouble, String> contents = new HashMap<>();
+        map.forEach(contents::put);
+        assertEquals(expected, contents);
+
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertNull(map.get(BigDouble.ONE));
+        assertEquals("none", map.getOrDefault(BigDouble.ONE, "none"));
+    }
+
+    @Test
+    void specialKeys() {
+        BigDoubleObjectMap<String> map = new BigDoubleObjectMap<>(4);
+        map.put(BigDouble.NaN, "NaN");
+        map.put(BigDouble.ZERO, "zero");
+        map.put(BigDouble.POSITIVE_INFINITY, "infinity");
+        map.put(new BigDouble(1, Long.MAX_VALUE / 2), "huge");
+        assertEquals("NaN", map.get(BigDouble.fromMantissaExponentNoNormalize(Double.NaN, Long.MIN_VALUE)));
+        assertEquals("zero", map.get(BigDouble.fromMantissaExponentNoNormalize(-0.0, 0)));
+        assertEquals("infinity", map.get(BigDouble.valueOf(Double.POSITIVE_INFINITY)));
+        assertEquals("huge", map.get(new BigDouble(10, Long.MAX_VALUE / 2 - 1)));
+        assertEquals(4, map.size());
+
+        assertEquals("computed", map.computeIfAbsent(BigDouble.ONE, key -> "computed"));
+        assertEquals("computed", map.computeIfAbsent(BigDouble.ONE, key -> "again"));
+        assertNull(map.computeIfAbsent(new BigDouble(2), key -> null));
+        assertFalse(map.containsKey(new BigDouble(2)));
+        assertThrows(IllegalArgumentException.class, () -> new BigDoubleObjectMap<>(-1));
+    }
+
+    @Test
+    void lookupsDontAllocate() {
+        BigDoubleObjectMap<String> map = new BigDoubleObjectMap<>();
+        BigDouble[] keys = new BigDouble[10_000];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = new BigDouble(Generator.nextDouble(1, 10), Generator.nextLong(-1000, 1000));
+            map.put(keys[i], "v" + i);
+        }
+        int found = 0;
+        for (BigDouble key : keys) if (map.get(key) != null) found++;
+        long before = MutableBigDoubleTest.allocatedBytes();
+        for (BigDouble key : keys) if (map.get(key) != null) found++;
+        long allocated = MutableBigDoubleTest.allocatedBytes() - before;
+        // Leave a little room for the measurement itself.
+        assertTrue(allocated < 1024, String.format("Lookups allocated %d bytes", allocated));
+        assertEquals(2 * keys.length, found);
+    }
+}
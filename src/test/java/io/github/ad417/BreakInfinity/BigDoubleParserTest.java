@@ -0,0 +1,166 @@
+package io.github.ad417.BreakInfinity;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BigDoubleParserTest {
+    static final Random Generator = new Random();
+
+    /**
+     * parseBigDouble as it was before BigDoubleParser, to check the two agree.
+     */
+    static BigDouble legacyParse(String value) {
+        if (value.indexOf('e') != -1) {
+            var parts = value.split("e");
+            return new BigDouble(Double.parseDouble(parts[0]), Long.parseLong(parts[1]));
+        }
+        return new BigDouble(Double.parseDouble(value));
+    }
+
+    /**
+     * A decimal of 1 to 20 digits, with the point anywhere (or nowhere), and maybe an exponent.
+     */
+    static String randomDecimal() {
+        StringBuilder text = new StringBuilder();
+        if (Generator.nextBoolean()) text.append('-');
+        int length = Generator.nextInt(1, 21);
+        int point = Generator.nextInt(-1, length + 1);
+        for (int i = 0; i < length; i++) {
+            if (i == point) text.append('.');
+            text.append((char) ('0' + Generator.nextInt(10)));
+        }
+        if (Generator.nextBoolean()) {
+            text.append('e').append(Generator.nextLong(-1_000_000_000L, 1_000_000_000L));
+        }
+        return text.toString();
+    }
+
+    static void assertSameValue(BigDouble expected, BigDouble actual, String text) {
+        assertEquals(expected.getMantissa(), actual.getMantissa(), text);
+        assertEquals(expected.getExponent(), actual.getExponent(), text);
+    }
+
+    @Test
+    void matchesLegacyParser() {
+        for (int i = 0; i < 100000; i++) {
+            String text = randomDecimal();
+            assertSameValue(legacyParse(text), BigDoubleParser.parse(text), text);
+        }
+        BigDouble x;
+        for (int i = 0; i < 10000; i++) {
+            x = new BigDouble(Generator.nextDouble(-10, 10), Generator.nextLong());
+            String text = x.toString();
+            assertSameValue(legacyParse(text), BigDoubleParser.parse(text), text);
+        }
+
+        String[] edgeCases = {
+                "0", "-0", "0.0", "0e5", "1", "10", "9.999999999999999", "9.9999999999999999",
+                "1.6185090178580044e+299178078", "7.4649600000000005e1975308643",
+                "123456789012345678", "1234567890123456789012345", "0.000000000000000000000000123",
+                "4.9e-324", "1e-400", "1.7976931348623157e308", "1e400", "5.", ".5", "  12.5\t",
+                "1e9223372036854775807", "1e-9223372036854775808", "Infinity", "-Infinity",
+        };
+        for (String text : edgeCases) {
+            assertSameValue(legacyParse(text), BigDoubleParser.parse(text), text);
+        }
+    }
+
+    @Test
+    void decimalToDouble() {
+        long digits;
+        for (int i = 0; i < 100000; i++) {
+            // Mostly values too big to convert exactly, which take the corrected path.
+            digits = Generator.nextLong(1, 1_000_000_000_000_000_000L);
+            int scale = Generator.nextInt(0, 23);
+            String text = digits + "e-" + scale;
+            assertEquals(Double.parseDouble(text), BigDoubleParser.decimalToDouble(digits, -scale), text);
+        }
+
+        // Quotients exactly halfway between two doubles, which round to the even one. An odd
+        // number between 2 ^ 53 and 2 ^ 54 is halfway between two doubles, and so is
+        // that number times 5 ^ scale over 10 ^ scale.
+        for (int i = 0; i < 10000; i++) {
+            long odd = Generator.nextLong(1L << 53, 1L << 54) | 1;
+            int scale = Generator.nextInt(1, 3);
+            long halfway = odd * (scale == 1 ? 5 : 25);
+            String text = halfway + "e-" + scale;
+            assertEquals(Double.parseDouble(text), BigDoubleParser.decimalToDouble(halfway, -scale), text);
+        }
+    }
+
+    @Test
+    void formats() {
+        BigDouble expected = new BigDouble(1.5, 300);
+        assertEquals(expected, BigDoubleParser.parse("1.5e300"));
+        assertEquals(expected, BigDoubleParser.parse("1.5E300"));
+        assertEquals(expected, BigDoubleParser.parse("1.5e+300"));
+        assertEquals(expected, BigDoubleParser.parse("+1.5e300"));
+        assertEquals(expected, BigDoubleParser.parse(" \t\n1.5e300 "));
+        assertEquals(expected, BigDoubleParser.parse("15e299"));
+        assertEquals(expected, BigDoubleParser.parse("0.0015e303"));
+        assertEquals(expected.neg(), BigDoubleParser.parse("-1.5E+300"));
+        assertEquals(new BigDouble(1.5, -300), BigDoubleParser.parse("1.5e-300"));
+        assertEquals(new BigDouble(1, 5), BigDoubleParser.parse("1E5"));
+
+        assertSame(BigDouble.ZERO, BigDoubleParser.parse("0e100"));
+        assertTrue(BigDouble.isNaN(BigDoubleParser.parse("NaN")));
+        assertTrue(BigDouble.isPositiveInfinity(BigDoubleParser.parse("Infinity")));
+        assertTrue(BigDouble.isNegativeInfinity(BigDoubleParser.parse("-Infinity")));
+
+        String[] invalid = {
+                "", " ", "-", ".", "e5", "1e", "1e+", "1.5.5", "1e5.5", "1e5e5", "abc", "1x",
+                "-NaN", "1e9223372036854775808", "1e-9223372036854775809", "0x1p3", "1.5d",
+        };
+        for (String text : invalid) {
+            assertThrows(NumberFormatException.class, () -> BigDoubleParser.parse(text), text);
+        }
+    }
+
+    @Test
+    void buffers() {
+        String line = "12,3.5e10,-7E-3,";
+        char[] chars = line.toCharArray();
+        byte[] bytes = line.getBytes(StandardCharsets.US_ASCII);
+        BigDouble[] expected = {new BigDouble(12), new BigDouble(3.5, 10), new BigDouble(-7, -3)};
+
+        MutableBigDouble slot = new MutableBigDouble();
+        int start = 0;
+        for (BigDouble value : expected) {
+            int end = line.indexOf(',', start);
+            assertEquals(value, BigDoubleParser.parse(line, start, end));
+            assertEquals(value, BigDoubleParser.parse(new StringBuilder(line), start, end));
+            assertEquals(value, BigDoubleParser.parse(chars, start, end - start));
+            assertEquals(value, BigDoubleParser.parse(bytes, start, end - start));
+            assertEquals(value, BigDoubleParser.parseInto(line, start, end, slot).toBigDouble());
+            assertEquals(value, BigDoubleParser.parseInto(chars, start, end - start, slot).toBigDouble());
+            assertEquals(value, BigDoubleParser.parseInto(bytes, start, end - start, slot).toBigDouble());
+            start = end + 1;
+        }
+
+        assertThrows(IndexOutOfBoundsException.class, () -> BigDoubleParser.parse(chars, 10, 10));
+        slot.set(BigDouble.ONE);
+        assertThrows(NumberFormatException.class, () -> BigDoubleParser.parseInto(bytes, 0, 3, slot));
+        assertEquals(BigDouble.ONE, slot.toBigDouble());
+    }
+
+    @Test
+    void parseIntoDoesNotAllocate() {
+        byte[] bytes = "1.6185090178580044e+299178078".getBytes(StandardCharsets.US_ASCII);
+        MutableBigDouble slot = new MutableBigDouble();
+        BigDoubleParser.parseInto(bytes, 0, bytes.length, slot);
+
+        long before = MutableBigDoubleTest.allocatedBytes();
+        for (int i = 0; i < 10000; i++) {
+            BigDoubleParser.parseInto(bytes, 0, bytes.length, slot);
+        }
+        long allocated = MutableBigDoubleTest.allocatedBytes() - before;
+
+        // Leave a little room for the measurement itself.
+        assertTrue(allocated < 1024, String.format("Parsing allocated %d bytes", allocated));
+        assertEquals(new BigDouble("1.6185090178580044e+299178078"), slot.toBigDouble());
+    }
+}
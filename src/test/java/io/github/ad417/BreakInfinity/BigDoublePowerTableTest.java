@@ -0,0 +1,70 @@
+package io.github.ad417.BreakInfinity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static io.github.ad417.BreakInfinity.BigDoubleAssertions.assertClose;
+import static org.junit.jupiter.api.Assertions.*;
+
+class BigDoublePowerTableTest {
+    static final Random Generator = new Random();
+
+    public BigDouble randomValue() {
+        return new BigDouble(
+                (Generator.nextBoolean() ? 1 : -1) * Generator.nextDouble(1, 10),
+                Generator.nextLong(-1000, 1000)
+        );
+    }
+
+    @Test
+    void matchesPow() {
+        for (int i = 0; i < 100; i++) {
+            BigDouble base = randomValue();
+            BigDoublePowerTable table = new BigDoublePowerTable(base, Generator.nextInt(0, 100));
+            assertSame(base, table.getBase());
+            for (int j = 0; j < 100; j++) {
+                long power = Generator.nextInt(3) == 0 ? Generator.nextLong(-1_000_000, 1_000_000) : Generator.nextLong(-100, 100);
+                BigDouble expected = base.pow(power);
+                assertClose(expected, table.pow(power), 1e-15 + Math.abs(power) * 1e-18);
+                // Asking again gives the cached result, or the same one worked out again.
+                assertEquals(table.pow(power), table.pow(power));
+            }
+        }
+
+        BigDoublePowerTable two = new BigDoublePowerTable(new BigDouble(2));
+        assertEquals(new BigDouble(1125899906842624L), two.pow(50));
+        assertEquals(new BigDouble(0.0625), two.pow(-4));
+        assertSame(BigDouble.ONE, two.pow(0));
+        assertEquals(new BigDouble(-8), new BigDoublePowerTable(new BigDouble(-2)).pow(3));
+        assertEquals(BigDouble.ZERO, new BigDoublePowerTable(BigDouble.ZERO).pow(3));
+        assertTrue(BigDouble.isNaN(new BigDoublePowerTable(BigDouble.NaN).pow(3)));
+
+        // Powers whose exponent would overflow go to BigDouble.pow.
+        BigDouble huge = new BigDouble(1.5, Long.MAX_VALUE / 8);
+        BigDoublePowerTable hugeTable = new BigDoublePowerTable(huge);
+        assertEquals(huge.pow(1000L), hugeTable.pow(1000));
+        assertEquals(huge.pow(3L), hugeTable.pow(3));
+
+        assertThrows(IllegalArgumentException.class, () -> new BigDoublePowerTable(BigDouble.ONE, -1));
+    }
+
+    @Test
+    void geometricSeries() {
+        for (int i = 0; i < 1000; i++) {
+            BigDouble ratio = new BigDouble(Generator.nextDouble(1.01, 2));
+            BigDoublePowerTable table = new BigDoublePowerTable(ratio);
+            BigDouble start = new BigDouble(Generator.nextDouble(1, 10), Generator.nextLong(0, 5));
+            int owned = Generator.nextInt(0, 1000);
+            int count = Generator.nextInt(1, 100);
+            BigDouble resources = new BigDouble(Generator.nextDouble(1, 10), Generator.nextLong(0, 100));
+
+            assertClose(BigDouble.sumGeometricSeries(count, start, ratio, owned),
+                    BigDouble.sumGeometricSeries(count, start, table, owned), 1e-13);
+            BigDouble expected = BigDouble.affordGeometricSeries(resources, start, ratio, owned);
+            BigDouble actual = BigDouble.affordGeometricSeries(resources, start, table, owned);
+            // A floor, so a difference in the last digit can tip it over by one.
+            assertTrue(expected.sub(actual).abs().lte(BigDouble.ONE), expected + " against " + actual);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package io.github.ad417.BreakInfinity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BigDoubleSortTest {
+    static final Random Generator = new Random();
+
+    public BigDouble randomValue() {
+        switch (Generator.nextInt(20)) {
+            case 0: return BigDouble.NaN;
+            case 1: return Generator.nextBoolean() ? BigDouble.POSITIVE_INFINITY : BigDouble.NEGATIVE_INFINITY;
+            case 2: return BigDouble.ZERO;
+            // Closer together than the sort keys can tell apart.
+            case 3: return new BigDouble(1 + Generator.nextInt(100) * 1e-12, 5);
+            // Past PackedBigDouble's exponent range.
+            case 4: return new BigDouble(Generator.nextDouble(1, 10), Generator.nextLong(1L << 40, 1L << 50));
+            default: return new BigDouble(
+                    (Generator.nextBoolean() ? 1 : -1) * Generator.nextDouble(1, 10),
+                    Generator.nextLong(-1000, 1000)
+            );
+        }
+    }
+
+    public BigDouble[] randomValues(int length) {
+        BigDouble[] values = new BigDouble[length];
+        for (int i = 0; i < length; i++) {
+            // Repeat some values, so stability shows up in the results.
+            values[i] = i > 0 && Generator.nextInt(10) == 0 ? values[Generator.nextInt(i)] : randomValue();
+        }
+        return values;
+    }
+
+    /**
+     * Check the array holds exactly what Arrays.sort would have put there, down to which of
+     * two equal values comes first.
+     */
+    static void assertSortedLike(BigDouble[] expected, BigDouble[] actual) {
+        assertEquals(expected.length, actual.length);
+        for (int i = 0; i < expected.length; i++) {
+            int index = i;
+            assertSame(expected[i], actual[i], () -> "at " + index + ": expected " + expected[index] + " but was " + actual[index]);
+        }
+    }
+
+    @Test
+    void sort() {
+        for (int length : new int[] {0, 1, 2, 63, 64, 1000, 100_000}) {
+            BigDouble[] values = randomValues(length);
+            BigDouble[] expected = values.clone();
+            Arrays.sort(expected);
+            BigDoubleSort.sort(values);
+            assertSortedLike(expected, values);
+        }
+
+        // Equal values with different objects keep their order.
+        BigDouble[] values = new BigDouble[200];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = new BigDouble(values.length - i % 3);
+        }
+        BigDouble[] expected = values.clone();
+        Arrays.sort(expected);
+        BigDoubleSort.sort(values);
+        assertSortedLike(expected, values);
+    }
+
+    @Test
+    void parallelSort() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int length : new int[] {0, 10, 1 << 14, 100_000, 300_001}) {
+                BigDouble[] values = randomValues(length);
+                BigDouble[] expected = values.clone();
+                Arrays.sort(expected);
+                BigDouble[] common = values.clone();
+                BigDoubleSort.parallelSort(values, pool);
+                assertSortedLike(expected, values);
+                BigDoubleSort.parallelSort(common);
+                assertSortedLike(expected, common);
+            }
+
+            // Already sorted, and in reverse.
+            BigDouble[] values = randomValues(50_000);
+            Arrays.sort(values);
+            BigDouble[] expected = values.clone();
+            BigDoubleSort.parallelSort(values, pool);
+            assertSortedLike(expected, values);
+            for (int i = 0, j = values.length - 1; i < j; i++, j--) {
+                BigDouble swap = values[i];
+                values[i] = values[j];
+                values[j] = swap;
+            }
+            expected = values.clone();
+            Arrays.sort(expected);
+            BigDoubleSort.parallelSort(values, pool);
+            assertSortedLike(expected, values);
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
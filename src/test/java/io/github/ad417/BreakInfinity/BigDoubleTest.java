@@ -2,7 +2,16 @@ package io.github.ad417.BreakInfinity;
 
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.util.List;
+import java.util.Locale;
 import java.util.Random;
+import java.util.function.BinaryOperator;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -39,6 +48,54 @@ class BigDoubleTest {
         assertFalse(BigDouble.isNaN(BigDouble.NEGATIVE_INFINITY));
     }
 
+    /**
+     * Check normalizingExponent against the log10 version it replaced. The old one could
+     * miss by one next to a power of 10, leaving a mantissa just under 1 or at 10; the new
+     * one may only differ from it there, and has to do at least as well.
+     */
+    static void assertNormalizingExponent(double mantissa) {
+        int fast = BigDouble.normalizingExponent(mantissa);
+        int legacy = (int) Math.floor(Math.log10(Math.abs(mantissa)));
+        if (fast == legacy) return;
+
+        double legacyScaled = Math.abs(BigDouble.scaleMantissa(mantissa, legacy));
+        assertFalse(legacyScaled >= 1 && legacyScaled < 10,
+                () -> "normalizingExponent(" + mantissa + ") gave " + fast + ", not " + legacy);
+        // Since the powers of 10 are rounded, some mantissas land on 10.0 or just under 1
+        // whichever power they're divided by; 10.0 is the best there is for those.
+        double fastScaled = Math.abs(BigDouble.scaleMantissa(mantissa, fast));
+        assertTrue(fastScaled >= 1 && fastScaled <= 10,
+                () -> "normalizingExponent(" + mantissa + ") gave " + fast + ", scaling it to " + fastScaled);
+    }
+
+    @Test
+    void normalizingExponent() {
+        double mantissa;
+        for (int i = 0; i < 1_000_000; i++) {
+            // Every finite double is equally likely, subnormals included.
+            mantissa = Double.longBitsToDouble(Generator.nextLong());
+            if (Double.isFinite(mantissa) && mantissa != 0) assertNormalizingExponent(mantissa);
+        }
+        for (int power = Constants.DOUBLE_EXP_MIN + 1; power <= Constants.DOUBLE_EXP_MAX; power++) {
+            double powerOf10 = PowerOf10.lookup(power);
+            assertNormalizingExponent(powerOf10);
+            assertNormalizingExponent(-Math.nextDown(powerOf10));
+            assertNormalizingExponent(Math.nextUp(powerOf10));
+        }
+        for (int power = Double.MIN_EXPONENT - 52; power <= Double.MAX_EXPONENT; power++) {
+            double powerOf2 = Math.scalb(1.0, power);
+            assertNormalizingExponent(powerOf2);
+            assertNormalizingExponent(-Math.nextUp(powerOf2));
+            if (power > Double.MIN_EXPONENT - 52) assertNormalizingExponent(Math.nextDown(powerOf2));
+        }
+        assertEquals(0, BigDouble.normalizingExponent(1));
+        assertEquals(0, BigDouble.normalizingExponent(-9.999999999999998));
+        assertEquals(1, BigDouble.normalizingExponent(10));
+        assertEquals(308, BigDouble.normalizingExponent(Double.MAX_VALUE));
+        assertEquals(-308, BigDouble.normalizingExponent(Double.MIN_NORMAL));
+        assertEquals(-324, BigDouble.normalizingExponent(Double.MIN_VALUE));
+    }
+
     @Test
     void isPositiveInfinity() {
         BigDouble x;
@@ -193,6 +250,36 @@ class BigDoubleTest {
         assertEquals(x, x.round());
     }
 
+    @Test
+    void valueOf() {
+        assertSame(BigDouble.ZERO, BigDouble.valueOf(0));
+        assertSame(BigDouble.ZERO, BigDouble.valueOf(-0.0));
+        assertSame(BigDouble.ONE, BigDouble.valueOf(1));
+        assertSame(BigDouble.ONE, BigDouble.pow10(0));
+        assertSame(BigDouble.valueOf(1000), BigDouble.pow10(3));
+        assertSame(BigDouble.pow10(-300), BigDouble.valueOf(1e-300));
+        assertSame(BigDouble.NaN, BigDouble.valueOf(Double.NaN));
+        assertSame(BigDouble.NEGATIVE_INFINITY, BigDouble.valueOf(Double.NEGATIVE_INFINITY));
+
+        // Small whole numbers are always the same instance.
+        for (int i = 0; i < 100; i++) {
+            int n = Generator.nextInt(0, 10_001);
+            assertSame(BigDouble.valueOf(n), BigDouble.valueOf((double) n));
+            assertSame(BigDouble.valueOf(n), new BigDouble(n + 0.5).floor());
+            assertEquals(new BigDouble(n), BigDouble.valueOf(n));
+        }
+
+        // Everything else matches the constructor.
+        double x;
+        for (int i = 0; i < 100; i++) {
+            x = (Generator.nextBoolean() ? 1 : -1) * Generator.nextDouble() * Math.pow(10, Generator.nextInt(-300, 300));
+            assertEquals(new BigDouble(x), BigDouble.valueOf(x));
+            assertEquals(new BigDouble(-x), BigDouble.valueOf(-x));
+        }
+        assertEquals(new BigDouble(-5), BigDouble.valueOf(-5));
+        assertEquals(new BigDouble(12345.5), BigDouble.valueOf(12345.5));
+    }
+
     @Test
     void floor() {
         BigDouble x = new BigDouble(0.9);
@@ -355,6 +442,19 @@ class BigDoubleTest {
         }
     }
 
+    @Test
+    void negativeComparisons() {
+        // Between two negatives, the bigger exponent is the smaller value, in either order.
+        BigDouble big = new BigDouble(-1, 5), small = new BigDouble(-1, 3);
+        assertTrue(big.lt(small));
+        assertFalse(small.lt(big));
+        assertTrue(small.gt(big));
+        assertTrue(big.compareTo(small) < 0);
+        assertTrue(small.compareTo(big) > 0);
+        assertEquals(big, big.min(small));
+        assertEquals(small, big.max(small));
+    }
+
     @Test
     void lessThanOrEqualTo() {
         BigDouble x;
@@ -420,6 +520,50 @@ class BigDoubleTest {
         }
     }
 
+    @Test
+    void infiniteComparisons() {
+        // The infinities have an exponent of 0, so finite values with bigger or smaller exponents
+        // mustn't be ordered by exponent against them.
+        BigDouble[] finite = {
+                new BigDouble(1, 1000), new BigDouble(-1, 1000), new BigDouble(1, -1000), new BigDouble(-1, -1000),
+                new BigDouble(9.99, Long.MAX_VALUE / 2), new BigDouble(-9.99, Long.MAX_VALUE / 2),
+                new BigDouble(1, Long.MIN_VALUE / 2), new BigDouble(-1, Long.MIN_VALUE / 2),
+                new BigDouble(5), new BigDouble(-5), new BigDouble(1, 21), new BigDouble(-1, -21),
+                new BigDouble(3, 1L << 40), new BigDouble(-3, 1L << 40), new BigDouble(3, -(1L << 40)),
+                new BigDouble(-3, -(1L << 40)),
+        };
+        BigDouble positive = BigDouble.POSITIVE_INFINITY, negative = BigDouble.NEGATIVE_INFINITY;
+        for (BigDouble x : finite) {
+            assertTrue(positive.compareTo(x) > 0, x.toString());
+            assertTrue(x.compareTo(positive) < 0, x.toString());
+            assertTrue(negative.compareTo(x) < 0, x.toString());
+            assertTrue(x.compareTo(negative) > 0, x.toString());
+            assertTrue(x.lt(positive) && positive.gt(x) && x.gt(negative) && negative.lt(x), x.toString());
+            assertSame(positive, x.max(positive));
+            assertSame(positive, positive.max(x));
+            assertSame(negative, x.min(negative));
+            assertSame(negative, negative.min(x));
+            assertSame(x, x.min(positive));
+            assertSame(x, x.max(negative));
+        }
+
+        // The bulk comparisons, which may run on the vector kernels.
+        BigDoubleArray values = new BigDoubleArray(finite);
+        BigDoubleArray positives = new BigDoubleArray(finite.length);
+        positives.fill(positive);
+        BigDoubleArray negatives = new BigDoubleArray(finite.length);
+        negatives.fill(negative);
+        int[] result = new int[finite.length];
+        for (int sign : positives.compareTo(values, result)) assertTrue(sign > 0);
+        for (int sign : values.compareTo(positives, result)) assertTrue(sign < 0);
+        for (int sign : negatives.compareTo(values, result)) assertTrue(sign < 0);
+        for (int sign : values.compareTo(negatives, result)) assertTrue(sign > 0);
+        for (int i = 0; i < finite.length; i++) {
+            assertTrue(values.compareTo(i, positive) < 0);
+            assertTrue(values.compareTo(i, negative) > 0);
+        }
+    }
+
     @Test
     void clamp() {
         // TODO
@@ -529,6 +673,44 @@ class BigDoubleTest {
         BigDouble N_TWO = TWO.neg();
         assertEquals(BigDouble.ONE, N_TWO.pow(0));
         assertTrue(BigDouble.isNaN(N_TWO.pow(1.5)));
+
+        // Only 10 itself takes the pow10 shortcut, not every negative mantissa with an exponent of 1.
+        assertEquals(new BigDouble(25e6), new BigDouble(-5, 3).pow(2));
+        assertEquals(new BigDouble(2500), new BigDouble(-5, 1).pow(2));
+        assertEquals(new BigDouble(-1000), new BigDouble(-10).pow(3));
+        assertEquals(new BigDouble(1, 6), new BigDouble(-10).pow(6));
+    }
+
+    @Test
+    void powLong() {
+        MathContext context = new MathContext(30);
+        BigDouble x;
+        for (int i = 0; i < 2000; i++) {
+            x = randomSignedValue(-10, 10);
+            long power = Generator.nextInt(4) == 0 ? Generator.nextLong(-2000, 2000) : Generator.nextLong(-50, 50);
+            BigDecimal expected = power >= 0
+                    ? exact(x).pow((int) power, context)
+                    : BigDecimal.ONE.divide(exact(x).pow((int) -power, context), context);
+            BigDouble actual = x.pow(power);
+            // A few ulps, growing slowly with the power; pow(double) is off by up to |power| * 3e-16.
+            double bound = 1e-15 + Math.abs(power) * 1e-17;
+            assertTrue(relativeError(expected, actual, expected.abs()) < bound,
+                    x + " ^ " + power + " was " + actual + ", expected " + expected);
+        }
+
+        BigDouble two = new BigDouble(2);
+        assertEquals(new BigDouble(1125899906842624L), two.pow(50L));
+        assertEquals(new BigDouble(-8), two.neg().pow(3L));
+        assertEquals(new BigDouble(0.0625), two.neg().pow(-4L));
+        assertEquals(new BigDouble(1, 300), new BigDouble(10).pow(300L));
+        assertSame(BigDouble.ONE, BigDouble.NaN.pow(0L));
+        assertTrue(BigDouble.isNaN(BigDouble.NaN.pow(3L)));
+        assertEquals(BigDouble.ZERO, BigDouble.ZERO.pow(5L));
+        assertEquals(Double.POSITIVE_INFINITY, BigDouble.POSITIVE_INFINITY.pow(2L).toDouble());
+        // Exponents past a long go the way of pow(double).
+        BigDouble huge = new BigDouble(1, Long.MAX_VALUE / 4);
+        assertEquals(huge.pow(1e6), huge.pow(1_000_000L));
+        assertEquals(two.pow((double) Long.MIN_VALUE), two.pow(Long.MIN_VALUE));
     }
 
     @Test
@@ -627,4 +809,493 @@ class BigDoubleTest {
             assertEquals(x, b.toDouble(), 1e-15 * x);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * mantissaWithDecimalPlaces as it was with DecimalFormat, to check the two agree.
+     */
+    static double legacyMantissaWithDecimalPlaces(double mantissa, int places) {
+        DecimalFormat df = new DecimalFormat("#." + "0".repeat(places), DecimalFormatSymbols.getInstance(Locale.ROOT));
+        return Double.parseDouble(df.format(mantissa));
+    }
+
+    /**
+     * toExponential as it was with DecimalFormat, to check the two agree.
+     */
+    static String legacyToExponential(BigDouble value, int places) {
+        double mantissa = value.getMantissa();
+        double rounded = Math.round(mantissa * Math.pow(10, places)) * Math.pow(10, -places);
+        DecimalFormat df = new DecimalFormat("#." + "0".repeat(places), DecimalFormatSymbols.getInstance(Locale.ROOT));
+        return df.format(rounded) + "e" + (value.getExponent() >= 0 ? "+" : "") + value.getExponent();
+    }
+
+    @Test
+    void mantissaWithDecimalPlaces() {
+        double mantissa;
+        for (int i = 0; i < 100000; i++) {
+            mantissa = (Generator.nextBoolean() ? 1 : -1) * randomMantissa();
+            int places = Generator.nextInt(0, 15);
+            assertEquals(legacyMantissaWithDecimalPlaces(mantissa, places),
+                    new BigDouble(mantissa, 0).mantissaWithDecimalPlaces(places),
+                    mantissa + " to " + places + " places");
+        }
+
+        // 1.005 is really 1.00499999999999989..., so it rounds down.
+        assertEquals(1.0, new BigDouble(1.005).mantissaWithDecimalPlaces(2));
+        // Exact ties go to the even digit.
+        assertEquals(1.12, new BigDouble(1.125).mantissaWithDecimalPlaces(2));
+        assertEquals(1.38, new BigDouble(1.375).mantissaWithDecimalPlaces(2));
+        assertEquals(1.2345678901234567, new BigDouble(1.2345678901234567).mantissaWithDecimalPlaces(15));
+        assertEquals(0, BigDouble.ZERO.mantissaWithDecimalPlaces(3));
+        assertThrows(IllegalArgumentException.class, () -> BigDouble.ONE.mantissaWithDecimalPlaces(-1));
+    }
+
+    @Test
+    void toExponential() {
+        BigDouble x;
+        for (int i = 0; i < 10000; i++) {
+            x = new BigDouble((Generator.nextBoolean() ? 1 : -1) * randomMantissa(), Generator.nextLong(-1000, 1000));
+            // The old version printed a stray "." for negative values with no places.
+            int places = Generator.nextInt(1, 10);
+            String legacy = legacyToExponential(x, places);
+            // The old version printed mantissas that rounded up to 10 as "10.0".
+            if (legacy.startsWith("10") || legacy.startsWith("-10")) continue;
+            assertEquals(legacy, x.toExponential(places));
+        }
+
+        assertEquals("1.235e+5", new BigDouble(1.23456, 5).toExponential(3));
+        assertEquals("-1.235e-5", new BigDouble(-1.23456, -5).toExponential(3));
+        assertEquals("1.000e+6", new BigDouble(9.9996, 5).toExponential(3));
+        assertEquals("5e+3", new BigDouble(5, 3).toExponential(0));
+        assertEquals("1.50000000000000000000e+300", new BigDouble(1.5, 300).toExponential(20));
+        assertEquals("0.00e+0", BigDouble.ZERO.toExponential(2));
+        assertEquals("NaN", BigDouble.NaN.toExponential(2));
+        assertEquals("-Infinity", BigDouble.NEGATIVE_INFINITY.toExponential(2));
+        assertEquals("x = 2.50e+10", new BigDouble(2.5, 10).toExponential(new StringBuilder("x = "), 2).toString());
+    }
+
+    @Test
+    void toFixed() {
+        assertEquals("1234.57", new BigDouble(1234.5678).toFixed(2));
+        assertEquals("-1234.6", new BigDouble(-1234.5678).toFixed(1));
+        assertEquals("1235", new BigDouble(1234.5678).toFixed(0));
+        assertEquals("0.00", new BigDouble(0.001).toFixed(2));
+        assertEquals("0.00", new BigDouble(-0.001).toFixed(2));
+        assertEquals("0.01", new BigDouble(0.006).toFixed(2));
+        assertEquals("1", new BigDouble(0.6).toFixed(0));
+        assertEquals("0.000", BigDouble.ZERO.toFixed(3));
+        assertEquals("150000000000000000000.0", new BigDouble(1.5, 20).toFixed(1));
+        assertEquals("100000000000000000000", new BigDouble(1, 20).toFixed(0));
+        // From 1e21 up, as in JavaScript, the value is written as toString writes it.
+        assertEquals("1.2345678901234567e+22", new BigDouble(1.2345678901234567, 22).toFixed(0));
+        assertEquals("1.0e+100000", new BigDouble(1, 100000).toFixed(0));
+        assertEquals("1.0e+" + Long.MAX_VALUE / 2, new BigDouble(1, Long.MAX_VALUE / 2).toFixed(0));
+        assertEquals("0.00000000000000001", new BigDouble(1, -17).toFixed(-1));
+        assertEquals("Infinity", BigDouble.POSITIVE_INFINITY.toFixed(2));
+        assertEquals("NaN", BigDouble.NaN.toFixed(2));
+
+        double x;
+        for (int i = 0; i < 10000; i++) {
+            x = (Generator.nextBoolean() ? 1 : -1) * Generator.nextDouble() * Math.pow(10, Generator.nextInt(-5, 12));
+            int places = Generator.nextInt(0, 4);
+            double fixed = Double.parseDouble(new BigDouble(x).toFixed(places));
+            // Within half a unit in the last place, give or take the rounding of x itself.
+            assertEquals(x, fixed, 0.5 * Math.pow(10, -places) + 1e-15 * Math.abs(x));
+        }
+    }
+
+    @Test
+    void toPrecision() {
+        assertEquals("1235", new BigDouble(1234.5678).toPrecision(4));
+        assertEquals("1234.6", new BigDouble(1234.5678).toPrecision(5));
+        assertEquals("1.23e+3", new BigDouble(1234.5678).toPrecision(3));
+        assertEquals("0.0012", new BigDouble(0.0012345).toPrecision(2));
+        assertEquals("1.23e-7", new BigDouble(1.2345e-7).toPrecision(3));
+        assertEquals("1.50e+300", new BigDouble(1.5, 300).toPrecision(3));
+        assertEquals("NaN", BigDouble.NaN.toPrecision(3));
+    }
+
+    @Test
+    void formatTo() throws IOException {
+        assertEquals("1234.57", new BigDouble(1234.5678).formatTo(new StringBuilder(), 2).toString());
+        assertEquals("1.23e+21", new BigDouble(1.2345, 21).formatTo(new StringBuilder(), 2).toString());
+        assertEquals("1.23e-7", new BigDouble(1.2345, -7).formatTo(new StringBuilder(), 2).toString());
+        assertEquals("-0.000001", new BigDouble(-1, -6).formatTo(new StringWriter(), 6).toString());
+
+        // Writing into a StringBuilder that is already big enough allocates nothing.
+        BigDouble[] values = new BigDouble[1000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = new BigDouble(randomMantissa(), Generator.nextLong(-1000, 1000));
+        }
+        StringBuilder out = new StringBuilder(64);
+        for (int round = 0; round < 3; round++) {
+            for (BigDouble value : values) {
+                value.formatTo(out, 4);
+                out.setLength(0);
+            }
+        }
+        long before = MutableBigDoubleTest.allocatedBytes();
+        for (BigDouble value : values) {
+            value.formatTo(out, 4);
+            out.setLength(0);
+        }
+        long allocated = MutableBigDoubleTest.allocatedBytes() - before;
+        assertTrue(allocated < 1024, String.format("Formatting allocated %d bytes", allocated));
+    }
+
+    /**
+     * Bytes allocated by storing op(x[i], y[i]) into results, for every i.
+     */
+    static long allocatedBy(BinaryOperator<BigDouble> op, BigDouble[] x, BigDouble[] y, BigDouble[] results) {
+        long before = MutableBigDoubleTest.allocatedBytes();
+        for (int i = 0; i < results.length; i++) {
+            results[i] = op.apply(x[i], y[i]);
+        }
+        return MutableBigDoubleTest.allocatedBytes() - before;
+    }
+
+    @Test
+    void arithmeticAllocatesOnce() {
+        int n = 10_000;
+        BigDouble[] x = new BigDouble[n];
+        BigDouble[] y = new BigDouble[n];
+        BigDouble[] zeroes = new BigDouble[n];
+        BigDouble[] results = new BigDouble[n];
+        for (int i = 0; i < n; i++) {
+            // Close enough that add and sub can't just hand back one side.
+            x[i] = new BigDouble(randomMantissa(), Generator.nextLong(0, 10));
+            y[i] = new BigDouble(randomMantissa(), Generator.nextLong(0, 10));
+            zeroes[i] = BigDouble.ZERO;
+        }
+        BinaryOperator<BigDouble> copy = (a, b) -> new BigDouble(a.getMantissa(), a.getExponent());
+        List<BinaryOperator<BigDouble>> ops = List.of(BigDouble::add, BigDouble::sub, BigDouble::mul, BigDouble::div);
+
+        // Get class loading and the first round of compilation out of the way.
+        for (int round = 0; round < 3; round++) {
+            allocatedBy(copy, x, y, results);
+            for (BinaryOperator<BigDouble> op : ops) allocatedBy(op, x, y, results);
+        }
+
+        // Leave a little room for the measurement itself.
+        long slack = 1024;
+        long oneEach = allocatedBy(copy, x, y, results);
+        for (BinaryOperator<BigDouble> op : ops) {
+            long allocated = allocatedBy(op, x, y, results);
+            assertTrue(allocated <= oneEach + slack,
+                    String.format("%d results allocated %d bytes; one BigDouble each is %d", n, allocated, oneEach));
+        }
+        // Results that are already BigDoubles shouldn't allocate at all.
+        assertTrue(allocatedBy(BigDouble::mul, x, zeroes, results) < slack);
+        assertTrue(allocatedBy(BigDouble::add, x, zeroes, results) < slack);
+    }
+
+    public double randomPrimitive() {
+        switch (Generator.nextInt(12)) {
+            case 0: return Generator.nextInt(-20, 20);
+            case 1: return Generator.nextInt(-20_000, 20_000);
+            case 2: return Generator.nextLong(-(1L << 60), 1L << 60);
+            case 3: return Generator.nextDouble(-1, 1);
+            case 4: return Generator.nextDouble(-1e300, 1e300);
+            case 5: return Generator.nextDouble(-1e-300, 1e-300);
+            case 6: return Double.MIN_VALUE * Generator.nextInt(-1000, 1000);
+            case 7: return Generator.nextBoolean() ? 0.0 : -0.0;
+            case 8: return Double.NaN;
+            case 9: return Generator.nextBoolean() ? Double.POSITIVE_INFINITY : Double.NEGATIVE_INFINITY;
+            default: return Generator.nextDouble(-1e6, 1e6);
+        }
+    }
+
+    static void assertSameValue(BigDouble expected, BigDouble actual) {
+        if (BigDouble.isNaN(expected)) {
+            assertTrue(BigDouble.isNaN(actual), "expected NaN but was " + actual);
+        } else {
+            assertEquals(expected, actual);
+        }
+    }
+
+    @Test
+    void primitiveOperands() {
+        // The double overloads skip building a BigDouble, but must give the same answers as if they hadn't.
+        for (int i = 0; i < 10000; i++) {
+            BigDouble x = new BigDouble(randomMantissa() * (Generator.nextBoolean() ? 1 : -1),
+                    Generator.nextLong(-400, 400));
+            if (i % 100 == 0) x = BigDouble.ZERO;
+            double y = randomPrimitive();
+            BigDouble boxed = new BigDouble(y);
+            assertSameValue(x.add(boxed), x.add(y));
+            assertSameValue(x.sub(boxed), x.sub(y));
+            assertSameValue(x.mul(boxed), x.mul(y));
+            assertSameValue(x.div(boxed), x.div(y));
+            assertEquals(x.compareTo(boxed) < 0, x.lt(y), x + " < " + y);
+            assertEquals(x.compareTo(boxed) <= 0, x.lte(y), x + " <= " + y);
+            assertEquals(x.compareTo(boxed) > 0, x.gt(y), x + " > " + y);
+            assertEquals(x.compareTo(boxed) >= 0, x.gte(y), x + " >= " + y);
+            assertEquals(x.equals(boxed), x.eq(y), x + " == " + y);
+            assertEquals(x.compareTo(boxed.max(x)), x.compareTo(x.max(y)));
+
+            // The same again for a value that is equal to the operand.
+            assertTrue(boxed.eq(y) || Double.isNaN(y), boxed + " == " + y);
+            assertEquals(boxed.compareTo(boxed), boxed.compareTo(new BigDouble(y)));
+            assertEquals(boxed.compareTo(boxed) == 0, boxed.lte(y) && boxed.gte(y));
+        }
+    }
+
+    @Test
+    void primitiveComparisonsDontAllocate() {
+        int n = 10_000;
+        BigDouble[] x = new BigDouble[n];
+        double[] y = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = new BigDouble(randomMantissa(), Generator.nextLong(-5, 5));
+            y[i] = i % 2 == 0 ? Generator.nextInt(-20_000, 20_000) : Generator.nextDouble(-1e6, 1e6);
+        }
+        int count = 0;
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < n; i++) {
+                if (x[i].lt(y[i]) || x[i].eq(y[i])) count++;
+            }
+        }
+
+        long before = MutableBigDoubleTest.allocatedBytes();
+        for (int i = 0; i < n; i++) {
+            if (x[i].lt(y[i]) || x[i].gte(y[i]) && x[i].neq(y[i])) count++;
+        }
+        long allocated = MutableBigDoubleTest.allocatedBytes() - before;
+        assertTrue(allocated < 1024, String.format("Comparing allocated %d bytes", allocated));
+        assertTrue(count > 0);
+    }
+
+    static BigDecimal exact(BigDouble value) {
+        return new BigDecimal(value.getMantissa()).scaleByPowerOfTen((int) value.getExponent());
+    }
+
+    /**
+     * The error of a result against the exact value, relative to the size of the operands,
+     * since a sum that cancels out can't be expected to keep more digits than they had.
+     */
+    static double relativeError(BigDecimal exact, BigDouble actual, BigDecimal scale) {
+        return exact.subtract(exact(actual)).abs().divide(scale, MathContext.DECIMAL64).doubleValue();
+    }
+
+    public BigDouble randomSignedValue(long minExponent, long maxExponent) {
+        return new BigDouble(randomMantissa() * (Generator.nextBoolean() ? 1 : -1),
+                Generator.nextLong(minExponent, maxExponent));
+    }
+
+    @Test
+    void fma() {
+        double fusedError = 0, unfusedError = 0;
+        for (int i = 0; i < 10000; i++) {
+            BigDouble a = randomSignedValue(-10, 10);
+            BigDouble b = randomSignedValue(-10, 10);
+            long productExponent = a.getExponent() + b.getExponent();
+            BigDouble c = i % 10 == 0
+                    ? a.mul(b).neg().mul(1 + Generator.nextDouble(-1e-6, 1e-6))
+                    : randomSignedValue(productExponent - 20, productExponent + 20);
+
+            BigDecimal product = exact(a).multiply(exact(b));
+            BigDecimal expected = product.add(exact(c));
+            BigDecimal scale = product.abs().max(exact(c).abs());
+            double fused = relativeError(expected, BigDouble.fma(a, b, c), scale);
+            double unfused = relativeError(expected, a.mul(b).add(c), scale);
+            // add rounds to 14 decimal places of the bigger operand, fused or not.
+            assertTrue(fused < 2e-14, a + " * " + b + " + " + c + " was off by " + fused);
+            fusedError += fused;
+            unfusedError += unfused;
+            assertEquals(BigDouble.fma(a, b, c), a.mulAdd(b, c));
+            assertEquals(BigDouble.fma(a, b, c), new MutableBigDouble(c).mulAddAssign(a, b).toBigDouble());
+        }
+        assertTrue(fusedError <= unfusedError,
+                String.format("Total error fused %g, unfused %g", fusedError, unfusedError));
+
+        BigDouble x = new BigDouble(1.5, 300);
+        assertEquals(x.mul(x), BigDouble.fma(x, x, BigDouble.ONE));
+        assertEquals(BigDouble.ONE, BigDouble.fma(BigDouble.ONE, new BigDouble(1, -300), BigDouble.ONE));
+        assertEquals(new BigDouble(7), BigDouble.fma(new BigDouble(2), new BigDouble(3), BigDouble.ONE));
+        assertEquals(new BigDouble(1.23, 5), BigDouble.fma(BigDouble.ZERO, x, new BigDouble(1.23, 5)));
+        assertEquals(x.mul(x), BigDouble.fma(x, x, BigDouble.ZERO));
+        assertTrue(BigDouble.isNaN(BigDouble.fma(BigDouble.ZERO, BigDouble.POSITIVE_INFINITY, BigDouble.ONE)));
+        assertTrue(BigDouble.isNaN(BigDouble.fma(x, x, BigDouble.NaN)));
+        assertTrue(BigDouble.isNaN(BigDouble.fma(BigDouble.NaN, x, BigDouble.ONE)));
+        assertEquals(BigDouble.POSITIVE_INFINITY, BigDouble.fma(x, x, BigDouble.POSITIVE_INFINITY));
+        assertTrue(BigDouble.isInfinite(BigDouble.fma(BigDouble.NEGATIVE_INFINITY, x, BigDouble.ONE)));
+        MutableBigDouble total = new MutableBigDouble(BigDouble.NaN);
+        assertTrue(BigDouble.isNaN(total.mulAddAssign(x, x).toBigDouble()));
+    }
+
+    @Test
+    void dot() {
+        int n = 1000;
+        BigDouble[] a = new BigDouble[n];
+        BigDouble[] b = new BigDouble[n];
+        BigDecimal expected = BigDecimal.ZERO;
+        BigDouble unfused = BigDouble.ZERO;
+        for (int i = 0; i < n; i++) {
+            // Positive, like counts and rates, so the sum doesn't cancel out.
+            a[i] = new BigDouble(randomMantissa(), Generator.nextLong(0, 6));
+            b[i] = new BigDouble(randomMantissa(), Generator.nextLong(-3, 3));
+            expected = expected.add(exact(a[i]).multiply(exact(b[i])));
+            unfused = unfused.add(a[i].mul(b[i]));
+        }
+        BigDouble fused = BigDouble.dot(a, b);
+        // Every add rounds the running total's mantissa to 14 places, which is off by at most
+        // half of 1e-14 relative to the total. The total never shrinks, so those add up to at most n of them.
+        double bound = n * 0.5e-14;
+        assertTrue(relativeError(expected, fused, expected) < bound, "dot was " + fused + ", expected " + expected);
+        assertTrue(relativeError(expected, unfused, expected) < bound);
+        assertEquals(fused, new BigDoubleArray(a).dot(new BigDoubleArray(b)));
+
+        assertEquals(BigDouble.ZERO, BigDouble.dot(new BigDouble[0], new BigDouble[0]));
+        assertThrows(IllegalArgumentException.class, () -> BigDouble.dot(a, new BigDouble[1]));
+        assertThrows(IllegalArgumentException.class, () -> new BigDoubleArray(a).dot(new BigDoubleArray(1)));
+    }
+
+    @Test
+    void toSortableLong() {
+        BigDouble x, y;
+        for (int i = 0; i < 10000; i++) {
+            x = randomSignedValue(-1000, 1000);
+            y = Generator.nextInt(10) == 0 ? x.mul(1 + 1e-12) : randomSignedValue(-1000, 1000);
+            long xKey = x.toSortableLong(), yKey = y.toSortableLong();
+            if (x.lt(y)) assertTrue(xKey <= yKey, x + " against " + y);
+            if (x.gt(y)) assertTrue(xKey >= yKey, x + " against " + y);
+            if (xKey < yKey) assertTrue(x.lt(y), x + " against " + y);
+
+            BigDouble roundTrip = BigDouble.fromSortableLong(xKey);
+            assertTrue(relativeError(exact(x), roundTrip, exact(x).abs()) <= PackedBigDouble.MAX_RELATIVE_ERROR + 1e-12,
+                    x + " came back as " + roundTrip);
+            assertEquals(xKey, roundTrip.toSortableLong());
+        }
+
+        BigDouble[] ordered = {
+                BigDouble.NaN,
+                BigDouble.NEGATIVE_INFINITY,
+                new BigDouble(-5, 1000),
+                new BigDouble(-1, 0),
+                new BigDouble(-1, -1000),
+                BigDouble.ZERO,
+                new BigDouble(1, -1000),
+                BigDouble.ONE,
+                new BigDouble(1.5, 0),
+                new BigDouble(1, 1000),
+                BigDouble.POSITIVE_INFINITY,
+        };
+        for (int i = 1; i < ordered.length; i++) {
+            assertTrue(ordered[i - 1].lt(ordered[i]), ordered[i - 1] + " against " + ordered[i]);
+            assertTrue(ordered[i - 1].toSortableLong() < ordered[i].toSortableLong(), ordered[i - 1] + " against " + ordered[i]);
+        }
+        assertEquals(Long.MIN_VALUE, BigDouble.NaN.toSortableLong());
+        assertTrue(BigDouble.isNaN(BigDouble.fromSortableLong(Long.MIN_VALUE)));
+        assertEquals(0, BigDouble.ZERO.toSortableLong());
+        assertSame(BigDouble.NEGATIVE_INFINITY, BigDouble.fromSortableLong(BigDouble.NEGATIVE_INFINITY.toSortableLong()));
+        // Past PackedBigDouble's exponent range, values share the key of infinity.
+        assertEquals(BigDouble.POSITIVE_INFINITY.toSortableLong(), new BigDouble(1, Long.MAX_VALUE / 2).toSortableLong());
+    }
+
+    @Test
+    void hashCodes() {
+        BigDouble x;
+        for (int i = 0; i < 10000; i++) {
+            x = randomSignedValue(-1000, 1000);
+            assertEquals(x.hashCode(), new BigDouble(x.getMantissa(), x.getExponent()).hashCode());
+        }
+        assertEquals(BigDouble.ZERO.hashCode(), BigDouble.fromMantissaExponentNoNormalize(-0.0, 0).hashCode());
+        assertEquals(BigDouble.NaN.hashCode(), BigDouble.fromMantissaExponentNoNormalize(Double.NaN, Long.MIN_VALUE).hashCode());
+        // Small integers only differ in the high bits of their mantissas, and still spread out.
+        java.util.Set<Integer> lowBits = new java.util.HashSet<>();
+        for (int i = 1; i <= 64; i++) {
+            lowBits.add(new BigDouble(i).hashCode() & 127);
+        }
+        assertTrue(lowBits.size() > 32, "only " + lowBits.size() + " different slots");
+
+        BigDouble[] values = new BigDouble[10_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = randomValue();
+        }
+        int total = 0;
+        for (BigDouble value : values) total += value.hashCode();
+        long before = MutableBigDoubleTest.allocatedBytes();
+        for (BigDouble value : values) total += value.hashCode();
+        long allocated = MutableBigDoubleTest.allocatedBytes() - before;
+        // Leave a little room for the measurement itself.
+        assertTrue(allocated < 1024, String.format("Hashing allocated %d bytes", allocated));
+        assertNotEquals(0, total);
+    }
+
+    /**
+     * eq_tolerance as it used to be written, straight from the definition.
+     */
+    static boolean eqToleranceReference(BigDouble x, BigDouble y, BigDouble tolerance) {
+        return x.sub(y).abs().lte(x.abs().max(y.abs()).mul(tolerance));
+    }
+
+    @Test
+    void toleranceComparisons() {
+        BigDouble[] specials = {BigDouble.ZERO, BigDouble.NaN, BigDouble.POSITIVE_INFINITY, BigDouble.NEGATIVE_INFINITY};
+        double[] tolerances = {0, 1e-15, 1e-9, 1e-3, 0.5, 1, 2, 1e20, -1e-9};
+        BigDouble x, y;
+        for (int i = 0; i < 100_000; i++) {
+            x = Generator.nextInt(50) == 0 ? specials[Generator.nextInt(specials.length)] : randomSignedValue(-20, 20);
+            switch (Generator.nextInt(4)) {
+                case 0: y = randomSignedValue(-20, 20); break;
+                // Within a few tolerances of x, where the answer changes.
+                case 1: y = x.mul(1 + Math.pow(10, -Generator.nextInt(1, 16)) * Generator.nextDouble(-3, 3)); break;
+                case 2: y = x.neg(); break;
+                default: y = Generator.nextInt(10) == 0 ? specials[Generator.nextInt(specials.length)] : x;
+            }
+            double tolerance = tolerances[Generator.nextInt(tolerances.length)];
+            if (Generator.nextBoolean()) tolerance *= Generator.nextDouble(0.5, 2);
+            BigDouble bigTolerance = new BigDouble(tolerance);
+
+            // The difference is no longer rounded to 14 places by sub, so the answers can only
+            // differ when it sits right on the edge of the tolerance.
+            BigDouble edge = x.abs().max(y.abs()).mul(tolerance);
+            BigDouble difference = x.sub(y).abs();
+            boolean onEdge = difference.sub(edge).abs().lte(x.abs().max(y.abs()).mul(1e-13));
+            if (!onEdge) {
+                boolean expected = eqToleranceReference(x, y, bigTolerance);
+                String message = x + " against " + y + " within " + tolerance;
+                assertEquals(expected, x.eq_tolerance(y, bigTolerance), message);
+                assertEquals(expected, x.eq_tolerance(y, tolerance), message);
+                assertEquals(expected || x.lt(y), x.lte_tolerance(y, tolerance), message);
+                assertEquals(!expected && x.gt(y), x.gt_tolerance(y, bigTolerance), message);
+                assertEquals(expected ? 0 : x.compareTo(y), x.cmp_tolerance(y, tolerance), message);
+            }
+        }
+
+        // Values too far apart for sub to notice the smaller one.
+        BigDouble huge = new BigDouble(1, Long.MAX_VALUE / 2);
+        BigDouble tiny = new BigDouble(1, Long.MIN_VALUE / 2);
+        assertFalse(huge.eq_tolerance(tiny, 0.5));
+        assertTrue(huge.eq_tolerance(tiny, 1));
+        assertTrue(BigDouble.ONE.lt_tolerance(new BigDouble(1, 20), 1e-9));
+        assertTrue(new BigDouble(1000).gte_tolerance(new BigDouble(1000.0000001), 1e-9));
+        assertFalse(new BigDouble(1000).gte_tolerance(new BigDouble(1000.0000001), 1e-12));
+        assertTrue(new BigDouble(1000).eq_tolerance(new BigDouble(1000.0000001), BigDouble.valueOf(1e-9)));
+    }
+
+    @Test
+    void toleranceComparisonsDontAllocate() {
+        int n = 10_000;
+        BigDouble[] x = new BigDouble[n];
+        BigDouble[] y = new BigDouble[n];
+        BigDouble tolerance = new BigDouble(1e-9);
+        for (int i = 0; i < n; i++) {
+            x[i] = new BigDouble(randomMantissa(), Generator.nextLong(-5, 5));
+            y[i] = i % 2 == 0 ? x[i].mul(1 + 1e-12) : new BigDouble(randomMantissa(), Generator.nextLong(-5, 5));
+        }
+        int count = 0;
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < n; i++) {
+                if (x[i].lt_tolerance(y[i], 1e-9) || x[i].gte_tolerance(y[i], tolerance)) count++;
+            }
+        }
+
+        long before = MutableBigDoubleTest.allocatedBytes();
+        for (int i = 0; i < n; i++) {
+            if (x[i].lt_tolerance(y[i], 1e-9) || x[i].eq_tolerance(y[i], tolerance)) count++;
+        }
+        long allocated = MutableBigDoubleTest.allocatedBytes() - before;
+        assertTrue(allocated < 1024, String.format("Comparing allocated %d bytes", allocated));
+        assertTrue(count > 0);
+    }
+}
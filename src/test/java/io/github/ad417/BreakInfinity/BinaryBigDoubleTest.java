@@ -0,0 +1,160 @@
+package io.github.ad417.BreakInfinity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static io.github.ad417.BreakInfinity.BigDoubleAssertions.assertClose;
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryBigDoubleTest {
+    static final Random Generator = new Random();
+
+    public BigDouble randomValue() {
+        return new BigDouble(
+                (Generator.nextBoolean() ? 1 : -1) * Generator.nextDouble(1, 10),
+                Generator.nextLong(-1000, 1000)
+        );
+    }
+
+    @Test
+    void conversion() {
+        BigDouble x;
+        for (int i = 0; i < 10000; i++) {
+            x = randomValue();
+            assertClose(x, BinaryBigDouble.of(x).toBigDouble(), 1e-14);
+        }
+        // Far past the range of a double, the exponents are split to keep their precision.
+        x = new BigDouble(3.1415926535, 123456789012L);
+        assertClose(x, BinaryBigDouble.of(x).toBigDouble(), 1e-14);
+
+        assertEquals(BigDouble.ONE, BinaryBigDouble.ONE.toBigDouble());
+        assertEquals(new BigDouble(1024), BinaryBigDouble.of(1, 10).toBigDouble());
+        assertEquals(BinaryBigDouble.of(0.75), BinaryBigDouble.of(1.5, -1));
+        assertEquals(1.5, BinaryBigDouble.of(12).getMantissa());
+        assertEquals(3, BinaryBigDouble.of(12).getExponent());
+        assertEquals(-1.5, BinaryBigDouble.of(-0.375).getMantissa());
+        assertEquals(Double.MIN_VALUE, BinaryBigDouble.of(Double.MIN_VALUE).toDouble());
+        assertEquals(Double.MIN_EXPONENT - 52, BinaryBigDouble.of(Double.MIN_VALUE).getExponent());
+
+        assertSame(BinaryBigDouble.ZERO, BinaryBigDouble.of(-0.0));
+        assertEquals(BigDouble.ZERO, BinaryBigDouble.ZERO.toBigDouble());
+        assertTrue(BinaryBigDouble.isNaN(BinaryBigDouble.of(BigDouble.NaN)));
+        assertTrue(BigDouble.isNaN(BinaryBigDouble.NaN.toBigDouble()));
+        assertEquals(BigDouble.POSITIVE_INFINITY, BinaryBigDouble.of(BigDouble.POSITIVE_INFINITY).toBigDouble());
+        assertEquals(BigDouble.NEGATIVE_INFINITY, BinaryBigDouble.of(Double.NEGATIVE_INFINITY).toBigDouble());
+        assertEquals(Double.POSITIVE_INFINITY, BinaryBigDouble.of(1, 5000).toDouble());
+    }
+
+    @Test
+    void arithmetic() {
+        BigDouble x, y;
+        for (int i = 0; i < 10000; i++) {
+            x = randomValue();
+            y = randomValue();
+            BinaryBigDouble binaryX = BinaryBigDouble.of(x);
+            BinaryBigDouble binaryY = BinaryBigDouble.of(y);
+            // BigDouble.add rounds to 14 decimal places, so it can only be trusted that far.
+            BigDouble sum = x.add(y);
+            if (!sum.eq(BigDouble.ZERO)) {
+                BigDouble tolerance = x.abs().max(y.abs()).mul(1e-13);
+                assertTrue(sum.sub(binaryX.add(binaryY).toBigDouble()).abs().lte(tolerance),
+                        "sum of " + x + " and " + y);
+            }
+            assertClose(x.mul(y), binaryX.mul(binaryY).toBigDouble(), 1e-14);
+            assertClose(x.div(y), binaryX.div(binaryY).toBigDouble(), 1e-14);
+            assertClose(x.recip(), binaryX.recip().toBigDouble(), 1e-14);
+            assertClose(x.abs().sqrt(), binaryX.abs().sqrt().toBigDouble(), 1e-14);
+
+            int power = Generator.nextInt(-20, 20);
+            // BigDouble.pow is only accurate to about 1e-14 itself.
+            assertClose(x.pow(power), binaryX.pow(power).toBigDouble(), 1e-12);
+            assertClose(x.abs().pow(0.37), binaryX.abs().pow(0.37).toBigDouble(), 1e-12);
+        }
+
+        // Sums are rounded once, like double sums, rather than to 14 decimal places.
+        BinaryBigDouble tenth = BinaryBigDouble.of(0.1);
+        assertEquals(BinaryBigDouble.of(0.1 + 0.2), tenth.add(BinaryBigDouble.of(0.2)));
+        assertEquals(BinaryBigDouble.of(1e300 * 1e-5), BinaryBigDouble.of(1e300).mul(BinaryBigDouble.of(1e-5)));
+        assertEquals(BinaryBigDouble.of(3), BinaryBigDouble.of(9).div(BinaryBigDouble.of(3)));
+        assertEquals(BinaryBigDouble.of(1, 1L << 40), BinaryBigDouble.of(2).pow(Math.pow(2, 40)));
+        assertEquals(BinaryBigDouble.of(1, 1000), BinaryBigDouble.of(1, 2000).sqrt());
+        assertEquals(BinaryBigDouble.of(1, -1000), BinaryBigDouble.of(1, -2001).mul(BinaryBigDouble.of(2)).sqrt());
+        assertSame(BinaryBigDouble.ZERO, tenth.sub(tenth));
+        assertEquals(BinaryBigDouble.of(1, 100), BinaryBigDouble.of(1, 100).add(BinaryBigDouble.ONE));
+
+        BinaryBigDouble minusTwo = BinaryBigDouble.of(-2);
+        assertEquals(BinaryBigDouble.of(-8), minusTwo.pow(3));
+        assertEquals(BinaryBigDouble.of(0.0625), minusTwo.pow(-4));
+        assertTrue(BinaryBigDouble.isNaN(minusTwo.pow(0.5)));
+        assertTrue(BinaryBigDouble.isNaN(minusTwo.sqrt()));
+        assertEquals(BinaryBigDouble.ONE, BinaryBigDouble.ZERO.pow(0));
+
+        // Infinite and NaN powers follow Math.pow.
+        BinaryBigDouble half = BinaryBigDouble.of(0.5);
+        assertSame(BinaryBigDouble.ZERO, half.pow(Double.POSITIVE_INFINITY));
+        assertEquals(BinaryBigDouble.POSITIVE_INFINITY, half.pow(Double.NEGATIVE_INFINITY));
+        assertEquals(BinaryBigDouble.POSITIVE_INFINITY, BinaryBigDouble.of(3).pow(Double.POSITIVE_INFINITY));
+        assertSame(BinaryBigDouble.ZERO, minusTwo.pow(Double.NEGATIVE_INFINITY));
+        assertEquals(BinaryBigDouble.POSITIVE_INFINITY, BinaryBigDouble.of(-0.5).pow(Double.NEGATIVE_INFINITY));
+        assertTrue(BinaryBigDouble.isNaN(BinaryBigDouble.ONE.pow(Double.POSITIVE_INFINITY)));
+        assertTrue(BinaryBigDouble.isNaN(BinaryBigDouble.of(-1).pow(Double.NEGATIVE_INFINITY)));
+        assertTrue(BinaryBigDouble.isNaN(BinaryBigDouble.of(3).pow(Double.NaN)));
+        assertTrue(BinaryBigDouble.isNaN(half.pow(Double.NaN)));
+
+        assertTrue(BinaryBigDouble.isNaN(BinaryBigDouble.ZERO.mul(BinaryBigDouble.POSITIVE_INFINITY)));
+        assertTrue(BinaryBigDouble.isNaN(BinaryBigDouble.POSITIVE_INFINITY.add(BinaryBigDouble.NEGATIVE_INFINITY)));
+        assertEquals(BinaryBigDouble.POSITIVE_INFINITY, BinaryBigDouble.ONE.div(BinaryBigDouble.ZERO));
+        assertEquals(BinaryBigDouble.NEGATIVE_INFINITY, minusTwo.add(BinaryBigDouble.NEGATIVE_INFINITY));
+        assertEquals(BinaryBigDouble.POSITIVE_INFINITY, BinaryBigDouble.of(1, Long.MAX_VALUE / 2).pow(3.5));
+        assertSame(BinaryBigDouble.ZERO, BinaryBigDouble.of(1, Long.MIN_VALUE / 2).pow(3.5));
+    }
+
+    @Test
+    void compareTo() {
+        BigDouble x, y;
+        for (int i = 0; i < 10000; i++) {
+            x = randomValue();
+            y = Generator.nextInt(10) == 0 ? x : randomValue();
+            assertEquals(x.compareTo(y), BinaryBigDouble.of(x).compareTo(BinaryBigDouble.of(y)),
+                    x + " against " + y);
+        }
+
+        BinaryBigDouble[] ordered = {
+                BinaryBigDouble.NaN,
+                BinaryBigDouble.NEGATIVE_INFINITY,
+                BinaryBigDouble.of(-1.5, 1000),
+                BinaryBigDouble.of(-1.25, 1000),
+                BinaryBigDouble.of(-1, -1000),
+                BinaryBigDouble.ZERO,
+                BinaryBigDouble.of(1, -1000),
+                BinaryBigDouble.ONE,
+                BinaryBigDouble.of(1, 1000),
+                BinaryBigDouble.POSITIVE_INFINITY,
+        };
+        for (int i = 0; i < ordered.length; i++) {
+            for (int j = 0; j < ordered.length; j++) {
+                assertEquals(Integer.compare(i, j), Integer.signum(ordered[i].compareTo(ordered[j])),
+                        ordered[i] + " against " + ordered[j]);
+            }
+        }
+        assertTrue(BinaryBigDouble.ONE.lt(BinaryBigDouble.of(2)));
+        assertTrue(BinaryBigDouble.ONE.gte(BinaryBigDouble.ONE));
+        assertEquals(BinaryBigDouble.of(2), BinaryBigDouble.ONE.max(BinaryBigDouble.of(2)));
+        assertEquals(BinaryBigDouble.ONE, BinaryBigDouble.ONE.min(BinaryBigDouble.of(2)));
+    }
+
+    @Test
+    void formatting() {
+        BigDouble x;
+        for (int i = 0; i < 1000; i++) {
+            x = randomValue();
+            // Formatting goes through toBigDouble, so it matches as far as the conversion does.
+            assertEquals(BinaryBigDouble.of(x).toBigDouble().toString(), BinaryBigDouble.of(x).toString());
+        }
+        assertEquals(new BigDouble(1024).toString(), BinaryBigDouble.of(1024).toString());
+        assertEquals(new BigDouble(0.375).toString(), BinaryBigDouble.of(0.375).toString());
+        assertEquals("1.50e+301", BinaryBigDouble.of(new BigDouble(1.5, 301)).toExponential(2));
+        assertEquals(BigDouble.ZERO.toString(), BinaryBigDouble.ZERO.toString());
+    }
+}
@@ -0,0 +1,150 @@
+package io.github.ad417.BreakInfinity;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogBigDoubleTest {
+    static final Random Generator = new Random();
+
+    public BigDouble randomValue() {
+        return new BigDouble(
+                (Generator.nextBoolean() ? 1 : -1) * Generator.nextDouble(1, 10),
+                Generator.nextLong(-1000, 1000)
+        );
+    }
+
+    /**
+     * Check that a value is within the documented relative error, |log10(x)| * 2.6e-16, of
+     * the expected one, times the number of roundings it went through. The error comes from
+     * the logarithms of the operands too, so it is the largest of those that counts.
+     */
+    static void assertClose(BigDouble expected, BigDouble actual, int roundings, BigDouble... operands) {
+        BigDoubleAssertions.assertClose(expected, actual, tolerance(expected, roundings, operands));
+    }
+
+    /**
+     * @see #assertClose(BigDouble, BigDouble, int, BigDouble...)
+     */
+    static double tolerance(BigDouble expected, int roundings, BigDouble... operands) {
+        double magnitude = Math.max(1, Math.abs(expected.abs().log10()));
+        for (BigDouble operand : operands) {
+            magnitude = Math.max(magnitude, Math.abs(operand.abs().log10()));
+        }
+        return magnitude * 2.6e-16 * roundings + 1e-15;
+    }
+
+    @Test
+    void conversion() {
+        BigDouble x;
+        for (int i = 0; i < 10000; i++) {
+            x = randomValue();
+            assertClose(x, LogBigDouble.of(x).toBigDouble(), 2);
+        }
+        assertEquals(BigDouble.ONE, LogBigDouble.ONE.toBigDouble());
+        assertEquals(new BigDouble(1, 300), LogBigDouble.fromLog10(300).toBigDouble());
+        assertEquals(new BigDouble(-1, 5), LogBigDouble.of(-100000.0).toBigDouble());
+        assertEquals(5, LogBigDouble.of(new BigDouble(1, 5)).log10());
+
+        assertSame(LogBigDouble.ZERO, LogBigDouble.of(BigDouble.ZERO));
+        assertEquals(LogBigDouble.ZERO, LogBigDouble.of(-0.0));
+        assertEquals(BigDouble.ZERO, LogBigDouble.ZERO.toBigDouble());
+        assertTrue(LogBigDouble.isNaN(LogBigDouble.of(BigDouble.NaN)));
+        assertTrue(BigDouble.isNaN(LogBigDouble.NaN.toBigDouble()));
+        assertEquals(BigDouble.POSITIVE_INFINITY, LogBigDouble.of(BigDouble.POSITIVE_INFINITY).toBigDouble());
+        assertEquals(BigDouble.NEGATIVE_INFINITY, LogBigDouble.of(Double.NEGATIVE_INFINITY).toBigDouble());
+        // Past a long's range of exponents, the value can't be a finite BigDouble.
+        assertEquals(BigDouble.POSITIVE_INFINITY, LogBigDouble.fromLog10(1e300).toBigDouble());
+        assertEquals(BigDouble.ZERO, LogBigDouble.fromLog10(-1e300).toBigDouble());
+    }
+
+    @Test
+    void multiplicative() {
+        BigDouble x, y;
+        for (int i = 0; i < 10000; i++) {
+            x = randomValue();
+            y = randomValue();
+            LogBigDouble logX = LogBigDouble.of(x);
+            LogBigDouble logY = LogBigDouble.of(y);
+            assertClose(x.mul(y), logX.mul(logY).toBigDouble(), 4, x, y);
+            assertClose(x.div(y), logX.div(logY).toBigDouble(), 4, x, y);
+            assertClose(x.recip(), logX.recip().toBigDouble(), 4, x);
+            assertClose(x.abs().sqrt(), logX.abs().sqrt().toBigDouble(), 4, x);
+
+            int power = Generator.nextInt(-20, 20);
+            // BigDouble.pow is only accurate to about 1e-14 itself.
+            assertClose(x.pow(power), logX.pow(power).toBigDouble(), 100, x);
+        }
+
+        LogBigDouble two = LogBigDouble.of(2);
+        LogBigDouble minusTwo = two.neg();
+        assertEquals(-1, minusTwo.pow(3).sign());
+        assertEquals(1, minusTwo.pow(-4).sign());
+        assertTrue(LogBigDouble.isNaN(minusTwo.pow(0.5)));
+        assertTrue(LogBigDouble.isNaN(minusTwo.sqrt()));
+        assertEquals(LogBigDouble.ONE, LogBigDouble.ZERO.pow(0));
+        assertEquals(LogBigDouble.ZERO, LogBigDouble.ZERO.mul(minusTwo));
+        assertEquals(0, LogBigDouble.ZERO.mul(minusTwo).sign());
+        assertTrue(LogBigDouble.isNaN(LogBigDouble.ZERO.mul(LogBigDouble.POSITIVE_INFINITY)));
+        assertTrue(LogBigDouble.isNaN(LogBigDouble.ZERO.div(LogBigDouble.ZERO)));
+        assertTrue(LogBigDouble.isInfinite(two.div(LogBigDouble.ZERO)));
+    }
+
+    @Test
+    void additive() {
+        BigDouble x, y;
+        for (int i = 0; i < 10000; i++) {
+            x = randomValue().abs();
+            y = new BigDouble(Generator.nextDouble(1, 10), x.getExponent() + Generator.nextLong(-20, 20));
+            BigDouble actual = LogBigDouble.of(x).add(LogBigDouble.of(y)).toBigDouble();
+            // x.add(y) rounds its mantissa to 14 places, which can be further off than the logs are,
+            // so the sum is checked against the exact one.
+            BigDecimal sum = BigDoubleTest.exact(x).add(BigDoubleTest.exact(y));
+            double error = BigDoubleTest.relativeError(sum, actual, sum);
+            assertTrue(error <= tolerance(x.add(y), 8, x, y), x + " + " + y + " was " + actual + ", off by " + error);
+        }
+
+        LogBigDouble two = LogBigDouble.of(2);
+        assertEquals(LogBigDouble.ZERO, two.sub(two));
+        assertEquals(two, two.add(LogBigDouble.ZERO));
+        assertEquals(two, LogBigDouble.ZERO.add(two));
+        assertEquals(LogBigDouble.ZERO, LogBigDouble.ZERO.add(LogBigDouble.ZERO));
+        assertClose(new BigDouble(-1), LogBigDouble.of(2).sub(LogBigDouble.of(3)).toBigDouble(), 4);
+        assertEquals(LogBigDouble.POSITIVE_INFINITY, two.add(LogBigDouble.POSITIVE_INFINITY));
+        assertTrue(LogBigDouble.isNaN(LogBigDouble.POSITIVE_INFINITY.add(LogBigDouble.NEGATIVE_INFINITY)));
+    }
+
+    @Test
+    void compareTo() {
+        BigDouble x, y;
+        for (int i = 0; i < 10000; i++) {
+            x = randomValue();
+            y = Generator.nextInt(10) == 0 ? x : randomValue();
+            assertEquals(Integer.signum(x.compareTo(y)),
+                    Integer.signum(LogBigDouble.of(x).compareTo(LogBigDouble.of(y))), x + " vs " + y);
+        }
+        LogBigDouble[] ordered = {
+                LogBigDouble.NaN, LogBigDouble.NEGATIVE_INFINITY, LogBigDouble.of(-5), LogBigDouble.of(-0.5),
+                LogBigDouble.ZERO, LogBigDouble.of(0.5), LogBigDouble.of(5), LogBigDouble.POSITIVE_INFINITY,
+        };
+        for (int i = 0; i < ordered.length; i++) {
+            for (int j = 0; j < ordered.length; j++) {
+                assertEquals(Integer.compare(i, j), Integer.signum(ordered[i].compareTo(ordered[j])));
+            }
+        }
+        assertEquals(LogBigDouble.ZERO.hashCode(), LogBigDouble.ZERO.neg().hashCode());
+        assertEquals(LogBigDouble.of(3).mul(LogBigDouble.of(2)).hashCode(), LogBigDouble.of(3).mul(LogBigDouble.of(2)).hashCode());
+
+        // recip gives a log of -0.0, and a NaN worked out from other values isn't the NaN constant.
+        LogBigDouble one = LogBigDouble.ONE.recip();
+        assertEquals(LogBigDouble.ONE, one);
+        assertEquals(LogBigDouble.ONE.hashCode(), one.hashCode());
+        LogBigDouble nan = LogBigDouble.ZERO.mul(LogBigDouble.POSITIVE_INFINITY);
+        assertEquals(0, LogBigDouble.NaN.compareTo(nan));
+        assertEquals(LogBigDouble.NaN, nan);
+        assertEquals(LogBigDouble.NaN.hashCode(), nan.hashCode());
+    }
+}
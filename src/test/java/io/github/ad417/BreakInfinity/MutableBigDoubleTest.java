@@ -0,0 +1,112 @@
+package io.github.ad417.BreakInfinity;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MutableBigDoubleTest {
+    static final Random Generator = new Random();
+
+    public BigDouble randomValue() {
+        return new BigDouble(
+                (Generator.nextBoolean() ? 1 : -1) * Generator.nextDouble(1, 10),
+                Generator.nextLong(-40, 40)
+        );
+    }
+
+    /**
+     * Bytes allocated by the current thread so far. Only meaningful on HotSpot.
+     */
+    static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    @Test
+    void addAssign() {
+        BigDouble x, y;
+        for (int i = 0; i < 10000; i++) {
+            x = randomValue();
+            y = randomValue();
+            assertEquals(x.add(y), new MutableBigDouble(x).addAssign(y).toBigDouble());
+            assertEquals(x.sub(y), new MutableBigDouble(x).subAssign(y).toBigDouble());
+        }
+
+        MutableBigDouble z = new MutableBigDouble(BigDouble.POSITIVE_INFINITY);
+        assertEquals(BigDouble.POSITIVE_INFINITY, z.addAssign(BigDouble.ONE).toBigDouble());
+        z = new MutableBigDouble();
+        assertEquals(BigDouble.ONE, z.addAssign(BigDouble.ONE).toBigDouble());
+    }
+
+    @Test
+    void mulAssign() {
+        BigDouble x, y;
+        for (int i = 0; i < 10000; i++) {
+            x = randomValue();
+            y = randomValue();
+            assertEquals(x.mul(y), new MutableBigDouble(x).mulAssign(y).toBigDouble());
+        }
+        assertEquals(BigDouble.ZERO, new MutableBigDouble(3).mulAssign(BigDouble.ZERO).toBigDouble());
+    }
+
+    @Test
+    void divAssign() {
+        BigDouble x, y;
+        for (int i = 0; i < 10000; i++) {
+            x = randomValue();
+            y = randomValue();
+            assertEquals(x.div(y), new MutableBigDouble(x).divAssign(y).toBigDouble());
+        }
+        assertEquals(BigDouble.POSITIVE_INFINITY, new MutableBigDouble(1.2).divAssign(BigDouble.ZERO).toBigDouble());
+    }
+
+    @Test
+    void powAssign() {
+        BigDouble x;
+        double power;
+        for (int i = 0; i < 10000; i++) {
+            x = randomValue().abs();
+            power = Generator.nextBoolean() ? Generator.nextInt(-20, 20) : Generator.nextDouble(-20, 20);
+            assertEquals(x.pow(power), new MutableBigDouble(x).powAssign(power).toBigDouble());
+        }
+
+        assertEquals(BigDouble.ONE, new MutableBigDouble().powAssign(0).toBigDouble());
+        assertTrue(BigDouble.isNaN(new MutableBigDouble(-2).powAssign(1.5).toBigDouble()));
+        assertEquals(new BigDouble(1, 20), new MutableBigDouble(10).powAssign(20).toBigDouble());
+    }
+
+    @Test
+    void compareTo() {
+        BigDouble x, y;
+        for (int i = 0; i < 1000; i++) {
+            x = randomValue();
+            y = randomValue();
+            assertEquals(
+                    Integer.signum(x.compareTo(y)),
+                    Integer.signum(new MutableBigDouble(x).compareTo(new MutableBigDouble(y)))
+            );
+        }
+    }
+
+    @Test
+    void sumDoesNotAllocate() {
+        BigDouble[] values = new BigDouble[1_000_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = new BigDouble(Generator.nextDouble(1, 10), Generator.nextLong(0, 20));
+        }
+        MutableBigDouble sum = new MutableBigDouble();
+
+        long before = allocatedBytes();
+        for (BigDouble value : values) {
+            sum.addAssign(value);
+        }
+        long allocated = allocatedBytes() - before;
+
+        // Leave a little room for the measurement itself.
+        assertTrue(allocated < 1024, String.format("Summing allocated %d bytes", allocated));
+        assertTrue(sum.compareTo(BigDouble.ZERO) > 0);
+    }
+}
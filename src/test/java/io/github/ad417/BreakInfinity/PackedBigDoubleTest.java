@@ -0,0 +1,125 @@
+package io.github.ad417.BreakInfinity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static io.github.ad417.BreakInfinity.BigDoubleAssertions.assertClose;
+import static org.junit.jupiter.api.Assertions.*;
+
+class PackedBigDoubleTest {
+    static final Random Generator = new Random();
+
+    public BigDouble randomValue() {
+        return new BigDouble(
+                (Generator.nextBoolean() ? 1 : -1) * Generator.nextDouble(1, 10),
+                Generator.nextLong(-1_000_000, 1_000_000)
+        );
+    }
+
+    @Test
+    void roundTrip() {
+        BigDouble x;
+        for (int i = 0; i < 10000; i++) {
+            x = randomValue();
+            long packed = PackedBigDouble.pack(x);
+            BigDouble unpacked = PackedBigDouble.unpack(packed);
+            assertClose(x, unpacked, PackedBigDouble.MAX_RELATIVE_ERROR);
+            // Packing is only lossy the first time.
+            assertEquals(packed, PackedBigDouble.pack(unpacked));
+            assertEquals(unpacked.getMantissa(), PackedBigDouble.getMantissa(packed));
+            assertEquals(unpacked.getExponent(), PackedBigDouble.getExponent(packed));
+        }
+
+        // Mantissas that round up to 10 carry into the exponent.
+        assertEquals(new BigDouble(1, 6), PackedBigDouble.unpack(PackedBigDouble.pack(new BigDouble(9.9999999999, 5))));
+        assertEquals(BigDouble.ONE, PackedBigDouble.unpack(PackedBigDouble.pack(BigDouble.ONE)));
+    }
+
+    @Test
+    void specialValues() {
+        assertEquals(0L, PackedBigDouble.pack(BigDouble.ZERO));
+        assertEquals(0L, PackedBigDouble.pack(BigDouble.ZERO.neg()));
+        assertSame(BigDouble.ZERO, PackedBigDouble.unpack(PackedBigDouble.ZERO));
+        assertSame(BigDouble.NaN, PackedBigDouble.unpack(PackedBigDouble.pack(BigDouble.NaN)));
+        assertSame(BigDouble.POSITIVE_INFINITY, PackedBigDouble.unpack(PackedBigDouble.pack(BigDouble.POSITIVE_INFINITY)));
+        assertSame(BigDouble.NEGATIVE_INFINITY, PackedBigDouble.unpack(PackedBigDouble.pack(BigDouble.NEGATIVE_INFINITY)));
+        assertTrue(PackedBigDouble.isNaN(PackedBigDouble.NaN));
+        assertFalse(PackedBigDouble.isNaN(PackedBigDouble.POSITIVE_INFINITY));
+
+        // Exponents beyond the packed range.
+        BigDouble largest = new BigDouble(1, PackedBigDouble.MAX_EXPONENT);
+        assertEquals(largest, PackedBigDouble.unpack(PackedBigDouble.pack(largest)));
+        assertEquals(PackedBigDouble.POSITIVE_INFINITY, PackedBigDouble.pack(largest.mul(10)));
+        assertEquals(PackedBigDouble.NEGATIVE_INFINITY, PackedBigDouble.pack(largest.mul(-10)));
+        BigDouble smallest = new BigDouble(1, PackedBigDouble.MIN_EXPONENT);
+        assertEquals(smallest, PackedBigDouble.unpack(PackedBigDouble.pack(smallest)));
+        assertEquals(PackedBigDouble.ZERO, PackedBigDouble.pack(smallest.div(10)));
+    }
+
+    @Test
+    void addPacked() {
+        BigDouble x, y;
+        for (int i = 0; i < 10000; i++) {
+            x = randomValue().abs();
+            y = new BigDouble(Generator.nextDouble(1, 10), x.getExponent() + Generator.nextLong(-20, 20));
+            long packed = PackedBigDouble.addPacked(PackedBigDouble.pack(x), PackedBigDouble.pack(y));
+            assertClose(x.add(y), PackedBigDouble.unpack(packed), 2 * PackedBigDouble.MAX_RELATIVE_ERROR + 1e-12);
+        }
+
+        long one = PackedBigDouble.pack(BigDouble.ONE);
+        assertEquals(PackedBigDouble.pack(new BigDouble(2)), PackedBigDouble.addPacked(one, one));
+        assertEquals(one, PackedBigDouble.addPacked(one, PackedBigDouble.ZERO));
+        assertEquals(PackedBigDouble.ZERO, PackedBigDouble.addPacked(one, PackedBigDouble.pack(BigDouble.ONE.neg())));
+        assertEquals(PackedBigDouble.NaN, PackedBigDouble.addPacked(one, PackedBigDouble.NaN));
+        assertEquals(PackedBigDouble.POSITIVE_INFINITY, PackedBigDouble.addPacked(one, PackedBigDouble.POSITIVE_INFINITY));
+    }
+
+    @Test
+    void mulPacked() {
+        BigDouble x, y;
+        for (int i = 0; i < 10000; i++) {
+            x = randomValue();
+            y = randomValue();
+            long packed = PackedBigDouble.mulPacked(PackedBigDouble.pack(x), PackedBigDouble.pack(y));
+            assertClose(x.mul(y), PackedBigDouble.unpack(packed), 3 * PackedBigDouble.MAX_RELATIVE_ERROR + 1e-12);
+        }
+
+        long two = PackedBigDouble.pack(new BigDouble(2));
+        assertEquals(PackedBigDouble.pack(new BigDouble(4)), PackedBigDouble.mulPacked(two, two));
+        assertEquals(PackedBigDouble.ZERO, PackedBigDouble.mulPacked(two, PackedBigDouble.ZERO));
+        assertEquals(PackedBigDouble.NaN, PackedBigDouble.mulPacked(PackedBigDouble.ZERO, PackedBigDouble.POSITIVE_INFINITY));
+        assertEquals(PackedBigDouble.NEGATIVE_INFINITY,
+                PackedBigDouble.mulPacked(PackedBigDouble.pack(BigDouble.ONE.neg()), PackedBigDouble.POSITIVE_INFINITY));
+    }
+
+    @Test
+    void comparePacked() {
+        BigDouble x, y;
+        for (int i = 0; i < 10000; i++) {
+            x = PackedBigDouble.unpack(PackedBigDouble.pack(randomValue()));
+            y = Generator.nextInt(10) == 0 ? x : PackedBigDouble.unpack(PackedBigDouble.pack(randomValue()));
+            assertEquals(
+                    Integer.signum(x.compareTo(y)),
+                    Integer.signum(PackedBigDouble.comparePacked(PackedBigDouble.pack(x), PackedBigDouble.pack(y)))
+            );
+        }
+
+        long[] ascending = {
+                PackedBigDouble.NaN,
+                PackedBigDouble.NEGATIVE_INFINITY,
+                PackedBigDouble.pack(new BigDouble(-5, 1000)),
+                PackedBigDouble.pack(new BigDouble(-1)),
+                PackedBigDouble.ZERO,
+                PackedBigDouble.pack(new BigDouble(1, -1000)),
+                PackedBigDouble.pack(new BigDouble(1)),
+                PackedBigDouble.pack(new BigDouble(5, 1000)),
+                PackedBigDouble.POSITIVE_INFINITY,
+        };
+        for (int i = 0; i < ascending.length; i++) {
+            for (int j = 0; j < ascending.length; j++) {
+                assertEquals(Integer.compare(i, j), PackedBigDouble.comparePacked(ascending[i], ascending[j]));
+            }
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package io.github.ad417.BreakInfinity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static io.github.ad417.BreakInfinity.BigDoubleAssertions.assertClose;
+import static org.junit.jupiter.api.Assertions.*;
+
+class PurchaseCalculatorTest {
+    static final Random Generator = new Random();
+    static final int SIZE = 1000;
+
+    BigDoubleArray starts = new BigDoubleArray(SIZE);
+    double[] ratios = new double[SIZE];
+    long[] owned = new long[SIZE];
+
+    void randomCatalogue() {
+        for (int i = 0; i < SIZE; i++) {
+            starts.set(i, new BigDouble(Generator.nextDouble(1, 10), Generator.nextLong(0, 50)));
+            ratios[i] = Generator.nextInt(4) == 0 ? 1.15 : Generator.nextDouble(1.001, 3);
+            owned[i] = Generator.nextLong(0, 500);
+        }
+    }
+
+    @Test
+    void matchesGeometricSeries() {
+        randomCatalogue();
+        int[] batchSizes = {1, 10, 25, 100};
+        PurchaseCalculator calculator = new PurchaseCalculator(starts, ratios, owned, batchSizes);
+        BigDoubleArray[] costs = new BigDoubleArray[batchSizes.length];
+        for (int b = 0; b < costs.length; b++) costs[b] = new BigDoubleArray(SIZE);
+        long[] maxAffordable = new long[SIZE];
+        BigDoubleArray maxCosts = new BigDoubleArray(SIZE);
+
+        for (int round = 0; round < 5; round++) {
+            BigDouble resources = new BigDouble(Generator.nextDouble(1, 10), Generator.nextLong(0, 400));
+            calculator.evaluate(resources, costs, maxAffordable, maxCosts);
+            for (int i = 0; i < SIZE; i++) {
+                BigDouble start = starts.get(i);
+                BigDouble ratio = new BigDouble(ratios[i]);
+                int currentOwned = (int) calculator.getOwned(i);
+                assertClose(start.mul(ratio.pow((long) currentOwned)), calculator.getPrice(i), 1e-14);
+                // sumGeometricSeries raises the ratio with pow(double), which drifts a little at large counts.
+                for (int b = 0; b < batchSizes.length; b++) {
+                    BigDouble expected = BigDouble.sumGeometricSeries(batchSizes[b], start, ratio, currentOwned);
+                    assertClose(expected, costs[b].get(i), 1e-11);
+                }
+
+                long expected = (long) BigDouble.affordGeometricSeries(resources, start, ratio, currentOwned).toDouble();
+                // Both floor the same logarithm, so they can only disagree right on a whole number.
+                assertTrue(Math.abs(expected - maxAffordable[i]) <= 1, expected + " against " + maxAffordable[i]);
+                if (maxAffordable[i] > 0) {
+                    BigDouble maxCost = maxCosts.get(i);
+                    assertClose(BigDouble.sumGeometricSeries((int) maxAffordable[i], start, ratio, currentOwned), maxCost, 1e-9);
+                    assertTrue(maxCost.lte(resources.mul(1 + 1e-9)), maxCost + " is more than " + resources);
+                } else {
+                    assertEquals(BigDouble.ZERO, maxCosts.get(i));
+                }
+            }
+            assertArrayEquals(maxAffordable, calculator.maxAffordable(resources, new long[SIZE]));
+            BigDoubleArray tens = calculator.costs(1, new BigDoubleArray(SIZE));
+            for (int i = 0; i < SIZE; i++) {
+                assertEquals(costs[1].get(i), tens.get(i));
+            }
+
+            // Buy what can be afforded, and go again.
+            for (int i = 0; i < SIZE; i++) {
+                calculator.setOwned(i, calculator.getOwned(i) + maxAffordable[i] % 50);
+            }
+        }
+    }
+
+    @Test
+    void edgeCases() {
+        randomCatalogue();
+        PurchaseCalculator calculator = new PurchaseCalculator(starts, ratios, owned, 1, 10);
+        assertEquals(SIZE, calculator.size());
+        assertArrayEquals(new int[] {1, 10}, calculator.getBatchSizes());
+
+        long[] counts = calculator.maxAffordable(BigDouble.ZERO, new long[SIZE]);
+        for (long count : counts) assertEquals(0, count);
+        counts = calculator.maxAffordable(new BigDouble(1, -100), new long[SIZE]);
+        for (long count : counts) assertEquals(0, count);
+        counts = calculator.maxAffordable(BigDouble.POSITIVE_INFINITY, new long[SIZE]);
+        for (long count : counts) assertEquals(Long.MAX_VALUE, count);
+        counts = calculator.maxAffordable(new BigDouble(1, 1_000_000), new long[SIZE]);
+        for (int i = 0; i < SIZE; i++) {
+            BigDouble expected = BigDouble.affordGeometricSeries(new BigDouble(1, 1_000_000), starts.get(i),
+                    new BigDouble(ratios[i]), owned[i]);
+            assertTrue(expected.sub(new BigDouble(counts[i])).abs().lte(BigDouble.ONE));
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> new PurchaseCalculator(starts, new double[1], owned, 1));
+        double[] flat = ratios.clone();
+        flat[3] = 1;
+        assertThrows(IllegalArgumentException.class, () -> new PurchaseCalculator(starts, flat, owned, 1));
+        assertThrows(IllegalArgumentException.class, () -> new PurchaseCalculator(starts, ratios, owned, 0));
+        assertThrows(IllegalArgumentException.class, () -> calculator.setOwned(0, -1));
+        assertThrows(IllegalArgumentException.class, () -> calculator.costs(0, new BigDoubleArray(1)));
+        assertThrows(IllegalArgumentException.class, () -> calculator.evaluate(BigDouble.ONE,
+                new BigDoubleArray[] {new BigDoubleArray(SIZE)}, new long[SIZE], null));
+    }
+
+    @Test
+    void evaluateDoesNotAllocate() {
+        randomCatalogue();
+        int[] batchSizes = {1, 10, 100};
+        PurchaseCalculator calculator = new PurchaseCalculator(starts, ratios, owned, batchSizes);
+        BigDoubleArray[] costs = {new BigDoubleArray(SIZE), new BigDoubleArray(SIZE), new BigDoubleArray(SIZE)};
+        long[] maxAffordable = new long[SIZE];
+        BigDoubleArray maxCosts = new BigDoubleArray(SIZE);
+        BigDouble resources = new BigDouble(1, 200);
+        for (int round = 0; round < 20; round++) {
+            calculator.evaluate(resources, costs, maxAffordable, maxCosts);
+        }
+
+        long before = MutableBigDoubleTest.allocatedBytes();
+        calculator.evaluate(resources, costs, maxAffordable, maxCosts);
+        long allocated = MutableBigDoubleTest.allocatedBytes() - before;
+        // Leave a little room for the measurement itself.
+        assertTrue(allocated < 1024, String.format("Evaluating allocated %d bytes", allocated));
+    }
+}
@@ -0,0 +1,213 @@
+package io.github.ad417.BreakInfinity;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD kernels built on the incubating Vector API. Only loaded by ArrayKernels.select(),
+ * once it has checked that jdk.incubator.vector is present.
+ * <p>Each kernel handles the shapes that come up in practice (normalized operands whose
+ * result lands within a place or two of [1, 10)) a full vector at a time. Anything else,
+ * such as a sum that cancels out most of its digits, sends that chunk back to the scalar
+ * loops, so the results always match BigDouble's.
+ */
+final class VectorArrayKernels extends ScalarArrayKernels {
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Long> LONGS = VectorSpecies.of(long.class, DOUBLES.vectorShape());
+    private static final VectorSpecies<Integer> INTS = VectorSpecies.of(
+            int.class, VectorShape.forBitSize(DOUBLES.length() * Integer.SIZE)
+    );
+
+    /**
+     * ALIGNMENT[k] is 10 ^ -k: what add scales the smaller mantissa by when the exponents are k apart.
+     */
+    private static final double[] ALIGNMENT = new double[Constants.MAX_SIGNIFICANT_DIGITS + 1];
+    static {
+        for (int i = 0; i < ALIGNMENT.length; i++) {
+            ALIGNMENT[i] = PowerOf10.lookup(-i);
+        }
+    }
+
+    @Override
+    public void add(double[] mantissas, long[] exponents, double[] otherMantissas, long[] otherExponents, int length) {
+        // Chunks the vectors can't handle go through the scalar loop as they come up, all sharing this.
+        MutableBigDouble scratch = new MutableBigDouble();
+        int i = 0;
+        for (int bound = DOUBLES.loopBound(length); i < bound; i += DOUBLES.length()) {
+            DoubleVector a = DoubleVector.fromArray(DOUBLES, mantissas, i);
+            DoubleVector b = DoubleVector.fromArray(DOUBLES, otherMantissas, i);
+            LongVector aExponent = LongVector.fromArray(LONGS, exponents, i);
+            LongVector bExponent = LongVector.fromArray(LONGS, otherExponents, i);
+
+            // Zeroes, infinities, NaN and far-apart exponents all take early returns in BigDouble.add,
+            // and are rare enough to leave to the scalar loop. Magnitudes in [1, 10) rule out the first three.
+            DoubleVector aMagnitude = a.abs();
+            DoubleVector bMagnitude = b.abs();
+            VectorMask<Double> ordinary = aMagnitude.compare(VectorOperators.GE, 1)
+                    .and(aMagnitude.compare(VectorOperators.LT, 10))
+                    .and(bMagnitude.compare(VectorOperators.GE, 1))
+                    .and(bMagnitude.compare(VectorOperators.LT, 10));
+            // Unsigned, so a gap that overflowed into a negative number counts as far apart too.
+            LongVector gap = aExponent.sub(bExponent).abs();
+            if (!ordinary.allTrue()
+                    || gap.compare(VectorOperators.UNSIGNED_GT, Constants.MAX_SIGNIFICANT_DIGITS).anyTrue()) {
+                addRange(mantissas, exponents, otherMantissas, otherExponents, i, i + DOUBLES.length(), scratch);
+                continue;
+            }
+            // Looking the alignments up one lane at a time is cheaper than a gather.
+            DoubleVector alignment = DoubleVector.zero(DOUBLES);
+            for (int lane = 0; lane < DOUBLES.length(); lane++) {
+                alignment = alignment.withLane(lane, ALIGNMENT[(int) gap.lane(lane)]);
+            }
+
+            // Ties go to b, the same as in BigDouble.add.
+            VectorMask<Long> aIsBigger = aExponent.compare(VectorOperators.GT, bExponent);
+            VectorMask<Double> aIsBiggerLanes = aIsBigger.cast(DOUBLES);
+            DoubleVector biggerMantissa = b.blend(a, aIsBiggerLanes);
+            DoubleVector smallerMantissa = a.blend(b, aIsBiggerLanes);
+            LongVector biggerExponent = bExponent.blend(aExponent, aIsBigger);
+
+            DoubleVector sum = biggerMantissa.mul(1e14)
+                    .add(smallerMantissa.mul(1e14).mul(alignment));
+            // Math.round(x) is floor(x + 0.5), which is exact below 2 ^ 52. Past that, x is already whole.
+            // Converting to long isn't intrinsified on every JDK, so round by adding and removing 2 ^ 52 instead.
+            DoubleVector half = sum.add(0.5);
+            DoubleVector shifter = DoubleVector.broadcast(DOUBLES, 0x1p52)
+                    .blend(-0x1p52, half.compare(VectorOperators.LT, 0));
+            DoubleVector nearest = half.add(shifter).sub(shifter);
+            DoubleVector rounded = nearest.sub(1, half.compare(VectorOperators.LT, nearest))
+                    .blend(sum, sum.abs().compare(VectorOperators.GE, 0x1p52));
+
+            // The rounded sum belongs at biggerExponent - 14, and is usually between 1e14 and 1e16 in size.
+            // Anything smaller has lost digits to cancellation and needs the full normalize.
+            DoubleVector magnitude = rounded.abs();
+            if (magnitude.compare(VectorOperators.LT, 1e14).or(magnitude.compare(VectorOperators.GE, 1e16)).anyTrue()) {
+                addRange(mantissas, exponents, otherMantissas, otherExponents, i, i + DOUBLES.length(), scratch);
+                continue;
+            }
+            VectorMask<Double> carried = magnitude.compare(VectorOperators.GE, 1e15);
+            rounded.div(DoubleVector.broadcast(DOUBLES, 1e14).blend(1e15, carried)).intoArray(mantissas, i);
+            biggerExponent.add(1, carried.cast(LONGS)).intoArray(exponents, i);
+        }
+        addRange(mantissas, exponents, otherMantissas, otherExponents, i, length, scratch);
+    }
+
+    @Override
+    public void mul(double[] mantissas, long[] exponents, double[] otherMantissas, long[] otherExponents, int length) {
+        int i = 0;
+        for (int bound = DOUBLES.loopBound(length); i < bound; i += DOUBLES.length()) {
+            DoubleVector product = DoubleVector.fromArray(DOUBLES, mantissas, i)
+                    .mul(DoubleVector.fromArray(DOUBLES, otherMantissas, i));
+            LongVector exponent = LongVector.fromArray(LONGS, exponents, i)
+                    .add(LongVector.fromArray(LONGS, otherExponents, i));
+            if (!storeProduct(mantissas, exponents, i, product, exponent)) {
+                for (int j = i; j < i + DOUBLES.length(); j++) {
+                    store(mantissas, exponents, j, mantissas[j] * otherMantissas[j], exponents[j] + otherExponents[j]);
+                }
+            }
+        }
+        for (; i < length; i++) {
+            store(mantissas, exponents, i, mantissas[i] * otherMantissas[i], exponents[i] + otherExponents[i]);
+        }
+    }
+
+    @Override
+    public void div(double[] mantissas, long[] exponents, double[] otherMantissas, long[] otherExponents, int length) {
+        int i = 0;
+        for (int bound = DOUBLES.loopBound(length); i < bound; i += DOUBLES.length()) {
+            // Like BigDouble.div: normalize the reciprocal, then multiply by it.
+            DoubleVector reciprocal = DoubleVector.broadcast(DOUBLES, 1)
+                    .div(DoubleVector.fromArray(DOUBLES, otherMantissas, i));
+            LongVector reciprocalExponent = LongVector.fromArray(LONGS, otherExponents, i).neg();
+            // The reciprocal of a mantissa in (1, 10) is in (0.1, 1), one place short.
+            VectorMask<Double> shift = reciprocal.abs().compare(VectorOperators.LT, 1)
+                    .and(reciprocal.compare(VectorOperators.NE, 0));
+            reciprocal = reciprocal.div(PowerOf10.lookup(-1), shift);
+            reciprocalExponent = reciprocalExponent.sub(1, shift.cast(LONGS));
+
+            DoubleVector product = DoubleVector.fromArray(DOUBLES, mantissas, i).mul(reciprocal);
+            LongVector exponent = LongVector.fromArray(LONGS, exponents, i).add(reciprocalExponent);
+            if (!storeProduct(mantissas, exponents, i, product, exponent)) {
+                divRange(mantissas, exponents, otherMantissas, otherExponents, i, i + DOUBLES.length());
+            }
+        }
+        divRange(mantissas, exponents, otherMantissas, otherExponents, i, length);
+    }
+
+    /**
+     * Normalize and store a vector of products of normalized mantissas, which are in [1, 100)
+     * in magnitude unless one side was 0 or non-finite.
+     * @return false, having stored nothing, if any lane falls outside that range.
+     */
+    private static boolean storeProduct(double[] mantissas, long[] exponents, int i,
+                                        DoubleVector product, LongVector exponent) {
+        DoubleVector magnitude = product.abs();
+        VectorMask<Double> finite = product.test(VectorOperators.IS_FINITE);
+        VectorMask<Double> zero = product.compare(VectorOperators.EQ, 0);
+        VectorMask<Double> outOfRange = magnitude.compare(VectorOperators.LT, 1).andNot(zero)
+                .or(magnitude.compare(VectorOperators.GE, 100).and(finite));
+        if (outOfRange.anyTrue()) return false;
+
+        VectorMask<Double> carried = magnitude.compare(VectorOperators.GE, 10).and(finite);
+        product.div(PowerOf10.lookup(1), carried).blend(0, zero).intoArray(mantissas, i);
+        LongVector normalizedExponent = exponent.add(1, carried.cast(LONGS));
+        if (zero.anyTrue()) {
+            normalizedExponent = normalizedExponent.blend(0, zero.cast(LONGS));
+        }
+        normalizedExponent.intoArray(exponents, i);
+        return true;
+    }
+
+    @Override
+    public void compare(double[] mantissas, long[] exponents, double[] otherMantissas, long[] otherExponents,
+                        int[] result, int length) {
+        LongVector zero = LongVector.zero(LONGS);
+        int i = 0;
+        for (int bound = DOUBLES.loopBound(length); i < bound; i += DOUBLES.length()) {
+            DoubleVector a = DoubleVector.fromArray(DOUBLES, mantissas, i);
+            DoubleVector b = DoubleVector.fromArray(DOUBLES, otherMantissas, i);
+            LongVector aExponent = LongVector.fromArray(LONGS, exponents, i);
+            LongVector bExponent = LongVector.fromArray(LONGS, otherExponents, i);
+
+            LongVector aSign = zero.blend(1, a.compare(VectorOperators.GT, 0).cast(LONGS))
+                    .blend(-1, a.compare(VectorOperators.LT, 0).cast(LONGS));
+            LongVector bSign = zero.blend(1, b.compare(VectorOperators.GT, 0).cast(LONGS))
+                    .blend(-1, b.compare(VectorOperators.LT, 0).cast(LONGS));
+
+            // Same nonzero sign: the exponents decide, flipped for negatives, then the mantissas.
+            // The infinities have an exponent of 0, so when either side is infinite, only the mantissas do.
+            LongVector byExponent = zero.blend(1, aExponent.compare(VectorOperators.GT, bExponent))
+                    .blend(-1, aExponent.compare(VectorOperators.LT, bExponent))
+                    .mul(aSign);
+            LongVector byMantissa = zero.blend(1, a.compare(VectorOperators.GT, b).cast(LONGS))
+                    .blend(-1, a.compare(VectorOperators.LT, b).cast(LONGS));
+            VectorMask<Long> eitherInfinite = a.test(VectorOperators.IS_INFINITE)
+                    .or(b.test(VectorOperators.IS_INFINITE)).cast(LONGS);
+            LongVector sameSign = byMantissa.blend(byExponent,
+                    byExponent.compare(VectorOperators.NE, 0).andNot(eitherInfinite));
+
+            VectorMask<Long> aIsNaN = a.test(VectorOperators.IS_NAN).cast(LONGS);
+            VectorMask<Long> bIsNaN = b.test(VectorOperators.IS_NAN).cast(LONGS);
+            LongVector comparison = aSign.sub(bSign).max(-1).min(1)
+                    .blend(sameSign, aSign.compare(VectorOperators.EQ, bSign).and(aSign.compare(VectorOperators.NE, 0)))
+                    .blend(-1, aIsNaN)
+                    .blend(1, bIsNaN)
+                    .blend(0, aIsNaN.and(bIsNaN));
+
+            ((IntVector) comparison.convertShape(VectorOperators.L2I, INTS, 0)).intoArray(result, i);
+        }
+        for (; i < length; i++) {
+            result[i] = BigDouble.compare(mantissas[i], exponents[i], otherMantissas[i], otherExponents[i]);
+        }
+    }
+
+    @Override
+    public boolean isVectorized() {
+        return true;
+    }
+}